@@ -0,0 +1,269 @@
+package ch.zhaw.ai;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import ch.zhaw.catan.Config;
+import ch.zhaw.catan.Config.Resource;
+import ch.zhaw.catan.CornerValuation;
+import ch.zhaw.catan.Player;
+import ch.zhaw.catan.SiedlerBoard;
+import ch.zhaw.catan.SiedlerGame;
+import ch.zhaw.simulation.PlayerAgent;
+import ch.zhaw.structures.Settlement;
+
+/**
+ * The ExpectimaxAgent class is a {@link PlayerAgent} that searches the moves of
+ * its turns with expectimax.
+ * <p>
+ * A decision node takes the best of the moves of the current player. Ending
+ * the turn leads to a chance node, which weighs the positions after the eleven
+ * dice values with their probability and continues with the next turn of the
+ * same player. The opponents are not modelled: their turns are skipped, but
+ * they receive their payouts. The depth is the number of chance nodes on a
+ * path; at depth 0 the positions after ending the turn are evaluated
+ * statically. The founding phase is not searched: the agent takes the free
+ * corners with the most pips.
+ * </p>
+ * <p>
+ * Every move is chosen by iterative deepening until the time budget is used
+ * up or the maximum depth has been searched. The moves at the root are
+ * searched in parallel on an executor and all threads share a
+ * {@link TranspositionTable}, so a position reached by several move orders or
+ * by several threads is only searched once.
+ * </p>
+ */
+public class ExpectimaxAgent implements PlayerAgent {
+	public static final int DEFAULT_TABLE_CAPACITY = 1 << 18;
+	public static final int DEFAULT_MAX_DEPTH = 4;
+	private static final int MAX_MOVES_PER_TURN = 64;
+	private static final double WIN_VALUE = 100_000;
+	private static final double POINT_WEIGHT = 1_000;
+	private static final double PIP_WEIGHT = 40;
+	private static final double CARD_WEIGHT = 30;
+	private static final double SITE_WEIGHT = 200;
+	private static final int MAX_SITES = 2;
+	private final long timeBudgetNanos;
+	private final int maxDepth;
+	private final TranspositionTable table;
+	private final ExecutorService executor;
+
+	/**
+	 * Constructor for an agent searching on the common {@link ForkJoinPool} with
+	 * its own transposition table
+	 *
+	 * @param timeBudgetMillis the time available for choosing a move
+	 */
+	public ExpectimaxAgent(long timeBudgetMillis) {
+		this(timeBudgetMillis, DEFAULT_MAX_DEPTH, new TranspositionTable(DEFAULT_TABLE_CAPACITY),
+				ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Constructor sets all search parameters
+	 *
+	 * @param timeBudgetMillis the time available for choosing a move
+	 * @param maxDepth         the maximum depth of the iterative deepening
+	 * @param table            the transposition table, may be shared with other
+	 *                         agents
+	 * @param executor         the executor searching the moves at the root
+	 * @throws IllegalArgumentException if the budget is not positive or the depth
+	 *                                  is negative
+	 */
+	public ExpectimaxAgent(long timeBudgetMillis, int maxDepth, TranspositionTable table,
+			ExecutorService executor) {
+		if (timeBudgetMillis <= 0 || maxDepth < 0) {
+			throw new IllegalArgumentException("Time budget must be positive and depth must not be negative");
+		}
+		this.timeBudgetNanos = timeBudgetMillis * 1_000_000;
+		this.maxDepth = maxDepth;
+		this.table = table;
+		this.executor = executor;
+	}
+
+	@Override
+	public Point selectInitialSettlement(SiedlerGame game) {
+		return Founding.selectSettlement(game);
+	}
+
+	@Override
+	public Point selectInitialRoadEnd(SiedlerGame game, Point settlement) {
+		return Founding.selectRoadEnd(game, settlement);
+	}
+
+	@Override
+	public void playTurn(SiedlerGame game) {
+		for (int i = 0; i < MAX_MOVES_PER_TURN; i++) {
+			Move move = chooseMove(game);
+			if (move == Move.END || !move.apply(game)) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Searches the best move of the current player within the time budget
+	 *
+	 * @param game the game, in the action phase of a turn
+	 * @return the best move found, {@link Move#END} to end the turn
+	 * @throws IllegalStateException if the search fails or is interrupted
+	 */
+	public Move chooseMove(SiedlerGame game) {
+		List<Move> moves = MoveGenerator.generate(game);
+		if (moves.size() == 1) {
+			return Move.END;
+		}
+		table.newSearch();
+		Search search = new Search(System.nanoTime() + timeBudgetNanos);
+		Move best = moves.get(0);
+		for (int depth = 0; depth <= maxDepth; depth++) {
+			double[] values = searchRoot(search, game, moves, depth);
+			if (values == null) {
+				break;
+			}
+			int bestIndex = 0;
+			for (int i = 1; i < values.length; i++) {
+				if (values[i] > values[bestIndex]) {
+					bestIndex = i;
+				}
+			}
+			best = moves.get(bestIndex);
+			if (values[bestIndex] >= WIN_VALUE) {
+				break;
+			}
+		}
+		return best;
+	}
+
+	private double[] searchRoot(Search search, SiedlerGame game, List<Move> moves, int depth) {
+		List<Callable<Double>> tasks = new ArrayList<>(moves.size());
+		for (Move move : moves) {
+			tasks.add(() -> search.afterMove(game.copy(), move, depth));
+		}
+		double[] values = new double[moves.size()];
+		try {
+			List<Future<Double>> futures = executor.invokeAll(tasks);
+			for (int i = 0; i < values.length; i++) {
+				values[i] = futures.get(i).get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Search was interrupted", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof SearchTimeout) {
+				return null;
+			}
+			throw new IllegalStateException("Search failed", e.getCause());
+		}
+		return values;
+	}
+
+	/**
+	 * Evaluates a position for the current player: the win points, the expected
+	 * production of the settlements and cities per throw, the cards in hand up to
+	 * the discard limit and the free settlement sites reachable by the roads.
+	 *
+	 * @param game the game
+	 * @return the value, {@link #WIN_VALUE} or more if the player has won
+	 */
+	static double evaluate(SiedlerGame game) {
+		int points = game.calculateWinPoints().get(game.getCurrentPlayerFaction());
+		if (points >= game.getWinPoints()) {
+			return WIN_VALUE + points;
+		}
+		SiedlerBoard board = game.getBoard();
+		Player player = game.getCurrentPlayer();
+		CornerValuation valuation = board.getCornerValuation();
+		int production = 0;
+		for (Settlement settlement : board.getCorners()) {
+			if (settlement.getOwner() == player) {
+				production += settlement.getResourceReward() * valuation.getPips(settlement.getPosition());
+			}
+		}
+		int cards = 0;
+		for (Resource resource : Resource.values()) {
+			cards += player.getAmountOfResource(resource);
+		}
+		int sites = 0;
+		for (Point corner : board.getCornerPositions()) {
+			if (sites < MAX_SITES && board.isSettlementBuildPointLegal(corner, player)) {
+				sites++;
+			}
+		}
+		return points * POINT_WEIGHT + production * PIP_WEIGHT / CornerValuation.DICE_COMBINATIONS
+				+ Math.min(cards, Config.MAX_CARDS_IN_HAND_NO_DROP) * CARD_WEIGHT + sites * SITE_WEIGHT;
+	}
+
+	/**
+	 * A single search, shared by the threads searching its root moves. All
+	 * values are from the point of view of the current player, who does not
+	 * change during the search.
+	 */
+	private class Search {
+		private final long deadline;
+
+		Search(long deadline) {
+			this.deadline = deadline;
+		}
+
+		double afterMove(SiedlerGame game, Move move, int depth) {
+			if (move == Move.END) {
+				return chance(game, depth);
+			}
+			if (!move.apply(game)) {
+				return -WIN_VALUE;
+			}
+			return decision(game, depth);
+		}
+
+		private double decision(SiedlerGame game, int depth) {
+			if (System.nanoTime() > deadline) {
+				throw SearchTimeout.INSTANCE;
+			}
+			long key = game.getStateHash();
+			long entry = table.probe(key);
+			if (entry != 0 && TranspositionTable.getDepth(entry) >= depth) {
+				return TranspositionTable.getValue(entry);
+			}
+			List<Move> moves = MoveGenerator.generate(game);
+			double best = chance(game, depth);
+			for (int i = 0; i < moves.size() - 1; i++) {
+				best = Math.max(best, afterMove(game.copy(), moves.get(i), depth));
+			}
+			table.store(key, best, depth);
+			return best;
+		}
+
+		private double chance(SiedlerGame game, int depth) {
+			double value = evaluate(game);
+			if (depth == 0 || value >= WIN_VALUE) {
+				return value;
+			}
+			double expected = 0;
+			for (int dice = 2; dice <= 12; dice++) {
+				SiedlerGame next = game.copy();
+				next.throwDice(dice);
+				expected += CornerValuation.combinations(dice) * decision(next, depth - 1);
+			}
+			return expected / CornerValuation.DICE_COMBINATIONS;
+		}
+	}
+
+	/**
+	 * Aborts a search whose time budget is used up
+	 */
+	private static final class SearchTimeout extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+		private static final SearchTimeout INSTANCE = new SearchTimeout();
+
+		private SearchTimeout() {
+			super("Time budget exceeded", null, false, false);
+		}
+	}
+}
@@ -0,0 +1,49 @@
+package ch.zhaw.ai;
+
+import java.awt.Point;
+
+import ch.zhaw.catan.CornerValuation;
+import ch.zhaw.catan.SiedlerBoard;
+import ch.zhaw.catan.SiedlerGame;
+
+/**
+ * The Founding class places the initial settlements and roads of the search
+ * agents, which only search the turns after the founding phase. It takes the
+ * free corner with the most pips in the {@link CornerValuation} of the board,
+ * of two such corners the one producing more different resources.
+ */
+final class Founding {
+	private static final int DIVERSITY_RANGE = 4;
+
+	private Founding() {
+	}
+
+	static Point selectSettlement(SiedlerGame game) {
+		SiedlerBoard board = game.getBoard();
+		Point best = null;
+		for (Point corner : board.getCornerPositions()) {
+			if (board.cornerAvailable(corner) && board.hasLandBorder(corner)
+					&& (best == null || score(board, corner) > score(board, best))) {
+				best = corner;
+			}
+		}
+		return best;
+	}
+
+	static Point selectRoadEnd(SiedlerGame game, Point settlement) {
+		SiedlerBoard board = game.getBoard();
+		Point best = null;
+		for (Point end : board.getNeighbourPositions(settlement)) {
+			if (board.getEdge(settlement, end) == null && board.hasLandBorder(end)
+					&& (best == null || score(board, end) > score(board, best))) {
+				best = end;
+			}
+		}
+		return best;
+	}
+
+	private static int score(SiedlerBoard board, Point corner) {
+		CornerValuation valuation = board.getCornerValuation();
+		return valuation.getPips(corner) * DIVERSITY_RANGE + valuation.getDiversity(corner);
+	}
+}
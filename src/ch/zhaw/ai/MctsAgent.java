@@ -0,0 +1,296 @@
+package ch.zhaw.ai;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import ch.zhaw.catan.Config.Faction;
+import ch.zhaw.catan.RandomNumberGenerator;
+import ch.zhaw.catan.SiedlerGame;
+import ch.zhaw.simulation.PlayerAgent;
+
+/**
+ * The MctsAgent class is a {@link PlayerAgent} that chooses the moves of its
+ * turns with Monte Carlo Tree Search.
+ * <p>
+ * The tree contains the moves of the agent within the current turn. Every
+ * iteration copies the game, descends the tree by UCT, expands it by one move
+ * and finishes the game with a {@link RolloutPolicy} for all players, rolling
+ * the dice with its own random stream. A win counts 1, a loss 0, and a
+ * rollout stopped after {@link #ROLLOUT_TURNS} turns counts the share
+ * of the agent's points among its points and those of the best opponent.
+ * </p>
+ * <p>
+ * All threads work on the same tree. The visits and the reward sum of a node
+ * are packed into one {@link AtomicLong} and updated with a single atomic add.
+ * A thread passing a node adds a virtual loss, i.e. a visit without reward,
+ * which steers the other threads to different branches until the reward of
+ * the rollout arrives.
+ * </p>
+ */
+public class MctsAgent implements PlayerAgent {
+	public static final double DEFAULT_EXPLORATION = Math.sqrt(2);
+	public static final int ROLLOUT_TURNS = 30;
+	private static final int MAX_MOVES_PER_TURN = 64;
+	private final long thinkTimeNanos;
+	private final int threads;
+	private final ExecutorService executor;
+	private final RandomNumberGenerator rng;
+	private final RolloutPolicy policy = new RolloutPolicy();
+	private final LongAdder totalRollouts = new LongAdder();
+	private volatile long lastRollouts;
+	private volatile long lastNanos;
+
+	/**
+	 * Constructor for an agent thinking with one thread per core on the common
+	 * {@link ForkJoinPool}
+	 *
+	 * @param thinkTimeMillis the time available for choosing a move
+	 * @param rng             the random stream of the rollouts
+	 */
+	public MctsAgent(long thinkTimeMillis, RandomNumberGenerator rng) {
+		this(thinkTimeMillis, rng, Runtime.getRuntime().availableProcessors(), ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Constructor sets all search parameters
+	 *
+	 * @param thinkTimeMillis the time available for choosing a move
+	 * @param rng             the random stream of the rollouts
+	 * @param threads         the number of threads searching the tree
+	 * @param executor        the executor running the threads
+	 * @throws IllegalArgumentException if the think time or the number of threads
+	 *                                  is not positive
+	 */
+	public MctsAgent(long thinkTimeMillis, RandomNumberGenerator rng, int threads, ExecutorService executor) {
+		if (thinkTimeMillis <= 0 || threads <= 0) {
+			throw new IllegalArgumentException("Think time and threads must be positive");
+		}
+		this.thinkTimeNanos = thinkTimeMillis * 1_000_000;
+		this.rng = rng;
+		this.threads = threads;
+		this.executor = executor;
+	}
+
+	@Override
+	public Point selectInitialSettlement(SiedlerGame game) {
+		return Founding.selectSettlement(game);
+	}
+
+	@Override
+	public Point selectInitialRoadEnd(SiedlerGame game, Point settlement) {
+		return Founding.selectRoadEnd(game, settlement);
+	}
+
+	@Override
+	public void playTurn(SiedlerGame game) {
+		for (int i = 0; i < MAX_MOVES_PER_TURN; i++) {
+			Move move = chooseMove(game);
+			if (move == Move.END || !move.apply(game)) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Searches the best move of the current player for the think time
+	 *
+	 * @param game the game, in the action phase of a turn
+	 * @return the most visited move, {@link Move#END} to end the turn
+	 * @throws IllegalStateException if the search fails or is interrupted
+	 */
+	public Move chooseMove(SiedlerGame game) {
+		Node root = new Node(null);
+		if (root.expand(game).length == 1) {
+			return Move.END;
+		}
+		long start = System.nanoTime();
+		long deadline = start + thinkTimeNanos;
+		Faction faction = game.getCurrentPlayerFaction();
+		List<Callable<Long>> workers = new ArrayList<>(threads);
+		for (int i = 0; i < threads; i++) {
+			RandomNumberGenerator workerRng = rng.split();
+			workers.add(() -> search(root, game, faction, workerRng, deadline));
+		}
+		long rollouts = 0;
+		try {
+			for (Future<Long> future : executor.invokeAll(workers)) {
+				rollouts += future.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Search was interrupted", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Search failed", e.getCause());
+		}
+		lastRollouts = rollouts;
+		lastNanos = System.nanoTime() - start;
+		totalRollouts.add(rollouts);
+		Node best = root.children[0];
+		for (Node child : root.children) {
+			if (child.getVisits() > best.getVisits()) {
+				best = child;
+			}
+		}
+		return best.move;
+	}
+
+	/**
+	 * Returns the number of rollouts per second of the last search over all
+	 * threads
+	 *
+	 * @return the rollouts per second, 0 before the first search
+	 */
+	public double getRolloutsPerSecond() {
+		long nanos = lastNanos;
+		return nanos == 0 ? 0 : lastRollouts * 1e9 / nanos;
+	}
+
+	/**
+	 * Returns the number of rollouts of all searches of this agent
+	 *
+	 * @return the number of rollouts
+	 */
+	public long getTotalRollouts() {
+		return totalRollouts.sum();
+	}
+
+	private long search(Node root, SiedlerGame rootGame, Faction faction, RandomNumberGenerator rng,
+			long deadline) {
+		Node[] path = new Node[MAX_MOVES_PER_TURN + 1];
+		long rollouts = 0;
+		while (System.nanoTime() < deadline) {
+			SiedlerGame game = rootGame.copy();
+			Node node = root;
+			int length = 0;
+			path[length++] = root;
+			root.addVirtualLoss();
+			double reward = -1;
+			while (node.move != Move.END && length < path.length) {
+				Node child = node.select(node.expand(game));
+				boolean unvisited = child.getVisits() == 0;
+				child.addVirtualLoss();
+				path[length++] = child;
+				node = child;
+				if (!child.move.apply(game)) {
+					reward = 0;
+					break;
+				}
+				if (unvisited) {
+					break;
+				}
+			}
+			if (reward < 0) {
+				reward = rollout(game, node.move != Move.END, faction, rng);
+				rollouts++;
+			}
+			for (int i = 0; i < length; i++) {
+				path[i].update(reward);
+			}
+		}
+		return rollouts;
+	}
+
+	private double rollout(SiedlerGame game, boolean finishTurn, Faction faction, RandomNumberGenerator rng) {
+		if (finishTurn) {
+			policy.playTurn(game, rng);
+		}
+		for (int turn = 0; turn < ROLLOUT_TURNS; turn++) {
+			Faction winner = game.getWinner();
+			if (winner != null) {
+				return winner == faction ? 1 : 0;
+			}
+			game.switchToNextPlayer();
+			game.throwDice(rng.throwTwoDice());
+			policy.playTurn(game, rng);
+		}
+		Map<Faction, Integer> points = game.calculateWinPoints();
+		int own = points.get(faction);
+		int opponent = 0;
+		for (Map.Entry<Faction, Integer> entry : points.entrySet()) {
+			if (entry.getKey() != faction) {
+				opponent = Math.max(opponent, entry.getValue());
+			}
+		}
+		return own + opponent == 0 ? 0.5 : (double) own / (own + opponent);
+	}
+
+	/**
+	 * A move of the tree with its statistics
+	 */
+	private static final class Node {
+		private static final int VISIT_SHIFT = 40;
+		private static final long REWARD_MASK = (1L << VISIT_SHIFT) - 1;
+		private static final double REWARD_SCALE = 1 << 16;
+		private static final long VIRTUAL_LOSS = 1L << VISIT_SHIFT;
+		private final Move move;
+		private final AtomicLong statistics = new AtomicLong();
+		private volatile Node[] children;
+
+		Node(Move move) {
+			this.move = move;
+		}
+
+		int getVisits() {
+			return (int) (statistics.get() >>> VISIT_SHIFT);
+		}
+
+		void addVirtualLoss() {
+			statistics.addAndGet(VIRTUAL_LOSS);
+		}
+
+		/**
+		 * Adds the reward of a rollout. The visit has already been counted by the
+		 * virtual loss.
+		 */
+		void update(double reward) {
+			statistics.addAndGet(Math.round(reward * REWARD_SCALE));
+		}
+
+		Node[] expand(SiedlerGame game) {
+			Node[] current = children;
+			if (current == null) {
+				synchronized (this) {
+					if (children == null) {
+						List<Move> moves = MoveGenerator.generate(game);
+						Node[] created = new Node[moves.size()];
+						for (int i = 0; i < created.length; i++) {
+							created[i] = new Node(moves.get(i));
+						}
+						children = created;
+					}
+					current = children;
+				}
+			}
+			return current;
+		}
+
+		Node select(Node[] candidates) {
+			double logVisits = Math.log(Math.max(1, getVisits()));
+			Node best = null;
+			double bestScore = Double.NEGATIVE_INFINITY;
+			for (Node candidate : candidates) {
+				long stats = candidate.statistics.get();
+				int visits = (int) (stats >>> VISIT_SHIFT);
+				if (visits == 0) {
+					return candidate;
+				}
+				double score = (stats & REWARD_MASK) / REWARD_SCALE / visits
+						+ DEFAULT_EXPLORATION * Math.sqrt(logVisits / visits);
+				if (score > bestScore) {
+					best = candidate;
+					bestScore = score;
+				}
+			}
+			return best;
+		}
+	}
+}
@@ -0,0 +1,131 @@
+package ch.zhaw.ai;
+
+import java.awt.Point;
+import java.util.Objects;
+
+import ch.zhaw.catan.Config.Resource;
+import ch.zhaw.catan.SiedlerGame;
+
+/**
+ * The Move class describes a single action of the current player within a turn:
+ * building a structure, trading with the bank or ending the turn. Moves are
+ * immutable and can be applied to any copy of a game.
+ */
+public final class Move {
+
+	/**
+	 * The kinds of actions a player can take in a turn
+	 */
+	public enum Type {
+		CITY, SETTLEMENT, ROAD, TRADE, END
+	}
+
+	/**
+	 * The move that ends the turn
+	 */
+	public static final Move END = new Move(Type.END, null, null, null, null);
+
+	private final Type type;
+	private final Point position;
+	private final Point end;
+	private final Resource offer;
+	private final Resource want;
+
+	private Move(Type type, Point position, Point end, Resource offer, Resource want) {
+		this.type = type;
+		this.position = position;
+		this.end = end;
+		this.offer = offer;
+		this.want = want;
+	}
+
+	public static Move city(Point position) {
+		return new Move(Type.CITY, new Point(position), null, null, null);
+	}
+
+	public static Move settlement(Point position) {
+		return new Move(Type.SETTLEMENT, new Point(position), null, null, null);
+	}
+
+	public static Move road(Point start, Point end) {
+		return new Move(Type.ROAD, new Point(start), new Point(end), null, null);
+	}
+
+	public static Move trade(Resource offer, Resource want) {
+		return new Move(Type.TRADE, null, null, offer, want);
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	public Point getPosition() {
+		return position == null ? null : new Point(position);
+	}
+
+	public Point getEnd() {
+		return end == null ? null : new Point(end);
+	}
+
+	public Resource getOffer() {
+		return offer;
+	}
+
+	public Resource getWant() {
+		return want;
+	}
+
+	/**
+	 * Performs the move for the current player of the game
+	 *
+	 * @param game the game
+	 * @return true, if the move was legal and has been performed (always true for
+	 *         {@link #END}, which does not change the game)
+	 */
+	public boolean apply(SiedlerGame game) {
+		switch (type) {
+		case CITY:
+			return game.buildCity(position);
+		case SETTLEMENT:
+			return game.buildSettlement(position);
+		case ROAD:
+			return game.buildRoad(position, end);
+		case TRADE:
+			return game.tradeWithBankFourToOne(offer, want);
+		default:
+			return true;
+		}
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		if (this == other) {
+			return true;
+		}
+		if (!(other instanceof Move)) {
+			return false;
+		}
+		Move move = (Move) other;
+		return type == move.type && Objects.equals(position, move.position) && Objects.equals(end, move.end)
+				&& offer == move.offer && want == move.want;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(type, position, end, offer, want);
+	}
+
+	@Override
+	public String toString() {
+		switch (type) {
+		case ROAD:
+			return "ROAD " + position.x + "," + position.y + "-" + end.x + "," + end.y;
+		case TRADE:
+			return "TRADE " + offer + "->" + want;
+		case END:
+			return "END";
+		default:
+			return type + " " + position.x + "," + position.y;
+		}
+	}
+}
@@ -0,0 +1,102 @@
+package ch.zhaw.ai;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import ch.zhaw.catan.BankTrade;
+import ch.zhaw.catan.BankTradePlanner;
+import ch.zhaw.catan.Config;
+import ch.zhaw.catan.Config.Resource;
+import ch.zhaw.catan.Player;
+import ch.zhaw.catan.SiedlerBoard;
+import ch.zhaw.catan.SiedlerGame;
+
+/**
+ * The MoveGenerator class lists the moves the current player of a game can
+ * take in the action phase of a turn.
+ * <p>
+ * Moves are listed in the order city, settlement, road, trade and
+ * {@link Move#END}, which is always the last move. A trade is only listed if
+ * it is the first of the trades a {@link BankTradePlanner} plans to afford a
+ * city, a settlement or a road, since other trades never enable a build.
+ * </p>
+ */
+public final class MoveGenerator {
+	private static final List<Map<Resource, Integer>> COSTS = List.of(Config.CITY_COST, Config.SETTLEMENT_COST,
+			Config.ROAD_COST);
+
+	private MoveGenerator() {
+	}
+
+	/**
+	 * Returns the moves of the current player
+	 *
+	 * @param game the game, in the action phase of a turn
+	 * @return the moves, ending with {@link Move#END}
+	 */
+	public static List<Move> generate(SiedlerGame game) {
+		List<Move> moves = new ArrayList<>();
+		SiedlerBoard board = game.getBoard();
+		Player player = game.getCurrentPlayer();
+		boolean city = canAfford(game, Config.CITY_COST);
+		boolean settlement = canAfford(game, Config.SETTLEMENT_COST);
+		if (city || settlement) {
+			for (Point corner : board.getCornerPositions()) {
+				if (city && board.isCityBuildPointLegal(corner, player) && board.getCorner(corner)
+						.getResourceReward() == Config.SETTLEMENT_RESOURCE_REWARD) {
+					moves.add(Move.city(corner));
+				}
+			}
+			for (Point corner : board.getCornerPositions()) {
+				if (settlement && board.isSettlementBuildPointLegal(corner, player)) {
+					moves.add(Move.settlement(corner));
+				}
+			}
+		}
+		if (canAfford(game, Config.ROAD_COST)) {
+			addRoads(game, moves);
+		}
+		for (Map<Resource, Integer> cost : COSTS) {
+			List<BankTrade> trades = game.planBankTrades(cost);
+			if (trades != null && !trades.isEmpty()) {
+				Move trade = Move.trade(trades.get(0).getOffer(), trades.get(0).getWant());
+				if (!moves.contains(trade)) {
+					moves.add(trade);
+				}
+			}
+		}
+		moves.add(Move.END);
+		return moves;
+	}
+
+	private static void addRoads(SiedlerGame game, List<Move> moves) {
+		SiedlerBoard board = game.getBoard();
+		for (Point start : board.getCornerPositions()) {
+			if (!isConnected(board, game.getCurrentPlayer(), start)) {
+				continue;
+			}
+			for (Point end : board.getNeighbourPositions(start)) {
+				boolean listedFromEnd = isConnected(board, game.getCurrentPlayer(), end)
+						&& (end.x < start.x || end.x == start.x && end.y < start.y);
+				if (!listedFromEnd && board.isRoadBuildLegal(start, end, game.getCurrentPlayerFaction())) {
+					moves.add(Move.road(start, end));
+				}
+			}
+		}
+	}
+
+	private static boolean isConnected(SiedlerBoard board, Player player, Point corner) {
+		return board.isCornerOwner(corner, player) || board.isRoadAdjoining(corner, player);
+	}
+
+	private static boolean canAfford(SiedlerGame game, Map<Resource, Integer> cost) {
+		for (Map.Entry<Resource, Integer> entry : cost.entrySet()) {
+			if (game.getCurrentPlayerResourceStock(entry.getKey()) < entry.getValue()) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
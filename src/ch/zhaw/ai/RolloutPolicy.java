@@ -0,0 +1,139 @@
+package ch.zhaw.ai;
+
+import java.awt.Point;
+import java.util.Map;
+
+import ch.zhaw.catan.BoardIndex;
+import ch.zhaw.catan.Config;
+import ch.zhaw.catan.Config.Resource;
+import ch.zhaw.catan.Player;
+import ch.zhaw.catan.RandomNumberGenerator;
+import ch.zhaw.catan.SiedlerBoard;
+import ch.zhaw.catan.SiedlerGame;
+import ch.zhaw.structures.City;
+import ch.zhaw.structures.Settlement;
+
+/**
+ * The RolloutPolicy class plays the turns of a rollout: it builds a city,
+ * a settlement or a road at a random legal position as long as the player can
+ * afford one, preferring them in this order, and trades surplus cards with the
+ * bank.
+ * <p>
+ * The positions are drawn by reservoir sampling over the corners and edges of
+ * the {@link BoardIndex} and the costs are kept in arrays, so the policy itself
+ * allocates nothing; only the build methods of the game do. It is stateless
+ * and can be shared by all threads.
+ * </p>
+ */
+final class RolloutPolicy {
+	private static final Resource[] RESOURCES = Resource.values();
+	private static final int[] CITY_COST = costOf(Config.CITY_COST);
+	private static final int[] SETTLEMENT_COST = costOf(Config.SETTLEMENT_COST);
+	private static final int[] ROAD_COST = costOf(Config.ROAD_COST);
+	private static final int SURPLUS = 5;
+	private final BoardIndex index = BoardIndex.standard();
+
+	/**
+	 * Plays the actions of the current player, whose dice have been thrown
+	 *
+	 * @param game the game
+	 * @param rng  the random stream of the rollout
+	 */
+	void playTurn(SiedlerGame game, RandomNumberGenerator rng) {
+		boolean acted = true;
+		while (acted) {
+			acted = buildCity(game, rng) || buildSettlement(game, rng) || buildRoad(game, rng) || trade(game);
+		}
+	}
+
+	private boolean buildCity(SiedlerGame game, RandomNumberGenerator rng) {
+		if (!canAfford(game, CITY_COST)) {
+			return false;
+		}
+		SiedlerBoard board = game.getBoard();
+		Player player = game.getCurrentPlayer();
+		Point choice = null;
+		int candidates = 0;
+		for (int corner = 0; corner < index.getCornerCount(); corner++) {
+			Settlement settlement = board.getCorner(index.getCorner(corner));
+			if (settlement != null && settlement.getOwner() == player && !(settlement instanceof City)
+					&& rng.nextInt(++candidates) == 0) {
+				choice = index.getCorner(corner);
+			}
+		}
+		return choice != null && game.buildCity(choice);
+	}
+
+	private boolean buildSettlement(SiedlerGame game, RandomNumberGenerator rng) {
+		if (!canAfford(game, SETTLEMENT_COST)) {
+			return false;
+		}
+		Point choice = randomSettlementSite(game, rng);
+		return choice != null && game.buildSettlement(choice);
+	}
+
+	private Point randomSettlementSite(SiedlerGame game, RandomNumberGenerator rng) {
+		SiedlerBoard board = game.getBoard();
+		Player player = game.getCurrentPlayer();
+		Point choice = null;
+		int candidates = 0;
+		for (int corner = 0; corner < index.getCornerCount(); corner++) {
+			if (board.isSettlementBuildPointLegal(index.getCorner(corner), player)
+					&& rng.nextInt(++candidates) == 0) {
+				choice = index.getCorner(corner);
+			}
+		}
+		return choice;
+	}
+
+	private boolean buildRoad(SiedlerGame game, RandomNumberGenerator rng) {
+		if (!canAfford(game, ROAD_COST) || randomSettlementSite(game, rng) != null) {
+			return false;
+		}
+		SiedlerBoard board = game.getBoard();
+		int choice = -1;
+		int candidates = 0;
+		for (int edge = 0; edge < index.getEdgeCount(); edge++) {
+			Point start = index.getCorner(index.getEdgeStart(edge));
+			Point end = index.getCorner(index.getEdgeEnd(edge));
+			if (board.getEdge(start, end) == null
+					&& board.isRoadBuildLegal(start, end, game.getCurrentPlayerFaction())
+					&& rng.nextInt(++candidates) == 0) {
+				choice = edge;
+			}
+		}
+		return choice >= 0 && game.buildRoad(index.getCorner(index.getEdgeStart(choice)),
+				index.getCorner(index.getEdgeEnd(choice)));
+	}
+
+	private boolean trade(SiedlerGame game) {
+		Resource surplus = null;
+		Resource scarce = null;
+		for (Resource resource : RESOURCES) {
+			int stock = game.getCurrentPlayerResourceStock(resource);
+			if (surplus == null || stock > game.getCurrentPlayerResourceStock(surplus)) {
+				surplus = resource;
+			}
+			if (scarce == null || stock < game.getCurrentPlayerResourceStock(scarce)) {
+				scarce = resource;
+			}
+		}
+		return game.getCurrentPlayerResourceStock(surplus) >= SURPLUS
+				&& game.tradeWithBankFourToOne(surplus, scarce);
+	}
+
+	private static boolean canAfford(SiedlerGame game, int[] cost) {
+		for (Resource resource : RESOURCES) {
+			if (game.getCurrentPlayerResourceStock(resource) < cost[resource.ordinal()]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static int[] costOf(Map<Resource, Integer> cost) {
+		int[] amounts = new int[RESOURCES.length];
+		cost.forEach((resource, amount) -> amounts[resource.ordinal()] = amount);
+		return amounts;
+	}
+}
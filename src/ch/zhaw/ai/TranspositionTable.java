@@ -0,0 +1,133 @@
+package ch.zhaw.ai;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The TranspositionTable class caches the values of searched positions, keyed
+ * by the Zobrist hash of the game state. It has a fixed size and is shared by
+ * all search threads without locks.
+ * <p>
+ * Every entry consists of two longs: the key XOR the data and the data itself.
+ * A reader only accepts an entry whose two words XOR to the probed key, so an
+ * entry torn by two concurrent writers is seen as a miss instead of being
+ * returned for the wrong position. The data packs the value (as float), the
+ * search depth and the generation of the search that stored it. Best moves are
+ * not stored: expectimax searches every move of a decision node, so their
+ * order cannot save any work.
+ * </p>
+ * <p>
+ * The entries are grouped into buckets of two. The first entry of a bucket is
+ * only replaced by a search at least as deep or by an entry of a newer search,
+ * the second entry is always replaced. Deep results therefore survive while
+ * recent shallow results still find a place.
+ * </p>
+ */
+public final class TranspositionTable {
+	private static final int BUCKET_SIZE = 2;
+	private static final int MAX_DEPTH = 0xff;
+	private static final int GENERATIONS = 0x7f;
+	private static final long VALID = 1L << 63;
+	private final AtomicLongArray entries;
+	private final int bucketMask;
+	private volatile int generation;
+
+	/**
+	 * Constructor allocates the table
+	 *
+	 * @param capacity the number of entries, rounded up to a power of two
+	 * @throws IllegalArgumentException if capacity is not positive or too large
+	 */
+	public TranspositionTable(int capacity) {
+		if (capacity < BUCKET_SIZE || capacity > 1 << 28) {
+			throw new IllegalArgumentException("Capacity must be between " + BUCKET_SIZE + " and " + (1 << 28));
+		}
+		int buckets = Integer.highestOneBit(capacity - 1) * 2 / BUCKET_SIZE;
+		this.entries = new AtomicLongArray(buckets * BUCKET_SIZE * 2);
+		this.bucketMask = buckets - 1;
+	}
+
+	/**
+	 * Returns the number of entries of the table
+	 *
+	 * @return the capacity
+	 */
+	public int getCapacity() {
+		return entries.length() / 2;
+	}
+
+	/**
+	 * Starts a new search. Entries of older searches are replaced first.
+	 */
+	public void newSearch() {
+		generation = (generation + 1) & GENERATIONS;
+	}
+
+	/**
+	 * Removes all entries
+	 */
+	public void clear() {
+		for (int i = 0; i < entries.length(); i++) {
+			entries.set(i, 0);
+		}
+	}
+
+	/**
+	 * Looks up a position
+	 *
+	 * @param key the hash of the position
+	 * @return the packed data of the entry or 0, if the position is not stored
+	 */
+	public long probe(long key) {
+		int index = bucketIndex(key);
+		for (int slot = 0; slot < BUCKET_SIZE; slot++) {
+			long data = entries.get(index + 1);
+			if (data != 0 && (entries.get(index) ^ data) == key) {
+				return data;
+			}
+			index += 2;
+		}
+		return 0;
+	}
+
+	/**
+	 * Stores the result of a search
+	 *
+	 * @param key   the hash of the position
+	 * @param value the value of the position
+	 * @param depth the depth the position has been searched to
+	 */
+	public void store(long key, double value, int depth) {
+		long data = VALID | (long) generation << 56 | (long) Math.min(depth, MAX_DEPTH) << 32
+				| Float.floatToRawIntBits((float) value) & 0xffffffffL;
+		int index = bucketIndex(key);
+		long preferred = entries.get(index + 1);
+		boolean samePosition = (entries.get(index) ^ preferred) == key;
+		if (preferred == 0 || samePosition || getDepth(data) >= getDepth(preferred)
+				|| getGeneration(preferred) != generation) {
+			write(index, key, data);
+		} else {
+			write(index + 2, key, data);
+		}
+	}
+
+	private void write(int index, long key, long data) {
+		entries.set(index, key ^ data);
+		entries.set(index + 1, data);
+	}
+
+	private int bucketIndex(long key) {
+		return (int) (key ^ key >>> 32) & bucketMask * BUCKET_SIZE * 2;
+	}
+
+	public static double getValue(long data) {
+		return Float.intBitsToFloat((int) data);
+	}
+
+	public static int getDepth(long data) {
+		return (int) (data >>> 32) & MAX_DEPTH;
+	}
+
+	static int getGeneration(long data) {
+		return (int) (data >>> 56) & GENERATIONS;
+	}
+}
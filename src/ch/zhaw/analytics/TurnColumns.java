@@ -0,0 +1,148 @@
+package ch.zhaw.analytics;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import ch.zhaw.catan.Config.Faction;
+
+/**
+ * The TurnColumns class holds a chunk of per turn statistics column by column.
+ * Each row describes one turn: the game it belongs to, the turn number, the
+ * player, the dice value, the payout and the win points of every faction at
+ * the end of the turn and the structures the player built.
+ * <p>
+ * The values are stored in primitive arrays, one per column, so aggregations
+ * are simple loops over a few arrays instead of traversals of object graphs.
+ * </p>
+ */
+public final class TurnColumns {
+	public static final int TURN = 0;
+	public static final int PLAYER = 1;
+	public static final int DICE = 2;
+	public static final int PAYOUT = 3;
+	public static final int POINTS = PAYOUT + Faction.values().length;
+	public static final int SETTLEMENTS = POINTS + Faction.values().length;
+	public static final int CITIES = SETTLEMENTS + 1;
+	public static final int ROADS = CITIES + 1;
+	static final int SHORT_COLUMNS = ROADS + 1;
+	static final int BYTES_PER_ROW = Integer.BYTES + SHORT_COLUMNS * Short.BYTES;
+	private int[] games;
+	private final short[][] columns = new short[SHORT_COLUMNS][];
+	private int size;
+
+	/**
+	 * Creates an empty chunk
+	 *
+	 * @param capacity the initial number of rows
+	 */
+	public TurnColumns(int capacity) {
+		games = new int[capacity];
+		for (int i = 0; i < SHORT_COLUMNS; i++) {
+			columns[i] = new short[capacity];
+		}
+	}
+
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the game column
+	 *
+	 * @return the array, valid up to {@link #size()}
+	 */
+	public int[] getGames() {
+		return games;
+	}
+
+	/**
+	 * Returns a column
+	 *
+	 * @param column the column, e.g. {@link #DICE} or {@link #PAYOUT} plus the
+	 *               ordinal of a faction
+	 * @return the array, valid up to {@link #size()}
+	 */
+	public short[] getColumn(int column) {
+		return columns[column];
+	}
+
+	/**
+	 * Appends an empty row
+	 *
+	 * @param game the game of the row
+	 * @return the index of the row
+	 */
+	int addRow(int game) {
+		if (size == games.length) {
+			ensureCapacity(size * 2);
+		}
+		games[size] = game;
+		for (short[] column : columns) {
+			column[size] = 0;
+		}
+		return size++;
+	}
+
+	void set(int column, int row, int value) {
+		columns[column][row] = (short) value;
+	}
+
+	/**
+	 * Appends all rows of another chunk
+	 *
+	 * @param other the chunk
+	 */
+	void addAll(TurnColumns other) {
+		ensureCapacity(size + other.size);
+		System.arraycopy(other.games, 0, games, size, other.size);
+		for (int i = 0; i < SHORT_COLUMNS; i++) {
+			System.arraycopy(other.columns[i], 0, columns[i], size, other.size);
+		}
+		size += other.size;
+	}
+
+	void clear() {
+		size = 0;
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity > games.length) {
+			games = Arrays.copyOf(games, capacity);
+			for (int i = 0; i < SHORT_COLUMNS; i++) {
+				columns[i] = Arrays.copyOf(columns[i], capacity);
+			}
+		}
+	}
+
+	/**
+	 * Writes the rows column by column
+	 *
+	 * @param buffer the buffer, with at least size times
+	 *               {@link #BYTES_PER_ROW} bytes remaining
+	 */
+	void writeTo(ByteBuffer buffer) {
+		buffer.asIntBuffer().put(games, 0, size);
+		buffer.position(buffer.position() + size * Integer.BYTES);
+		for (short[] column : columns) {
+			buffer.asShortBuffer().put(column, 0, size);
+			buffer.position(buffer.position() + size * Short.BYTES);
+		}
+	}
+
+	/**
+	 * Replaces the rows with rows written by {@link #writeTo(ByteBuffer)}
+	 *
+	 * @param buffer the buffer
+	 * @param rows   the number of rows
+	 */
+	void readFrom(ByteBuffer buffer, int rows) {
+		ensureCapacity(rows);
+		size = rows;
+		buffer.asIntBuffer().get(games, 0, rows);
+		buffer.position(buffer.position() + rows * Integer.BYTES);
+		for (short[] column : columns) {
+			buffer.asShortBuffer().get(column, 0, rows);
+			buffer.position(buffer.position() + rows * Short.BYTES);
+		}
+	}
+}
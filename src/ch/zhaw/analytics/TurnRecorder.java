@@ -0,0 +1,92 @@
+package ch.zhaw.analytics;
+
+import java.util.Map;
+
+import ch.zhaw.catan.Config.Faction;
+import ch.zhaw.catan.GameEvent;
+import ch.zhaw.catan.GameEventListener;
+import ch.zhaw.catan.SiedlerGame;
+
+/**
+ * The TurnRecorder class listens to a game and collects one row of
+ * {@link TurnColumns} per turn. A turn starts with the dice throw and ends with
+ * the change of player; the win points are read from the game at the end of
+ * the turn. {@link #finish()} must be called after the game to complete the
+ * last turn, which ends without a change of player.
+ */
+public class TurnRecorder implements GameEventListener {
+	private static final int INITIAL_CAPACITY = 256;
+	private final SiedlerGame game;
+	private final int gameNumber;
+	private final TurnColumns rows = new TurnColumns(INITIAL_CAPACITY);
+	private int row = -1;
+	private int turn;
+
+	/**
+	 * Constructor for a game that has not been played yet
+	 *
+	 * @param game       the game, the recorder registers itself as listener
+	 * @param gameNumber the number stored in the game column
+	 */
+	public TurnRecorder(SiedlerGame game, int gameNumber) {
+		this.game = game;
+		this.gameNumber = gameNumber;
+		game.addEventListener(this);
+	}
+
+	@Override
+	public void onEvent(GameEvent event) {
+		switch (event.getType()) {
+		case DICE_THROW:
+			finishTurn();
+			row = rows.addRow(gameNumber);
+			rows.set(TurnColumns.TURN, row, ++turn);
+			rows.set(TurnColumns.PLAYER, row, event.getFaction().ordinal());
+			rows.set(TurnColumns.DICE, row, event.getValue());
+			break;
+		case PAYOUT:
+			add(TurnColumns.PAYOUT + event.getFaction().ordinal(), event.getValue());
+			break;
+		case SETTLEMENT:
+			add(TurnColumns.SETTLEMENTS, 1);
+			break;
+		case CITY:
+			add(TurnColumns.CITIES, 1);
+			break;
+		case ROAD:
+			add(TurnColumns.ROADS, 1);
+			break;
+		case NEXT_PLAYER:
+			finishTurn();
+			break;
+		default:
+			break;
+		}
+	}
+
+	private void add(int column, int value) {
+		if (row >= 0) {
+			rows.set(column, row, rows.getColumn(column)[row] + value);
+		}
+	}
+
+	private void finishTurn() {
+		if (row >= 0) {
+			for (Map.Entry<Faction, Integer> points : game.calculateWinPoints().entrySet()) {
+				rows.set(TurnColumns.POINTS + points.getKey().ordinal(), row, points.getValue());
+			}
+			row = -1;
+		}
+	}
+
+	/**
+	 * Completes the last turn and stops listening to the game
+	 *
+	 * @return the rows of all turns
+	 */
+	public TurnColumns finish() {
+		finishTurn();
+		game.removeEventListener(this);
+		return rows;
+	}
+}
@@ -0,0 +1,153 @@
+package ch.zhaw.analytics;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import ch.zhaw.catan.Config.Faction;
+
+/**
+ * The TurnStatisticsReader class reads the blocks written by a
+ * {@link TurnStatisticsWriter} and runs aggregations over them. Every block is
+ * decompressed into the same {@link TurnColumns}, so a scan over millions of
+ * turns only needs the memory of one block.
+ */
+public class TurnStatisticsReader {
+	private static final int FACTIONS = Faction.values().length;
+	private static final int DICE_VALUES = 13;
+	private final Path file;
+
+	/**
+	 * Constructor for a file written by a {@link TurnStatisticsWriter}
+	 *
+	 * @param file the file
+	 */
+	public TurnStatisticsReader(Path file) {
+		this.file = file;
+	}
+
+	/**
+	 * Visits the blocks of the file in order. The columns passed to the consumer
+	 * are overwritten by the next block and must not be kept.
+	 *
+	 * @param consumer receives the blocks
+	 * @throws IOException if the file cannot be read or is corrupt
+	 */
+	public void scan(Consumer<TurnColumns> consumer) throws IOException {
+		Inflater inflater = new Inflater();
+		try (InputStream stream = Files.newInputStream(file);
+				DataInputStream input = new DataInputStream(new BufferedInputStream(stream))) {
+			if (input.readInt() != TurnStatisticsWriter.MAGIC || input.readByte() != TurnStatisticsWriter.VERSION) {
+				throw new IOException("Not a turn statistics file");
+			}
+			TurnColumns columns = new TurnColumns(TurnStatisticsWriter.DEFAULT_BLOCK_ROWS);
+			byte[] compressed = new byte[0];
+			byte[] raw = new byte[0];
+			while (true) {
+				int rows;
+				try {
+					rows = input.readInt();
+				} catch (EOFException e) {
+					break;
+				}
+				int rawLength = input.readInt();
+				int compressedLength = input.readInt();
+				if (compressed.length < compressedLength) {
+					compressed = new byte[compressedLength];
+				}
+				if (raw.length < rawLength) {
+					raw = new byte[rawLength];
+				}
+				input.readFully(compressed, 0, compressedLength);
+				inflater.reset();
+				inflater.setInput(compressed, 0, compressedLength);
+				if (inflater.inflate(raw, 0, rawLength) != rawLength) {
+					throw new IOException("Corrupt block");
+				}
+				columns.readFrom(ByteBuffer.wrap(raw, 0, rawLength), rows);
+				consumer.accept(columns);
+			}
+		} catch (DataFormatException e) {
+			throw new IOException("Corrupt block", e);
+		} finally {
+			inflater.end();
+		}
+	}
+
+	/**
+	 * Calculates the average number of cards paid out to each faction per dice
+	 * value
+	 *
+	 * @return the averages indexed by dice value and faction ordinal, 0 for dice
+	 *         values that were never thrown
+	 * @throws IOException if the file cannot be read or is corrupt
+	 */
+	public double[][] averagePayoutPerDiceValue() throws IOException {
+		long[] sums = new long[DICE_VALUES * FACTIONS];
+		long[] counts = new long[DICE_VALUES];
+		short[][] payouts = new short[FACTIONS][];
+		scan(columns -> {
+			short[] dice = columns.getColumn(TurnColumns.DICE);
+			for (int faction = 0; faction < FACTIONS; faction++) {
+				payouts[faction] = columns.getColumn(TurnColumns.PAYOUT + faction);
+			}
+			for (int row = 0; row < columns.size(); row++) {
+				int value = dice[row];
+				counts[value]++;
+				int base = value * FACTIONS;
+				for (int faction = 0; faction < FACTIONS; faction++) {
+					sums[base + faction] += payouts[faction][row];
+				}
+			}
+		});
+		double[][] averages = new double[DICE_VALUES][FACTIONS];
+		for (int value = 0; value < DICE_VALUES; value++) {
+			for (int faction = 0; faction < FACTIONS; faction++) {
+				averages[value][faction] = counts[value] == 0 ? 0
+						: (double) sums[value * FACTIONS + faction] / counts[value];
+			}
+		}
+		return averages;
+	}
+
+	/**
+	 * Counts the turns of the file
+	 *
+	 * @return the number of rows
+	 * @throws IOException if the file cannot be read or is corrupt
+	 */
+	public long countTurns() throws IOException {
+		long[] count = new long[1];
+		scan(columns -> count[0] += columns.size());
+		return count[0];
+	}
+
+	/**
+	 * Prints the average payout per dice value and faction of a file
+	 *
+	 * @param args the file
+	 * @throws IOException if the file cannot be read or is corrupt
+	 */
+	public static void main(String[] args) throws IOException {
+		TurnStatisticsReader reader = new TurnStatisticsReader(Path.of(args[0]));
+		long start = System.nanoTime();
+		double[][] averages = reader.averagePayoutPerDiceValue();
+		long elapsed = System.nanoTime() - start;
+		for (int value = 2; value < DICE_VALUES; value++) {
+			StringBuilder line = new StringBuilder(String.format("%2d:", value));
+			for (Faction faction : Faction.values()) {
+				line.append(String.format(" %s %.3f", faction, averages[value][faction.ordinal()]));
+			}
+			System.out.println(line);
+		}
+		System.out.printf("%d turns aggregated in %d ms%n", reader.countTurns(), elapsed / 1_000_000);
+	}
+}
@@ -0,0 +1,105 @@
+package ch.zhaw.analytics;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.Deflater;
+
+/**
+ * The TurnStatisticsWriter class collects {@link TurnColumns} of many games
+ * and writes them to a file in compressed blocks. Each block holds a fixed
+ * number of rows column by column and is compressed with {@link Deflater}, so
+ * the similar values of a column compress well.
+ * <p>
+ * The file starts with a magic number and a version. A block consists of the
+ * number of rows, the raw and the compressed length followed by the compressed
+ * columns. {@link #append(TurnColumns)} may be called from several threads.
+ * </p>
+ */
+public class TurnStatisticsWriter implements Closeable {
+	public static final int DEFAULT_BLOCK_ROWS = 4096;
+	static final int MAGIC = 0x43545453;
+	static final byte VERSION = 1;
+	static final int BLOCK_HEADER_SIZE = 3 * Integer.BYTES;
+	private final FileChannel channel;
+	private final int blockRows;
+	private final TurnColumns pending;
+	private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+	private ByteBuffer raw;
+	private byte[] compressed;
+
+	/**
+	 * Creates a file for turn statistics
+	 *
+	 * @param file      the file, an existing file is overwritten
+	 * @param blockRows the number of rows per block
+	 * @throws IOException if the file cannot be written
+	 */
+	public TurnStatisticsWriter(Path file, int blockRows) throws IOException {
+		this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+		this.blockRows = blockRows;
+		this.pending = new TurnColumns(blockRows * 2);
+		write(ByteBuffer.allocate(Integer.BYTES + 1).putInt(MAGIC).put(VERSION).flip());
+	}
+
+	/**
+	 * Appends the rows of a game. Full blocks are compressed and written.
+	 *
+	 * @param rows the rows
+	 * @throws IOException if the file cannot be written
+	 */
+	public synchronized void append(TurnColumns rows) throws IOException {
+		pending.addAll(rows);
+		if (pending.size() >= blockRows) {
+			writeBlock();
+		}
+	}
+
+	private void writeBlock() throws IOException {
+		int rawLength = pending.size() * TurnColumns.BYTES_PER_ROW;
+		if (raw == null || raw.capacity() < rawLength) {
+			raw = ByteBuffer.allocate(rawLength);
+			compressed = new byte[rawLength + rawLength / 8 + 64];
+		}
+		raw.clear();
+		pending.writeTo(raw);
+		deflater.reset();
+		deflater.setInput(raw.array(), 0, rawLength);
+		deflater.finish();
+		int compressedLength = deflater.deflate(compressed);
+		if (!deflater.finished()) {
+			throw new IllegalStateException("Compressed block exceeds its buffer");
+		}
+		ByteBuffer header = ByteBuffer.allocate(BLOCK_HEADER_SIZE);
+		header.putInt(pending.size()).putInt(rawLength).putInt(compressedLength).flip();
+		write(header);
+		write(ByteBuffer.wrap(compressed, 0, compressedLength));
+		pending.clear();
+	}
+
+	private void write(ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+
+	/**
+	 * Writes the remaining rows as a last block and closes the file
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		try {
+			if (pending.size() > 0) {
+				writeBlock();
+			}
+			channel.force(false);
+		} finally {
+			deflater.end();
+			channel.close();
+		}
+	}
+}
@@ -0,0 +1,299 @@
+package ch.zhaw.archive;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import ch.zhaw.catan.Config.Faction;
+
+/**
+ * The ArchiveQuery class filters and aggregates the games of a
+ * {@link GameArchive} without replaying them.
+ * <p>
+ * Filters on the layout hash and on the winner are pushed down: segments whose
+ * summary rules them out are not read at all, the remaining records are
+ * checked on their header before any moves are decoded. The selected segments
+ * are aggregated in parallel on a {@link ForkJoinPool}, each task with its own
+ * accumulator, and the accumulators are combined at the end.
+ * </p>
+ * <p>
+ * A query is immutable, every filter returns a new query.
+ * </p>
+ */
+public final class ArchiveQuery {
+	private static final int SEGMENTS_PER_TASK = 1;
+	private final GameArchive archive;
+	private final Long layoutHash;
+	private final boolean filterWinner;
+	private final Faction winner;
+	private final boolean finishedOnly;
+	private final Predicate<GameRecord> predicate;
+	private final ForkJoinPool pool;
+
+	private ArchiveQuery(GameArchive archive, Long layoutHash, boolean filterWinner, Faction winner,
+			boolean finishedOnly, Predicate<GameRecord> predicate, ForkJoinPool pool) {
+		this.archive = archive;
+		this.layoutHash = layoutHash;
+		this.filterWinner = filterWinner;
+		this.winner = winner;
+		this.finishedOnly = finishedOnly;
+		this.predicate = predicate;
+		this.pool = pool;
+	}
+
+	/**
+	 * Creates a query over all games of an archive
+	 *
+	 * @param archive the archive
+	 * @return the query
+	 */
+	public static ArchiveQuery on(GameArchive archive) {
+		return new ArchiveQuery(archive, null, false, null, false, null, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Restricts the query to games of a board layout
+	 *
+	 * @param layoutHash the layout hash
+	 * @return the restricted query
+	 */
+	public ArchiveQuery layout(long layoutHash) {
+		return new ArchiveQuery(archive, layoutHash, filterWinner, winner, finishedOnly, predicate, pool);
+	}
+
+	/**
+	 * Restricts the query to games won by a faction
+	 *
+	 * @param winner the faction or null for games without winner
+	 * @return the restricted query
+	 */
+	public ArchiveQuery winner(Faction winner) {
+		return new ArchiveQuery(archive, layoutHash, true, winner, finishedOnly, predicate, pool);
+	}
+
+	/**
+	 * Restricts the query to games in which a player reached the win points
+	 *
+	 * @return the restricted query
+	 */
+	public ArchiveQuery finished() {
+		return new ArchiveQuery(archive, layoutHash, filterWinner, winner, true, predicate, pool);
+	}
+
+	/**
+	 * Restricts the query to games matching a predicate. The predicate is
+	 * evaluated after the pushed down filters.
+	 *
+	 * @param condition the predicate
+	 * @return the restricted query
+	 */
+	public ArchiveQuery where(Predicate<GameRecord> condition) {
+		return new ArchiveQuery(archive, layoutHash, filterWinner, winner, finishedOnly,
+				predicate == null ? condition : predicate.and(condition), pool);
+	}
+
+	/**
+	 * Runs the query on another pool than the common pool
+	 *
+	 * @param executor the pool
+	 * @return the query
+	 */
+	public ArchiveQuery on(ForkJoinPool executor) {
+		return new ArchiveQuery(archive, layoutHash, filterWinner, winner, finishedOnly, predicate, executor);
+	}
+
+	/**
+	 * Returns the segments that may contain matching games
+	 *
+	 * @return the segments that are read by the query
+	 */
+	public List<ArchiveSegment> selectSegments() {
+		List<ArchiveSegment> selected = new ArrayList<>();
+		for (ArchiveSegment segment : archive.getSegments()) {
+			if (layoutHash != null && !segment.mayContainLayout(layoutHash)) {
+				continue;
+			}
+			if (filterWinner && !segment.mayContainWinner(winner)) {
+				continue;
+			}
+			if (finishedOnly && !mayContainFinishedGame(segment)) {
+				continue;
+			}
+			selected.add(segment);
+		}
+		return selected;
+	}
+
+	private static boolean mayContainFinishedGame(ArchiveSegment segment) {
+		for (Faction faction : Faction.values()) {
+			if (segment.mayContainWinner(faction)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean matches(GameRecord record) {
+		if (layoutHash != null && record.getLayoutHash() != layoutHash) {
+			return false;
+		}
+		if (filterWinner && record.getWinner() != winner) {
+			return false;
+		}
+		if (finishedOnly && record.getWinner() == null) {
+			return false;
+		}
+		return predicate == null || predicate.test(record);
+	}
+
+	/**
+	 * Aggregates the matching games in parallel
+	 *
+	 * @param supplier    creates an empty accumulator per task
+	 * @param accumulator adds a game to an accumulator, must not keep the record
+	 * @param combiner    merges two accumulators
+	 * @return the combined accumulator
+	 */
+	public <A> A aggregate(Supplier<A> supplier, BiConsumer<A, GameRecord> accumulator, BinaryOperator<A> combiner) {
+		List<ArchiveSegment> segments = selectSegments();
+		return pool.invoke(new SegmentRangeTask<>(segments, 0, segments.size(), supplier, accumulator, combiner));
+	}
+
+	private class SegmentRangeTask<A> extends RecursiveTask<A> {
+		private static final long serialVersionUID = 1L;
+		private final transient List<ArchiveSegment> segments;
+		private final int from;
+		private final int to;
+		private final transient Supplier<A> supplier;
+		private final transient BiConsumer<A, GameRecord> accumulator;
+		private final transient BinaryOperator<A> combiner;
+
+		SegmentRangeTask(List<ArchiveSegment> segments, int from, int to, Supplier<A> supplier,
+				BiConsumer<A, GameRecord> accumulator, BinaryOperator<A> combiner) {
+			this.segments = segments;
+			this.from = from;
+			this.to = to;
+			this.supplier = supplier;
+			this.accumulator = accumulator;
+			this.combiner = combiner;
+		}
+
+		@Override
+		protected A compute() {
+			if (to - from <= SEGMENTS_PER_TASK) {
+				A result = supplier.get();
+				for (int i = from; i < to; i++) {
+					segments.get(i).scan(record -> {
+						if (matches(record)) {
+							accumulator.accept(result, record);
+						}
+					});
+				}
+				return result;
+			}
+			int middle = (from + to) >>> 1;
+			SegmentRangeTask<A> left = new SegmentRangeTask<>(segments, from, middle, supplier, accumulator,
+					combiner);
+			left.fork();
+			A right = new SegmentRangeTask<>(segments, middle, to, supplier, accumulator, combiner).compute();
+			return combiner.apply(left.join(), right);
+		}
+	}
+
+	/**
+	 * Counts the matching games
+	 *
+	 * @return the number of games
+	 */
+	public long count() {
+		return aggregate(() -> new long[1], (count, record) -> count[0]++, (first, second) -> {
+			first[0] += second[0];
+			return first;
+		})[0];
+	}
+
+	/**
+	 * Calculates the median number of turns of the matching games. Combine with
+	 * {@link #finished()} for the turns needed to reach the win points.
+	 *
+	 * @return the median or 0 if no game matches
+	 */
+	public double medianTurns() {
+		return median(turnHistogram());
+	}
+
+	private long[] turnHistogram() {
+		return aggregate(() -> new long[][] { new long[64] }, (histogram, record) -> {
+			int turns = record.getTurns();
+			if (turns >= histogram[0].length) {
+				histogram[0] = Arrays.copyOf(histogram[0], Math.max(turns + 1, histogram[0].length * 2));
+			}
+			histogram[0][turns]++;
+		}, (first, second) -> {
+			if (first[0].length < second[0].length) {
+				long[] swap = first[0];
+				first[0] = second[0];
+				second[0] = swap;
+			}
+			for (int i = 0; i < second[0].length; i++) {
+				first[0][i] += second[0][i];
+			}
+			return first;
+		})[0];
+	}
+
+	static double median(long[] histogram) {
+		long total = 0;
+		for (long count : histogram) {
+			total += count;
+		}
+		if (total == 0) {
+			return 0;
+		}
+		long lower = (total - 1) / 2;
+		long upper = total / 2;
+		int lowerValue = -1;
+		long seen = 0;
+		for (int value = 0; value < histogram.length; value++) {
+			seen += histogram[value];
+			if (lowerValue < 0 && seen > lower) {
+				lowerValue = value;
+			}
+			if (seen > upper) {
+				return (lowerValue + value) / 2.0;
+			}
+		}
+		throw new IllegalStateException("Histogram is inconsistent");
+	}
+
+	/**
+	 * Calculates the win rate of the players per corner of their first
+	 * settlement
+	 *
+	 * @return the win rates by corner
+	 */
+	public Map<Point, WinRate> winRateByFirstSettlement() {
+		return aggregate(HashMap<Point, WinRate>::new, (rates, record) -> {
+			Point[] settlements = record.getFirstSettlements();
+			Faction winner = record.getWinner();
+			for (int i = 0; i < settlements.length; i++) {
+				if (settlements[i] != null) {
+					rates.computeIfAbsent(settlements[i], corner -> new WinRate())
+							.add(winner != null && winner.ordinal() == i);
+				}
+			}
+		}, (first, second) -> {
+			second.forEach((corner, rate) -> first.computeIfAbsent(corner, key -> new WinRate()).addAll(rate));
+			return first;
+		});
+	}
+}
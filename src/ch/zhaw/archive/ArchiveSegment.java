@@ -0,0 +1,143 @@
+package ch.zhaw.archive;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+import ch.zhaw.catan.Config.Faction;
+import ch.zhaw.catan.SiedlerBoard;
+
+/**
+ * The ArchiveSegment class gives access to one segment of a
+ * {@link GameArchive}. The data file and the offset index of the segment are
+ * mapped into memory, so the records are read directly from the page cache
+ * and the archive can be far larger than the heap.
+ * <p>
+ * The data file starts with a header (magic number, version, id of the first
+ * game) followed by the records. The index file holds the offset of every
+ * record as an int, so the record of a game is found with a single lookup. The
+ * optional summary file lists the layouts and winners of the segment.
+ * </p>
+ */
+public final class ArchiveSegment {
+	static final int MAGIC = 0x43544152;
+	static final byte VERSION = 1;
+	static final int HEADER_SIZE = 13;
+	private final Path file;
+	private final MappedByteBuffer data;
+	private final IntBuffer offsets;
+	private final long firstGameId;
+	private final SegmentSummary summary;
+
+	private ArchiveSegment(Path file, MappedByteBuffer data, IntBuffer offsets, SegmentSummary summary)
+			throws IOException {
+		if (data.capacity() < HEADER_SIZE || data.getInt(0) != MAGIC || data.get(4) != VERSION) {
+			throw new IOException("Not an archive segment: " + file);
+		}
+		this.file = file;
+		this.data = data;
+		this.offsets = offsets;
+		this.firstGameId = data.getLong(5);
+		this.summary = summary;
+	}
+
+	/**
+	 * Maps a complete segment
+	 *
+	 * @param dataFile  the data file
+	 * @param indexFile the index file
+	 * @param summary   the summary file, may be missing
+	 * @return the segment
+	 * @throws IOException if the files cannot be read
+	 */
+	static ArchiveSegment open(Path dataFile, Path indexFile, Path summary) throws IOException {
+		return new ArchiveSegment(dataFile, map(dataFile), map(indexFile).asIntBuffer(),
+				Files.exists(summary) ? SegmentSummary.read(summary) : null);
+	}
+
+	private static MappedByteBuffer map(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+	}
+
+	public Path getFile() {
+		return file;
+	}
+
+	public long getFirstGameId() {
+		return firstGameId;
+	}
+
+	public int getRecordCount() {
+		return offsets.limit();
+	}
+
+	/**
+	 * Checks whether this segment may contain games of a board layout
+	 *
+	 * @param layoutHash the layout hash, see {@link SiedlerBoard#getLayoutHash()}
+	 * @return false if the segment certainly contains no such game
+	 */
+	public boolean mayContainLayout(long layoutHash) {
+		return summary == null || summary.mayContainLayout(layoutHash);
+	}
+
+	/**
+	 * Checks whether this segment may contain games won by a faction
+	 *
+	 * @param winner the faction or null for games without winner
+	 * @return false if the segment certainly contains no such game
+	 */
+	public boolean mayContainWinner(Faction winner) {
+		return summary == null || summary.mayContainWinner(winner);
+	}
+
+	/**
+	 * Checks whether a game is stored in this segment
+	 *
+	 * @param gameId the id of the game
+	 * @return true if the game is stored in this segment
+	 */
+	public boolean contains(long gameId) {
+		return gameId >= firstGameId && gameId - firstGameId < getRecordCount();
+	}
+
+	/**
+	 * Returns the record of a game
+	 *
+	 * @param gameId the id of the game
+	 * @return the record
+	 * @throws IllegalArgumentException if the game is not stored in this segment
+	 */
+	public GameRecord get(long gameId) {
+		if (!contains(gameId)) {
+			throw new IllegalArgumentException("Game " + gameId + " is not stored in " + file);
+		}
+		return new GameRecord(data, offsets.get((int) (gameId - firstGameId)));
+	}
+
+	/**
+	 * Visits the records of this segment in the order they were written. The
+	 * record passed to the consumer is a view that is moved to the next record
+	 * afterwards, it must not be kept.
+	 *
+	 * @param consumer receives the records
+	 */
+	public void scan(Consumer<GameRecord> consumer) {
+		ByteBuffer records = data.duplicate();
+		GameRecord record = new GameRecord(records, HEADER_SIZE);
+		int offset = HEADER_SIZE;
+		for (int i = 0; i < getRecordCount(); i++) {
+			record.moveTo(offset);
+			consumer.accept(record);
+			offset += record.getLength();
+		}
+	}
+}
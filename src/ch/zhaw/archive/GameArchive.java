@@ -0,0 +1,125 @@
+package ch.zhaw.archive;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * The GameArchive class reads an archive of finished games written by a
+ * {@link GameArchiveWriter}. Games are identified by consecutive ids, a game
+ * is found by a binary search over the segments and a lookup in the index of
+ * its segment.
+ */
+public final class GameArchive {
+	static final String SEGMENT_PREFIX = "segment-";
+	static final String DATA_SUFFIX = ".dat";
+	static final String INDEX_SUFFIX = ".idx";
+	static final String SUMMARY_SUFFIX = ".sum";
+	private final List<ArchiveSegment> segments;
+
+	private GameArchive(List<ArchiveSegment> segments) {
+		this.segments = Collections.unmodifiableList(segments);
+	}
+
+	/**
+	 * Opens the complete segments of an archive. Segments that are still being
+	 * written have no index yet and are left out.
+	 *
+	 * @param directory the directory of the archive
+	 * @return the archive
+	 * @throws IOException if a segment cannot be read
+	 */
+	public static GameArchive open(Path directory) throws IOException {
+		List<ArchiveSegment> segments = new ArrayList<>();
+		for (int number : listSegments(directory)) {
+			Path index = indexFile(directory, number);
+			if (Files.exists(index)) {
+				segments.add(ArchiveSegment.open(dataFile(directory, number), index, summaryFile(directory, number)));
+			}
+		}
+		segments.sort((first, second) -> Long.compare(first.getFirstGameId(), second.getFirstGameId()));
+		return new GameArchive(segments);
+	}
+
+	static List<Integer> listSegments(Path directory) throws IOException {
+		List<Integer> numbers = new ArrayList<>();
+		try (Stream<Path> files = Files.list(directory)) {
+			files.map(file -> file.getFileName().toString())
+					.filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(DATA_SUFFIX))
+					.forEach(name -> numbers.add(Integer.valueOf(
+							name.substring(SEGMENT_PREFIX.length(), name.length() - DATA_SUFFIX.length()))));
+		}
+		numbers.sort(null);
+		return numbers;
+	}
+
+	static Path dataFile(Path directory, int number) {
+		return directory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, number, DATA_SUFFIX));
+	}
+
+	static Path indexFile(Path directory, int number) {
+		return directory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, number, INDEX_SUFFIX));
+	}
+
+	static Path summaryFile(Path directory, int number) {
+		return directory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, number, SUMMARY_SUFFIX));
+	}
+
+	public List<ArchiveSegment> getSegments() {
+		return segments;
+	}
+
+	/**
+	 * Returns the number of games in the archive
+	 *
+	 * @return the number of games
+	 */
+	public long size() {
+		long size = 0;
+		for (ArchiveSegment segment : segments) {
+			size += segment.getRecordCount();
+		}
+		return size;
+	}
+
+	/**
+	 * Returns the record of a game
+	 *
+	 * @param gameId the id of the game
+	 * @return the record
+	 * @throws IllegalArgumentException if the game is not stored in the archive
+	 */
+	public GameRecord get(long gameId) {
+		int low = 0;
+		int high = segments.size() - 1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			ArchiveSegment segment = segments.get(middle);
+			if (segment.contains(gameId)) {
+				return segment.get(gameId);
+			} else if (gameId < segment.getFirstGameId()) {
+				high = middle - 1;
+			} else {
+				low = middle + 1;
+			}
+		}
+		throw new IllegalArgumentException("Game " + gameId + " is not stored in the archive");
+	}
+
+	/**
+	 * Visits all records in the order of their ids, see
+	 * {@link ArchiveSegment#scan(Consumer)}
+	 *
+	 * @param consumer receives the records
+	 */
+	public void scan(Consumer<GameRecord> consumer) {
+		for (ArchiveSegment segment : segments) {
+			segment.scan(consumer);
+		}
+	}
+}
@@ -0,0 +1,156 @@
+package ch.zhaw.archive;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+import ch.zhaw.catan.Config.Faction;
+import ch.zhaw.catan.SiedlerGame;
+
+/**
+ * The GameArchiveWriter class appends finished games to an archive. Records
+ * are collected in a direct buffer and written sequentially to the data file
+ * of the current segment. When a segment is full, its summary and then its
+ * index are written. The index marks the segment as complete for
+ * {@link GameArchive} readers.
+ * <p>
+ * Each writer starts a new segment, the ids of its games continue after the
+ * last complete segment. A segment that was left without index by a crash is
+ * overwritten. {@link #append} may be called from several threads.
+ * </p>
+ */
+public class GameArchiveWriter implements Closeable {
+	public static final int DEFAULT_SEGMENT_SIZE = 64 << 20;
+	private static final int BUFFER_SIZE = 1 << 16;
+	private final Path directory;
+	private final int segmentSize;
+	private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+	private final SegmentSummary summary = new SegmentSummary();
+	private int segmentNumber;
+	private FileChannel channel;
+	private long position;
+	private int[] offsets = new int[1024];
+	private int recordCount;
+	private long nextGameId;
+
+	private GameArchiveWriter(Path directory, int segmentSize, int segmentNumber, long nextGameId) {
+		this.directory = directory;
+		this.segmentSize = segmentSize;
+		this.segmentNumber = segmentNumber;
+		this.nextGameId = nextGameId;
+	}
+
+	/**
+	 * Opens an archive for appending, creating it if necessary
+	 *
+	 * @param directory   the directory of the archive
+	 * @param segmentSize the maximal size of a segment in bytes
+	 * @return the writer
+	 * @throws IOException if the archive cannot be read or written
+	 */
+	public static GameArchiveWriter open(Path directory, int segmentSize) throws IOException {
+		Files.createDirectories(directory);
+		List<Integer> numbers = GameArchive.listSegments(directory);
+		int segmentNumber = 0;
+		long nextGameId = 0;
+		for (int number : numbers) {
+			Path index = GameArchive.indexFile(directory, number);
+			if (Files.exists(index)) {
+				ArchiveSegment segment = ArchiveSegment.open(GameArchive.dataFile(directory, number), index,
+						GameArchive.summaryFile(directory, number));
+				segmentNumber = number + 1;
+				nextGameId = Math.max(nextGameId, segment.getFirstGameId() + segment.getRecordCount());
+			}
+		}
+		return new GameArchiveWriter(directory, segmentSize, segmentNumber, nextGameId);
+	}
+
+	/**
+	 * Appends a finished game
+	 *
+	 * @param game   the game
+	 * @param winner the winner or null if the game was stopped
+	 * @param turns  the number of turns played
+	 * @param moves  the moves recorded during the game
+	 * @return the id of the game in the archive
+	 * @throws IOException              if the archive cannot be written
+	 * @throws IllegalArgumentException if the record is larger than a segment
+	 */
+	public synchronized long append(SiedlerGame game, Faction winner, int turns, MoveRecorder moves)
+			throws IOException {
+		ByteBuffer encodedMoves = moves.getMoves();
+		int length = GameRecord.HEADER_SIZE + encodedMoves.remaining();
+		if (length > segmentSize - ArchiveSegment.HEADER_SIZE || length > BUFFER_SIZE) {
+			throw new IllegalArgumentException("Game is too large for a segment");
+		}
+		if (channel != null && position + length > segmentSize) {
+			finishSegment();
+		}
+		if (channel == null) {
+			startSegment();
+		}
+		if (buffer.remaining() < length) {
+			writeBuffer();
+		}
+		if (recordCount == offsets.length) {
+			offsets = Arrays.copyOf(offsets, offsets.length * 2);
+		}
+		offsets[recordCount++] = (int) position;
+		GameRecord.write(buffer, nextGameId, game.getSeed(), game.getBoard().getLayoutHash(),
+				game.getNumberOfPlayers(), game.getWinPoints(), winner, turns, moves.getMoveCount(), encodedMoves);
+		summary.add(game.getBoard().getLayoutHash(), winner);
+		position += length;
+		return nextGameId++;
+	}
+
+	private void startSegment() throws IOException {
+		channel = FileChannel.open(GameArchive.dataFile(directory, segmentNumber), StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		buffer.putInt(ArchiveSegment.MAGIC).put(ArchiveSegment.VERSION).putLong(nextGameId);
+		position = ArchiveSegment.HEADER_SIZE;
+		recordCount = 0;
+		summary.clear();
+	}
+
+	private void finishSegment() throws IOException {
+		writeBuffer();
+		channel.force(false);
+		channel.close();
+		channel = null;
+		summary.write(GameArchive.summaryFile(directory, segmentNumber));
+		ByteBuffer index = ByteBuffer.allocate(recordCount * Integer.BYTES);
+		index.asIntBuffer().put(offsets, 0, recordCount);
+		try (FileChannel indexChannel = FileChannel.open(GameArchive.indexFile(directory, segmentNumber),
+				StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			while (index.hasRemaining()) {
+				indexChannel.write(index);
+			}
+			indexChannel.force(false);
+		}
+		segmentNumber++;
+	}
+
+	private void writeBuffer() throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+	/**
+	 * Completes the current segment
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if (channel != null) {
+			finishSegment();
+		}
+	}
+}
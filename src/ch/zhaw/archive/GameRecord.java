@@ -0,0 +1,150 @@
+package ch.zhaw.archive;
+
+import java.awt.Point;
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+
+import ch.zhaw.catan.Config.Faction;
+import ch.zhaw.catan.GameEvent;
+
+/**
+ * The GameRecord class is a view of a finished game stored in a
+ * {@link GameArchive}. It reads the fields directly from the mapped segment,
+ * nothing is copied.
+ * <p>
+ * A record consists of a fixed size header (length, game id, seed, layout
+ * hash, number of players, win points, winner, turns, number of moves)
+ * followed by the moves encoded as {@link GameEvent}s.
+ * </p>
+ */
+public final class GameRecord {
+	static final int HEADER_SIZE = 39;
+	static final int NO_WINNER = -1;
+	private static final int GAME_ID = 4;
+	private static final int SEED = 12;
+	private static final int LAYOUT_HASH = 20;
+	private static final int NUMBER_OF_PLAYERS = 28;
+	private static final int WIN_POINTS = 29;
+	private static final int WINNER = 30;
+	private static final int TURNS = 31;
+	private static final int MOVE_COUNT = 35;
+	private static final Faction[] FACTIONS = Faction.values();
+	private ByteBuffer buffer;
+	private int offset;
+
+	GameRecord(ByteBuffer buffer, int offset) {
+		this.buffer = buffer;
+		this.offset = offset;
+	}
+
+	/**
+	 * Moves this view to another record, used by scans to avoid an allocation
+	 * per record
+	 */
+	void moveTo(int offset) {
+		this.offset = offset;
+	}
+
+	static void write(ByteBuffer target, long gameId, long seed, long layoutHash, int numberOfPlayers,
+			int winPoints, Faction winner, int turns, int moveCount, ByteBuffer moves) {
+		target.putInt(HEADER_SIZE + moves.remaining()).putLong(gameId).putLong(seed).putLong(layoutHash)
+				.put((byte) numberOfPlayers).put((byte) winPoints)
+				.put((byte) (winner == null ? NO_WINNER : winner.ordinal())).putInt(turns).putInt(moveCount)
+				.put(moves);
+	}
+
+	/**
+	 * Returns the size of the record in bytes
+	 *
+	 * @return the size including the header
+	 */
+	public int getLength() {
+		return buffer.getInt(offset);
+	}
+
+	public long getGameId() {
+		return buffer.getLong(offset + GAME_ID);
+	}
+
+	public long getSeed() {
+		return buffer.getLong(offset + SEED);
+	}
+
+	public long getLayoutHash() {
+		return buffer.getLong(offset + LAYOUT_HASH);
+	}
+
+	public int getNumberOfPlayers() {
+		return buffer.get(offset + NUMBER_OF_PLAYERS);
+	}
+
+	public int getWinPoints() {
+		return buffer.get(offset + WIN_POINTS);
+	}
+
+	/**
+	 * Returns the winner of the game
+	 *
+	 * @return the faction of the winner or null if the game was stopped
+	 */
+	public Faction getWinner() {
+		int winner = buffer.get(offset + WINNER);
+		return winner == NO_WINNER ? null : FACTIONS[winner];
+	}
+
+	public int getTurns() {
+		return buffer.getInt(offset + TURNS);
+	}
+
+	public int getMoveCount() {
+		return buffer.getInt(offset + MOVE_COUNT);
+	}
+
+	/**
+	 * Returns the encoded moves of the game
+	 *
+	 * @return a read only view of the moves
+	 */
+	public ByteBuffer getMoves() {
+		return buffer.slice(offset + HEADER_SIZE, getLength() - HEADER_SIZE).asReadOnlyBuffer();
+	}
+
+	/**
+	 * Decodes the moves of the game in order
+	 *
+	 * @param consumer receives the moves
+	 */
+	public void forEachMove(Consumer<GameEvent> consumer) {
+		ByteBuffer moves = getMoves();
+		while (moves.hasRemaining()) {
+			consumer.accept(GameEvent.readFrom(moves));
+		}
+	}
+
+	/**
+	 * Returns the first settlement of every player. Only the moves of the
+	 * founding phase are decoded.
+	 *
+	 * @return the corners indexed by faction ordinal, null for factions that did
+	 *         not place a settlement
+	 */
+	public Point[] getFirstSettlements() {
+		Point[] settlements = new Point[getNumberOfPlayers()];
+		int found = 0;
+		ByteBuffer moves = getMoves();
+		while (found < settlements.length && moves.hasRemaining()) {
+			GameEvent move = GameEvent.readFrom(moves);
+			if (move.getType() == GameEvent.Type.INITIAL_SETTLEMENT && settlements[move.getFaction().ordinal()] == null) {
+				settlements[move.getFaction().ordinal()] = move.getPosition();
+				found++;
+			}
+		}
+		return settlements;
+	}
+
+	@Override
+	public String toString() {
+		return "Game " + getGameId() + " (seed " + getSeed() + ", winner " + getWinner() + ", " + getTurns()
+				+ " turns)";
+	}
+}
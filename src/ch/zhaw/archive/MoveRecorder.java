@@ -0,0 +1,53 @@
+package ch.zhaw.archive;
+
+import java.nio.ByteBuffer;
+
+import ch.zhaw.catan.GameEvent;
+import ch.zhaw.catan.GameEventListener;
+
+/**
+ * The MoveRecorder class collects the encoded command events of a game, i.e.
+ * the moves needed to replay it. Derived events (payouts, discards) are left
+ * out, they follow from the moves.
+ */
+public class MoveRecorder implements GameEventListener {
+	private static final int INITIAL_CAPACITY = 1024;
+	private ByteBuffer moves = ByteBuffer.allocate(INITIAL_CAPACITY);
+	private int moveCount;
+
+	@Override
+	public void onEvent(GameEvent event) {
+		if (event.getType().isDerived()) {
+			return;
+		}
+		if (moves.remaining() < event.encodedSize()) {
+			ByteBuffer larger = ByteBuffer.allocate(moves.capacity() * 2);
+			moves.flip();
+			larger.put(moves);
+			moves = larger;
+		}
+		event.writeTo(moves);
+		moveCount++;
+	}
+
+	/**
+	 * Returns the recorded moves
+	 *
+	 * @return a read only view of the encoded moves
+	 */
+	public ByteBuffer getMoves() {
+		return moves.asReadOnlyBuffer().flip();
+	}
+
+	public int getMoveCount() {
+		return moveCount;
+	}
+
+	/**
+	 * Removes all recorded moves, so the recorder can be used for another game
+	 */
+	public void clear() {
+		moves.clear();
+		moveCount = 0;
+	}
+}
@@ -0,0 +1,110 @@
+package ch.zhaw.archive;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import ch.zhaw.catan.Config.Faction;
+
+/**
+ * The SegmentSummary class records which board layouts and which winners occur
+ * in a segment of a {@link GameArchive}, so queries can skip segments without
+ * reading their records. Segments with many different layouts only record the
+ * winners.
+ */
+final class SegmentSummary {
+	static final int MAX_LAYOUTS = 1024;
+	static final int NO_WINNER_BIT = Faction.values().length;
+	private static final int UNBOUNDED = -1;
+	private int winnerMask;
+	private long[] layoutHashes = new long[16];
+	private int layoutCount;
+
+	/**
+	 * Adds a game to the summary
+	 *
+	 * @param layoutHash the layout hash of the game
+	 * @param winner     the winner or null
+	 */
+	void add(long layoutHash, Faction winner) {
+		winnerMask |= 1 << (winner == null ? NO_WINNER_BIT : winner.ordinal());
+		if (layoutCount == UNBOUNDED || contains(layoutHash)) {
+			return;
+		}
+		if (layoutCount == MAX_LAYOUTS) {
+			layoutCount = UNBOUNDED;
+			return;
+		}
+		if (layoutCount == layoutHashes.length) {
+			layoutHashes = Arrays.copyOf(layoutHashes, layoutCount * 2);
+		}
+		layoutHashes[layoutCount++] = layoutHash;
+	}
+
+	private boolean contains(long layoutHash) {
+		for (int i = 0; i < layoutCount; i++) {
+			if (layoutHashes[i] == layoutHash) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Checks whether the segment may contain games of a layout
+	 *
+	 * @param layoutHash the layout hash
+	 * @return false if the segment certainly contains no such game
+	 */
+	boolean mayContainLayout(long layoutHash) {
+		return layoutCount == UNBOUNDED || contains(layoutHash);
+	}
+
+	/**
+	 * Checks whether the segment may contain games won by a faction
+	 *
+	 * @param winner the faction or null for games without winner
+	 * @return false if the segment certainly contains no such game
+	 */
+	boolean mayContainWinner(Faction winner) {
+		return (winnerMask & 1 << (winner == null ? NO_WINNER_BIT : winner.ordinal())) != 0;
+	}
+
+	void clear() {
+		winnerMask = 0;
+		layoutCount = 0;
+	}
+
+	void write(Path file) throws IOException {
+		int hashes = Math.max(layoutCount, 0);
+		ByteBuffer buffer = ByteBuffer.allocate(2 * Integer.BYTES + hashes * Long.BYTES);
+		buffer.putInt(winnerMask).putInt(layoutCount);
+		for (int i = 0; i < hashes; i++) {
+			buffer.putLong(layoutHashes[i]);
+		}
+		buffer.flip();
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			channel.force(false);
+		}
+	}
+
+	static SegmentSummary read(Path file) throws IOException {
+		ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+		SegmentSummary summary = new SegmentSummary();
+		summary.winnerMask = buffer.getInt();
+		summary.layoutCount = buffer.getInt();
+		if (summary.layoutCount > 0) {
+			summary.layoutHashes = new long[summary.layoutCount];
+			buffer.asLongBuffer().get(summary.layoutHashes);
+		}
+		return summary;
+	}
+}
@@ -0,0 +1,44 @@
+package ch.zhaw.archive;
+
+/**
+ * The WinRate class counts games and wins of a group of players, e.g. of all
+ * players that started at the same corner.
+ */
+public final class WinRate {
+	private long games;
+	private long wins;
+
+	void add(boolean won) {
+		games++;
+		if (won) {
+			wins++;
+		}
+	}
+
+	void addAll(WinRate other) {
+		games += other.games;
+		wins += other.wins;
+	}
+
+	public long getGames() {
+		return games;
+	}
+
+	public long getWins() {
+		return wins;
+	}
+
+	/**
+	 * Returns the share of won games
+	 *
+	 * @return the rate between 0 and 1, 0 if there are no games
+	 */
+	public double getRate() {
+		return games == 0 ? 0 : (double) wins / games;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%.1f%% of %d", getRate() * 100, games);
+	}
+}
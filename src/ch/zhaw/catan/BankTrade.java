@@ -0,0 +1,42 @@
+package ch.zhaw.catan;
+
+import ch.zhaw.catan.Config.Resource;
+
+/**
+ * The BankTrade class is one trade with the bank planned by a
+ * {@link BankTradePlanner}: a number of cards of one resource for one card of
+ * another.
+ */
+public final class BankTrade {
+	private final Resource offer;
+	private final Resource want;
+	private final int amount;
+
+	BankTrade(Resource offer, Resource want, int amount) {
+		this.offer = offer;
+		this.want = want;
+		this.amount = amount;
+	}
+
+	public Resource getOffer() {
+		return offer;
+	}
+
+	public Resource getWant() {
+		return want;
+	}
+
+	/**
+	 * Returns the number of cards given to the bank
+	 *
+	 * @return the number of offered cards
+	 */
+	public int getAmount() {
+		return amount;
+	}
+
+	@Override
+	public String toString() {
+		return amount + " " + offer + " -> " + want;
+	}
+}
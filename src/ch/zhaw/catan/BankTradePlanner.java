@@ -0,0 +1,125 @@
+package ch.zhaw.catan;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import ch.zhaw.catan.Config.Resource;
+
+/**
+ * The BankTradePlanner class plans the trades with the bank a player needs to
+ * afford a cost.
+ * <p>
+ * Every trade brings exactly one card, so the minimal number of trades is the
+ * number of missing cards. The trades are independent of each other: a
+ * resource that is missing is never offered, so the cards the bank receives
+ * never help, and a resource with a surplus can pay for as many trades as its
+ * surplus divided by its rate. The plan is therefore found directly instead of
+ * searching the sequences of trades: it is possible if the bank holds the
+ * missing cards and the surpluses pay for enough trades, and it uses the
+ * resources with the lowest rate and then with the largest surplus first, which
+ * also gives away the fewest cards.
+ * </p>
+ */
+public final class BankTradePlanner {
+	public static final int DEFAULT_RATE = 4;
+	private static final Resource[] RESOURCES = Resource.values();
+	private final int[] rates;
+
+	/**
+	 * Constructor for a planner trading four cards for one
+	 */
+	public BankTradePlanner() {
+		this(uniformRates(DEFAULT_RATE));
+	}
+
+	/**
+	 * Constructor for a planner with a rate per offered resource
+	 *
+	 * @param rates the number of cards given for one card, indexed by the ordinal
+	 *              of the offered resource
+	 * @throws IllegalArgumentException if there is not one positive rate per
+	 *                                  resource
+	 */
+	public BankTradePlanner(int[] rates) {
+		if (rates.length != RESOURCES.length || Arrays.stream(rates).anyMatch(rate -> rate <= 0)) {
+			throw new IllegalArgumentException("There must be a positive rate per resource");
+		}
+		this.rates = rates.clone();
+	}
+
+	static int[] uniformRates(int rate) {
+		int[] rates = new int[RESOURCES.length];
+		Arrays.fill(rates, rate);
+		return rates;
+	}
+
+	/**
+	 * Returns the rate of a resource
+	 *
+	 * @param offer the offered resource
+	 * @return the number of cards given for one card
+	 */
+	public int getRate(Resource offer) {
+		return rates[offer.ordinal()];
+	}
+
+	/**
+	 * Plans the trades needed to afford a cost
+	 *
+	 * @param hand the cards of the player
+	 * @param bank the cards of the bank
+	 * @param cost the cost, e.g. {@link Config#CITY_COST}
+	 * @return the trades in the order to execute them, empty if the player can
+	 *         already afford the cost, null if the cost cannot be afforded with
+	 *         trades
+	 */
+	public List<BankTrade> plan(Map<Resource, Integer> hand, Map<Resource, Integer> bank,
+			Map<Resource, Integer> cost) {
+		int[] surplus = new int[RESOURCES.length];
+		int[] missing = new int[RESOURCES.length];
+		int trades = 0;
+		int payable = 0;
+		for (Resource resource : RESOURCES) {
+			int r = resource.ordinal();
+			int balance = hand.getOrDefault(resource, 0) - cost.getOrDefault(resource, 0);
+			if (balance < 0) {
+				missing[r] = -balance;
+				trades += missing[r];
+				if (bank.getOrDefault(resource, 0) < missing[r]) {
+					return null;
+				}
+			} else {
+				surplus[r] = balance;
+				payable += balance / rates[r];
+			}
+		}
+		if (payable < trades) {
+			return null;
+		}
+		List<BankTrade> plan = new ArrayList<>(trades);
+		int want = 0;
+		while (plan.size() < trades) {
+			int offer = cheapestOffer(surplus);
+			while (missing[want] == 0) {
+				want++;
+			}
+			plan.add(new BankTrade(RESOURCES[offer], RESOURCES[want], rates[offer]));
+			surplus[offer] -= rates[offer];
+			missing[want]--;
+		}
+		return plan;
+	}
+
+	private int cheapestOffer(int[] surplus) {
+		int best = -1;
+		for (int r = 0; r < surplus.length; r++) {
+			if (surplus[r] >= rates[r] && (best < 0 || rates[r] < rates[best]
+					|| rates[r] == rates[best] && surplus[r] > surplus[best])) {
+				best = r;
+			}
+		}
+		return best;
+	}
+}
@@ -0,0 +1,211 @@
+package ch.zhaw.catan;
+
+import java.awt.Point;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The BoardIndex class numbers the corners and edges of a board densely from
+ * zero, in the order of {@link SiedlerBoard#getCornerPositions()}. The numbers
+ * only depend on the positions of the fields, so every board with the standard
+ * field positions shares the same index. Each board owns its index, see
+ * {@link SiedlerBoard#getIndex()}.
+ * <p>
+ * Lookups go through arrays indexed by the coordinates and do not allocate,
+ * which makes the index suitable for encoders and hash functions that are
+ * called for every state of a game.
+ * </p>
+ */
+public final class BoardIndex {
+	private final Point[] corners;
+	private final int[][] cornerIds;
+	private final int[] edgeStarts;
+	private final int[] edgeEnds;
+	private final int[][] cornerEdges;
+
+	private BoardIndex(SiedlerBoard board) {
+		List<Point> positions = board.getCornerPositions();
+		corners = positions.toArray(new Point[0]);
+		int width = 0;
+		int height = 0;
+		for (Point corner : corners) {
+			width = Math.max(width, corner.x + 1);
+			height = Math.max(height, corner.y + 1);
+		}
+		cornerIds = new int[width][height];
+		for (int[] column : cornerIds) {
+			Arrays.fill(column, -1);
+		}
+		for (int id = 0; id < corners.length; id++) {
+			cornerIds[corners[id].x][corners[id].y] = id;
+		}
+		int[] starts = new int[corners.length * 3];
+		int[] ends = new int[corners.length * 3];
+		int edgeCount = 0;
+		cornerEdges = new int[corners.length][];
+		int[] edgesPerCorner = new int[corners.length];
+		int[][] edges = new int[corners.length][3];
+		for (int id = 0; id < corners.length; id++) {
+			for (Point neighbour : board.getNeighbourPositions(corners[id])) {
+				int neighbourId = getCornerId(neighbour);
+				if (neighbourId > id) {
+					starts[edgeCount] = id;
+					ends[edgeCount] = neighbourId;
+					edges[id][edgesPerCorner[id]++] = edgeCount;
+					edges[neighbourId][edgesPerCorner[neighbourId]++] = edgeCount;
+					edgeCount++;
+				}
+			}
+		}
+		for (int id = 0; id < corners.length; id++) {
+			cornerEdges[id] = Arrays.copyOf(edges[id], edgesPerCorner[id]);
+		}
+		edgeStarts = Arrays.copyOf(starts, edgeCount);
+		edgeEnds = Arrays.copyOf(ends, edgeCount);
+	}
+
+	/**
+	 * Creates the index of a board, or returns {@link #standard()} if the board
+	 * has the corners and edges of the standard field positions
+	 *
+	 * @param board the board
+	 * @return the index
+	 */
+	static BoardIndex of(SiedlerBoard board) {
+		BoardIndex standard = standard();
+		return standard.matches(board) ? standard : new BoardIndex(board);
+	}
+
+	/**
+	 * Checks whether a board has the same corners and edges as this index
+	 */
+	private boolean matches(SiedlerBoard board) {
+		if (!board.getCornerPositions().equals(Arrays.asList(corners))) {
+			return false;
+		}
+		for (int id = 0; id < corners.length; id++) {
+			List<Point> neighbours = board.getNeighbourPositions(corners[id]);
+			if (neighbours.size() != cornerEdges[id].length) {
+				return false;
+			}
+			for (Point neighbour : neighbours) {
+				if (getEdgeId(corners[id], neighbour) < 0) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the index of the standard field positions
+	 *
+	 * @return the index
+	 */
+	public static BoardIndex standard() {
+		return StandardHolder.INDEX;
+	}
+
+	private static final class StandardHolder {
+		private static final BoardIndex INDEX;
+
+		static {
+			SiedlerBoard board = new SiedlerBoard();
+			Config.getStandardLandPlacement().forEach(board::addField);
+			INDEX = new BoardIndex(board);
+		}
+	}
+
+	public int getCornerCount() {
+		return corners.length;
+	}
+
+	public int getEdgeCount() {
+		return edgeStarts.length;
+	}
+
+	/**
+	 * Returns the position of a corner
+	 *
+	 * @param id the number of the corner
+	 * @return the position, must not be modified
+	 */
+	public Point getCorner(int id) {
+		return corners[id];
+	}
+
+	/**
+	 * Returns the number of a corner
+	 *
+	 * @param position the position of the corner
+	 * @return the number or -1 if the position is not a corner of the board
+	 */
+	public int getCornerId(Point position) {
+		return getCornerId(position.x, position.y);
+	}
+
+	/**
+	 * Returns the number of a corner
+	 *
+	 * @param x the x coordinate of the corner
+	 * @param y the y coordinate of the corner
+	 * @return the number or -1 if the coordinates are not a corner of the board
+	 */
+	public int getCornerId(int x, int y) {
+		if (x < 0 || y < 0 || x >= cornerIds.length || y >= cornerIds[x].length) {
+			return -1;
+		}
+		return cornerIds[x][y];
+	}
+
+	/**
+	 * Returns the number of the edge between two corners
+	 *
+	 * @param start one end of the edge
+	 * @param end   the other end of the edge
+	 * @return the number or -1 if the corners are not connected by an edge
+	 */
+	public int getEdgeId(Point start, Point end) {
+		int startId = getCornerId(start);
+		int endId = getCornerId(end);
+		if (startId < 0 || endId < 0) {
+			return -1;
+		}
+		for (int edge : cornerEdges[startId]) {
+			if (edgeStarts[edge] == endId || edgeEnds[edge] == endId) {
+				return edge;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the corner of an edge with the lower number
+	 *
+	 * @param edge the number of the edge
+	 * @return the number of the corner
+	 */
+	public int getEdgeStart(int edge) {
+		return edgeStarts[edge];
+	}
+
+	/**
+	 * Returns the corner of an edge with the higher number
+	 *
+	 * @param edge the number of the edge
+	 * @return the number of the corner
+	 */
+	public int getEdgeEnd(int edge) {
+		return edgeEnds[edge];
+	}
+
+	/**
+	 * Returns the edges that end at a corner
+	 *
+	 * @param corner the number of the corner
+	 * @return the numbers of the edges, must not be modified
+	 */
+	public int[] getCornerEdges(int corner) {
+		return cornerEdges[corner];
+	}
+}
@@ -0,0 +1,242 @@
+package ch.zhaw.catan;
+
+import java.awt.Point;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import ch.zhaw.catan.Config.Harbour;
+import ch.zhaw.catan.Config.Land;
+
+/**
+ * The BoardLayout class holds the land of every field of a board, the dice
+ * numbers of the fields that produce resources and the harbours on the coast.
+ * A game is set up with the {@link #standard()} layout unless another layout
+ * is passed to its constructor. Layouts are immutable.
+ * <p>
+ * The binary encoding, see {@link #writeTo(ByteBuffer)}, takes two bytes for
+ * the number of fields, four bytes per field (coordinates, land, dice number),
+ * one byte for the number of harbours and three bytes per harbour
+ * (coordinates, harbour).
+ * </p>
+ */
+public final class BoardLayout {
+	private static final int MIN_DICE_NUMBER = 2;
+	private static final int MAX_DICE_NUMBER = 12;
+	private static final int[][] FIELD_OFFSETS = { { 0, 2 }, { -1, 1 }, { -1, -1 }, { 0, -2 }, { 1, -1 }, { 1, 1 } };
+	private static final Comparator<Point> POSITION_ORDER = Comparator.<Point>comparingInt(p -> p.y)
+			.thenComparingInt(p -> p.x);
+	private static final Land[] LANDS = Land.values();
+	private static final Harbour[] HARBOURS = Harbour.values();
+	private static final BoardLayout STANDARD = new BoardLayout(Config.getStandardLandPlacement(),
+			Config.getStandardDiceNumberPlacement());
+	private final Map<Point, Land> lands;
+	private final Map<Point, Integer> diceNumbers;
+	private final Map<Point, Harbour> harbours;
+	private volatile SiedlerBoard prototype;
+
+	/**
+	 * Constructor copies the placements, the layout has no harbours
+	 *
+	 * @param lands       the land of every field
+	 * @param diceNumbers the dice number of every field that has one
+	 * @throws IllegalArgumentException if a dice number is not between 2 and 12
+	 *                                  or belongs to a position without field
+	 */
+	public BoardLayout(Map<Point, Land> lands, Map<Point, Integer> diceNumbers) {
+		diceNumbers.forEach((field, diceNumber) -> {
+			if (!lands.containsKey(field) || diceNumber < MIN_DICE_NUMBER || diceNumber > MAX_DICE_NUMBER) {
+				throw new IllegalArgumentException("Invalid dice number " + diceNumber + " at " + field);
+			}
+		});
+		this.lands = Collections.unmodifiableMap(new HashMap<>(lands));
+		this.diceNumbers = Collections.unmodifiableMap(new HashMap<>(diceNumbers));
+		this.harbours = Collections.emptyMap();
+	}
+
+	private BoardLayout(BoardLayout other, Map<Point, Harbour> harbours) {
+		this.lands = other.lands;
+		this.diceNumbers = other.diceNumbers;
+		this.harbours = Collections.unmodifiableMap(new HashMap<>(harbours));
+	}
+
+	/**
+	 * Returns the layout of the standard setup, see
+	 * {@link Config#getStandardLandPlacement()} and
+	 * {@link Config#getStandardDiceNumberPlacement()}
+	 *
+	 * @return the standard layout
+	 */
+	public static BoardLayout standard() {
+		return STANDARD;
+	}
+
+	/**
+	 * Checks whether this is the standard layout without harbours
+	 *
+	 * @return true for the standard layout
+	 */
+	public boolean isStandard() {
+		return this == STANDARD || equals(STANDARD);
+	}
+
+	public Map<Point, Land> getLands() {
+		return lands;
+	}
+
+	public Map<Point, Integer> getDiceNumbers() {
+		return diceNumbers;
+	}
+
+	public Map<Point, Harbour> getHarbours() {
+		return harbours;
+	}
+
+	/**
+	 * Returns a layout with the same fields and the given harbours, e.g.
+	 * {@link Config#getStandardHarbourPlacement()}
+	 *
+	 * @param harbours the harbour of every corner that has one
+	 * @return the layout with harbours
+	 * @throws IllegalArgumentException if a corner does not touch both a water
+	 *                                  field and a land field
+	 */
+	public BoardLayout withHarbours(Map<Point, Harbour> harbours) {
+		for (Point corner : harbours.keySet()) {
+			if (!isCoastal(corner)) {
+				throw new IllegalArgumentException("No coastal corner: " + corner);
+			}
+		}
+		return new BoardLayout(this, harbours);
+	}
+
+	private boolean isCoastal(Point corner) {
+		boolean water = false;
+		boolean land = false;
+		for (int[] offset : FIELD_OFFSETS) {
+			Land field = lands.get(new Point(corner.x + offset[0], corner.y + offset[1]));
+			water |= field == Land.WATER;
+			land |= field != null && field != Land.WATER;
+		}
+		return water && land;
+	}
+
+	/**
+	 * Returns the number of bytes written by {@link #writeTo(ByteBuffer)}
+	 *
+	 * @return the number of bytes
+	 */
+	public int encodedSize() {
+		return Short.BYTES + 4 * lands.size() + 1 + 3 * harbours.size();
+	}
+
+	/**
+	 * Writes the layout to a buffer, the fields and harbours ordered by position
+	 *
+	 * @param buffer the buffer, with at least {@link #encodedSize()} bytes
+	 *               remaining
+	 */
+	public void writeTo(ByteBuffer buffer) {
+		buffer.putShort((short) lands.size());
+		for (Point field : sorted(lands.keySet())) {
+			buffer.put((byte) field.x).put((byte) field.y).put((byte) lands.get(field).ordinal())
+					.put((byte) diceNumbers.getOrDefault(field, 0).intValue());
+		}
+		buffer.put((byte) harbours.size());
+		for (Point corner : sorted(harbours.keySet())) {
+			buffer.put((byte) corner.x).put((byte) corner.y).put((byte) harbours.get(corner).ordinal());
+		}
+	}
+
+	/**
+	 * Reads a layout written by {@link #writeTo(ByteBuffer)}
+	 *
+	 * @param buffer the buffer
+	 * @return the layout
+	 * @throws IllegalArgumentException if the buffer does not contain a valid
+	 *                                  layout
+	 */
+	public static BoardLayout readFrom(ByteBuffer buffer) {
+		try {
+			int fields = buffer.getShort();
+			Map<Point, Land> lands = new HashMap<>();
+			Map<Point, Integer> diceNumbers = new HashMap<>();
+			for (int i = 0; i < fields; i++) {
+				Point field = new Point(buffer.get() & 0xff, buffer.get() & 0xff);
+				lands.put(field, LANDS[buffer.get()]);
+				int diceNumber = buffer.get();
+				if (diceNumber != 0) {
+					diceNumbers.put(field, diceNumber);
+				}
+			}
+			int harbourCount = buffer.get() & 0xff;
+			Map<Point, Harbour> harbours = new HashMap<>();
+			for (int i = 0; i < harbourCount; i++) {
+				harbours.put(new Point(buffer.get() & 0xff, buffer.get() & 0xff), HARBOURS[buffer.get()]);
+			}
+			BoardLayout layout = new BoardLayout(lands, diceNumbers);
+			return harbours.isEmpty() ? layout : layout.withHarbours(harbours);
+		} catch (BufferUnderflowException | ArrayIndexOutOfBoundsException e) {
+			throw new IllegalArgumentException("Corrupt board layout", e);
+		}
+	}
+
+	private static List<Point> sorted(Set<Point> positions) {
+		List<Point> list = new ArrayList<>(positions);
+		list.sort(POSITION_ORDER);
+		return list;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof BoardLayout)) {
+			return false;
+		}
+		BoardLayout other = (BoardLayout) obj;
+		return lands.equals(other.lands) && diceNumbers.equals(other.diceNumbers) && harbours.equals(other.harbours);
+	}
+
+	@Override
+	public int hashCode() {
+		return lands.hashCode() * 31 + diceNumbers.hashCode() * 7 + harbours.hashCode();
+	}
+
+	/**
+	 * Creates an empty board with this layout. The board is copied from a
+	 * prototype that is set up on first use, so all games on this layout share
+	 * its index, valuation and road planner instead of building their own.
+	 *
+	 * @return the new board
+	 */
+	SiedlerBoard createBoard() {
+		SiedlerBoard board = prototype;
+		if (board == null) {
+			board = new SiedlerBoard();
+			applyTo(board);
+			board.cacheLayout();
+			prototype = board;
+		}
+		return board.copy(new Player[0]);
+	}
+
+	/**
+	 * Adds the fields, the dice numbers and the harbours of this layout to a
+	 * board
+	 *
+	 * @param board the empty board
+	 */
+	private void applyTo(SiedlerBoard board) {
+		lands.forEach(board::addField);
+		board.setDiceNumberPlacement(diceNumbers);
+		harbours.forEach(board::addHarbour);
+	}
+}
@@ -0,0 +1,33 @@
+package ch.zhaw.catan;
+
+import java.awt.Point;
+
+import ch.zhaw.structures.Road;
+import ch.zhaw.structures.Settlement;
+
+/**
+ * The BoardListener interface is implemented by classes that maintain data
+ * derived from the occupancy of a {@link SiedlerBoard} and update it with
+ * every change instead of recalculating it.
+ */
+public interface BoardListener {
+
+	/**
+	 * Called after a corner of the board has been set
+	 *
+	 * @param position the corner
+	 * @param previous the previous settlement or city, null if the corner was empty
+	 * @param current  the new settlement or city, null if the corner was cleared
+	 */
+	void cornerChanged(Point position, Settlement previous, Settlement current);
+
+	/**
+	 * Called after an edge of the board has been set
+	 *
+	 * @param start    one end of the edge
+	 * @param end      the other end of the edge
+	 * @param previous the previous road, null if the edge was empty
+	 * @param current  the new road, null if the edge was cleared
+	 */
+	void edgeChanged(Point start, Point end, Road previous, Road current);
+}
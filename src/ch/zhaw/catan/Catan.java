@@ -21,73 +21,101 @@ import ch.zhaw.userinterface.OutputWriter;
  */
 public class Catan {
 	private SiedlerGame siedlerGame;
+	private TurnCycle turnCycle;
 	private static final TextIO textIO = TextIoFactory.getTextIO();
 	private static final TextTerminal<?> terminal = textIO.getTextTerminal();
 	private InputManager inputManager;
 	private OutputWriter outputWriter;
-	private static final RandomNumberGenerator rng = new RandomNumberGenerator();
+	private final Long seed;
 
 	/**
-	 * Main method to start the application
+	 * Main method to start the application. An optional first argument is used
+	 * as seed, so a game can be replayed with the same dice.
 	 *
 	 * @param args
 	 */
 	public static void main(String[] args) {
-		new Catan().startGame();
+		if (args.length > 0) {
+			new Catan(Long.parseLong(args[0])).startGame();
+		} else {
+			new Catan().startGame();
+		}
 	}
 
 	/**
 	 * Default constructor for class Catan.java instantiates several data fields
 	 */
 	public Catan() {
+		this(null);
+	}
+
+	/**
+	 * Constructor for a game with a fixed seed
+	 *
+	 * @param seed the seed of the game or null for a random one
+	 */
+	public Catan(Long seed) {
 		inputManager = new InputManager();
 		outputWriter = new OutputWriter();
+		this.seed = seed;
 	}
 
 	private void startGame() {
 		outputWriter.print(terminal, Config.InfoMessage.GREETING.toString());
 		int numberOfPlayers = inputManager.specifyNumberOfPlayers(textIO);
-		siedlerGame = new SiedlerGame(Config.WIN_POINTS, numberOfPlayers);
-		foundingPhase();
+		if (Objects.isNull(seed)) {
+			siedlerGame = new SiedlerGame(Config.WIN_POINTS, numberOfPlayers);
+		} else {
+			siedlerGame = new SiedlerGame(Config.WIN_POINTS, numberOfPlayers, seed);
+		}
+		turnCycle = new TurnCycle(siedlerGame);
+		runGameLoop();
 	}
 
-	private void foundingPhase() {
-		for (int i = 0; i < siedlerGame.getPlayerFactions().size(); i++) {
-			printBoard();
-			placeInitialStructures(false);
-			siedlerGame.switchToNextPlayer();
-		}
-		for (int i = 0; i < siedlerGame.getPlayerFactions().size(); i++) {
-			printBoard();
-			siedlerGame.switchToPreviousPlayer();
-			placeInitialStructures(true);
+	private void runGameLoop() {
+		while (turnCycle.getPhase() != TurnCycle.Phase.FINISHED) {
+			switch (turnCycle.getPhase()) {
+			case FOUNDING_SETTLEMENT:
+				printBoard();
+				announceTurn();
+				initialSettlement();
+				break;
+			case FOUNDING_ROAD:
+				initialRoad();
+				break;
+			case DICE_THROW:
+				printBoard();
+				announceTurn();
+				handleDiceThrow();
+				break;
+			case ACTIONS:
+				handleAction();
+				break;
+			default:
+				throw new IllegalStateException("This is not a valid phase.");
+			}
 		}
-		nextTurn();
+		endGame();
 	}
 
-	private void placeInitialStructures(boolean payoutResources) {
+	private void announceTurn() {
 		outputWriter.print(terminal, Config.InfoMessage.TURN_ANNOUNCEMENT.toString(),
 				new String[] { String.valueOf(siedlerGame.getCurrentPlayerFaction()) });
-		initialRoad(initialSettlement(payoutResources));
 	}
 
-	private Point initialSettlement(boolean payoutResources) {
-		Point buildingPoint = setPointByCoordinate("settlement");
-		if (siedlerGame.placeInitialSettlement(buildingPoint, payoutResources)) {
+	private void initialSettlement() {
+		if (turnCycle.placeInitialSettlement(setPointByCoordinate("settlement"))) {
 			outputWriter.print(terminal, Config.SuccessMessage.BUILD.toString(), new String[] { "Settlement" });
-			return buildingPoint;
+		} else {
+			outputWriter.print(terminal, Config.ErrorMessage.BUILDING.toString(), new String[] { "settlement" });
 		}
-		outputWriter.print(terminal, Config.ErrorMessage.BUILDING.toString(), new String[] { "settlement" });
-		return initialSettlement(payoutResources);
 	}
 
-	private void initialRoad(Point settlementBuildingPoint) {
-		Point roadEndPoint = setPointByCoordinate("road endpoint");
-		if (!(siedlerGame.placeInitialRoad(settlementBuildingPoint, roadEndPoint))) {
-			outputWriter.print(terminal, Config.ErrorMessage.BUILDING.toString(), new String[] { "road" });
-			initialRoad(settlementBuildingPoint);
-		} else {
+	private void initialRoad() {
+		if (turnCycle.placeInitialRoad(setPointByCoordinate("road endpoint"))) {
 			outputWriter.print(terminal, Config.SuccessMessage.BUILD.toString(), new String[] { "Road" });
+		} else {
+			outputWriter.print(terminal, Config.ErrorMessage.BUILDING.toString(), new String[] { "road" });
 		}
 	}
 
@@ -96,25 +124,11 @@ public class Catan {
 				new String[] { siedlerGame.getView().toString() });
 	}
 
-	private void nextTurn() {
-		printBoard();
-		outputWriter.print(terminal, Config.InfoMessage.TURN_ANNOUNCEMENT.toString(),
-				new String[] { String.valueOf(siedlerGame.getCurrentPlayerFaction()) });
-		handleDiceThrow();
-		handleActions();
-		if (isGameOver()) {
-			endGame();
-		} else {
-			siedlerGame.switchToNextPlayer();
-			nextTurn();
-		}
-	}
-
 	private void handleDiceThrow() {
-		int diceThrow = rng.throwTwoDice();
+		Map<Faction, List<Resource>> distribution = turnCycle.throwDice();
 		outputWriter.print(terminal, Config.InfoMessage.DICE_THROW.toString(),
-				new String[] { String.valueOf(diceThrow) });
-		visualizeResourceDistribution(siedlerGame.throwDice(diceThrow));
+				new String[] { String.valueOf(turnCycle.getLastDiceThrow()) });
+		visualizeResourceDistribution(distribution);
 	}
 
 	private void visualizeResourceDistribution(Map<Faction, List<Resource>> distribution) {
@@ -126,23 +140,21 @@ public class Catan {
 		}
 	}
 
-	private void handleActions() {
+	private void handleAction() {
 		switch (inputManager.selectAction(textIO)) {
 		case BUILD:
 			buildingSelection();
-			handleActions();
 			break;
 		case TRADE:
 			tradingSelection();
-			handleActions();
 			break;
 		case SHOW_INVENTORY:
 			outputWriter.print(terminal, Config.InfoMessage.PLAYER_INVENTORY.toString(),
 					siedlerGame.getCurrentPlayerInventory());
-			handleActions();
 			break;
 		case END_TURN:
 			printWinPointStandings();
+			turnCycle.endTurn();
 			break;
 		default:
 			throw new IllegalStateException("This is not a valid action.");
@@ -223,13 +235,6 @@ public class Catan {
 
 	}
 
-	private boolean isGameOver() {
-		if (!Objects.isNull(siedlerGame.getWinner())) {
-			return true;
-		}
-		return false;
-	}
-
 	private void endGame() {
 		outputWriter.print(terminal, Config.InfoMessage.WINNER.toString(),
 				new String[] { siedlerGame.getWinner().toString() });
@@ -100,7 +100,9 @@ public class Config {
 		ACTION("This is an invalid action"), BUILDING_TYPE("This is an invalid building type"),
 		NUMBER_OF_PLAYERS("Your input was not a number between 2 and 4."),
 		TRADE_WITH_BANK("Trade with bank is not possible."),
-		INVALID_COORDINATES("The Coordinates you supplied did not match the expected format of x:y");
+		INVALID_COORDINATES("The Coordinates you supplied did not match the expected format of x:y"),
+		NOT_YOUR_TURN("It is not your turn"), GAME_NOT_STARTED("The game has not started yet"),
+		GAME_OVER("The game is over");
 
 		private String value;
 
@@ -202,6 +204,77 @@ public class Config {
 		}
 	}
 
+	// SPECIFICATION OF AVAILABLE HARBOUR TYPES
+
+	/**
+	 * This {@link Enum} specifies the harbours of the board. A player with a
+	 * settlement or city on a corner of a harbour trades the accepted resources
+	 * with the bank at the rate of the harbour instead of four to one. Harbours
+	 * are stored on the board as field annotations of the water field, see
+	 * {@link #toString()}.
+	 */
+	public enum Harbour {
+		GENERIC(3, null), GRAIN(Resource.GRAIN), WOOL(Resource.WOOL), LUMBER(Resource.LUMBER), ORE(Resource.ORE),
+		BRICK(Resource.BRICK);
+
+		private static final int RESOURCE_RATE = 2;
+		private final int rate;
+		private final Resource resource;
+
+		private Harbour(Resource resource) {
+			this(RESOURCE_RATE, resource);
+		}
+
+		private Harbour(int rate, Resource resource) {
+			this.rate = rate;
+			this.resource = resource;
+		}
+
+		/**
+		 * Returns the number of cards given for one card
+		 *
+		 * @return the rate
+		 */
+		public int getRate() {
+			return rate;
+		}
+
+		/**
+		 * Checks whether the harbour accepts a resource
+		 *
+		 * @param offer the offered resource
+		 * @return true for every resource at a generic harbour, else only for the
+		 *         resource of the harbour
+		 */
+		public boolean accepts(Resource offer) {
+			return resource == null || resource == offer;
+		}
+
+		/**
+		 * Returns the harbour an annotation stands for
+		 *
+		 * @param annotation the annotation of a field
+		 * @return the harbour or null, if the annotation is no harbour
+		 */
+		public static Harbour fromAnnotation(String annotation) {
+			for (Harbour harbour : values()) {
+				if (harbour.toString().equals(annotation)) {
+					return harbour;
+				}
+			}
+			return null;
+		}
+
+		/**
+		 * Returns the annotation of the harbour: its rate for a generic harbour,
+		 * else the name of its resource
+		 */
+		@Override
+		public String toString() {
+			return resource == null ? rate + ":1" : resource.toString();
+		}
+	}
+
 	// SPECIFICATION OF AVAILABLE LAND TYPES
 
 	/**
@@ -371,4 +444,25 @@ public class Config {
 		return Collections.unmodifiableMap(assignment);
 	}
 
+	// STANDARD FIXED HARBOUR SETUP
+
+	/**
+	 * Returns the corner to {@link Harbour} mapping of the standard harbours:
+	 * four generic harbours and one harbour per resource, each on two corners of
+	 * a water field.
+	 *
+	 * @return the corner to {@link Harbour} mapping
+	 */
+	public static final Map<Point, Harbour> getStandardHarbourPlacement() {
+		return Map.ofEntries(Map.entry(new Point(6, 4), Harbour.GENERIC), Map.entry(new Point(7, 3), Harbour.GENERIC),
+				Map.entry(new Point(9, 3), Harbour.WOOL), Map.entry(new Point(10, 4), Harbour.WOOL),
+				Map.entry(new Point(11, 7), Harbour.GENERIC), Map.entry(new Point(11, 9), Harbour.GENERIC),
+				Map.entry(new Point(12, 12), Harbour.ORE), Map.entry(new Point(11, 13), Harbour.ORE),
+				Map.entry(new Point(10, 16), Harbour.GENERIC), Map.entry(new Point(10, 18), Harbour.GENERIC),
+				Map.entry(new Point(8, 18), Harbour.BRICK), Map.entry(new Point(7, 19), Harbour.BRICK),
+				Map.entry(new Point(5, 19), Harbour.GENERIC), Map.entry(new Point(4, 18), Harbour.GENERIC),
+				Map.entry(new Point(3, 13), Harbour.LUMBER), Map.entry(new Point(2, 12), Harbour.LUMBER),
+				Map.entry(new Point(4, 6), Harbour.GRAIN), Map.entry(new Point(4, 4), Harbour.GRAIN));
+	}
+
 }
@@ -0,0 +1,167 @@
+package ch.zhaw.catan;
+
+import java.awt.Point;
+import java.util.Map;
+
+import ch.zhaw.catan.Config.Land;
+import ch.zhaw.catan.Config.Resource;
+
+/**
+ * The CornerValuation class holds the expected production of every corner of a
+ * board, derived from the lands and dice numbers of the adjacent fields.
+ * <p>
+ * Production is counted in pips: the number of the 36 outcomes of two dice that
+ * pay out to the corner, per resource. A field contributes the combinations of
+ * its dice number if its land produces a resource, so the desert and the water
+ * contribute nothing. The values only depend on the layout of the board and are
+ * calculated once; {@link SiedlerBoard#getCornerValuation()} creates a new
+ * valuation when the layout changes. A valuation is immutable and can be read
+ * by any number of threads.
+ * </p>
+ */
+public final class CornerValuation {
+	public static final int DICE_COMBINATIONS = 36;
+	private static final Resource[] RESOURCES = Resource.values();
+	private final BoardIndex index;
+	private final int[][] pips;
+	private final int[] totalPips;
+	private final int[] diversity;
+
+	private CornerValuation(SiedlerBoard board) {
+		index = board.getIndex();
+		pips = new int[index.getCornerCount()][RESOURCES.length];
+		totalPips = new int[index.getCornerCount()];
+		diversity = new int[index.getCornerCount()];
+		Map<Point, Integer> diceNumbers = board.getDiceNumberPlacement();
+		for (int corner = 0; corner < index.getCornerCount(); corner++) {
+			for (Point field : board.getFieldPositions(index.getCorner(corner))) {
+				Land land = board.getField(field);
+				Integer diceNumber = diceNumbers == null ? null : diceNumbers.get(field);
+				if (land.getResource() != null && diceNumber != null) {
+					pips[corner][land.getResource().ordinal()] += combinations(diceNumber);
+				}
+			}
+			for (int amount : pips[corner]) {
+				totalPips[corner] += amount;
+				diversity[corner] += amount > 0 ? 1 : 0;
+			}
+		}
+	}
+
+	/**
+	 * Calculates the valuation of the current layout of a board
+	 *
+	 * @param board the board
+	 * @return the valuation
+	 */
+	static CornerValuation of(SiedlerBoard board) {
+		return new CornerValuation(board);
+	}
+
+	/**
+	 * Returns the number of combinations of two dice with the given sum
+	 *
+	 * @param diceNumber the sum
+	 * @return the number of combinations, 0 for sums outside of 2 to 12
+	 */
+	public static int combinations(int diceNumber) {
+		return Math.max(0, 6 - Math.abs(diceNumber - 7));
+	}
+
+	/**
+	 * Returns the index numbering the corners of this valuation
+	 *
+	 * @return the index
+	 */
+	public BoardIndex getIndex() {
+		return index;
+	}
+
+	/**
+	 * Returns the pips of a corner over all resources
+	 *
+	 * @param corner the corner
+	 * @return the pips, 0 if the position is not a corner
+	 */
+	public int getPips(Point corner) {
+		int id = index.getCornerId(corner);
+		return id < 0 ? 0 : totalPips[id];
+	}
+
+	/**
+	 * Returns the pips of a corner for one resource
+	 *
+	 * @param corner   the corner
+	 * @param resource the resource
+	 * @return the pips, 0 if the position is not a corner
+	 */
+	public int getPips(Point corner, Resource resource) {
+		int id = index.getCornerId(corner);
+		return id < 0 ? 0 : pips[id][resource.ordinal()];
+	}
+
+	/**
+	 * Returns the pips of a corner over all resources
+	 *
+	 * @param corner the number of the corner in {@link #getIndex()}
+	 * @return the pips
+	 */
+	public int getPips(int corner) {
+		return totalPips[corner];
+	}
+
+	/**
+	 * Returns the pips of a corner for one resource
+	 *
+	 * @param corner   the number of the corner in {@link #getIndex()}
+	 * @param resource the resource
+	 * @return the pips
+	 */
+	public int getPips(int corner, Resource resource) {
+		return pips[corner][resource.ordinal()];
+	}
+
+	/**
+	 * Returns the expected number of cards a settlement on the corner receives
+	 * per roll of the dice
+	 *
+	 * @param corner the corner
+	 * @return the expected production
+	 */
+	public double getExpectedProduction(Point corner) {
+		return (double) getPips(corner) / DICE_COMBINATIONS;
+	}
+
+	/**
+	 * Returns the expected number of cards of a resource a settlement on the
+	 * corner receives per roll of the dice
+	 *
+	 * @param corner   the corner
+	 * @param resource the resource
+	 * @return the expected production
+	 */
+	public double getExpectedProduction(Point corner, Resource resource) {
+		return (double) getPips(corner, resource) / DICE_COMBINATIONS;
+	}
+
+	/**
+	 * Returns the number of different resources produced at a corner
+	 *
+	 * @param corner the corner
+	 * @return the number of resources, between 0 and 3
+	 */
+	public int getDiversity(Point corner) {
+		int id = index.getCornerId(corner);
+		return id < 0 ? 0 : diversity[id];
+	}
+
+	/**
+	 * Returns the number of different resources produced at a corner
+	 *
+	 * @param corner the number of the corner in {@link #getIndex()}
+	 * @return the number of resources, between 0 and 3
+	 */
+	public int getDiversity(int corner) {
+		return diversity[corner];
+	}
+}
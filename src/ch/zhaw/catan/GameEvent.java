@@ -0,0 +1,337 @@
+package ch.zhaw.catan;
+
+import java.awt.Point;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.EnumMap;
+import java.util.Map;
+
+import ch.zhaw.catan.Config.Faction;
+import ch.zhaw.catan.Config.Resource;
+
+/**
+ * The GameEvent class is a data class which represents a single change of the
+ * state of a {@link SiedlerGame}.
+ * <p>
+ * Command events (placements, dice, trades with the bank and between players,
+ * player switches) are the inputs of
+ * the game. Replaying them in order on a new game with the same seed restores
+ * the state of the original game. Payout and discard events are consequences of
+ * a dice throw; they are recorded for analysis and are reproduced, not applied,
+ * during a replay.
+ * </p>
+ * <p>
+ * The binary encoding takes one header byte (type and faction) plus one byte
+ * per coordinate, resource, value, other faction or card amount, see
+ * {@link #writeTo(ByteBuffer)}.
+ * </p>
+ */
+public final class GameEvent {
+
+	/**
+	 * This {@link Enum} specifies the types of events and which fields they use.
+	 */
+	public enum Type {
+		INITIAL_SETTLEMENT(true, false, 0, true), INITIAL_ROAD(true, true, 0, false), SETTLEMENT(true, false, 0, false),
+		CITY(true, false, 0, false), ROAD(true, true, 0, false), ROLL(false, false, 0, true),
+		DICE_THROW(false, false, 0, true), PAYOUT(false, false, 1, true), DISCARD(false, false, 1, true),
+		TRADE(false, false, 2, false), NEXT_PLAYER(false, false, 0, false), PREVIOUS_PLAYER(false, false, 0, false),
+		PLAYER_TRADE(false, false, 0, false, true);
+
+		private final boolean hasPosition;
+		private final boolean hasEnd;
+		private final int resources;
+		private final boolean hasValue;
+		private final boolean hasCards;
+
+		private Type(boolean hasPosition, boolean hasEnd, int resources, boolean hasValue) {
+			this(hasPosition, hasEnd, resources, hasValue, false);
+		}
+
+		private Type(boolean hasPosition, boolean hasEnd, int resources, boolean hasValue, boolean hasCards) {
+			this.hasPosition = hasPosition;
+			this.hasEnd = hasEnd;
+			this.resources = resources;
+			this.hasValue = hasValue;
+			this.hasCards = hasCards;
+		}
+
+		/**
+		 * Checks whether events of this type are consequences of other events
+		 *
+		 * @return true for payouts and discards
+		 */
+		public boolean isDerived() {
+			return this == PAYOUT || this == DISCARD;
+		}
+
+		int payloadSize() {
+			return (hasPosition ? 2 : 0) + (hasEnd ? 2 : 0) + resources + (hasValue ? 1 : 0)
+					+ (hasCards ? 1 + 2 * RESOURCES.length : 0);
+		}
+	}
+
+	private static final Type[] TYPES = Type.values();
+	private static final Faction[] FACTIONS = Faction.values();
+	private static final Resource[] RESOURCES = Resource.values();
+	private final Type type;
+	private final Faction faction;
+	private final Point position;
+	private final Point end;
+	private final Resource resource;
+	private final Resource otherResource;
+	private final int value;
+	private final Faction otherFaction;
+	private final int[] cards;
+	private final int[] otherCards;
+
+	private GameEvent(Type type, Faction faction, Point position, Point end, Resource resource,
+			Resource otherResource, int value) {
+		this(type, faction, position, end, resource, otherResource, value, null, null, null);
+	}
+
+	private GameEvent(Type type, Faction faction, Point position, Point end, Resource resource,
+			Resource otherResource, int value, Faction otherFaction, int[] cards, int[] otherCards) {
+		this.type = type;
+		this.faction = faction;
+		this.position = position;
+		this.end = end;
+		this.resource = resource;
+		this.otherResource = otherResource;
+		this.value = value;
+		this.otherFaction = otherFaction;
+		this.cards = cards;
+		this.otherCards = otherCards;
+	}
+
+	static GameEvent initialSettlement(Faction faction, Point position, boolean payout) {
+		return new GameEvent(Type.INITIAL_SETTLEMENT, faction, position, null, null, null, payout ? 1 : 0);
+	}
+
+	static GameEvent initialRoad(Faction faction, Point start, Point end) {
+		return new GameEvent(Type.INITIAL_ROAD, faction, start, end, null, null, 0);
+	}
+
+	static GameEvent structure(Type type, Faction faction, Point position) {
+		return new GameEvent(type, faction, position, null, null, null, 0);
+	}
+
+	static GameEvent road(Faction faction, Point start, Point end) {
+		return new GameEvent(Type.ROAD, faction, start, end, null, null, 0);
+	}
+
+	static GameEvent dice(Type type, Faction faction, int value) {
+		return new GameEvent(type, faction, null, null, null, null, value);
+	}
+
+	static GameEvent cards(Type type, Faction faction, Resource resource, int amount) {
+		return new GameEvent(type, faction, null, null, resource, null, amount);
+	}
+
+	static GameEvent trade(Faction faction, Resource offer, Resource want) {
+		return new GameEvent(Type.TRADE, faction, null, null, offer, want, 0);
+	}
+
+	static GameEvent playerTrade(Faction faction, Faction otherFaction, int[] cards, int[] otherCards) {
+		return new GameEvent(Type.PLAYER_TRADE, faction, null, null, null, null, 0, otherFaction, cards.clone(),
+				otherCards.clone());
+	}
+
+	static GameEvent playerSwitch(Type type, Faction faction) {
+		return new GameEvent(type, faction, null, null, null, null, 0);
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	/**
+	 * Returns the faction that caused the event, or received the cards of a
+	 * payout or discard
+	 *
+	 * @return the faction
+	 */
+	public Faction getFaction() {
+		return faction;
+	}
+
+	public Point getPosition() {
+		return position;
+	}
+
+	public Point getEnd() {
+		return end;
+	}
+
+	/**
+	 * Returns the resource of a payout or discard, or the offered resource of a
+	 * trade
+	 *
+	 * @return the resource or null
+	 */
+	public Resource getResource() {
+		return resource;
+	}
+
+	/**
+	 * Returns the wanted resource of a trade
+	 *
+	 * @return the resource or null
+	 */
+	public Resource getOtherResource() {
+		return otherResource;
+	}
+
+	/**
+	 * Returns the dice value, the amount of cards or, for initial settlements,
+	 * 1 if resources were paid out
+	 *
+	 * @return the value
+	 */
+	public int getValue() {
+		return value;
+	}
+
+	/**
+	 * Returns the trading partner of a trade between players
+	 *
+	 * @return the faction or null
+	 */
+	public Faction getOtherFaction() {
+		return otherFaction;
+	}
+
+	/**
+	 * Returns the cards the faction hands over in a trade between players
+	 *
+	 * @return the amounts per resource, empty for other events
+	 */
+	public Map<Resource, Integer> getCards() {
+		return toMap(cards);
+	}
+
+	/**
+	 * Returns the cards the other faction hands over in a trade between players
+	 *
+	 * @return the amounts per resource, empty for other events
+	 */
+	public Map<Resource, Integer> getOtherCards() {
+		return toMap(otherCards);
+	}
+
+	private static Map<Resource, Integer> toMap(int[] vector) {
+		Map<Resource, Integer> map = new EnumMap<>(Resource.class);
+		if (vector != null) {
+			for (Resource resource : RESOURCES) {
+				if (vector[resource.ordinal()] > 0) {
+					map.put(resource, vector[resource.ordinal()]);
+				}
+			}
+		}
+		return map;
+	}
+
+	/**
+	 * Returns the number of bytes {@link #writeTo(ByteBuffer)} writes
+	 *
+	 * @return the encoded size
+	 */
+	public int encodedSize() {
+		return 1 + type.payloadSize();
+	}
+
+	/**
+	 * Returns the encoded size of an event of the type given by a header byte
+	 *
+	 * @param header the first byte of an encoded event
+	 * @return the encoded size or -1 if the header is invalid
+	 */
+	public static int encodedSize(byte header) {
+		int type = (header & 0xff) >>> 2;
+		return type < TYPES.length ? 1 + TYPES[type].payloadSize() : -1;
+	}
+
+	/**
+	 * Writes the event to the buffer
+	 *
+	 * @param buffer the buffer, must have {@link #encodedSize()} bytes remaining
+	 */
+	public void writeTo(ByteBuffer buffer) {
+		buffer.put((byte) (type.ordinal() << 2 | faction.ordinal()));
+		if (type.hasPosition) {
+			buffer.put((byte) position.x).put((byte) position.y);
+		}
+		if (type.hasEnd) {
+			buffer.put((byte) end.x).put((byte) end.y);
+		}
+		if (type.resources > 0) {
+			buffer.put((byte) resource.ordinal());
+		}
+		if (type.resources > 1) {
+			buffer.put((byte) otherResource.ordinal());
+		}
+		if (type.hasValue) {
+			buffer.put((byte) value);
+		}
+		if (type.hasCards) {
+			buffer.put((byte) otherFaction.ordinal());
+			for (int amount : cards) {
+				buffer.put((byte) amount);
+			}
+			for (int amount : otherCards) {
+				buffer.put((byte) amount);
+			}
+		}
+	}
+
+	/**
+	 * Reads an event from the buffer
+	 *
+	 * @param buffer the buffer positioned at the header byte of the event
+	 * @return the event
+	 * @throws IllegalArgumentException if the bytes are not a valid event
+	 */
+	public static GameEvent readFrom(ByteBuffer buffer) {
+		try {
+			int header = buffer.get() & 0xff;
+			if (header >>> 2 >= TYPES.length) {
+				throw new IllegalArgumentException("Invalid event header " + header);
+			}
+			Type type = TYPES[header >>> 2];
+			Faction faction = FACTIONS[header & 0x3];
+			Point position = type.hasPosition ? new Point(buffer.get(), buffer.get()) : null;
+			Point end = type.hasEnd ? new Point(buffer.get(), buffer.get()) : null;
+			Resource resource = type.resources > 0 ? RESOURCES[buffer.get()] : null;
+			Resource otherResource = type.resources > 1 ? RESOURCES[buffer.get()] : null;
+			int value = type.hasValue ? buffer.get() : 0;
+			if (!type.hasCards) {
+				return new GameEvent(type, faction, position, end, resource, otherResource, value);
+			}
+			Faction otherFaction = FACTIONS[buffer.get()];
+			int[] cards = readCards(buffer);
+			int[] otherCards = readCards(buffer);
+			return new GameEvent(type, faction, position, end, resource, otherResource, value, otherFaction, cards,
+					otherCards);
+		} catch (BufferUnderflowException | ArrayIndexOutOfBoundsException e) {
+			throw new IllegalArgumentException("Corrupt event", e);
+		}
+	}
+
+	private static int[] readCards(ByteBuffer buffer) {
+		int[] cards = new int[RESOURCES.length];
+		for (int i = 0; i < cards.length; i++) {
+			cards[i] = buffer.get();
+			if (cards[i] < 0) {
+				throw new IllegalArgumentException("Negative amount of " + RESOURCES[i]);
+			}
+		}
+		return cards;
+	}
+
+	@Override
+	public String toString() {
+		return "GameEvent [type=" + type + ", faction=" + faction + ", position=" + position + ", end=" + end
+				+ ", resource=" + resource + ", otherResource=" + otherResource + ", value=" + value
+				+ ", otherFaction=" + otherFaction + ", cards=" + getCards() + ", otherCards=" + getOtherCards() + "]";
+	}
+}
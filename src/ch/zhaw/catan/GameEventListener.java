@@ -0,0 +1,15 @@
+package ch.zhaw.catan;
+
+/**
+ * A GameEventListener is notified about every change of the state of a
+ * {@link SiedlerGame}, in the order in which the changes happen.
+ */
+public interface GameEventListener {
+
+	/**
+	 * Called after the change described by the event has been applied
+	 *
+	 * @param event the event
+	 */
+	void onEvent(GameEvent event);
+}
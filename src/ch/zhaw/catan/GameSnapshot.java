@@ -0,0 +1,186 @@
+package ch.zhaw.catan;
+
+import java.awt.Point;
+import java.util.Arrays;
+
+import ch.zhaw.catan.Config.Faction;
+import ch.zhaw.catan.Config.Resource;
+
+/**
+ * The GameSnapshot class is an immutable copy of the state of a
+ * {@link SiedlerGame}: the layout and the occupancy of the board, the hands of
+ * the players and the bank, the current player and the positions of the random
+ * streams.
+ * <p>
+ * A snapshot is taken on the game thread with {@link SiedlerGame#snapshot()}
+ * and can then be handed to other threads, e.g. to be written to disk while the
+ * game goes on. {@link SiedlerGame#restore(GameSnapshot)} creates a game in
+ * exactly the captured state.
+ * </p>
+ */
+public final class GameSnapshot {
+	private final long seed;
+	private final int winPoints;
+	private final int numberOfPlayers;
+	private final int currentPlayer;
+	private final long[] randomCounters;
+	private final int[][] hands;
+	private final int[] bank;
+	private final Point[] corners;
+	private final Faction[] cornerOwners;
+	private final boolean[] cities;
+	private final Point[] roadStarts;
+	private final Point[] roadEnds;
+	private final Faction[] roadOwners;
+	private final BoardLayout layout;
+
+	/**
+	 * Creates a snapshot of a game on the {@link BoardLayout#standard()} layout.
+	 * The arrays are taken over, callers must not modify them afterwards.
+	 *
+	 * @see #GameSnapshot(long, int, int, int, long[], int[][], int[], Point[],
+	 *      Faction[], boolean[], Point[], Point[], Faction[], BoardLayout)
+	 */
+	public GameSnapshot(long seed, int winPoints, int numberOfPlayers, int currentPlayer, long[] randomCounters,
+			int[][] hands, int[] bank, Point[] corners, Faction[] cornerOwners, boolean[] cities, Point[] roadStarts,
+			Point[] roadEnds, Faction[] roadOwners) {
+		this(seed, winPoints, numberOfPlayers, currentPlayer, randomCounters, hands, bank, corners, cornerOwners,
+				cities, roadStarts, roadEnds, roadOwners, BoardLayout.standard());
+	}
+
+	/**
+	 * Creates a snapshot. The arrays are taken over, callers must not modify them
+	 * afterwards.
+	 *
+	 * @param seed            the seed of the game
+	 * @param winPoints       the number of points required to win
+	 * @param numberOfPlayers the number of players
+	 * @param currentPlayer   the index of the current player
+	 * @param randomCounters  the counters of the dice, discard and shuffle streams
+	 * @param hands           the resources per player, indexed by resource ordinal
+	 * @param bank            the resources of the bank, indexed by resource ordinal
+	 * @param corners         the positions of the settlements and cities
+	 * @param cornerOwners    the owners of the settlements and cities
+	 * @param cities          whether the settlement at the same index is a city
+	 * @param roadStarts      the start positions of the roads
+	 * @param roadEnds        the end positions of the roads
+	 * @param roadOwners      the owners of the roads
+	 * @param layout          the layout of the board
+	 */
+	public GameSnapshot(long seed, int winPoints, int numberOfPlayers, int currentPlayer, long[] randomCounters,
+			int[][] hands, int[] bank, Point[] corners, Faction[] cornerOwners, boolean[] cities, Point[] roadStarts,
+			Point[] roadEnds, Faction[] roadOwners, BoardLayout layout) {
+		if (hands.length != numberOfPlayers || bank.length != Resource.values().length
+				|| cornerOwners.length != corners.length || cities.length != corners.length
+				|| roadEnds.length != roadStarts.length || roadOwners.length != roadStarts.length) {
+			throw new IllegalArgumentException("Snapshot arrays do not match");
+		}
+		this.seed = seed;
+		this.winPoints = winPoints;
+		this.numberOfPlayers = numberOfPlayers;
+		this.currentPlayer = currentPlayer;
+		this.randomCounters = randomCounters;
+		this.hands = hands;
+		this.bank = bank;
+		this.corners = corners;
+		this.cornerOwners = cornerOwners;
+		this.cities = cities;
+		this.roadStarts = roadStarts;
+		this.roadEnds = roadEnds;
+		this.roadOwners = roadOwners;
+		this.layout = layout;
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	public int getWinPoints() {
+		return winPoints;
+	}
+
+	public int getNumberOfPlayers() {
+		return numberOfPlayers;
+	}
+
+	public int getCurrentPlayer() {
+		return currentPlayer;
+	}
+
+	/**
+	 * Returns the counters of the random streams in the order dice, discard,
+	 * shuffle
+	 *
+	 * @return a copy of the counters
+	 */
+	public long[] getRandomCounters() {
+		return randomCounters.clone();
+	}
+
+	public int getHand(int player, Resource resource) {
+		return hands[player][resource.ordinal()];
+	}
+
+	public int getBank(Resource resource) {
+		return bank[resource.ordinal()];
+	}
+
+	public int getCornerCount() {
+		return corners.length;
+	}
+
+	public Point getCorner(int index) {
+		return new Point(corners[index]);
+	}
+
+	public Faction getCornerOwner(int index) {
+		return cornerOwners[index];
+	}
+
+	public boolean isCity(int index) {
+		return cities[index];
+	}
+
+	public int getRoadCount() {
+		return roadStarts.length;
+	}
+
+	public Point getRoadStart(int index) {
+		return new Point(roadStarts[index]);
+	}
+
+	public Point getRoadEnd(int index) {
+		return new Point(roadEnds[index]);
+	}
+
+	public Faction getRoadOwner(int index) {
+		return roadOwners[index];
+	}
+
+	public BoardLayout getLayout() {
+		return layout;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof GameSnapshot)) {
+			return false;
+		}
+		GameSnapshot other = (GameSnapshot) obj;
+		return seed == other.seed && winPoints == other.winPoints && numberOfPlayers == other.numberOfPlayers
+				&& currentPlayer == other.currentPlayer && Arrays.equals(randomCounters, other.randomCounters)
+				&& Arrays.deepEquals(hands, other.hands) && Arrays.equals(bank, other.bank)
+				&& Arrays.equals(corners, other.corners) && Arrays.equals(cornerOwners, other.cornerOwners)
+				&& Arrays.equals(cities, other.cities) && Arrays.equals(roadStarts, other.roadStarts)
+				&& Arrays.equals(roadEnds, other.roadEnds) && Arrays.equals(roadOwners, other.roadOwners)
+				&& layout.equals(other.layout);
+	}
+
+	@Override
+	public int hashCode() {
+		return Long.hashCode(seed) * 31 + Arrays.hashCode(randomCounters);
+	}
+}
@@ -0,0 +1,214 @@
+package ch.zhaw.catan;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import ch.zhaw.catan.Config.Faction;
+import ch.zhaw.catan.Config.Land;
+import ch.zhaw.catan.Config.Resource;
+import ch.zhaw.structures.Road;
+import ch.zhaw.structures.Settlement;
+
+/**
+ * The IncomeDistribution class holds the exact income of every player per roll
+ * of the dice: for every dice sum the number of cards of every resource the
+ * settlements and cities of the player receive.
+ * <p>
+ * The income is kept up to date as a {@link BoardListener}: setting a corner
+ * only subtracts the reward of the previous settlement and adds the reward of
+ * the new one on the fields around the corner. From the income per sum follow
+ * the probability distribution of the cards received in one roll and, by
+ * convolution, over several turns. Each game owns one distribution, see
+ * {@link SiedlerGame#getIncomeDistribution()}. The distributions assume that the bank
+ * has enough cards and that no cards are spent or dropped in between.
+ * </p>
+ */
+public final class IncomeDistribution implements BoardListener {
+	private static final int MAX_DICE_SUM = 12;
+	private static final int ROBBER = 7;
+	private static final Resource[] RESOURCES = Resource.values();
+	private final BoardIndex index;
+	private final int[][] cornerSums;
+	private final int[][] cornerResources;
+	private final int[][][] income = new int[Faction.values().length][MAX_DICE_SUM + 1][RESOURCES.length];
+
+	/**
+	 * Creates the distribution of the structures on a board and registers it for
+	 * the changes of the board
+	 *
+	 * @param board the board with its final layout
+	 */
+	IncomeDistribution(SiedlerBoard board) {
+		index = board.getIndex();
+		cornerSums = new int[index.getCornerCount()][];
+		cornerResources = new int[index.getCornerCount()][];
+		Map<Point, Integer> diceNumbers = board.getDiceNumberPlacement();
+		for (int corner = 0; corner < index.getCornerCount(); corner++) {
+			List<int[]> producing = new ArrayList<>();
+			for (Point field : board.getFieldPositions(index.getCorner(corner))) {
+				Land land = board.getField(field);
+				Integer diceNumber = diceNumbers == null ? null : diceNumbers.get(field);
+				if (land.getResource() != null && diceNumber != null && diceNumber != ROBBER) {
+					producing.add(new int[] { diceNumber, land.getResource().ordinal() });
+				}
+			}
+			cornerSums[corner] = producing.stream().mapToInt(pair -> pair[0]).toArray();
+			cornerResources[corner] = producing.stream().mapToInt(pair -> pair[1]).toArray();
+			Settlement settlement = board.getCorner(index.getCorner(corner));
+			if (settlement != null) {
+				update(corner, settlement, 1);
+			}
+		}
+		board.addBoardListener(this);
+	}
+
+	@Override
+	public void cornerChanged(Point position, Settlement previous, Settlement current) {
+		int corner = index.getCornerId(position);
+		if (corner < 0) {
+			return;
+		}
+		if (previous != null) {
+			update(corner, previous, -1);
+		}
+		if (current != null) {
+			update(corner, current, 1);
+		}
+	}
+
+	@Override
+	public void edgeChanged(Point start, Point end, Road previous, Road current) {
+		// roads produce nothing
+	}
+
+	private void update(int corner, Settlement settlement, int sign) {
+		int[][] ownIncome = income[settlement.getOwner().getFaction().ordinal()];
+		for (int i = 0; i < cornerSums[corner].length; i++) {
+			ownIncome[cornerSums[corner][i]][cornerResources[corner][i]] += sign * settlement.getResourceReward();
+		}
+	}
+
+	/**
+	 * Returns the cards of a resource a player receives when a sum is rolled
+	 *
+	 * @param faction  the player
+	 * @param diceSum  the sum of the dice
+	 * @param resource the resource
+	 * @return the number of cards
+	 */
+	public int getIncome(Faction faction, int diceSum, Resource resource) {
+		return diceSum < 0 || diceSum > MAX_DICE_SUM ? 0 : income[faction.ordinal()][diceSum][resource.ordinal()];
+	}
+
+	/**
+	 * Returns the expected number of cards of a resource a player receives per
+	 * roll
+	 *
+	 * @param faction  the player
+	 * @param resource the resource
+	 * @return the expected income
+	 */
+	public double getExpectedIncome(Faction faction, Resource resource) {
+		double expected = 0;
+		for (int sum = 2; sum <= MAX_DICE_SUM; sum++) {
+			expected += CornerValuation.combinations(sum) * getIncome(faction, sum, resource);
+		}
+		return expected / CornerValuation.DICE_COMBINATIONS;
+	}
+
+	/**
+	 * Returns the distribution of the cards of a resource a player receives in a
+	 * number of turns
+	 *
+	 * @param faction  the player
+	 * @param resource the resource
+	 * @param turns    the number of rolls
+	 * @return the probability of every number of cards, indexed by the number
+	 * @throws IllegalArgumentException if the number of turns is negative
+	 */
+	public double[] getDistribution(Faction faction, Resource resource, int turns) {
+		if (turns < 0) {
+			throw new IllegalArgumentException("Turns must not be negative");
+		}
+		int[][] ownIncome = income[faction.ordinal()];
+		int most = 0;
+		for (int sum = 2; sum <= MAX_DICE_SUM; sum++) {
+			most = Math.max(most, ownIncome[sum][resource.ordinal()]);
+		}
+		double[] roll = new double[most + 1];
+		for (int sum = 2; sum <= MAX_DICE_SUM; sum++) {
+			roll[ownIncome[sum][resource.ordinal()]] += (double) CornerValuation.combinations(sum)
+					/ CornerValuation.DICE_COMBINATIONS;
+		}
+		double[] distribution = { 1 };
+		for (int turn = 0; turn < turns; turn++) {
+			double[] next = new double[distribution.length + most];
+			for (int cards = 0; cards < distribution.length; cards++) {
+				for (int received = 0; received <= most; received++) {
+					next[cards + received] += distribution[cards] * roll[received];
+				}
+			}
+			distribution = next;
+		}
+		return distribution;
+	}
+
+	/**
+	 * Returns the probability that a player can afford a cost after a number of
+	 * turns. The joint distribution of the missing cards is convolved with the
+	 * income of every roll; cards beyond the missing ones are not tracked.
+	 *
+	 * @param faction the player
+	 * @param cost    the cost, e.g. {@link Config#CITY_COST}
+	 * @param hand    the cards the player holds now
+	 * @param turns   the number of rolls
+	 * @return the probability
+	 * @throws IllegalArgumentException if the number of turns is negative
+	 */
+	public double getProbabilityToAfford(Faction faction, Map<Resource, Integer> cost, Map<Resource, Integer> hand,
+			int turns) {
+		if (turns < 0) {
+			throw new IllegalArgumentException("Turns must not be negative");
+		}
+		int[] missing = new int[RESOURCES.length];
+		int[] stride = new int[RESOURCES.length];
+		int states = 1;
+		for (Resource resource : RESOURCES) {
+			int r = resource.ordinal();
+			missing[r] = Math.max(0, cost.getOrDefault(resource, 0) - hand.getOrDefault(resource, 0));
+			stride[r] = states;
+			states *= missing[r] + 1;
+		}
+		int[][] ownIncome = income[faction.ordinal()];
+		double[] distribution = new double[states];
+		distribution[0] = 1;
+		for (int turn = 0; turn < turns; turn++) {
+			double[] next = new double[states];
+			for (int sum = 2; sum <= MAX_DICE_SUM; sum++) {
+				double probability = (double) CornerValuation.combinations(sum) / CornerValuation.DICE_COMBINATIONS;
+				for (int state = 0; state < states; state++) {
+					if (distribution[state] != 0) {
+						next[receive(state, ownIncome[sum], missing, stride)] += probability * distribution[state];
+					}
+				}
+			}
+			distribution = next;
+		}
+		return distribution[states - 1];
+	}
+
+	/**
+	 * Returns the state after receiving cards, every resource capped at the
+	 * missing number of cards
+	 */
+	private static int receive(int state, int[] received, int[] missing, int[] stride) {
+		int next = 0;
+		for (int r = 0; r < missing.length; r++) {
+			int cards = state / stride[r] % (missing[r] + 1);
+			next += Math.min(missing[r], cards + received[r]) * stride[r];
+		}
+		return next;
+	}
+}
@@ -1,12 +1,102 @@
 package ch.zhaw.catan;
 
-import java.util.Random;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * The RandomNumberGenerator Class is responsible for providing pseudo random events
+ * <p>
+ * The generator is counter based (SplitMix64): the n-th value only depends on
+ * the seed and n. Two generators with the same seed therefore produce the same
+ * sequence, and the whole state consists of the seed and the counter. Independent
+ * substreams (e.g. for dice and card dropping) are created with {@link #split()}.
+ * </p>
+ * <p>
+ * Instances are not thread safe. Every game and every thread should use its own
+ * generator or a split of it.
+ * </p>
  */
 public class RandomNumberGenerator {
-	Random rand = new Random();
+	private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+	private static final AtomicLong seedUniquifier = new AtomicLong(0x2545f4914f6cdd1dL);
+
+	private final long seed;
+	private long counter;
+
+	/**
+	 * Creates a generator with a seed that differs from call to call
+	 */
+	public RandomNumberGenerator() {
+		this(mix64(System.nanoTime() ^ seedUniquifier.addAndGet(GOLDEN_GAMMA)));
+	}
+
+	/**
+	 * Creates a generator whose sequence is fully defined by the provided seed
+	 *
+	 * @param seed the seed
+	 */
+	public RandomNumberGenerator(long seed) {
+		this(seed, 0);
+	}
+
+	/**
+	 * Recreates a generator at an exact position of its sequence
+	 *
+	 * @param seed    the seed
+	 * @param counter the number of values already drawn
+	 */
+	public RandomNumberGenerator(long seed, long counter) {
+		this.seed = seed;
+		this.counter = counter;
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	public long getCounter() {
+		return counter;
+	}
+
+	/**
+	 * Creates a new generator whose sequence is independent of this one. The
+	 * split consumes one value of this generator, so the splits of two
+	 * generators with the same seed are equal as well.
+	 *
+	 * @return the new generator
+	 */
+	public RandomNumberGenerator split() {
+		return new RandomNumberGenerator(mix64(nextLong()));
+	}
+
+	/**
+	 * Returns the next pseudo random 64 bit value
+	 *
+	 * @return long value
+	 */
+	public long nextLong() {
+		counter++;
+		return mix64(seed + counter * GOLDEN_GAMMA);
+	}
+
+	/**
+	 * Returns a pseudo random int between 0 (inclusive) and bound (exclusive)
+	 *
+	 * @param bound the upper bound, must be positive
+	 * @return int between 0 and bound - 1
+	 */
+	public int nextInt(int bound) {
+		if (bound <= 0) {
+			throw new IllegalArgumentException("Bound must be positive");
+		}
+		long threshold = (-bound & 0xffffffffL) % bound;
+		long value;
+		do {
+			value = nextLong() >>> 32;
+		} while ((value * bound & 0xffffffffL) < threshold);
+		return (int) (value * bound >>> 32);
+	}
 
 	/**
 	 * This method rolls two dice from 1 to 6 and then adds up the numbers
@@ -14,27 +104,39 @@ public class RandomNumberGenerator {
 	 * @return int between 2 and 12
 	 */
 	public int throwTwoDice() {
-		int result = rand.nextInt(6) + 1 + rand.nextInt(6) + 1;
+		int result = nextInt(6) + 1 + nextInt(6) + 1;
 		return result;
 	}
 
 	/**
 	 * Returns a random element of Config.Resource
 	 * @return Config.Resource by random choice
-	 * 
+	 *
 	 */
 	public Config.Resource getRandomResource() {
-		switch (rand.nextInt(4) + 1) {
-		case 1:
-			return Config.Resource.LUMBER;
-		case 2:
-			return Config.Resource.WOOL;
-		case 3:
-			return Config.Resource.ORE;
-		case 4:
-			return Config.Resource.GRAIN;
-		default:
-			return null;
+		return Config.Resource.values()[nextInt(Config.Resource.values().length)];
+	}
+
+	/**
+	 * Shuffles the provided list in place (Fisher-Yates)
+	 *
+	 * @param list the list to shuffle
+	 */
+	public <T> void shuffle(List<T> list) {
+		for (int i = list.size() - 1; i > 0; i--) {
+			Collections.swap(list, i, nextInt(i + 1));
 		}
 	}
+
+	/**
+	 * Scrambles the bits of a value (finalizer of SplitMix64)
+	 *
+	 * @param z the value
+	 * @return the scrambled value
+	 */
+	static long mix64(long z) {
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
 }
@@ -0,0 +1,153 @@
+package ch.zhaw.catan;
+
+import java.awt.Point;
+
+import ch.zhaw.catan.Config.Faction;
+import ch.zhaw.structures.Road;
+import ch.zhaw.structures.Settlement;
+
+/**
+ * The RoadNetwork class holds the connected parts of the road network of one
+ * faction as disjoint sets. The nodes are the corners and the edges of a
+ * {@link BoardIndex}: a road joins its edge with its two corners and a
+ * settlement marks its corner as part of the network. A corner with a
+ * settlement of another faction is not joined, so it separates the roads
+ * meeting there, like in
+ * {@link SiedlerBoard#isInterruptedBySettlement(Faction, Point)}.
+ * <p>
+ * New roads and settlements are merged in almost constant time. A settlement
+ * of another faction placed on the network, or a removed structure, may split
+ * a part, which disjoint sets cannot express; the network of the faction is
+ * then rebuilt from the board, which takes one pass over its corners and
+ * edges.
+ * </p>
+ */
+final class RoadNetwork {
+	private final BoardIndex index;
+	private final Faction faction;
+	private final int[] parent;
+	private final int[] roads;
+	private final boolean[] member;
+	private int components;
+
+	RoadNetwork(BoardIndex index, Faction faction) {
+		this.index = index;
+		this.faction = faction;
+		int nodes = index.getCornerCount() + index.getEdgeCount();
+		parent = new int[nodes];
+		roads = new int[nodes];
+		member = new boolean[nodes];
+	}
+
+	/**
+	 * Builds the network from the structures on the board
+	 *
+	 * @param board the board
+	 */
+	void rebuild(SiedlerBoard board) {
+		for (int node = 0; node < parent.length; node++) {
+			parent[node] = node;
+			roads[node] = 0;
+			member[node] = false;
+		}
+		components = 0;
+		for (int corner = 0; corner < index.getCornerCount(); corner++) {
+			Settlement settlement = board.getCorner(index.getCorner(corner));
+			if (settlement != null && settlement.getOwner().getFaction() == faction) {
+				addSettlement(corner);
+			}
+		}
+		for (int edge = 0; edge < index.getEdgeCount(); edge++) {
+			Road road = board.getEdge(index.getCorner(index.getEdgeStart(edge)),
+					index.getCorner(index.getEdgeEnd(edge)));
+			if (road != null && road.getOwner().getFaction() == faction) {
+				addRoad(board, edge);
+			}
+		}
+	}
+
+	/**
+	 * Adds a road of the faction
+	 *
+	 * @param board the board, with the road already placed
+	 * @param edge  the number of the edge of the road
+	 */
+	void addRoad(SiedlerBoard board, int edge) {
+		int node = index.getCornerCount() + edge;
+		member[node] = true;
+		roads[node] = 1;
+		components++;
+		for (int corner : new int[] { index.getEdgeStart(edge), index.getEdgeEnd(edge) }) {
+			if (!board.isInterruptedBySettlement(faction, index.getCorner(corner))) {
+				union(node, corner);
+			}
+		}
+	}
+
+	/**
+	 * Adds a settlement of the faction
+	 *
+	 * @param corner the number of the corner of the settlement
+	 */
+	void addSettlement(int corner) {
+		int root = find(corner);
+		if (!member[root]) {
+			member[root] = true;
+			components++;
+		}
+	}
+
+	/**
+	 * Checks whether a corner is part of the network, i.e. the faction has a
+	 * settlement there or a road ends there without being interrupted
+	 */
+	boolean contains(int corner) {
+		return member[find(corner)];
+	}
+
+	boolean connected(int corner, int other) {
+		int root = find(corner);
+		return member[root] && root == find(other);
+	}
+
+	/**
+	 * Returns the number of roads of the part containing a road
+	 *
+	 * @param edge the number of the edge of the road
+	 * @return the number of roads
+	 */
+	int getRoads(int edge) {
+		return roads[find(index.getCornerCount() + edge)];
+	}
+
+	int getComponents() {
+		return components;
+	}
+
+	private int find(int node) {
+		while (parent[node] != node) {
+			parent[node] = parent[parent[node]];
+			node = parent[node];
+		}
+		return node;
+	}
+
+	private void union(int node, int other) {
+		int root = find(node);
+		int otherRoot = find(other);
+		if (root == otherRoot) {
+			return;
+		}
+		if (member[root] && member[otherRoot]) {
+			components--;
+		}
+		if (roads[root] < roads[otherRoot]) {
+			int swap = root;
+			root = otherRoot;
+			otherRoot = swap;
+		}
+		parent[otherRoot] = root;
+		roads[root] += roads[otherRoot];
+		member[root] |= member[otherRoot];
+	}
+}
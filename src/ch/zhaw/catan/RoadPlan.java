@@ -0,0 +1,75 @@
+package ch.zhaw.catan;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import ch.zhaw.catan.Config.Faction;
+
+/**
+ * The RoadPlan class holds the result of one road search of a faction, see
+ * {@link SiedlerBoard#planRoads(Faction)}: the minimal number of roads the
+ * faction has to build to reach every corner and a shortest path to it. The
+ * plan describes the board at the time of the search and is not updated.
+ */
+public final class RoadPlan {
+	private final BoardIndex index;
+	private final Faction faction;
+	private final int[] distance;
+	private final int[] previous;
+
+	RoadPlan(BoardIndex index, Faction faction, int[] distance, int[] previous) {
+		this.index = index;
+		this.faction = faction;
+		this.distance = distance;
+		this.previous = previous;
+	}
+
+	public Faction getFaction() {
+		return faction;
+	}
+
+	/**
+	 * Returns the number of roads needed to reach a corner
+	 *
+	 * @param target the corner
+	 * @return the number of roads, 0 if the network of the faction touches the
+	 *         corner, -1 if the corner cannot be reached
+	 */
+	public int getDistance(Point target) {
+		int corner = index.getCornerId(target);
+		return corner < 0 ? -1 : distance[corner];
+	}
+
+	/**
+	 * Checks whether a corner can be reached
+	 *
+	 * @param target the corner
+	 * @return true if roads can be built up to the corner
+	 */
+	public boolean isReachable(Point target) {
+		return getDistance(target) >= 0;
+	}
+
+	/**
+	 * Returns a shortest path to a corner. Consecutive corners of the path are
+	 * the ends of the roads to build, in the order they can be built.
+	 *
+	 * @param target the corner
+	 * @return the corners from the network of the faction to the target, empty
+	 *         if the corner cannot be reached
+	 */
+	public List<Point> getPath(Point target) {
+		int corner = index.getCornerId(target);
+		if (corner < 0 || distance[corner] < 0) {
+			return Collections.emptyList();
+		}
+		List<Point> path = new ArrayList<>(distance[corner] + 1);
+		for (int current = corner; current >= 0; current = previous[current]) {
+			path.add(index.getCorner(current));
+		}
+		Collections.reverse(path);
+		return path;
+	}
+}
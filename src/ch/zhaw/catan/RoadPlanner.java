@@ -0,0 +1,117 @@
+package ch.zhaw.catan;
+
+import java.awt.Point;
+import java.util.Arrays;
+import java.util.Collection;
+
+import ch.zhaw.catan.Config.Faction;
+import ch.zhaw.structures.Road;
+import ch.zhaw.structures.Settlement;
+
+/**
+ * The RoadPlanner class searches the shortest road paths of a faction with a
+ * breadth first search over the corners of a {@link BoardIndex}. It caches
+ * which corners border land, which only depends on the layout, and is shared
+ * by the copies of a board.
+ * <p>
+ * The search follows the rules of
+ * {@link SiedlerBoard#isRoadBuildLegal(Point, Point, Faction)}: it starts at
+ * every corner with a settlement or a road of the faction, crosses free edges
+ * between corners bordering land and does not continue past a settlement of
+ * another faction or along a road of another faction.
+ * </p>
+ */
+final class RoadPlanner {
+	private final BoardIndex index;
+	private final boolean[] landCorners;
+
+	RoadPlanner(SiedlerBoard board) {
+		index = board.getIndex();
+		landCorners = new boolean[index.getCornerCount()];
+		for (int corner = 0; corner < landCorners.length; corner++) {
+			landCorners[corner] = board.hasLandBorder(index.getCorner(corner));
+		}
+	}
+
+	/**
+	 * Searches the paths of a faction
+	 *
+	 * @param board   the board
+	 * @param faction the faction
+	 * @param targets the corners after whose distance the search may stop, null
+	 *                to search all corners
+	 * @return the plan
+	 */
+	RoadPlan plan(SiedlerBoard board, Faction faction, Collection<Point> targets) {
+		int corners = index.getCornerCount();
+		int[] distance = new int[corners];
+		int[] previous = new int[corners];
+		Arrays.fill(distance, -1);
+		Arrays.fill(previous, -1);
+		boolean[] open = new boolean[corners];
+		int[] queue = new int[corners];
+		int head = 0;
+		int tail = 0;
+		for (int corner = 0; corner < corners; corner++) {
+			Settlement settlement = board.getCorner(index.getCorner(corner));
+			open[corner] = settlement == null || settlement.getOwner().getFaction() == faction;
+			if (settlement != null && !open[corner]) {
+				continue;
+			}
+			if (settlement != null || hasRoad(board, corner, faction)) {
+				distance[corner] = 0;
+				queue[tail++] = corner;
+			}
+		}
+		int remaining = countTargets(targets, distance);
+		while (head < tail && remaining != 0) {
+			int corner = queue[head++];
+			if (!open[corner]) {
+				continue;
+			}
+			for (int edge : index.getCornerEdges(corner)) {
+				int next = index.getEdgeStart(edge) == corner ? index.getEdgeEnd(edge) : index.getEdgeStart(edge);
+				if (distance[next] < 0 && landCorners[corner] && landCorners[next]
+						&& board.getEdge(index.getCorner(corner), index.getCorner(next)) == null) {
+					distance[next] = distance[corner] + 1;
+					previous[next] = corner;
+					queue[tail++] = next;
+					if (targets != null && targets.contains(index.getCorner(next))) {
+						remaining--;
+					}
+				}
+			}
+		}
+		return new RoadPlan(index, faction, distance, previous);
+	}
+
+	private boolean hasRoad(SiedlerBoard board, int corner, Faction faction) {
+		for (int edge : index.getCornerEdges(corner)) {
+			Road road = board.getEdge(index.getCorner(index.getEdgeStart(edge)),
+					index.getCorner(index.getEdgeEnd(edge)));
+			if (road != null && road.getOwner().getFaction() == faction) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Counts the targets not reached yet
+	 *
+	 * @return the number of targets, -1 if all corners are searched
+	 */
+	private int countTargets(Collection<Point> targets, int[] distance) {
+		if (targets == null) {
+			return -1;
+		}
+		int count = 0;
+		for (Point target : targets) {
+			int corner = index.getCornerId(target);
+			if (corner >= 0 && distance[corner] < 0) {
+				count++;
+			}
+		}
+		return count;
+	}
+}
@@ -1,6 +1,7 @@
 package ch.zhaw.catan;
 
 import ch.zhaw.catan.Config.Faction;
+import ch.zhaw.catan.Config.Harbour;
 import ch.zhaw.catan.Config.Land;
 import ch.zhaw.hexboard.HexBoard;
 import ch.zhaw.structures.City;
@@ -16,26 +17,507 @@ import java.util.List;
  * 
  * The SiedlerBoard class is responsible for managing the board state for a game
  * of Catan
+ * <p>
+ * The corners and edges are numbered by the {@link BoardIndex} of the board,
+ * see {@link #getIndex()}. Besides the maps of the {@link HexBoard}, the
+ * settlements and roads are kept in arrays indexed by these numbers, so the
+ * frequent lookups around a corner neither create points nor hash them.
+ * </p>
  *
  */
 public class SiedlerBoard extends HexBoard<Land, Settlement, Road, String> {
+	private static final int[][] FIELD_CORNER_OFFSETS = { { 0, -2 }, { 1, -1 }, { 1, 1 }, { 0, 2 }, { -1, -1 },
+			{ -1, 1 } };
 
 	private Map<Point, Integer> diceNumberPlacement;
+	private Map<Integer, List<Point>> diceFields;
+	private List<Point> cornerPositions;
+	private Map<Faction, Integer> longestRoads;
+	private long layoutHash;
+	private volatile BoardIndex index;
+	private List<List<Point>> cornerFields;
+	private List<List<Land>> cornerLands;
+	private List<List<Point>> cornerNeighbours;
+	private Settlement[] settlements;
+	private Road[] roads;
+	private CornerValuation cornerValuation;
+	private RoadPlanner roadPlanner;
+	private RoadNetwork[] roadNetworks;
+	private Map<Point, Harbour> harbours = Collections.emptyMap();
+	private final List<BoardListener> listeners = new ArrayList<>();
 
 	/**
-	 * Returns the fields associated with the specified dice value.
+	 * Constructs an empty board
+	 */
+	public SiedlerBoard() {
+		super();
+	}
+
+	/**
+	 * Constructs a copy of a board whose structures belong to other players. The
+	 * layout and the cached values are shared, the listeners are not copied.
+	 *
+	 * @param other  the board to copy
+	 * @param owners the new owners, indexed by the ordinal of their faction
+	 */
+	private SiedlerBoard(SiedlerBoard other, Player[] owners) {
+		super(other);
+		diceNumberPlacement = other.diceNumberPlacement;
+		diceFields = other.diceFields;
+		cornerPositions = other.cornerPositions;
+		longestRoads = other.longestRoads;
+		layoutHash = other.layoutHash;
+		cornerValuation = other.getCornerValuation();
+		roadPlanner = other.getRoadPlanner();
+		harbours = other.harbours;
+		BoardIndex otherIndex = other.getIndex();
+		cornerFields = other.cornerFields;
+		cornerLands = other.cornerLands;
+		cornerNeighbours = other.cornerNeighbours;
+		settlements = new Settlement[otherIndex.getCornerCount()];
+		roads = new Road[otherIndex.getEdgeCount()];
+		for (int corner = 0; corner < settlements.length; corner++) {
+			Settlement settlement = other.settlements[corner];
+			if (settlement != null) {
+				Player owner = owners[settlement.getOwner().getFaction().ordinal()];
+				Point position = settlement.getPosition();
+				settlements[corner] = settlement instanceof City ? new City(owner, position)
+						: new Settlement(owner, position);
+				super.setCorner(position, settlements[corner]);
+			}
+		}
+		for (int edge = 0; edge < roads.length; edge++) {
+			Road road = other.roads[edge];
+			if (road != null) {
+				Player owner = owners[road.getOwner().getFaction().ordinal()];
+				roads[edge] = new Road(owner, road.getStart(), road.getEnd());
+				super.setEdge(road.getStart(), road.getEnd(), roads[edge]);
+			}
+		}
+		index = otherIndex;
+	}
+
+	/**
+	 * Copies the board for a copy of its game
+	 *
+	 * @param owners the players of the copied game, indexed by the ordinal of
+	 *               their faction
+	 * @return the copy
+	 */
+	SiedlerBoard copy(Player[] owners) {
+		return new SiedlerBoard(this, owners);
+	}
+
+	/**
+	 * Calculates the cached values that only depend on the layout, so that
+	 * copies of this board share them instead of calculating their own, see
+	 * {@link BoardLayout#createBoard()}
+	 */
+	void cacheLayout() {
+		getIndex();
+		getCornerPositions();
+		getFieldsForDiceValue(0);
+		getCornerValuation();
+		getRoadPlanner();
+		getLayoutHash();
+	}
+
+	@Override
+	public void addField(Point center, Land element) {
+		super.addField(center, element);
+		index = null;
+		cornerPositions = null;
+		diceFields = null;
+		layoutHash = 0;
+		cornerValuation = null;
+		roadPlanner = null;
+		roadNetworks = null;
+	}
+
+	/**
+	 * Adds an annotation to a field. Annotations that stand for a
+	 * {@link Harbour} are also indexed by their corner, see
+	 * {@link #getHarbour(Point)}.
+	 */
+	@Override
+	public void addFieldAnnotation(Point center, Point corner, String data) {
+		super.addFieldAnnotation(center, corner, data);
+		Harbour harbour = Harbour.fromAnnotation(data);
+		if (harbour != null) {
+			Map<Point, Harbour> updated = new HashMap<>(harbours);
+			updated.put(new Point(corner), harbour);
+			harbours = updated;
+		}
+	}
+
+	/**
+	 * Places a harbour on a coastal corner by annotating the water field at the
+	 * corner
+	 *
+	 * @param corner  the corner
+	 * @param harbour the harbour
+	 * @throws IllegalArgumentException if the corner does not touch both water
+	 *                                  and land
+	 */
+	public void addHarbour(Point corner, Harbour harbour) {
+		Point water = null;
+		boolean land = false;
+		for (Point field : getFieldPositions(corner)) {
+			if (getField(field) == Land.WATER) {
+				water = field;
+			} else {
+				land = true;
+			}
+		}
+		if (water == null || !land) {
+			throw new IllegalArgumentException("No coastal corner: " + corner);
+		}
+		addFieldAnnotation(water, corner, harbour.toString());
+	}
+
+	/**
+	 * Returns the harbour at a corner. The harbours are indexed by corner, so no
+	 * annotations are searched.
+	 *
+	 * @param corner the corner
+	 * @return the harbour or null, if there is none
+	 */
+	public Harbour getHarbour(Point corner) {
+		return harbours.get(corner);
+	}
+
+	/**
+	 * Returns the corners with a harbour
+	 *
+	 * @return the corners
+	 */
+	public Set<Point> getHarbourCorners() {
+		return Collections.unmodifiableSet(harbours.keySet());
+	}
+
+	/**
+	 * Returns the index numbering the corners and edges of the board. The index
+	 * is created on first use after a field was added and shared with the copies
+	 * of the board; boards with the standard field positions use
+	 * {@link BoardIndex#standard()}.
+	 *
+	 * @return the index
+	 */
+	public BoardIndex getIndex() {
+		BoardIndex current = index;
+		if (current == null) {
+			current = BoardIndex.of(this);
+			List<List<Point>> fields = new ArrayList<>(current.getCornerCount());
+			List<List<Land>> lands = new ArrayList<>(current.getCornerCount());
+			List<List<Point>> neighbours = new ArrayList<>(current.getCornerCount());
+			Settlement[] cornerData = new Settlement[current.getCornerCount()];
+			for (int corner = 0; corner < current.getCornerCount(); corner++) {
+				Point position = current.getCorner(corner);
+				fields.add(Collections.unmodifiableList(new ArrayList<>(super.getFieldPositions(position))));
+				lands.add(Collections.unmodifiableList(new ArrayList<>(super.getFields(position))));
+				neighbours.add(Collections.unmodifiableList(getNeighbourPositions(position)));
+				cornerData[corner] = super.getCorner(position);
+			}
+			Road[] edgeData = new Road[current.getEdgeCount()];
+			for (int edge = 0; edge < edgeData.length; edge++) {
+				edgeData[edge] = super.getEdge(current.getCorner(current.getEdgeStart(edge)),
+						current.getCorner(current.getEdgeEnd(edge)));
+			}
+			cornerFields = fields;
+			cornerLands = lands;
+			cornerNeighbours = neighbours;
+			settlements = cornerData;
+			roads = edgeData;
+			index = current;
+		}
+		return current;
+	}
+
+	@Override
+	public Settlement getCorner(Point location) {
+		int corner = getIndex().getCornerId(location);
+		if (corner < 0) {
+			throw new IllegalArgumentException("No corner exists at the coordinates: " + location);
+		}
+		return settlements[corner];
+	}
+
+	@Override
+	public boolean hasCorner(Point location) {
+		return getIndex().getCornerId(location) >= 0;
+	}
+
+	@Override
+	public List<Settlement> getCorners() {
+		getIndex();
+		List<Settlement> result = new ArrayList<>();
+		for (Settlement settlement : settlements) {
+			if (settlement != null) {
+				result.add(settlement);
+			}
+		}
+		return Collections.unmodifiableList(result);
+	}
+
+	@Override
+	public List<Land> getFields(Point corner) {
+		int id = getIndex().getCornerId(corner);
+		return id < 0 ? Collections.emptyList() : cornerLands.get(id);
+	}
+
+	@Override
+	public List<Point> getFieldPositions(Point corner) {
+		int id = getIndex().getCornerId(corner);
+		return id < 0 ? Collections.emptyList() : cornerFields.get(id);
+	}
+
+	@Override
+	public List<Settlement> getNeighboursOfCorner(Point center) {
+		BoardIndex current = getIndex();
+		int corner = current.getCornerId(center);
+		if (corner < 0) {
+			return super.getNeighboursOfCorner(center);
+		}
+		List<Settlement> result = new ArrayList<>(3);
+		for (int edge : current.getCornerEdges(corner)) {
+			int neighbour = current.getEdgeStart(edge) == corner ? current.getEdgeEnd(edge) : current.getEdgeStart(edge);
+			if (settlements[neighbour] != null) {
+				result.add(settlements[neighbour]);
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public List<Settlement> getCornersOfField(Point center) {
+		BoardIndex current = getIndex();
+		List<Settlement> result = new ArrayList<>(FIELD_CORNER_OFFSETS.length);
+		for (int[] offset : FIELD_CORNER_OFFSETS) {
+			int corner = current.getCornerId(center.x + offset[0], center.y + offset[1]);
+			if (corner >= 0 && settlements[corner] != null) {
+				result.add(settlements[corner]);
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public Road getEdge(Point p1, Point p2) {
+		int edge = getIndex().getEdgeId(p1, p2);
+		return edge < 0 ? null : roads[edge];
+	}
+
+	@Override
+	public List<Road> getAdjacentEdges(Point corner) {
+		BoardIndex current = getIndex();
+		int id = current.getCornerId(corner);
+		List<Road> result = new ArrayList<>(3);
+		if (id >= 0) {
+			for (int edge : current.getCornerEdges(id)) {
+				if (roads[edge] != null) {
+					result.add(roads[edge]);
+				}
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public List<Road> getAllEdges() {
+		getIndex();
+		return new ArrayList<>(Arrays.asList(roads));
+	}
+
+	@Override
+	public Settlement setCorner(Point location, Settlement data) {
+		Settlement old = super.setCorner(location, data);
+		if (index != null) {
+			settlements[index.getCornerId(location)] = data;
+		}
+		longestRoads = null;
+		if (roadNetworks != null) {
+			updateRoadNetworks(location, old, data);
+		}
+		for (BoardListener listener : listeners) {
+			listener.cornerChanged(location, old, data);
+		}
+		return old;
+	}
+
+	@Override
+	public void setEdge(Point p1, Point p2, Road data) {
+		Road old = listeners.isEmpty() && roadNetworks == null ? null : getEdge(p1, p2);
+		super.setEdge(p1, p2, data);
+		if (index != null) {
+			roads[index.getEdgeId(p1, p2)] = data;
+		}
+		longestRoads = null;
+		if (roadNetworks != null) {
+			updateRoadNetworks(p1, p2, old, data);
+		}
+		for (BoardListener listener : listeners) {
+			listener.edgeChanged(p1, p2, old, data);
+		}
+	}
+
+	private void updateRoadNetworks(Point location, Settlement old, Settlement data) {
+		Faction oldFaction = old == null ? null : old.getOwner().getFaction();
+		Faction newFaction = data == null ? null : data.getOwner().getFaction();
+		if (oldFaction == newFaction) {
+			return;
+		}
+		int corner = getIndex().getCornerId(location);
+		for (Faction faction : Faction.values()) {
+			if (faction == oldFaction || faction == newFaction && old != null || faction != newFaction
+					&& isFactionRoadAdjoining(location, faction)) {
+				roadNetworks[faction.ordinal()].rebuild(this);
+			} else if (faction == newFaction && corner >= 0) {
+				roadNetworks[faction.ordinal()].addSettlement(corner);
+			}
+		}
+	}
+
+	private void updateRoadNetworks(Point p1, Point p2, Road old, Road data) {
+		if (old != null) {
+			roadNetworks[old.getOwner().getFaction().ordinal()].rebuild(this);
+		}
+		int edge = getIndex().getEdgeId(p1, p2);
+		if (data != null && edge >= 0 && (old == null || old.getOwner().getFaction() != data.getOwner().getFaction())) {
+			roadNetworks[data.getOwner().getFaction().ordinal()].addRoad(this, edge);
+		}
+	}
+
+	private RoadNetwork getRoadNetwork(Faction faction) {
+		if (roadNetworks == null) {
+			BoardIndex index = getIndex();
+			RoadNetwork[] networks = new RoadNetwork[Faction.values().length];
+			for (Faction other : Faction.values()) {
+				networks[other.ordinal()] = new RoadNetwork(index, other);
+				networks[other.ordinal()].rebuild(this);
+			}
+			roadNetworks = networks;
+		}
+		return roadNetworks[faction.ordinal()];
+	}
+
+	/**
+	 * Checks whether a corner is part of the road network of a faction, i.e. the
+	 * faction has a settlement there or a road ends there and is not interrupted
+	 * by a settlement of another faction. The networks of all factions are kept
+	 * as disjoint sets, which are created on the first query and then updated
+	 * with every change of the board.
+	 *
+	 * @param corner  the corner
+	 * @param faction the faction
+	 * @return true if the corner is part of the network
+	 */
+	public boolean isInRoadNetwork(Point corner, Faction faction) {
+		int id = getIndex().getCornerId(corner);
+		return id >= 0 && getRoadNetwork(faction).contains(id);
+	}
+
+	/**
+	 * Checks whether two corners are connected by the roads of a faction
+	 *
+	 * @param corner  a corner
+	 * @param other   another corner
+	 * @param faction the faction
+	 * @return true if both corners are part of the same connected network
+	 */
+	public boolean isConnectedByRoads(Point corner, Point other, Faction faction) {
+		BoardIndex index = getIndex();
+		int id = index.getCornerId(corner);
+		int otherId = index.getCornerId(other);
+		return id >= 0 && otherId >= 0 && getRoadNetwork(faction).connected(id, otherId);
+	}
+
+	/**
+	 * Returns the number of separate road networks of a faction. A settlement
+	 * without roads counts as a network of its own.
+	 *
+	 * @param faction the faction
+	 * @return the number of networks
+	 */
+	public int getRoadNetworkCount(Faction faction) {
+		return getRoadNetwork(faction).getComponents();
+	}
+
+	/**
+	 * Registers a listener that is notified about every change of a corner or
+	 * an edge
+	 *
+	 * @param listener the listener
+	 */
+	public void addBoardListener(BoardListener listener) {
+		listeners.add(listener);
+	}
+
+	/**
+	 * Removes a listener registered with
+	 * {@link #addBoardListener(BoardListener)}
+	 *
+	 * @param listener the listener
+	 */
+	public void removeBoardListener(BoardListener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * Returns the coordinates of all corners of the board, ordered by x and then
+	 * by y. The list is cached until the next field is added.
+	 *
+	 * @return the corner coordinates
+	 */
+	public List<Point> getCornerPositions() {
+		if (cornerPositions == null) {
+			List<Point> positions = new ArrayList<>(getCornerCoordinates());
+			positions.sort(Comparator.comparingInt((Point p) -> p.x).thenComparingInt(p -> p.y));
+			cornerPositions = Collections.unmodifiableList(positions);
+		}
+		return cornerPositions;
+	}
+
+	/**
+	 * Returns the coordinates of the corners that are connected to the specified
+	 * corner by an edge. The lists of the corners of the board are kept with the
+	 * index and must not be modified.
+	 *
+	 * @param corner the corner
+	 * @return the coordinates of the neighbouring corners
+	 */
+	public List<Point> getNeighbourPositions(Point corner) {
+		BoardIndex current = index;
+		int id = current == null ? -1 : current.getCornerId(corner);
+		if (id >= 0) {
+			return cornerNeighbours.get(id);
+		}
+		List<Point> neighbours = new ArrayList<>(3);
+		for (Point neighbour : getAdjacentCorners(corner)) {
+			if (hasEdge(corner, neighbour)) {
+				neighbours.add(neighbour);
+			}
+		}
+		return neighbours;
+	}
+
+	/**
+	 * Returns the fields associated with the specified dice value. The fields
+	 * are grouped by dice value on first use and kept until a field is added or
+	 * the dice numbers are replaced.
 	 *
 	 * @param dice the dice value
 	 * @return the fields associated with the dice value
 	 */
 	public List<Point> getFieldsForDiceValue(int dice) {
-		List<Point> fields = new ArrayList<>();
-		for (Point field : getDiceNumberPlacement().keySet()) {
-			if (diceNumberPlacement.get(field) == dice) {
-				fields.add(field);
+		Map<Integer, List<Point>> fields = diceFields;
+		if (fields == null) {
+			fields = new HashMap<>();
+			for (Point field : getDiceNumberPlacement().keySet()) {
+				fields.computeIfAbsent(diceNumberPlacement.get(field), value -> new ArrayList<>()).add(field);
 			}
+			diceFields = fields;
 		}
-		return fields;
+		return new ArrayList<>(fields.getOrDefault(dice, Collections.emptyList()));
 	}
 
 	/**
@@ -54,6 +536,81 @@ public class SiedlerBoard extends HexBoard<Land, Settlement, Road, String> {
 
 	public void setDiceNumberPlacement(Map<Point, Integer> diceNumberPlacement) {
 		this.diceNumberPlacement = diceNumberPlacement;
+		diceFields = null;
+		layoutHash = 0;
+		cornerValuation = null;
+	}
+
+	/**
+	 * Returns the expected production of every corner. The valuation is
+	 * calculated on first use and kept until a field is added or the dice
+	 * numbers are replaced.
+	 *
+	 * @return the valuation of the current layout
+	 */
+	public CornerValuation getCornerValuation() {
+		CornerValuation valuation = cornerValuation;
+		if (valuation == null) {
+			valuation = CornerValuation.of(this);
+			cornerValuation = valuation;
+		}
+		return valuation;
+	}
+
+	private RoadPlanner getRoadPlanner() {
+		RoadPlanner planner = roadPlanner;
+		if (planner == null) {
+			planner = new RoadPlanner(this);
+			roadPlanner = planner;
+		}
+		return planner;
+	}
+
+	/**
+	 * Searches the minimal number of roads a faction needs to reach every corner
+	 * and a shortest path to each of them, following the rules of
+	 * {@link #isRoadBuildLegal(Point, Point, Faction)}. One search answers the
+	 * queries for all corners.
+	 *
+	 * @param faction the faction
+	 * @return the plan
+	 */
+	public RoadPlan planRoads(Faction faction) {
+		return getRoadPlanner().plan(this, faction, null);
+	}
+
+	/**
+	 * Searches the shortest road paths of a faction until the given corners are
+	 * reached. The plan is exact for the targets and for all corners closer
+	 * than the farthest target.
+	 *
+	 * @param faction the faction
+	 * @param targets the corners of interest, preferably a set
+	 * @return the plan
+	 */
+	public RoadPlan planRoads(Faction faction, Collection<Point> targets) {
+		return getRoadPlanner().plan(this, faction, targets);
+	}
+
+	/**
+	 * Returns a 64 bit hash of the layout of the board, i.e. the land and the
+	 * dice number of every field. Boards with the same layout have the same hash
+	 * independent of the order in which the fields were added.
+	 *
+	 * @return the hash of the layout
+	 */
+	public long getLayoutHash() {
+		if (layoutHash == 0) {
+			long hash = 0;
+			for (Point field : getFields()) {
+				Integer diceNumber = diceNumberPlacement == null ? null : diceNumberPlacement.get(field);
+				long key = (long) field.x << 40 | (long) field.y << 24 | getField(field).ordinal() << 8
+						| (diceNumber == null ? 0 : diceNumber);
+				hash += RandomNumberGenerator.mix64(key);
+			}
+			layoutHash = hash == 0 ? 1 : hash;
+		}
+		return layoutHash;
 	}
 
 	/**
@@ -64,11 +621,40 @@ public class SiedlerBoard extends HexBoard<Land, Settlement, Road, String> {
 	 * @return the map containing the road sizes for each faction
 	 */
 	public HashMap<Config.Faction, Integer> getLongestRoads(List<Config.Faction> factions) {
+		if (longestRoads == null) {
+			longestRoads = calculateLongestRoads();
+		}
 		HashMap<Config.Faction, Integer> roadSizes = new HashMap<>();
 		for (Faction faction : factions) {
+			roadSizes.put(faction, longestRoads.get(faction));
+		}
+		return roadSizes;
+	}
+
+	/**
+	 * Calculates the longest road of every faction. The result is cached by
+	 * {@link #getLongestRoads(List)} until a corner or an edge changes. Roads
+	 * whose connected network has no more roads than the longest road found so
+	 * far are skipped.
+	 */
+	private Map<Config.Faction, Integer> calculateLongestRoads() {
+		Map<Config.Faction, Integer> roadSizes = new EnumMap<>(Faction.class);
+		BoardIndex index = getIndex();
+		boolean[] usedRoads = new boolean[index.getEdgeCount()];
+		for (Faction faction : Faction.values()) {
 			int longestFactionRoad = 0;
-			for (Road road : getFactionRoads(faction)) {
-				int roadCandidate = countLongestConnectionForRoad(road);
+			RoadNetwork network = getRoadNetwork(faction);
+			for (int edge = 0; edge < index.getEdgeCount(); edge++) {
+				Road road = roads[edge];
+				if (road == null || road.getOwner().getFaction() != faction
+						|| network.getRoads(edge) <= longestFactionRoad) {
+					continue;
+				}
+				usedRoads[edge] = true;
+				int roadCandidate = 1
+						+ Math.max(countLongestConnection(index, index.getEdgeStart(edge), faction, usedRoads),
+								countLongestConnection(index, index.getEdgeEnd(edge), faction, usedRoads));
+				usedRoads[edge] = false;
 				if (roadCandidate > longestFactionRoad) {
 					longestFactionRoad = roadCandidate;
 				}
@@ -78,27 +664,26 @@ public class SiedlerBoard extends HexBoard<Land, Settlement, Road, String> {
 		return roadSizes;
 	}
 
-	private int countLongestConnectionForRoad(Road road) {
-		HashSet<Road> roadConnection = new HashSet<>();
-		HashSet<Road> roadConnectionReversed = new HashSet<>();
-		roadConnection.add(road);
-		roadConnectionReversed.add(road);
-		roadConnection = recursivelyTravelRoad(roadConnection, road.getEnd(), road.getOwner().getFaction());
-		roadConnectionReversed = recursivelyTravelRoad(roadConnection, road.getStart(), road.getOwner().getFaction());
-		if (roadConnection.size() > roadConnectionReversed.size()) {
-			return roadConnection.size();
+	/**
+	 * Counts the roads of the longest connection that continues at the given
+	 * corner without using a road twice. The depth of the recursion is bounded
+	 * by the number of roads per player, cycles are handled by the used roads,
+	 * which are marked by the number of their edge.
+	 */
+	private int countLongestConnection(BoardIndex index, int corner, Faction faction, boolean[] usedRoads) {
+		if (settlements[corner] != null && settlements[corner].getOwner().getFaction() != faction) {
+			return 0;
 		}
-		return roadConnectionReversed.size();
-	}
-
-	private List<Road> getFactionRoads(Faction faction) {
-		List<Road> factionRoads = new ArrayList<>();
-		for (Structure road : getRoads()) {
-			if (road.getOwner().getFaction() == faction) {
-				factionRoads.add((Road) road);
+		int longest = 0;
+		for (int edge : index.getCornerEdges(corner)) {
+			if (!usedRoads[edge] && roads[edge] != null && roads[edge].getOwner().getFaction() == faction) {
+				int other = index.getEdgeStart(edge) == corner ? index.getEdgeEnd(edge) : index.getEdgeStart(edge);
+				usedRoads[edge] = true;
+				longest = Math.max(longest, 1 + countLongestConnection(index, other, faction, usedRoads));
+				usedRoads[edge] = false;
 			}
 		}
-		return factionRoads;
+		return longest;
 	}
 
 	/**
@@ -116,27 +701,6 @@ public class SiedlerBoard extends HexBoard<Land, Settlement, Road, String> {
 		return settlements;
 	}
 
-	private HashSet<Road> recursivelyTravelRoad(HashSet<Road> roadConnection, Point position, Faction faction) {
-		if (isInterruptedBySettlement(faction, position)) {
-			return roadConnection;
-		}
-		List<Road> neighbouringRoads = getNeighbouringFactionRoads(position, faction, roadConnection);
-		if (neighbouringRoads.size() == 1) {
-			roadConnection.add(neighbouringRoads.get(0));
-			return recursivelyTravelRoad(roadConnection, neighbouringRoads.get(0).getOtherEnd(position), faction);
-		} else if (neighbouringRoads.size() > 1) {
-			List<HashSet<Road>> possibleRoutes = handleJunction(position, faction, roadConnection);
-			HashSet<Road> longestCandidate = new HashSet<>();
-			for (HashSet<Road> roadCandidate : possibleRoutes) {
-				if (roadCandidate.size() > longestCandidate.size()) {
-					longestCandidate = roadCandidate;
-				}
-			}
-			roadConnection.addAll(longestCandidate);
-		}
-		return roadConnection;
-	}
-
 	/**
 	 * Checks if a given point is occupied by an enemy faction
 	 * 
@@ -151,30 +715,6 @@ public class SiedlerBoard extends HexBoard<Land, Settlement, Road, String> {
 		return false;
 	}
 
-	private List<Road> getNeighbouringFactionRoads(Point position, Config.Faction faction, HashSet<Road> currentRoad) {
-		List<Road> factionRoads = new ArrayList<Road>();
-		for (Road road : getAdjacentEdges(position)) {
-			if (!currentRoad.contains(road)) {
-				if (road.getOwner().getFaction() == faction) {
-					factionRoads.add(road);
-				}
-			}
-		}
-		return factionRoads;
-	}
-
-	private List<HashSet<Road>> handleJunction(Point position, Config.Faction faction, HashSet<Road> currentRoad) {
-		List<HashSet<Road>> possibleRoutes = new ArrayList<>();
-		for (int i = 0; i < getNeighbouringFactionRoads(position, faction, currentRoad).size(); i++) {
-			HashSet<Road> roadCandidate = new HashSet<>();
-			Road road = getNeighbouringFactionRoads(position, faction, currentRoad).get(i);
-			roadCandidate.add(road);
-			roadCandidate = recursivelyTravelRoad(roadCandidate, road.getOtherEnd(position), faction);
-			possibleRoutes.add(roadCandidate);
-		}
-		return possibleRoutes;
-	}
-
 	/**
 	 * Checks if there is a road of a given player reaches a given point
 	 * 
@@ -183,9 +723,26 @@ public class SiedlerBoard extends HexBoard<Land, Settlement, Road, String> {
 	 * @return boolean whether a road exists at the specified point
 	 */
 	public boolean isRoadAdjoining(Point position, Player player) {
-		for (Road road : getAdjacentEdges(position)) {
-			if (road.getOwner().equals(player)) {
-				return true;
+		BoardIndex current = getIndex();
+		int corner = current.getCornerId(position);
+		if (corner >= 0) {
+			for (int edge : current.getCornerEdges(corner)) {
+				if (roads[edge] != null && roads[edge].getOwner().equals(player)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private boolean isFactionRoadAdjoining(Point position, Faction faction) {
+		BoardIndex current = getIndex();
+		int corner = current.getCornerId(position);
+		if (corner >= 0) {
+			for (int edge : current.getCornerEdges(corner)) {
+				if (roads[edge] != null && roads[edge].getOwner().getFaction() == faction) {
+					return true;
+				}
 			}
 		}
 		return false;
@@ -257,10 +814,18 @@ public class SiedlerBoard extends HexBoard<Land, Settlement, Road, String> {
 	 * @return true if point has a corner otherwise false if it has no corner
 	 */
 	public boolean cornerAvailable(Point position) {
-		if (hasCorner(position) && getCorner(position) == null && getNeighboursOfCorner(position).isEmpty()) {
-			return true;
+		BoardIndex current = getIndex();
+		int corner = current.getCornerId(position);
+		if (corner < 0 || settlements[corner] != null) {
+			return false;
 		}
-		return false;
+		for (int edge : current.getCornerEdges(corner)) {
+			int neighbour = current.getEdgeStart(edge) == corner ? current.getEdgeEnd(edge) : current.getEdgeStart(edge);
+			if (settlements[neighbour] != null) {
+				return false;
+			}
+		}
+		return true;
 	}
 
 	/**
@@ -347,17 +912,18 @@ public class SiedlerBoard extends HexBoard<Land, Settlement, Road, String> {
 	 * @return boolean legal
 	 */
 	public boolean isRoadBuildLegal(Point start, Point end, Faction currentPlayerFaction) {
-		if (hasEdge(start, end) && getEdge(start, end) == null) {
+		int edge = getIndex().getEdgeId(start, end);
+		if (edge >= 0 && roads[edge] == null) {
 			if (hasLandBorder(start) && hasLandBorder(end)) {
 				if (getCorner(start) != null && getCorner(start).getOwner().getFaction() == currentPlayerFaction
 						|| getCorner(end) != null && getCorner(end).getOwner().getFaction() == currentPlayerFaction) {
 					return true;
 				}
-				if (getNeighbouringFactionRoads(start, currentPlayerFaction, new HashSet<Road>()).size() > 0
+				if (isFactionRoadAdjoining(start, currentPlayerFaction)
 						&& !isEnemySettlement(start, currentPlayerFaction)) {
 					return true;
 				}
-				if (getNeighbouringFactionRoads(end, currentPlayerFaction, new HashSet<Road>()).size() > 0
+				if (isFactionRoadAdjoining(end, currentPlayerFaction)
 						&& !isEnemySettlement(end, currentPlayerFaction)) {
 					return true;
 				}
@@ -1,6 +1,7 @@
 package ch.zhaw.catan;
 
 import ch.zhaw.catan.Config.Faction;
+import ch.zhaw.catan.Config.Harbour;
 import ch.zhaw.catan.Config.Resource;
 import ch.zhaw.hexboard.Label;
 import ch.zhaw.structures.City;
@@ -24,10 +25,20 @@ public class SiedlerGame {
 	private Player[] players;
 	private SiedlerBoard board;
 	private SiedlerBoardTextView view;
+	private static final BankTradePlanner BANK_TRADE_PLANNER = new BankTradePlanner();
+	private BankTradePlanner[] tradeRates;
 	private int winPoints;
 	private int currentPlayer;
-	private RandomNumberGenerator rng;
+	private final long seed;
+	private final BoardLayout layout;
+	private RandomNumberGenerator diceRng;
+	private RandomNumberGenerator discardRng;
+	private RandomNumberGenerator shuffleRng;
 	private Bank bank;
+	private final TradeOrderBook tradeOrderBook = new TradeOrderBook();
+	private final List<GameEventListener> eventListeners = new ArrayList<>();
+	private final ZobristHash stateHash = new ZobristHash();
+	private IncomeDistribution incomeDistribution;
 
 	/**
 	 * Constructs a SiedlerGame game state object.
@@ -39,19 +50,131 @@ public class SiedlerGame {
 	 *                                  is not between two and four
 	 */
 	public SiedlerGame(int winPoints, int numberOfPlayers) {
+		this(winPoints, numberOfPlayers, new RandomNumberGenerator().nextLong());
+	}
+
+	/**
+	 * Constructs a SiedlerGame game state object whose random events (dice,
+	 * card dropping, shuffling) are fully defined by the seed. Two games with the
+	 * same seed and the same sequence of actions end up in the same state.
+	 *
+	 * @param winPoints       the number of points required to win the game
+	 * @param numberOfPlayers the number of players
+	 * @param seed            the seed of the random events of this game
+	 *
+	 * @throws IllegalArgumentException if winPoints is lower than three or players
+	 *                                  is not between two and four
+	 */
+	public SiedlerGame(int winPoints, int numberOfPlayers, long seed) {
+		this(winPoints, numberOfPlayers, seed, BoardLayout.standard());
+	}
+
+	/**
+	 * Constructs a SiedlerGame game state object on a board with the given
+	 * layout, e.g. one created by a board generator. The random events of the
+	 * game are fully defined by the seed.
+	 *
+	 * @param winPoints       the number of points required to win the game
+	 * @param numberOfPlayers the number of players
+	 * @param seed            the seed of the random events of this game
+	 * @param layout          the lands and dice numbers of the board
+	 *
+	 * @throws IllegalArgumentException if winPoints is lower than three or players
+	 *                                  is not between two and four
+	 */
+	public SiedlerGame(int winPoints, int numberOfPlayers, long seed, BoardLayout layout) {
 		if (winPoints < Config.REQUIRED_WIN_POINTS || numberOfPlayers > Config.MAX_NUMBER_OF_PLAYERS
 				|| numberOfPlayers < Config.MIN_NUMBER_OF_PLAYERS) {
 			throw new IllegalArgumentException("Parameters did not match expectations");
 		}
 		this.winPoints = winPoints;
 		this.players = new Player[numberOfPlayers];
-		this.board = new SiedlerBoard();
-		this.view = new SiedlerBoardTextView(board);
+		this.board = layout.createBoard();
 		this.currentPlayer = 0;
-		this.rng = new RandomNumberGenerator();
+		this.seed = seed;
+		this.layout = layout;
+		RandomNumberGenerator rootRng = new RandomNumberGenerator(seed);
+		this.diceRng = rootRng.split();
+		this.discardRng = rootRng.split();
+		this.shuffleRng = rootRng.split();
+		this.bank = new Bank();
+		createPlayers();
+		board.addBoardListener(stateHash);
+		this.tradeRates = new BankTradePlanner[numberOfPlayers];
+		Arrays.fill(tradeRates, BANK_TRADE_PLANNER);
+		board.addBoardListener(new TradeRateUpdater());
+		recomputeStateHash();
+	}
+
+	/**
+	 * Constructs a copy of a game. The layout of the board is shared, everything
+	 * that changes during the game is copied. Listeners are not copied.
+	 */
+	private SiedlerGame(SiedlerGame other) {
+		this.winPoints = other.winPoints;
+		this.seed = other.seed;
+		this.layout = other.layout;
+		this.currentPlayer = other.currentPlayer;
+		this.diceRng = new RandomNumberGenerator(other.diceRng.getSeed(), other.diceRng.getCounter());
+		this.discardRng = new RandomNumberGenerator(other.discardRng.getSeed(), other.discardRng.getCounter());
+		this.shuffleRng = new RandomNumberGenerator(other.shuffleRng.getSeed(), other.shuffleRng.getCounter());
 		this.bank = new Bank();
+		this.bank.getResources().putAll(other.bank.getResources());
+		this.players = new Player[other.players.length];
 		createPlayers();
-		setupBoard();
+		for (int i = 0; i < players.length; i++) {
+			players[i].getResources().putAll(other.players[i].getResources());
+		}
+		this.board = other.board.copy(players);
+		board.addBoardListener(stateHash);
+		this.tradeRates = other.tradeRates.clone();
+		board.addBoardListener(new TradeRateUpdater());
+		stateHash.copyFrom(other.stateHash);
+	}
+
+	/**
+	 * Creates an independent copy of the game, e.g. to try out moves in a search.
+	 * The copy is much cheaper than {@link #restore(GameSnapshot)} of a
+	 * {@link #snapshot()}, since the layout of the board is shared. No listeners
+	 * are copied and the copy publishes no events until listeners are added.
+	 *
+	 * @return the copy
+	 */
+	public SiedlerGame copy() {
+		return new SiedlerGame(this);
+	}
+
+	private void recomputeStateHash() {
+		stateHash.reset(board, currentPlayer);
+		for (int i = 0; i < players.length; i++) {
+			stateHash.addCards(i, countResources(players[i]));
+		}
+		stateHash.addCards(-1, countResources(bank));
+	}
+
+	/**
+	 * Returns the Zobrist hash of the current state of the game. Equal states
+	 * have equal hashes, also across games. The hash is updated with every
+	 * change and costs nothing to read.
+	 *
+	 * @return the 64 bit hash
+	 */
+	public long getStateHash() {
+		return stateHash.getHash();
+	}
+
+	/**
+	 * Returns the income of the players per roll of the dice. The distribution
+	 * is created on first use and then kept up to date with the board of this
+	 * game; a copy of the game creates its own.
+	 *
+	 * @return the distribution
+	 */
+	public IncomeDistribution getIncomeDistribution() {
+		if (incomeDistribution == null) {
+			incomeDistribution = new IncomeDistribution(board);
+		}
+		return incomeDistribution;
 	}
 
 	private void createPlayers() {
@@ -70,9 +193,8 @@ public class SiedlerGame {
 		return players[currentPlayer];
 	}
 
-	private void setupBoard() {
-		Config.getStandardLandPlacement().forEach(this.board::addField);
-		this.board.setDiceNumberPlacement(Config.getStandardDiceNumberPlacement());
+	private void setupView() {
+		view = new SiedlerBoardTextView(board);
 		this.board.getDiceNumberPlacement().forEach((point, integer) -> {
 			if (!board.getField(point).equals(Config.Land.DESERT)) {
 				view.setLowerFieldLabel(point, (integer >= 10) ? new Label('1', integer.toString().charAt(1))
@@ -91,30 +213,131 @@ public class SiedlerGame {
 	}
 
 
+	/**
+	 * Returns the text view of the board. The view is created on first use.
+	 *
+	 * @return the view
+	 */
 	public SiedlerBoardTextView getView() {
+		if (view == null) {
+			setupView();
+		}
 		return view;
 	}
 
+	/**
+	 * Returns the number of points required to win the game
+	 *
+	 * @return the win points
+	 */
+	public int getWinPoints() {
+		return winPoints;
+	}
+
+	/**
+	 * Registers a listener that is notified about every change of the game state
+	 *
+	 * @param listener the listener
+	 */
+	public void addEventListener(GameEventListener listener) {
+		eventListeners.add(listener);
+	}
+
+	/**
+	 * Removes a listener registered with
+	 * {@link #addEventListener(GameEventListener)}
+	 *
+	 * @param listener the listener
+	 */
+	public void removeEventListener(GameEventListener listener) {
+		eventListeners.remove(listener);
+	}
+
+	/**
+	 * Checks whether events have to be created. Callers skip the creation of an
+	 * event while no listener is registered, so that games without listeners,
+	 * e.g. in simulations, allocate no events.
+	 */
+	private boolean isPublishing() {
+		return !eventListeners.isEmpty();
+	}
+
+	private void publish(GameEvent event) {
+		for (GameEventListener listener : eventListeners) {
+			listener.onEvent(event);
+		}
+	}
+
+	/**
+	 * Returns the layout the board of this game was set up with
+	 *
+	 * @return the layout
+	 */
+	public BoardLayout getLayout() {
+		return layout;
+	}
+
+	/**
+	 * Returns the seed the random events of this game are derived from
+	 *
+	 * @return the seed
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * Rolls two dice using the dice stream of this game
+	 *
+	 * @return int between 2 and 12
+	 */
+	public int rollDice() {
+		int diceThrow = diceRng.throwTwoDice();
+		if (isPublishing()) {
+			publish(GameEvent.dice(GameEvent.Type.ROLL, getCurrentPlayerFaction(), diceThrow));
+		}
+		return diceThrow;
+	}
+
+	/**
+	 * Returns the random stream of this game reserved for shuffling
+	 *
+	 * @return the shuffle generator
+	 */
+	public RandomNumberGenerator getShuffleGenerator() {
+		return shuffleRng;
+	}
+
 	/**
 	 * Switches to the next player in the defined sequence of players.
 	 */
 	public void switchToNextPlayer() {
+		int previousPlayer = currentPlayer;
 		if (currentPlayer < getNumberOfPlayers() - 1) {
 			currentPlayer += 1;
 		} else {
 			currentPlayer = 0;
 		}
+		stateHash.playerChanged(previousPlayer, currentPlayer);
+		if (isPublishing()) {
+			publish(GameEvent.playerSwitch(GameEvent.Type.NEXT_PLAYER, getCurrentPlayerFaction()));
+		}
 	}
 
 	/**
 	 * Switches to the previous player in the defined sequence of players.
 	 */
 	public void switchToPreviousPlayer() {
+		int previousPlayer = currentPlayer;
 		if (currentPlayer > 0) {
 			currentPlayer -= 1;
 		} else {
 			currentPlayer = getNumberOfPlayers() - 1;
 		}
+		stateHash.playerChanged(previousPlayer, currentPlayer);
+		if (isPublishing()) {
+			publish(GameEvent.playerSwitch(GameEvent.Type.PREVIOUS_PLAYER, getCurrentPlayerFaction()));
+		}
 	}
 
 	/**
@@ -187,10 +410,17 @@ public class SiedlerGame {
 	public boolean placeInitialSettlement(Point position, boolean payout) {
 		if (board.cornerAvailable(position) && board.hasLandBorder(position)) {
 			board.setCorner(position, new Settlement(getCurrentPlayer(), position));
+			if (isPublishing()) {
+				publish(GameEvent.initialSettlement(getCurrentPlayerFaction(), position, payout));
+			}
 			if (payout) {
 				board.getFields(position).forEach(land -> {
-					if (board.hasLandResource(land)) {
-						addResourceToPlayer(getCurrentPlayer(), land.getResource(), Config.SETTLEMENT_RESOURCE_REWARD);
+					if (board.hasLandResource(land) && addResourceToPlayer(getCurrentPlayer(), land.getResource(),
+							Config.SETTLEMENT_RESOURCE_REWARD)) {
+						if (isPublishing()) {
+							publish(GameEvent.cards(GameEvent.Type.PAYOUT, getCurrentPlayerFaction(), land.getResource(),
+									Config.SETTLEMENT_RESOURCE_REWARD));
+						}
 					}
 				});
 			}
@@ -213,6 +443,9 @@ public class SiedlerGame {
 			if (board.isCornerOwner(roadStart, getCurrentPlayer())
 					|| board.isCornerOwner(roadEnd, getCurrentPlayer())) {
 				board.setEdge(roadStart, roadEnd, new Road(currentPlayer, roadStart, roadEnd));
+				if (isPublishing()) {
+					publish(GameEvent.initialRoad(getCurrentPlayerFaction(), roadStart, roadEnd));
+				}
 				return true;
 			}
 		}
@@ -243,6 +476,9 @@ public class SiedlerGame {
 	 */
 	public Map<Faction, List<Resource>> throwDice(int diceThrow) {
 		Map<Faction, List<Resource>> resourcePayout = new HashMap<>();
+		if (isPublishing()) {
+			publish(GameEvent.dice(GameEvent.Type.DICE_THROW, getCurrentPlayerFaction(), diceThrow));
+		}
 
 		if (diceThrow == 7) {
 			handleCardDropping();
@@ -259,14 +495,19 @@ public class SiedlerGame {
 		}
 
 		for (Point field : board.getFieldsForDiceValue(diceThrow)) {
-			if (board.getCornersOfField(field.getLocation()).size() <= bank
-					.getAmountOfResource(board.getField(field).getResource())
-					|| settlementsListContainAllSameOwner(board.getCornersOfField(field))) {
-				for (Settlement settlement : board.getCornersOfField(field.getLocation())) {
+			List<Settlement> settlements = board.getCornersOfField(field);
+			Resource resource = board.getField(field).getResource();
+			if (settlements.size() <= bank.getAmountOfResource(resource)
+					|| settlementsListContainAllSameOwner(settlements)) {
+				for (Settlement settlement : settlements) {
 					List<Resource> resources = new ArrayList<Resource>();
 					for (int i = 0; i < settlement.getResourceReward(); i++) {
-						if (addResourceToPlayer(settlement.getOwner(), board.getField(field).getResource(), 1)) {
-							resources.add(board.getField(field).getResource());
+						if (addResourceToPlayer(settlement.getOwner(), resource, 1)) {
+							resources.add(resource);
+							if (isPublishing()) {
+								publish(GameEvent.cards(GameEvent.Type.PAYOUT, settlement.getOwner().getFaction(),
+										resource, 1));
+							}
 						}
 					}
 					payout.get(settlement.getOwner().getFaction()).addAll(resources);
@@ -289,6 +530,7 @@ public class SiedlerGame {
 	private boolean addResourceToPlayer(Player player, Resource resource, int amount) {
 		try {
 			player.addResource(bank.removeCards(resource, amount));
+			updateStateHash(player, resource, amount);
 			return true;
 		} catch (IllegalArgumentException e) {
 			return false;
@@ -298,21 +540,32 @@ public class SiedlerGame {
 	private boolean addResourceFromPlayerToBank(Player player, Resource resource, int amount) {
 		try {
 			bank.addResource(player.removeCards(resource, amount));
+			updateStateHash(player, resource, -amount);
 			return true;
 		} catch (IllegalArgumentException e) {
 			return false;
 		}
 	}
 
+	private void updateStateHash(Player player, Resource resource, int amountToPlayer) {
+		int playerCards = player.getAmountOfResource(resource);
+		int bankCards = bank.getAmountOfResource(resource);
+		stateHash.cardsChanged(player.getFaction().ordinal(), resource, playerCards - amountToPlayer, playerCards);
+		stateHash.cardsChanged(-1, resource, bankCards + amountToPlayer, bankCards);
+	}
+
 	private void handleCardDropping() {
 		for (Player player : players) {
 			int amountOfCards = player.countCards();
 			if (amountOfCards > 7) {
 				int countAfterDropping = amountOfCards - (int) Math.floor(amountOfCards / 2);
 				while (player.countCards() > countAfterDropping) {
-					Config.Resource randomResource = rng.getRandomResource();
+					Config.Resource randomResource = discardRng.getRandomResource();
 					if (player.getAmountOfResource(randomResource) > 0) {
 						addResourceFromPlayerToBank(player, randomResource, 1);
+						if (isPublishing()) {
+							publish(GameEvent.cards(GameEvent.Type.DISCARD, player.getFaction(), randomResource, 1));
+						}
 					}
 				}
 			}
@@ -337,6 +590,9 @@ public class SiedlerGame {
 		if (isSettlementBuildLegal(position)) {
 			if (payResources(Config.SETTLEMENT_COST)) {
 				board.setCorner(position, new Settlement(getCurrentPlayer(), position));
+				if (isPublishing()) {
+					publish(GameEvent.structure(GameEvent.Type.SETTLEMENT, getCurrentPlayerFaction(), position));
+				}
 				return true;
 			}
 		}
@@ -392,6 +648,9 @@ public class SiedlerGame {
 		if (isCityBuildLegal(position)) {
 			if (payResources(Config.CITY_COST)) {
 				board.setCorner(position, new City(getCurrentPlayer(), position));
+				if (isPublishing()) {
+					publish(GameEvent.structure(GameEvent.Type.CITY, getCurrentPlayerFaction(), position));
+				}
 				return true;
 			}
 		}
@@ -440,6 +699,9 @@ public class SiedlerGame {
 		if (canBuildRoad(roadStart, roadEnd)) {
 			if(payResources(Config.ROAD_COST)) {
 				board.setEdge(roadStart, roadEnd, new Road(getCurrentPlayer(), roadStart, roadEnd));
+				if (isPublishing()) {
+					publish(GameEvent.road(getCurrentPlayerFaction(), roadStart, roadEnd));
+				}
 				return true;
 			}
 
@@ -461,7 +723,10 @@ public class SiedlerGame {
 	/**
 	 * <p>
 	 * Trades in {@link #FOUR_TO_ONE_TRADE_OFFER} resource cards of the offered type
-	 * for {@link #FOUR_TO_ONE_TRADE_WANT} resource cards of the wanted type.
+	 * for {@link #FOUR_TO_ONE_TRADE_WANT} resource cards of the wanted type. If
+	 * the current player has a settlement or city at a harbour that accepts the
+	 * offered type, fewer cards are traded in, see
+	 * {@link #getCurrentPlayerTradeRate(Resource)}.
 	 * </p>
 	 * <p>
 	 * The trade only works when bank and player possess the resource cards for the
@@ -473,15 +738,214 @@ public class SiedlerGame {
 	 * @return true, if the trade was successful
 	 */
 	public boolean tradeWithBankFourToOne(Resource offer, Resource want) {
-		if (bank.getAmountOfResource(want) >= 1 && getCurrentPlayer().getAmountOfResource(offer) >= 4) {
-			if(addResourceFromPlayerToBank(getCurrentPlayer(), offer, 4)
+		int rate = getCurrentPlayerTradeRate(offer);
+		if (bank.getAmountOfResource(want) >= 1 && getCurrentPlayer().getAmountOfResource(offer) >= rate) {
+			if(addResourceFromPlayerToBank(getCurrentPlayer(), offer, rate)
 					&& addResourceToPlayer(getCurrentPlayer(), want, 1)) {
+				if (isPublishing()) {
+					publish(GameEvent.trade(getCurrentPlayerFaction(), offer, want));
+				}
 				return true;
 			}
 		}
 		return false;
 	}
 
+	/**
+	 * Returns the number of cards the current player trades in for one card of
+	 * the bank. The rates of every player are kept in a table that is only
+	 * recomputed when a corner with a harbour changes, so this is an array
+	 * lookup.
+	 *
+	 * @param offer the offered type
+	 * @return the rate of the best harbour of the player that accepts the type,
+	 *         else {@link #FOUR_TO_ONE_TRADE_OFFER}
+	 */
+	public int getCurrentPlayerTradeRate(Resource offer) {
+		return tradeRates[currentPlayer].getRate(offer);
+	}
+
+	/**
+	 * Plans the trades with the bank the current player needs to afford a cost
+	 * at the rates of the player, see {@link BankTradePlanner}
+	 *
+	 * @param cost the cost, e.g. {@link Config#CITY_COST}
+	 * @return the trades, empty if the cost can already be afforded, null if it
+	 *         cannot be afforded with trades
+	 */
+	public List<BankTrade> planBankTrades(Map<Resource, Integer> cost) {
+		return tradeRates[currentPlayer].plan(getCurrentPlayer().getResources(), bank.getResources(), cost);
+	}
+
+	private void updateTradeRates(Faction faction) {
+		int[] rates = BankTradePlanner.uniformRates(FOUR_TO_ONE_TRADE_OFFER);
+		for (Point corner : board.getHarbourCorners()) {
+			Settlement settlement = board.getCorner(corner);
+			if (settlement != null && settlement.getOwner().getFaction() == faction) {
+				Harbour harbour = board.getHarbour(corner);
+				for (Resource resource : Resource.values()) {
+					if (harbour.accepts(resource)) {
+						rates[resource.ordinal()] = Math.min(rates[resource.ordinal()], harbour.getRate());
+					}
+				}
+			}
+		}
+		tradeRates[faction.ordinal()] = new BankTradePlanner(rates);
+	}
+
+	/**
+	 * Recomputes the trade rates of the players whose settlements are placed on
+	 * or removed from a harbour
+	 */
+	private class TradeRateUpdater implements BoardListener {
+
+		@Override
+		public void cornerChanged(Point position, Settlement previous, Settlement current) {
+			if (board.getHarbour(position) == null) {
+				return;
+			}
+			if (previous != null) {
+				updateTradeRates(previous.getOwner().getFaction());
+			}
+			if (current != null && (previous == null
+					|| previous.getOwner().getFaction() != current.getOwner().getFaction())) {
+				updateTradeRates(current.getOwner().getFaction());
+			}
+		}
+
+		@Override
+		public void edgeChanged(Point start, Point end, Road previous, Road current) {
+		}
+	}
+
+	/**
+	 * Returns the open trade offers between the players. The offers are not part
+	 * of the state of the game: they are not copied, hashed or captured in
+	 * snapshots.
+	 *
+	 * @return the order book
+	 */
+	public TradeOrderBook getTradeOrderBook() {
+		return tradeOrderBook;
+	}
+
+	/**
+	 * <p>
+	 * Posts a trade offer of the current player to the other players. If the
+	 * order book holds a matching offer of another player, i.e. one that gives at
+	 * least the wanted cards and wants at most the given cards, the oldest one is
+	 * executed at once: both players hand over the cards of their offers.
+	 * Otherwise the offer stays in the order book until another player matches
+	 * it or it is cancelled.
+	 * </p>
+	 * <p>
+	 * Offers are checked again when they are matched; an offer whose player no
+	 * longer holds the given cards is dropped. An executed trade publishes a
+	 * {@link GameEvent.Type#PLAYER_TRADE} event with the cards of both players.
+	 * Posting, matching without execution and cancelling publish no events, the
+	 * offers are not part of the state of the game.
+	 * </p>
+	 *
+	 * @param give the cards the current player gives
+	 * @param want the cards the current player wants
+	 * @return the offer, closed if it was executed at once, null if the current
+	 *         player does not hold the given cards
+	 * @throws IllegalArgumentException if a side is empty, an amount is negative
+	 *                                  or a resource is given and wanted
+	 */
+	public TradeOffer postTradeOffer(Map<Resource, Integer> give, Map<Resource, Integer> want) {
+		int[] giveVector = TradeOffer.toVector(give);
+		int[] wantVector = TradeOffer.toVector(want);
+		for (Resource resource : Resource.values()) {
+			if (giveVector[resource.ordinal()] > 0 && wantVector[resource.ordinal()] > 0) {
+				throw new IllegalArgumentException(resource + " is given and wanted");
+			}
+		}
+		Player player = getCurrentPlayer();
+		if (!holdsCards(player, giveVector)) {
+			return null;
+		}
+		TradeOffer offer = tradeOrderBook.create(player.getFaction(), giveVector, wantVector);
+		TradeOffer counterOffer = tradeOrderBook.match(offer,
+				candidate -> holdsCards(players[candidate.getFaction().ordinal()], candidate.give()));
+		if (counterOffer == null) {
+			tradeOrderBook.add(offer);
+		} else {
+			tradeOrderBook.remove(counterOffer);
+			executePlayerTrade(players[counterOffer.getFaction().ordinal()], giveVector, counterOffer.give());
+			offer.close();
+		}
+		return offer;
+	}
+
+	/**
+	 * Executes a trade between the current player and another player without the
+	 * order book, e.g. to replay a {@link GameEvent.Type#PLAYER_TRADE} event
+	 *
+	 * @param partner the faction of the other player
+	 * @param give    the cards the current player gives
+	 * @param receive the cards the other player gives
+	 * @return true if the trade was executed, false if a player does not hold
+	 *         the cards or the partner is the current player or not in the game
+	 * @throws IllegalArgumentException if a side is empty or an amount is
+	 *                                  negative
+	 */
+	public boolean tradeWithPlayer(Faction partner, Map<Resource, Integer> give, Map<Resource, Integer> receive) {
+		int[] giveVector = TradeOffer.toVector(give);
+		int[] receiveVector = TradeOffer.toVector(receive);
+		Player player = getCurrentPlayer();
+		if (partner.ordinal() >= players.length || partner == player.getFaction()) {
+			return false;
+		}
+		Player partnerPlayer = players[partner.ordinal()];
+		if (!holdsCards(player, giveVector) || !holdsCards(partnerPlayer, receiveVector)) {
+			return false;
+		}
+		executePlayerTrade(partnerPlayer, giveVector, receiveVector);
+		return true;
+	}
+
+	private void executePlayerTrade(Player partner, int[] give, int[] receive) {
+		Player player = getCurrentPlayer();
+		moveCards(player, partner, give);
+		moveCards(partner, player, receive);
+		if (isPublishing()) {
+			publish(GameEvent.playerTrade(player.getFaction(), partner.getFaction(), give, receive));
+		}
+	}
+
+	/**
+	 * Removes an offer from the order book
+	 *
+	 * @param offer the offer
+	 * @return true if the offer was open
+	 */
+	public boolean cancelTradeOffer(TradeOffer offer) {
+		return tradeOrderBook.remove(offer);
+	}
+
+	private static boolean holdsCards(Player player, int[] cards) {
+		for (Resource resource : Resource.values()) {
+			if (player.getAmountOfResource(resource) < cards[resource.ordinal()]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void moveCards(Player from, Player to, int[] cards) {
+		for (Resource resource : Resource.values()) {
+			int amount = cards[resource.ordinal()];
+			if (amount > 0) {
+				int fromCards = from.getAmountOfResource(resource);
+				int toCards = to.getAmountOfResource(resource);
+				to.addResource(from.removeCards(resource, amount));
+				stateHash.cardsChanged(from.getFaction().ordinal(), resource, fromCards, fromCards - amount);
+				stateHash.cardsChanged(to.getFaction().ordinal(), resource, toCards, toCards + amount);
+			}
+		}
+	}
+
 	/**
 	 * Returns the winner of the game, if any.
 	 *
@@ -496,8 +960,7 @@ public class SiedlerGame {
 		return null;
 	}
 
-	private Config.Faction getLongestRoadOwner() {
-		Map<Config.Faction, Integer> roadSizes = board.getLongestRoads(getPlayerFactions());
+	private Config.Faction getLongestRoadOwner(Map<Config.Faction, Integer> roadSizes) {
 		int longestRoad = Collections.max(roadSizes.values());
 		for (Entry<Config.Faction, Integer> entry : roadSizes.entrySet()) {
 			if (entry.getValue() == longestRoad) {
@@ -507,9 +970,10 @@ public class SiedlerGame {
 		return null;
 	}
 
-	private boolean qualifiesForLongestRoad(Config.Faction faction) {
-		if (getLongestRoadOwner() != null && faction == getLongestRoadOwner()) {
-			if (board.getLongestRoads(getPlayerFactions()).get(faction) > Config.LONGEST_ROAD_THRESHOLD) {
+	private boolean qualifiesForLongestRoad(Config.Faction faction, Map<Config.Faction, Integer> roadSizes,
+			Config.Faction longestRoadOwner) {
+		if (longestRoadOwner != null && faction == longestRoadOwner) {
+			if (roadSizes.get(faction) > Config.LONGEST_ROAD_THRESHOLD) {
 				return true;
 			}
 		}
@@ -523,21 +987,110 @@ public class SiedlerGame {
 	 *         points
 	 */
 	public Map<Config.Faction, Integer> calculateWinPoints() {
-		Map<Config.Faction, Integer> winPoints = new HashMap<>();
+		Map<Config.Faction, Integer> winPoints = new EnumMap<>(Faction.class);
+		Map<Config.Faction, Integer> roadSizes = board.getLongestRoads(getPlayerFactions());
+		Config.Faction longestRoadOwner = getLongestRoadOwner(roadSizes);
+		int[] points = new int[Faction.values().length];
+		for (Settlement settlement : board.getCorners()) {
+			points[settlement.getOwner().getFaction().ordinal()] += settlement.getVictoryPoints();
+		}
 		for (Player player : players) {
-			winPoints.put(player.getFaction(), 0);
-			for (Settlement settlement : board.getCorners()) {
-				if (settlement.getOwner() == player) {
-					winPoints.put(player.getFaction(),
-							winPoints.get(player.getFaction()) + settlement.getVictoryPoints());
+			Faction faction = player.getFaction();
+			if (qualifiesForLongestRoad(faction, roadSizes, longestRoadOwner)) {
+				points[faction.ordinal()] += Config.VICTORY_POINTS_LONGEST_ROAD;
+			}
+			winPoints.put(faction, points[faction.ordinal()]);
+		}
+		return winPoints;
+	}
+
+	/**
+	 * Copies the current state of the game into an immutable snapshot. Must be
+	 * called between two actions, e.g. on a change of player. Settlements and
+	 * roads are listed in the order of the board's corners, each road from its
+	 * lower to its higher corner.
+	 *
+	 * @return the snapshot
+	 */
+	public GameSnapshot snapshot() {
+		int[][] hands = new int[getNumberOfPlayers()][];
+		for (int i = 0; i < hands.length; i++) {
+			hands[i] = countResources(players[i]);
+		}
+		List<Settlement> settlements = new ArrayList<>();
+		List<Point> roadStarts = new ArrayList<>();
+		List<Point> roadEnds = new ArrayList<>();
+		List<Faction> roadOwners = new ArrayList<>();
+		for (Point corner : board.getCornerPositions()) {
+			Settlement settlement = board.getCorner(corner);
+			if (settlement != null) {
+				settlements.add(settlement);
+			}
+			for (Point neighbour : board.getNeighbourPositions(corner)) {
+				Road road = board.getEdge(corner, neighbour);
+				if (road != null && (corner.x < neighbour.x || corner.x == neighbour.x && corner.y < neighbour.y)) {
+					roadStarts.add(new Point(corner));
+					roadEnds.add(new Point(neighbour));
+					roadOwners.add(road.getOwner().getFaction());
 				}
 			}
-			if (qualifiesForLongestRoad(player.getFaction())) {
-				winPoints.put(player.getFaction(),
-						winPoints.get(player.getFaction()) + Config.VICTORY_POINTS_LONGEST_ROAD);
+		}
+		Point[] corners = new Point[settlements.size()];
+		Faction[] cornerOwners = new Faction[corners.length];
+		boolean[] cities = new boolean[corners.length];
+		for (int i = 0; i < corners.length; i++) {
+			corners[i] = new Point(settlements.get(i).getPosition());
+			cornerOwners[i] = settlements.get(i).getOwner().getFaction();
+			cities[i] = settlements.get(i) instanceof City;
+		}
+		long[] randomCounters = { diceRng.getCounter(), discardRng.getCounter(), shuffleRng.getCounter() };
+		return new GameSnapshot(seed, winPoints, getNumberOfPlayers(), currentPlayer, randomCounters, hands,
+				countResources(bank), corners, cornerOwners, cities, roadStarts.toArray(new Point[0]),
+				roadEnds.toArray(new Point[0]), roadOwners.toArray(new Faction[0]), layout);
+	}
+
+	private static int[] countResources(ResourceHolder holder) {
+		int[] amounts = new int[Resource.values().length];
+		for (Resource resource : Resource.values()) {
+			amounts[resource.ordinal()] = holder.getAmountOfResource(resource);
+		}
+		return amounts;
+	}
+
+	/**
+	 * Creates a game in the state captured by a snapshot. No events are published
+	 * while the state is restored.
+	 *
+	 * @param snapshot the snapshot
+	 * @return the restored game
+	 */
+	public static SiedlerGame restore(GameSnapshot snapshot) {
+		SiedlerGame game = new SiedlerGame(snapshot.getWinPoints(), snapshot.getNumberOfPlayers(),
+				snapshot.getSeed(), snapshot.getLayout());
+		game.currentPlayer = snapshot.getCurrentPlayer();
+		long[] randomCounters = snapshot.getRandomCounters();
+		game.diceRng = new RandomNumberGenerator(game.diceRng.getSeed(), randomCounters[0]);
+		game.discardRng = new RandomNumberGenerator(game.discardRng.getSeed(), randomCounters[1]);
+		game.shuffleRng = new RandomNumberGenerator(game.shuffleRng.getSeed(), randomCounters[2]);
+		for (Resource resource : Resource.values()) {
+			game.bank.getResources().put(resource, snapshot.getBank(resource));
+			for (int i = 0; i < game.players.length; i++) {
+				game.players[i].getResources().put(resource, snapshot.getHand(i, resource));
 			}
 		}
-		return winPoints;
+		for (int i = 0; i < snapshot.getCornerCount(); i++) {
+			Player owner = game.players[snapshot.getCornerOwner(i).ordinal()];
+			Point position = snapshot.getCorner(i);
+			game.board.setCorner(position, snapshot.isCity(i) ? new City(owner, position) : new Settlement(owner, position));
+		}
+		for (int i = 0; i < snapshot.getRoadCount(); i++) {
+			Player owner = game.players[snapshot.getRoadOwner(i).ordinal()];
+			Point start = snapshot.getRoadStart(i);
+			Point end = snapshot.getRoadEnd(i);
+			game.board.setEdge(start, end, new Road(owner, start, end));
+		}
+		game.recomputeStateHash();
+		return game;
 	}
 
 	/**
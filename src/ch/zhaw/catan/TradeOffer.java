@@ -0,0 +1,137 @@
+package ch.zhaw.catan;
+
+import java.util.Map;
+
+import ch.zhaw.catan.Config.Faction;
+import ch.zhaw.catan.Config.Resource;
+
+/**
+ * The TradeOffer class is an offer of a player to other players, posted into a
+ * {@link TradeOrderBook}: the cards the player gives and the cards the player
+ * wants in return. An offer is open until it is executed or cancelled.
+ */
+public final class TradeOffer {
+	private static final Resource[] RESOURCES = Resource.values();
+	private final long id;
+	private final Faction faction;
+	private final int[] give;
+	private final int[] want;
+	private boolean open = true;
+
+	TradeOffer(long id, Faction faction, int[] give, int[] want) {
+		this.id = id;
+		this.faction = faction;
+		this.give = give;
+		this.want = want;
+	}
+
+	/**
+	 * Creates the card vector of an offer
+	 *
+	 * @param cards the cards per resource
+	 * @return the cards indexed by the ordinal of the resource
+	 * @throws IllegalArgumentException if an amount is negative or no card is
+	 *                                  given
+	 */
+	static int[] toVector(Map<Resource, Integer> cards) {
+		int[] vector = new int[RESOURCES.length];
+		int total = 0;
+		for (Map.Entry<Resource, Integer> entry : cards.entrySet()) {
+			if (entry.getValue() < 0) {
+				throw new IllegalArgumentException("Negative amount of " + entry.getKey());
+			}
+			vector[entry.getKey().ordinal()] = entry.getValue();
+			total += entry.getValue();
+		}
+		if (total == 0) {
+			throw new IllegalArgumentException("An offer needs at least one card on each side");
+		}
+		return vector;
+	}
+
+	/**
+	 * Returns the number of the offer, offers posted earlier have lower numbers
+	 *
+	 * @return the number
+	 */
+	public long getId() {
+		return id;
+	}
+
+	public Faction getFaction() {
+		return faction;
+	}
+
+	/**
+	 * Returns the number of cards given
+	 *
+	 * @param resource the resource
+	 * @return the number of cards of the resource the player gives
+	 */
+	public int getGive(Resource resource) {
+		return give[resource.ordinal()];
+	}
+
+	/**
+	 * Returns the number of cards wanted
+	 *
+	 * @param resource the resource
+	 * @return the number of cards of the resource the player wants
+	 */
+	public int getWant(Resource resource) {
+		return want[resource.ordinal()];
+	}
+
+	/**
+	 * Checks whether the offer is still in the order book
+	 *
+	 * @return false if the offer was executed or cancelled
+	 */
+	public boolean isOpen() {
+		return open;
+	}
+
+	void close() {
+		open = false;
+	}
+
+	int[] give() {
+		return give;
+	}
+
+	int[] want() {
+		return want;
+	}
+
+	/**
+	 * Checks whether two offers can be executed against each other: each side
+	 * gives at least the cards the other side wants
+	 */
+	boolean matches(TradeOffer other) {
+		if (faction == other.faction) {
+			return false;
+		}
+		for (int r = 0; r < give.length; r++) {
+			if (give[r] < other.want[r] || other.give[r] < want[r]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder(faction.toString());
+		appendCards(builder.append(" gives"), give);
+		appendCards(builder.append(" for"), want);
+		return builder.toString();
+	}
+
+	private static void appendCards(StringBuilder builder, int[] cards) {
+		for (Resource resource : RESOURCES) {
+			if (cards[resource.ordinal()] > 0) {
+				builder.append(' ').append(cards[resource.ordinal()]).append(' ').append(resource);
+			}
+		}
+	}
+}
@@ -0,0 +1,170 @@
+package ch.zhaw.catan;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import ch.zhaw.catan.Config.Faction;
+import ch.zhaw.catan.Config.Resource;
+
+/**
+ * The TradeOrderBook class holds the open trade offers between the players of
+ * one game, see {@link SiedlerGame#postTradeOffer(Map, Map)}.
+ * <p>
+ * The offers are indexed by resource pairs: an offer is in the bucket of every
+ * pair of a resource it gives and a resource it wants. A counter offer must
+ * give every resource a new offer wants and may only want resources the new
+ * offer gives, so the search only visits the buckets of one wanted resource
+ * paired with the given resources, instead of comparing the new offer with all
+ * offers. Each candidate is checked in the bucket of its first wanted resource
+ * only, and the buckets keep the order of posting, so the oldest matching
+ * offer is found without sorting. Adding and removing an offer touches at most
+ * one bucket per resource pair.
+ * </p>
+ */
+public final class TradeOrderBook {
+	private static final Resource[] RESOURCES = Resource.values();
+	private final Map<Long, TradeOffer> offers = new LinkedHashMap<>();
+	private final Set<TradeOffer>[][] buckets;
+	private long nextId;
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	TradeOrderBook() {
+		buckets = new Set[RESOURCES.length][RESOURCES.length];
+		for (int give = 0; give < RESOURCES.length; give++) {
+			for (int want = 0; want < RESOURCES.length; want++) {
+				buckets[give][want] = new LinkedHashSet<>();
+			}
+		}
+	}
+
+	/**
+	 * Creates a new offer with the next number, without adding it
+	 */
+	TradeOffer create(Faction faction, int[] give, int[] want) {
+		return new TradeOffer(nextId++, faction, give, want);
+	}
+
+	void add(TradeOffer offer) {
+		offers.put(offer.getId(), offer);
+		forEachPair(offer, (give, want) -> buckets[give][want].add(offer));
+	}
+
+	/**
+	 * Removes an offer and closes it
+	 *
+	 * @param offer the offer
+	 * @return true if the offer was in the book
+	 */
+	boolean remove(TradeOffer offer) {
+		if (offers.remove(offer.getId()) != offer) {
+			return false;
+		}
+		forEachPair(offer, (give, want) -> buckets[give][want].remove(offer));
+		offer.close();
+		return true;
+	}
+
+	/**
+	 * Finds the oldest offer in the book that matches a new offer. Offers the
+	 * check rejects, e.g. because their player can no longer pay, are removed on
+	 * the way.
+	 *
+	 * @param offer  the new offer, not in the book
+	 * @param usable the check of a candidate
+	 * @return the oldest usable matching offer or null
+	 */
+	TradeOffer match(TradeOffer offer, Predicate<TradeOffer> usable) {
+		int[] give = offer.give();
+		int[] want = offer.want();
+		int wanted = -1;
+		int smallest = Integer.MAX_VALUE;
+		for (int w = 0; w < RESOURCES.length; w++) {
+			if (want[w] > 0) {
+				int size = 0;
+				for (int g = 0; g < RESOURCES.length; g++) {
+					size += give[g] > 0 ? buckets[w][g].size() : 0;
+				}
+				if (size < smallest) {
+					smallest = size;
+					wanted = w;
+				}
+			}
+		}
+		TradeOffer best = null;
+		List<TradeOffer> unusable = new ArrayList<>();
+		for (int g = 0; g < RESOURCES.length; g++) {
+			if (give[g] == 0) {
+				continue;
+			}
+			for (TradeOffer candidate : buckets[wanted][g]) {
+				if (best != null && candidate.getId() > best.getId()) {
+					break;
+				}
+				if (firstWanted(candidate) == g && candidate.matches(offer)) {
+					if (usable.test(candidate)) {
+						best = candidate;
+						break;
+					}
+					unusable.add(candidate);
+				}
+			}
+		}
+		unusable.forEach(this::remove);
+		return best;
+	}
+
+	/**
+	 * Returns the number of open offers
+	 *
+	 * @return the number of offers
+	 */
+	public int size() {
+		return offers.size();
+	}
+
+	/**
+	 * Returns the open offers of a faction
+	 *
+	 * @param faction the faction
+	 * @return the offers in the order they were posted
+	 */
+	public List<TradeOffer> getOffers(Faction faction) {
+		List<TradeOffer> result = new ArrayList<>();
+		for (TradeOffer offer : offers.values()) {
+			if (offer.getFaction() == faction) {
+				result.add(offer);
+			}
+		}
+		return result;
+	}
+
+	private static int firstWanted(TradeOffer offer) {
+		int[] want = offer.want();
+		int w = 0;
+		while (want[w] == 0) {
+			w++;
+		}
+		return w;
+	}
+
+	private static void forEachPair(TradeOffer offer, PairAction action) {
+		for (int give = 0; give < RESOURCES.length; give++) {
+			if (offer.give()[give] > 0) {
+				for (int want = 0; want < RESOURCES.length; want++) {
+					if (offer.want()[want] > 0) {
+						action.apply(give, want);
+					}
+				}
+			}
+		}
+	}
+
+	private interface PairAction {
+		void apply(int give, int want);
+	}
+}
@@ -0,0 +1,173 @@
+package ch.zhaw.catan;
+
+import java.awt.Point;
+import java.util.List;
+import java.util.Map;
+
+import ch.zhaw.catan.Config.Faction;
+import ch.zhaw.catan.Config.Resource;
+
+/**
+ * The TurnCycle class is the state machine that drives a {@link SiedlerGame}
+ * from the founding phase through the turns until a player has won.
+ * <p>
+ * It does not interact with the players. The console UI, the headless
+ * simulation and the server ask it for the current {@link Phase} in a loop and
+ * call the matching method with the decision of the current player. A failed
+ * placement leaves the phase unchanged, so a retry is just the next iteration
+ * of the loop and the stack depth stays constant for games of any length.
+ * </p>
+ */
+public class TurnCycle {
+
+	/**
+	 * This {@link Enum} specifies the phases a game passes through.
+	 */
+	public enum Phase {
+		FOUNDING_SETTLEMENT, FOUNDING_ROAD, DICE_THROW, ACTIONS, FINISHED;
+	}
+
+	private final SiedlerGame game;
+	private Phase phase = Phase.FOUNDING_SETTLEMENT;
+	private int foundingStep;
+	private Point initialSettlement;
+	private int lastDiceThrow;
+	private int turns;
+
+	/**
+	 * Constructor for a game that has not been played yet
+	 *
+	 * @param game the game
+	 */
+	public TurnCycle(SiedlerGame game) {
+		this.game = game;
+	}
+
+	public Phase getPhase() {
+		return phase;
+	}
+
+	public SiedlerGame getGame() {
+		return game;
+	}
+
+	/**
+	 * Returns the number of turns started after the founding phase
+	 *
+	 * @return int number of turns
+	 */
+	public int getTurns() {
+		return turns;
+	}
+
+	public int getLastDiceThrow() {
+		return lastDiceThrow;
+	}
+
+	/**
+	 * Returns the settlement placed in the current founding step, if any
+	 *
+	 * @return the corner of the settlement or null
+	 */
+	public Point getInitialSettlement() {
+		return initialSettlement;
+	}
+
+	/**
+	 * Checks whether the current founding step pays out resources, which is the
+	 * case in the second round of the founding phase
+	 *
+	 * @return true if the initial settlement pays out
+	 */
+	public boolean isPayoutRound() {
+		return foundingStep >= game.getNumberOfPlayers();
+	}
+
+	/**
+	 * Places the settlement of the current founding step
+	 *
+	 * @param position the position of the settlement
+	 * @return true, if the placement was successful
+	 * @throws IllegalStateException if the phase is not
+	 *                               {@link Phase#FOUNDING_SETTLEMENT}
+	 */
+	public boolean placeInitialSettlement(Point position) {
+		requirePhase(Phase.FOUNDING_SETTLEMENT);
+		if (game.placeInitialSettlement(position, isPayoutRound())) {
+			initialSettlement = position;
+			phase = Phase.FOUNDING_ROAD;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Places the road of the current founding step next to the settlement that
+	 * was placed before and moves on to the next player in snake order
+	 *
+	 * @param roadEnd the end point of the road
+	 * @return true, if the placement was successful
+	 * @throws IllegalStateException if the phase is not
+	 *                               {@link Phase#FOUNDING_ROAD}
+	 */
+	public boolean placeInitialRoad(Point roadEnd) {
+		requirePhase(Phase.FOUNDING_ROAD);
+		if (!game.placeInitialRoad(initialSettlement, roadEnd)) {
+			return false;
+		}
+		initialSettlement = null;
+		foundingStep++;
+		int numberOfPlayers = game.getNumberOfPlayers();
+		if (foundingStep < numberOfPlayers) {
+			game.switchToNextPlayer();
+			phase = Phase.FOUNDING_SETTLEMENT;
+		} else if (foundingStep < 2 * numberOfPlayers) {
+			if (foundingStep > numberOfPlayers) {
+				game.switchToPreviousPlayer();
+			}
+			phase = Phase.FOUNDING_SETTLEMENT;
+		} else {
+			phase = Phase.DICE_THROW;
+		}
+		return true;
+	}
+
+	/**
+	 * Rolls the dice of the current turn and pays out the resources
+	 *
+	 * @return the resource cards added to the stock of the different players
+	 * @throws IllegalStateException if the phase is not {@link Phase#DICE_THROW}
+	 */
+	public Map<Faction, List<Resource>> throwDice() {
+		requirePhase(Phase.DICE_THROW);
+		turns++;
+		lastDiceThrow = game.rollDice();
+		phase = Phase.ACTIONS;
+		return game.throwDice(lastDiceThrow);
+	}
+
+	/**
+	 * Ends the turn of the current player. The game is finished if a player has
+	 * won, otherwise the next player's turn starts.
+	 *
+	 * @return the winner or null, if there is no winner yet
+	 * @throws IllegalStateException if the phase is not {@link Phase#ACTIONS}
+	 */
+	public Faction endTurn() {
+		requirePhase(Phase.ACTIONS);
+		Faction winner = game.getWinner();
+		if (winner != null) {
+			phase = Phase.FINISHED;
+		} else {
+			game.switchToNextPlayer();
+			phase = Phase.DICE_THROW;
+		}
+		return winner;
+	}
+
+	private void requirePhase(Phase expected) {
+		if (phase != expected) {
+			throw new IllegalStateException("Expected phase " + expected + " but was " + phase);
+		}
+	}
+}
@@ -0,0 +1,159 @@
+package ch.zhaw.catan;
+
+import java.awt.Point;
+import java.util.Collections;
+
+import ch.zhaw.catan.Config.Resource;
+import ch.zhaw.structures.City;
+import ch.zhaw.structures.Road;
+import ch.zhaw.structures.Settlement;
+
+/**
+ * The ZobristHash class maintains a 64 bit hash of the complete state of a
+ * {@link SiedlerGame}: the settlements and cities on the corners, the roads on
+ * the edges, the number of cards of every resource of the players and the
+ * bank, and the current player.
+ * <p>
+ * Every part of the state has a random key and the hash is the XOR of the
+ * keys of the current state. A change therefore only XORs out the key of the
+ * old value and XORs in the key of the new one, which takes constant time. The
+ * keys are the same for all games, so equal states of different games have
+ * equal hashes.
+ * </p>
+ */
+public final class ZobristHash implements BoardListener {
+	private static final long KEY_SEED = 0x2f6b3a5d8c41e097L;
+	private static final int BANK = Config.MAX_NUMBER_OF_PLAYERS;
+	private static final int MAX_CARDS = Collections.max(Config.INITIAL_RESOURCE_CARDS_BANK.values());
+	private static final int STRUCTURE_TYPES = 2;
+	private static final BoardIndex INDEX = BoardIndex.standard();
+	private static final long[][] CORNER_KEYS;
+	private static final long[][] EDGE_KEYS;
+	private static final long[][][] CARD_KEYS;
+	private static final long[] PLAYER_KEYS;
+	private long hash;
+
+	static {
+		RandomNumberGenerator rng = new RandomNumberGenerator(KEY_SEED);
+		int factions = Config.Faction.values().length;
+		CORNER_KEYS = randomKeys(rng, INDEX.getCornerCount(), factions * STRUCTURE_TYPES);
+		EDGE_KEYS = randomKeys(rng, INDEX.getEdgeCount(), factions);
+		CARD_KEYS = new long[BANK + 1][][];
+		for (int holder = 0; holder <= BANK; holder++) {
+			CARD_KEYS[holder] = randomKeys(rng, Resource.values().length, MAX_CARDS + 1);
+		}
+		PLAYER_KEYS = randomKeys(rng, 1, Config.MAX_NUMBER_OF_PLAYERS)[0];
+	}
+
+	private static long[][] randomKeys(RandomNumberGenerator rng, int rows, int columns) {
+		long[][] keys = new long[rows][columns];
+		for (long[] row : keys) {
+			for (int i = 0; i < columns; i++) {
+				row[i] = rng.nextLong();
+			}
+		}
+		return keys;
+	}
+
+	public long getHash() {
+		return hash;
+	}
+
+	/**
+	 * Takes over the hash of another game, e.g. of the game a copy is made from
+	 *
+	 * @param other the hash to take over
+	 */
+	void copyFrom(ZobristHash other) {
+		hash = other.hash;
+	}
+
+	/**
+	 * Calculates the hash of the board and the current player from scratch. The
+	 * cards are added with {@link #addCards(int, int[])} afterwards.
+	 *
+	 * @param board         the board
+	 * @param currentPlayer the index of the current player
+	 */
+	void reset(SiedlerBoard board, int currentPlayer) {
+		hash = PLAYER_KEYS[currentPlayer];
+		for (int corner = 0; corner < INDEX.getCornerCount(); corner++) {
+			Settlement settlement = board.getCorner(INDEX.getCorner(corner));
+			if (settlement != null) {
+				hash ^= cornerKey(corner, settlement);
+			}
+		}
+		for (int edge = 0; edge < INDEX.getEdgeCount(); edge++) {
+			Road road = board.getEdge(INDEX.getCorner(INDEX.getEdgeStart(edge)), INDEX.getCorner(INDEX.getEdgeEnd(edge)));
+			if (road != null) {
+				hash ^= EDGE_KEYS[edge][road.getOwner().getFaction().ordinal()];
+			}
+		}
+	}
+
+	/**
+	 * Adds the cards of a player or the bank to the hash
+	 *
+	 * @param holder  the index of the player or -1 for the bank
+	 * @param amounts the number of cards per resource ordinal
+	 */
+	void addCards(int holder, int[] amounts) {
+		for (int resource = 0; resource < amounts.length; resource++) {
+			hash ^= CARD_KEYS[holderIndex(holder)][resource][amounts[resource]];
+		}
+	}
+
+	private static int holderIndex(int holder) {
+		return holder < 0 ? BANK : holder;
+	}
+
+	private static long cornerKey(int corner, Settlement settlement) {
+		int type = settlement instanceof City ? 1 : 0;
+		return CORNER_KEYS[corner][settlement.getOwner().getFaction().ordinal() * STRUCTURE_TYPES + type];
+	}
+
+	@Override
+	public void cornerChanged(Point position, Settlement previous, Settlement current) {
+		int corner = INDEX.getCornerId(position);
+		if (previous != null) {
+			hash ^= cornerKey(corner, previous);
+		}
+		if (current != null) {
+			hash ^= cornerKey(corner, current);
+		}
+	}
+
+	@Override
+	public void edgeChanged(Point start, Point end, Road previous, Road current) {
+		int edge = INDEX.getEdgeId(start, end);
+		if (previous != null) {
+			hash ^= EDGE_KEYS[edge][previous.getOwner().getFaction().ordinal()];
+		}
+		if (current != null) {
+			hash ^= EDGE_KEYS[edge][current.getOwner().getFaction().ordinal()];
+		}
+	}
+
+	/**
+	 * Updates the hash after the number of cards of a resource changed
+	 *
+	 * @param holder   the index of the player or -1 for the bank
+	 * @param resource the resource
+	 * @param previous the previous number of cards
+	 * @param current  the new number of cards
+	 */
+	void cardsChanged(int holder, Resource resource, int previous, int current) {
+		long[] keys = CARD_KEYS[holderIndex(holder)][resource.ordinal()];
+		hash ^= keys[previous] ^ keys[current];
+	}
+
+	/**
+	 * Updates the hash after the current player changed
+	 *
+	 * @param previous the index of the previous player
+	 * @param current  the index of the new player
+	 */
+	void playerChanged(int previous, int current) {
+		hash ^= PLAYER_KEYS[previous] ^ PLAYER_KEYS[current];
+	}
+}
@@ -63,10 +63,14 @@ final class Edge {
    */
   @Override
   public int hashCode() {
+    // Point#hashCode is derived from the double bits of the coordinates and
+    // collides heavily for small integer coordinates, so the ints are mixed here
     final int prime = 31;
     int result = 1;
-    result = prime * result + ((end == null) ? 0 : end.hashCode());
-    result = prime * result + ((start == null) ? 0 : start.hashCode());
+    result = prime * result + end.x;
+    result = prime * result + end.y;
+    result = prime * result + start.x;
+    result = prime * result + start.y;
     return result;
   }
 
@@ -97,6 +97,7 @@ public class HexBoard<F, C, E, A> {
 	private final Map<Point, C> corner;
 	private final Map<Edge, E> edge;
 	private final Map<FieldAnnotationPosition, A> annotation;
+	private final Map<Point, List<A>> cornerAnnotation;
 
 	/**
 	 * Constructs an empty hexagonal board.
@@ -106,6 +107,24 @@ public class HexBoard<F, C, E, A> {
 		corner = new HashMap<>();
 		edge = new HashMap<>();
 		annotation = new HashMap<>();
+		cornerAnnotation = new HashMap<>();
+	}
+
+	/**
+	 * Constructs a board with the same fields, corners, edges and annotations as
+	 * another board. The data elements themselves are shared, not copied.
+	 *
+	 * @param other the board to copy
+	 */
+	protected HexBoard(HexBoard<F, C, E, A> other) {
+		maxCoordinateX = other.maxCoordinateX;
+		maxCoordinateY = other.maxCoordinateY;
+		field = new HashMap<>(other.field);
+		corner = new HashMap<>(other.corner);
+		edge = new HashMap<>(other.edge);
+		annotation = new HashMap<>(other.annotation);
+		cornerAnnotation = new HashMap<>();
+		other.cornerAnnotation.forEach((point, list) -> cornerAnnotation.put(point, new ArrayList<>(list)));
 	}
 
 	/**
@@ -156,6 +175,9 @@ public class HexBoard<F, C, E, A> {
 		FieldAnnotationPosition annotationPosition = new FieldAnnotationPosition(center, corner);
 		if (!annotation.containsKey(annotationPosition)) {
 			annotation.put(annotationPosition, data);
+			if (data != null) {
+				cornerAnnotation.computeIfAbsent(corner, key -> new ArrayList<>(3)).add(data);
+			}
 		} else {
 			throw new IllegalArgumentException(
 					"Annotation: " + annotation + " already exists for field " + center + " and position " + corner);
@@ -184,13 +206,7 @@ public class HexBoard<F, C, E, A> {
 	 * @throws IllegalArgumentException if corner is not a corner
 	 */
 	public List<A> getFieldAnnotationsForCorner(Point corner) {
-		List<A> list = new LinkedList<>();
-		for (Entry<FieldAnnotationPosition, A> entry : annotation.entrySet()) {
-			if (entry.getKey().isCorner(corner) && entry.getValue() != null) {
-				list.add(entry.getValue());
-			}
-		}
-		return list;
+		return new LinkedList<>(cornerAnnotation.getOrDefault(corner, Collections.emptyList()));
 	}
 
 	/**
@@ -367,6 +383,26 @@ public class HexBoard<F, C, E, A> {
 		return Collections.unmodifiableList(result);
 	}
 
+	/**
+	 * Returns the coordinates of the fields with non-null data elements that touch
+	 * this corner.
+	 *
+	 * @param corner the location of the corner
+	 * @return the list with the field coordinates (empty, if corner is not a
+	 *         corner)
+	 */
+	public List<Point> getFieldPositions(Point corner) {
+		List<Point> result = new ArrayList<>(3);
+		if (isCornerCoordinate(corner)) {
+			for (Point f : getAdjacentFields(corner)) {
+				if (field.get(f) != null) {
+					result.add(f);
+				}
+			}
+		}
+		return Collections.unmodifiableList(result);
+	}
+
 	/**
 	 * Returns the data for the edge denoted by the two points.
 	 * 
@@ -467,9 +503,14 @@ public class HexBoard<F, C, E, A> {
 	 */
 	public List<E> getAdjacentEdges(Point corner) {
 		List<E> result = new LinkedList<>();
-		for (Entry<Edge, E> e : this.edge.entrySet()) {
-			if (e.getKey().isEdgePoint(corner) && e.getValue() != null) {
-				result.add(e.getValue());
+		if (isCornerCoordinate(corner)) {
+			for (Point neighbour : getAdjacentCorners(corner)) {
+				if (Edge.isEdge(corner, neighbour)) {
+					E e = edge.get(new Edge(corner, neighbour));
+					if (e != null) {
+						result.add(e);
+					}
+				}
 			}
 		}
 		return result;
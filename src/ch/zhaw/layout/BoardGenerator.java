@@ -0,0 +1,363 @@
+package ch.zhaw.layout;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import ch.zhaw.catan.BoardLayout;
+import ch.zhaw.catan.Config;
+import ch.zhaw.catan.Config.Land;
+import ch.zhaw.catan.Config.Resource;
+import ch.zhaw.catan.CornerValuation;
+import ch.zhaw.catan.RandomNumberGenerator;
+
+/**
+ * The BoardGenerator class creates random layouts satisfying
+ * {@link LayoutRules}. It uses the fields, lands and dice numbers of the
+ * standard setup: the water stays in place, the lands are shuffled over the
+ * other fields and the dice numbers of the standard setup, without the one of
+ * the desert, are distributed over the fields producing a resource.
+ * <p>
+ * The numbers are placed by a backtracking search with constraint
+ * propagation. Every field keeps the set of numbers that may still be placed
+ * on it as a bit mask. Placing a number removes the numbers the rules forbid
+ * from the masks of the adjacent fields, and the next field is the one with
+ * the fewest numbers left. The pips already placed for every resource are
+ * checked against the bounds of the rules. If the search of one shuffle of
+ * the lands exceeds {@link #NODE_LIMIT} placements, the lands are shuffled
+ * again.
+ * </p>
+ * <p>
+ * Batches of layouts are generated in parallel on a {@link ForkJoinPool}.
+ * Every layout of a batch is derived from its own seed, so a batch does not
+ * depend on the number of threads.
+ * </p>
+ */
+public class BoardGenerator {
+	public static final int NODE_LIMIT = 2000;
+	public static final int MAX_ATTEMPTS = 10000;
+	private static final int LAYOUTS_PER_TASK = 8;
+	private static final int MAX_DICE_NUMBER = 12;
+	private static final int RED_NUMBERS = 1 << 6 | 1 << 8;
+	private static final Resource[] RESOURCES = Resource.values();
+	private final LayoutRules rules;
+	private final ForkJoinPool pool;
+	private final Map<Point, Land> water = new HashMap<>();
+	private final Point[] fields;
+	private final int[][] neighbours;
+	private final List<Land> lands = new ArrayList<>();
+	private final int[] numberCounts = new int[MAX_DICE_NUMBER + 1];
+	private final int[] minPips = new int[RESOURCES.length];
+	private final int[] maxPips = new int[RESOURCES.length];
+	private volatile long lastLayouts;
+	private volatile long lastNanos;
+
+	/**
+	 * Constructor for a generator of {@link LayoutRules#STANDARD} layouts on the
+	 * common {@link ForkJoinPool}
+	 */
+	public BoardGenerator() {
+		this(LayoutRules.STANDARD, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Constructor sets the rules and the pool
+	 *
+	 * @param rules the rules the layouts satisfy
+	 * @param pool  the pool generating batches
+	 */
+	public BoardGenerator(LayoutRules rules, ForkJoinPool pool) {
+		this.rules = rules;
+		this.pool = pool;
+		Map<Point, Integer> standardNumbers = Config.getStandardDiceNumberPlacement();
+		List<Point> landFields = new ArrayList<>();
+		int[] resourceFields = new int[RESOURCES.length];
+		int totalPips = 0;
+		for (Map.Entry<Point, Land> entry : Config.getStandardLandPlacement().entrySet()) {
+			Land land = entry.getValue();
+			if (land == Land.WATER) {
+				water.put(entry.getKey(), land);
+				continue;
+			}
+			landFields.add(entry.getKey());
+			lands.add(land);
+			if (land.getResource() != null) {
+				int diceNumber = standardNumbers.get(entry.getKey());
+				numberCounts[diceNumber]++;
+				resourceFields[land.getResource().ordinal()]++;
+				totalPips += CornerValuation.combinations(diceNumber);
+			}
+		}
+		landFields.sort((a, b) -> a.y != b.y ? Integer.compare(a.y, b.y) : Integer.compare(a.x, b.x));
+		fields = landFields.toArray(new Point[0]);
+		neighbours = new int[fields.length][];
+		for (int field = 0; field < fields.length; field++) {
+			List<Integer> adjacent = new ArrayList<>();
+			for (int other = 0; other < fields.length; other++) {
+				if (LayoutRules.areAdjacent(fields[field], fields[other])) {
+					adjacent.add(other);
+				}
+			}
+			neighbours[field] = adjacent.stream().mapToInt(Integer::intValue).toArray();
+		}
+		int numberedFields = Arrays.stream(resourceFields).sum();
+		for (Resource resource : RESOURCES) {
+			minPips[resource.ordinal()] = rules.minPips(resourceFields[resource.ordinal()], numberedFields, totalPips);
+			maxPips[resource.ordinal()] = rules.maxPips(resourceFields[resource.ordinal()], numberedFields, totalPips);
+		}
+	}
+
+	/**
+	 * Generates one layout
+	 *
+	 * @param rng the random stream of the layout
+	 * @return the layout
+	 * @throws IllegalStateException if no layout satisfying the rules is found
+	 *                               within {@link #MAX_ATTEMPTS} shuffles of the
+	 *                               lands
+	 */
+	public BoardLayout generate(RandomNumberGenerator rng) {
+		Search search = new Search(rng);
+		for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+			if (search.run()) {
+				return search.toLayout();
+			}
+		}
+		throw new IllegalStateException("No layout satisfies the rules");
+	}
+
+	/**
+	 * Generates a batch of layouts in parallel
+	 *
+	 * @param count    the number of layouts
+	 * @param baseSeed the seed of the batch
+	 * @return the layouts, equal for equal seeds
+	 * @throws IllegalStateException if no layout satisfying the rules is found
+	 */
+	public List<BoardLayout> generate(int count, long baseSeed) {
+		BoardLayout[] layouts = new BoardLayout[count];
+		long start = System.nanoTime();
+		pool.invoke(new LayoutRangeTask(layouts, baseSeed, 0, count));
+		lastLayouts = count;
+		lastNanos = System.nanoTime() - start;
+		return Arrays.asList(layouts);
+	}
+
+	/**
+	 * Returns the seed of a layout of a batch
+	 *
+	 * @param baseSeed    the seed of the batch
+	 * @param layoutIndex the index of the layout within the batch
+	 * @return the seed of the layout
+	 */
+	public static long layoutSeed(long baseSeed, long layoutIndex) {
+		return new RandomNumberGenerator(baseSeed, layoutIndex).nextLong();
+	}
+
+	/**
+	 * Returns the number of layouts per second of the last batch
+	 *
+	 * @return the layouts per second, 0 before the first batch
+	 */
+	public double getBoardsPerSecond() {
+		long nanos = lastNanos;
+		return nanos == 0 ? 0 : lastLayouts * 1e9 / nanos;
+	}
+
+	private class LayoutRangeTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private final transient BoardLayout[] layouts;
+		private final long baseSeed;
+		private final int from;
+		private final int to;
+
+		LayoutRangeTask(BoardLayout[] layouts, long baseSeed, int from, int to) {
+			this.layouts = layouts;
+			this.baseSeed = baseSeed;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= LAYOUTS_PER_TASK) {
+				for (int i = from; i < to; i++) {
+					layouts[i] = generate(new RandomNumberGenerator(layoutSeed(baseSeed, i)));
+				}
+			} else {
+				int middle = (from + to) >>> 1;
+				invokeAll(new LayoutRangeTask(layouts, baseSeed, from, middle),
+						new LayoutRangeTask(layouts, baseSeed, middle, to));
+			}
+		}
+	}
+
+	/**
+	 * The state of the search for one layout
+	 */
+	private final class Search {
+		private final RandomNumberGenerator rng;
+		private final List<Land> shuffled = new ArrayList<>(lands);
+		private final int[] resource = new int[fields.length];
+		private final int[] number = new int[fields.length];
+		private final int[] domain = new int[fields.length];
+		private final int[] remaining = new int[MAX_DICE_NUMBER + 1];
+		private final int[] pips = new int[RESOURCES.length];
+		private final int[] open = new int[RESOURCES.length];
+		private int nodes;
+
+		Search(RandomNumberGenerator rng) {
+			this.rng = rng;
+		}
+
+		/**
+		 * Shuffles the lands and searches the numbers
+		 *
+		 * @return true if a layout was found
+		 */
+		boolean run() {
+			rng.shuffle(shuffled);
+			System.arraycopy(numberCounts, 0, remaining, 0, remaining.length);
+			Arrays.fill(pips, 0);
+			Arrays.fill(open, 0);
+			Arrays.fill(number, 0);
+			int all = available();
+			for (int field = 0; field < fields.length; field++) {
+				Resource produced = shuffled.get(field).getResource();
+				resource[field] = produced == null ? -1 : produced.ordinal();
+				domain[field] = all;
+				if (produced != null) {
+					open[produced.ordinal()]++;
+				}
+			}
+			nodes = 0;
+			return assign();
+		}
+
+		private boolean assign() {
+			int field = mostConstrained();
+			if (field < 0) {
+				return true;
+			}
+			int options = domain[field] & available();
+			int[] values = new int[Integer.bitCount(options)];
+			for (int i = 0; i < values.length; i++) {
+				values[i] = Integer.numberOfTrailingZeros(options);
+				options &= options - 1;
+			}
+			for (int i = values.length - 1; i > 0; i--) {
+				int j = rng.nextInt(i + 1);
+				int value = values[i];
+				values[i] = values[j];
+				values[j] = value;
+			}
+			int[] saved = new int[neighbours[field].length];
+			for (int value : values) {
+				if (++nodes > NODE_LIMIT) {
+					return false;
+				}
+				place(field, value, saved);
+				if (isConsistent(field) && assign()) {
+					return true;
+				}
+				remove(field, value, saved);
+			}
+			return false;
+		}
+
+		private int mostConstrained() {
+			int available = available();
+			int best = -1;
+			int bestOptions = Integer.MAX_VALUE;
+			for (int field = 0; field < fields.length; field++) {
+				if (resource[field] >= 0 && number[field] == 0) {
+					int options = Integer.bitCount(domain[field] & available);
+					if (options < bestOptions) {
+						best = field;
+						bestOptions = options;
+					}
+				}
+			}
+			return best;
+		}
+
+		private int available() {
+			int mask = 0;
+			for (int value = 0; value <= MAX_DICE_NUMBER; value++) {
+				if (remaining[value] > 0) {
+					mask |= 1 << value;
+				}
+			}
+			return mask;
+		}
+
+		private void place(int field, int value, int[] saved) {
+			number[field] = value;
+			remaining[value]--;
+			pips[resource[field]] += CornerValuation.combinations(value);
+			open[resource[field]]--;
+			int forbidden = (rules.isSeparateRedNumbers() && LayoutRules.isRed(value) ? RED_NUMBERS : 0)
+					| (rules.isSeparateEqualNumbers() ? 1 << value : 0);
+			for (int i = 0; i < saved.length; i++) {
+				int neighbour = neighbours[field][i];
+				saved[i] = domain[neighbour];
+				domain[neighbour] &= ~forbidden;
+			}
+		}
+
+		private void remove(int field, int value, int[] saved) {
+			for (int i = 0; i < saved.length; i++) {
+				domain[neighbours[field][i]] = saved[i];
+			}
+			open[resource[field]]++;
+			pips[resource[field]] -= CornerValuation.combinations(value);
+			remaining[value]++;
+			number[field] = 0;
+		}
+
+		/**
+		 * Checks that the neighbours of the field have numbers left and that the
+		 * bounds of the pips can still be met
+		 */
+		private boolean isConsistent(int field) {
+			int available = available();
+			for (int neighbour : neighbours[field]) {
+				if (resource[neighbour] >= 0 && number[neighbour] == 0 && (domain[neighbour] & available) == 0) {
+					return false;
+				}
+			}
+			int least = Integer.MAX_VALUE;
+			int most = 0;
+			for (int value = 0; value <= MAX_DICE_NUMBER; value++) {
+				if (remaining[value] > 0) {
+					least = Math.min(least, CornerValuation.combinations(value));
+					most = Math.max(most, CornerValuation.combinations(value));
+				}
+			}
+			for (int r = 0; r < RESOURCES.length; r++) {
+				if (open[r] > 0 ? pips[r] + open[r] * least > maxPips[r] || pips[r] + open[r] * most < minPips[r]
+						: pips[r] > maxPips[r] || pips[r] < minPips[r]) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		BoardLayout toLayout() {
+			Map<Point, Land> layoutLands = new HashMap<>(water);
+			Map<Point, Integer> diceNumbers = new HashMap<>();
+			for (int field = 0; field < fields.length; field++) {
+				layoutLands.put(fields[field], shuffled.get(field));
+				if (number[field] > 0) {
+					diceNumbers.put(fields[field], number[field]);
+				}
+			}
+			return new BoardLayout(layoutLands, diceNumbers);
+		}
+	}
+}
@@ -0,0 +1,251 @@
+package ch.zhaw.layout;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+import ch.zhaw.catan.BoardIndex;
+import ch.zhaw.catan.BoardLayout;
+import ch.zhaw.catan.Config;
+import ch.zhaw.catan.Config.Faction;
+import ch.zhaw.catan.Config.Resource;
+import ch.zhaw.catan.CornerValuation;
+import ch.zhaw.catan.RandomNumberGenerator;
+import ch.zhaw.catan.SiedlerBoard;
+import ch.zhaw.catan.SiedlerGame;
+import ch.zhaw.simulation.GameResult;
+import ch.zhaw.simulation.HeadlessGame;
+import ch.zhaw.simulation.PlayerAgent;
+import ch.zhaw.simulation.RandomAgent;
+
+/**
+ * The FairnessAnalyzer class calculates {@link FairnessReport}s for sequences
+ * of board layouts:
+ * <ul>
+ * <li>the expected production of every resource,</li>
+ * <li>the spread of the best corners: the players take the free corner with
+ * the most pips in turn until every player has two, and the spread is the
+ * difference between the first and the last of them,</li>
+ * <li>the advantage of the first player in short simulated games. The agents
+ * found on the free corner with the most pips and play randomly afterwards. A
+ * game stopped after the turn limit counts for the player leading alone.</li>
+ * </ul>
+ * <p>
+ * The layouts are analysed in parallel, but at most a fixed window of them is
+ * in progress at any time. The reports are passed to the sink on the calling
+ * thread in the order they complete, so sequences of any length can be
+ * analysed with constant memory.
+ * </p>
+ */
+public class FairnessAnalyzer {
+	public static final int DEFAULT_SIMULATIONS = 16;
+	public static final int DEFAULT_SIMULATION_TURNS = 200;
+	private static final int WINDOW_PER_THREAD = 4;
+	private static final Resource[] RESOURCES = Resource.values();
+	private final int numberOfPlayers;
+	private final int simulations;
+	private final int simulationTurns;
+	private final ExecutorService executor;
+	private final int window;
+
+	/**
+	 * Constructor for an analyzer with the default number of simulations on the
+	 * common {@link ForkJoinPool}
+	 *
+	 * @param numberOfPlayers the number of players of the simulated games
+	 */
+	public FairnessAnalyzer(int numberOfPlayers) {
+		this(numberOfPlayers, DEFAULT_SIMULATIONS, DEFAULT_SIMULATION_TURNS, ForkJoinPool.commonPool(),
+				ForkJoinPool.getCommonPoolParallelism() * WINDOW_PER_THREAD);
+	}
+
+	/**
+	 * Constructor sets all parameters of the analysis
+	 *
+	 * @param numberOfPlayers the number of players of the simulated games
+	 * @param simulations     the number of games simulated per layout, 0 to skip
+	 *                        the simulations
+	 * @param simulationTurns the number of turns after which a simulated game is
+	 *                        stopped
+	 * @param executor        the executor analysing the layouts
+	 * @param window          the maximal number of layouts in progress
+	 * @throws IllegalArgumentException if a parameter is out of range
+	 */
+	public FairnessAnalyzer(int numberOfPlayers, int simulations, int simulationTurns, ExecutorService executor,
+			int window) {
+		if (numberOfPlayers < Config.MIN_NUMBER_OF_PLAYERS || numberOfPlayers > Config.MAX_NUMBER_OF_PLAYERS
+				|| simulations < 0 || simulationTurns <= 0 || window <= 0) {
+			throw new IllegalArgumentException("Parameters did not match expectations");
+		}
+		this.numberOfPlayers = numberOfPlayers;
+		this.simulations = simulations;
+		this.simulationTurns = simulationTurns;
+		this.executor = executor;
+		this.window = window;
+	}
+
+	/**
+	 * Analyses a sequence of layouts
+	 *
+	 * @param layouts  the layouts, read on the calling thread
+	 * @param baseSeed the seed of the simulations
+	 * @param sink     receives the reports in the order they complete
+	 * @return the number of analysed layouts
+	 * @throws IllegalStateException if an analysis fails or is interrupted
+	 */
+	public long analyze(Iterator<BoardLayout> layouts, long baseSeed, Consumer<FairnessReport> sink) {
+		CompletionService<FairnessReport> completion = new ExecutorCompletionService<>(executor);
+		long submitted = 0;
+		int pending = 0;
+		try {
+			while (layouts.hasNext() || pending > 0) {
+				if (layouts.hasNext() && pending < window) {
+					BoardLayout layout = layouts.next();
+					long index = submitted++;
+					completion.submit(() -> analyze(layout, index, layoutSeed(baseSeed, index)));
+					pending++;
+				} else {
+					sink.accept(completion.take().get());
+					pending--;
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Analysis was interrupted", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Analysis failed", e.getCause());
+		}
+		return submitted;
+	}
+
+	/**
+	 * Returns the seed of the simulations of a layout of a sequence
+	 *
+	 * @param baseSeed    the seed of the sequence
+	 * @param layoutIndex the index of the layout within the sequence
+	 * @return the seed of the layout
+	 */
+	public static long layoutSeed(long baseSeed, long layoutIndex) {
+		return new RandomNumberGenerator(baseSeed, layoutIndex).nextLong();
+	}
+
+	/**
+	 * Analyses a single layout
+	 *
+	 * @param layout the layout
+	 * @param index  the position of the layout in its sequence
+	 * @param seed   the seed of the simulations
+	 * @return the report
+	 */
+	public FairnessReport analyze(BoardLayout layout, long index, long seed) {
+		RandomNumberGenerator rng = new RandomNumberGenerator(seed);
+		SiedlerBoard board = new SiedlerGame(Config.WIN_POINTS, numberOfPlayers, rng.nextLong(), layout).getBoard();
+		double[] production = new double[RESOURCES.length];
+		for (Map.Entry<Point, Integer> entry : layout.getDiceNumbers().entrySet()) {
+			Resource resource = layout.getLands().get(entry.getKey()).getResource();
+			if (resource != null) {
+				production[resource.ordinal()] += (double) CornerValuation.combinations(entry.getValue())
+						/ CornerValuation.DICE_COMBINATIONS;
+			}
+		}
+		int wins = 0;
+		for (int i = 0; i < simulations; i++) {
+			if (simulate(layout, rng.nextLong()) == Faction.values()[0]) {
+				wins++;
+			}
+		}
+		double advantage = simulations == 0 ? 0 : (double) wins / simulations - 1.0 / numberOfPlayers;
+		return new FairnessReport(index, board.getLayoutHash(), production, bestCornerSpread(board), advantage,
+				simulations);
+	}
+
+	private int bestCornerSpread(SiedlerBoard board) {
+		CornerValuation valuation = board.getCornerValuation();
+		BoardIndex index = valuation.getIndex();
+		Integer[] corners = new Integer[index.getCornerCount()];
+		for (int corner = 0; corner < corners.length; corner++) {
+			corners[corner] = corner;
+		}
+		Arrays.sort(corners, Comparator.comparingInt((Integer corner) -> -valuation.getPips(corner)));
+		boolean[] blocked = new boolean[corners.length];
+		List<Integer> taken = new ArrayList<>();
+		for (int corner : corners) {
+			if (taken.size() == 2 * numberOfPlayers) {
+				break;
+			}
+			if (blocked[corner] || !board.hasLandBorder(index.getCorner(corner))) {
+				continue;
+			}
+			taken.add(valuation.getPips(corner));
+			blocked[corner] = true;
+			for (int edge : index.getCornerEdges(corner)) {
+				blocked[index.getEdgeStart(edge)] = true;
+				blocked[index.getEdgeEnd(edge)] = true;
+			}
+		}
+		return taken.isEmpty() ? 0 : taken.get(0) - taken.get(taken.size() - 1);
+	}
+
+	/**
+	 * Plays a short game
+	 *
+	 * @return the winner or the player leading alone, null if the lead is shared
+	 */
+	private Faction simulate(BoardLayout layout, long seed) {
+		RandomNumberGenerator rng = new RandomNumberGenerator(seed);
+		SiedlerGame game = new SiedlerGame(Config.WIN_POINTS, numberOfPlayers, rng.nextLong(), layout);
+		List<PlayerAgent> agents = new ArrayList<>(numberOfPlayers);
+		for (int i = 0; i < numberOfPlayers; i++) {
+			agents.add(new GreedyFoundingAgent(rng.split()));
+		}
+		GameResult result = new HeadlessGame(game, agents, simulationTurns).play();
+		if (result.getWinner() != null) {
+			return result.getWinner();
+		}
+		Faction leader = null;
+		int most = -1;
+		for (Map.Entry<Faction, Integer> entry : game.calculateWinPoints().entrySet()) {
+			if (entry.getValue() > most) {
+				leader = entry.getKey();
+				most = entry.getValue();
+			} else if (entry.getValue() == most) {
+				leader = null;
+			}
+		}
+		return leader;
+	}
+
+	/**
+	 * An agent founding on the free corner with the most pips and playing
+	 * randomly afterwards
+	 */
+	private static final class GreedyFoundingAgent extends RandomAgent {
+		GreedyFoundingAgent(RandomNumberGenerator rng) {
+			super(rng);
+		}
+
+		@Override
+		public Point selectInitialSettlement(SiedlerGame game) {
+			SiedlerBoard board = game.getBoard();
+			CornerValuation valuation = board.getCornerValuation();
+			Point best = null;
+			for (Point corner : board.getCornerPositions()) {
+				if (board.cornerAvailable(corner) && board.hasLandBorder(corner)
+						&& (best == null || valuation.getPips(corner) > valuation.getPips(best))) {
+					best = corner;
+				}
+			}
+			return best;
+		}
+	}
+}
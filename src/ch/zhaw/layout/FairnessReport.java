@@ -0,0 +1,80 @@
+package ch.zhaw.layout;
+
+import ch.zhaw.catan.Config.Resource;
+
+/**
+ * The FairnessReport class holds the fairness metrics of one board layout
+ * calculated by a {@link FairnessAnalyzer}.
+ */
+public final class FairnessReport {
+	private final long index;
+	private final long layoutHash;
+	private final double[] production;
+	private final int bestCornerSpread;
+	private final double firstPlayerAdvantage;
+	private final int simulations;
+
+	FairnessReport(long index, long layoutHash, double[] production, int bestCornerSpread,
+			double firstPlayerAdvantage, int simulations) {
+		this.index = index;
+		this.layoutHash = layoutHash;
+		this.production = production.clone();
+		this.bestCornerSpread = bestCornerSpread;
+		this.firstPlayerAdvantage = firstPlayerAdvantage;
+		this.simulations = simulations;
+	}
+
+	/**
+	 * Returns the position of the layout in the analysed sequence
+	 *
+	 * @return the index, starting at 0
+	 */
+	public long getIndex() {
+		return index;
+	}
+
+	public long getLayoutHash() {
+		return layoutHash;
+	}
+
+	/**
+	 * Returns the expected number of cards of a resource all fields of the board
+	 * produce per roll of the dice, counting one settlement per field
+	 *
+	 * @param resource the resource
+	 * @return the expected production
+	 */
+	public double getExpectedProduction(Resource resource) {
+		return production[resource.ordinal()];
+	}
+
+	/**
+	 * Returns the difference in pips between the best and the worst of the
+	 * founding corners, if the players take the best free corner in turn
+	 *
+	 * @return the spread in pips
+	 */
+	public int getBestCornerSpread() {
+		return bestCornerSpread;
+	}
+
+	/**
+	 * Returns the share of the simulated games won or led by the first player
+	 * minus the share of a player in a fair game
+	 *
+	 * @return the advantage, between -1 and 1
+	 */
+	public double getFirstPlayerAdvantage() {
+		return firstPlayerAdvantage;
+	}
+
+	public int getSimulations() {
+		return simulations;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%d %016x spread %d advantage %.3f", index, layoutHash, bestCornerSpread,
+				firstPlayerAdvantage);
+	}
+}
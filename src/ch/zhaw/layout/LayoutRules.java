@@ -0,0 +1,143 @@
+package ch.zhaw.layout;
+
+import java.awt.Point;
+import java.util.Map;
+
+import ch.zhaw.catan.BoardLayout;
+import ch.zhaw.catan.Config.Land;
+import ch.zhaw.catan.Config.Resource;
+import ch.zhaw.catan.CornerValuation;
+
+/**
+ * The LayoutRules class defines when a board layout is fair:
+ * <ul>
+ * <li>every field producing a resource has a dice number, the desert and the
+ * water have none,</li>
+ * <li>optionally, no two adjacent fields both have a 6 or an 8,</li>
+ * <li>optionally, no two adjacent fields have the same number,</li>
+ * <li>the pips of every resource differ by at most a tolerance from its share
+ * of all pips, which is proportional to the number of its fields.</li>
+ * </ul>
+ */
+public final class LayoutRules {
+	public static final LayoutRules STANDARD = new LayoutRules(true, true, 2);
+	private static final int[][] NEIGHBOUR_OFFSETS = { { 2, 0 }, { -2, 0 }, { 1, 3 }, { 1, -3 }, { -1, 3 },
+			{ -1, -3 } };
+	private final boolean separateRedNumbers;
+	private final boolean separateEqualNumbers;
+	private final int pipTolerance;
+
+	/**
+	 * Constructor sets the rules
+	 *
+	 * @param separateRedNumbers   true if a 6 or 8 must not be next to a 6 or 8
+	 * @param separateEqualNumbers true if equal numbers must not be adjacent
+	 * @param pipTolerance         the maximal difference of the pips of a
+	 *                             resource from its share
+	 * @throws IllegalArgumentException if the tolerance is negative
+	 */
+	public LayoutRules(boolean separateRedNumbers, boolean separateEqualNumbers, int pipTolerance) {
+		if (pipTolerance < 0) {
+			throw new IllegalArgumentException("Tolerance must not be negative");
+		}
+		this.separateRedNumbers = separateRedNumbers;
+		this.separateEqualNumbers = separateEqualNumbers;
+		this.pipTolerance = pipTolerance;
+	}
+
+	public boolean isSeparateRedNumbers() {
+		return separateRedNumbers;
+	}
+
+	public boolean isSeparateEqualNumbers() {
+		return separateEqualNumbers;
+	}
+
+	public int getPipTolerance() {
+		return pipTolerance;
+	}
+
+	/**
+	 * Checks whether a layout satisfies the rules
+	 *
+	 * @param layout the layout
+	 * @return true if the layout is fair
+	 */
+	public boolean isFair(BoardLayout layout) {
+		Map<Point, Land> lands = layout.getLands();
+		Map<Point, Integer> diceNumbers = layout.getDiceNumbers();
+		int[] fields = new int[Resource.values().length];
+		int[] pips = new int[fields.length];
+		int totalFields = 0;
+		int totalPips = 0;
+		for (Map.Entry<Point, Land> entry : lands.entrySet()) {
+			Resource resource = entry.getValue().getResource();
+			Integer diceNumber = diceNumbers.get(entry.getKey());
+			if ((resource == null) != (diceNumber == null)) {
+				return false;
+			}
+			if (resource == null) {
+				continue;
+			}
+			fields[resource.ordinal()]++;
+			pips[resource.ordinal()] += CornerValuation.combinations(diceNumber);
+			totalFields++;
+			totalPips += CornerValuation.combinations(diceNumber);
+			for (int[] offset : NEIGHBOUR_OFFSETS) {
+				Integer other = diceNumbers.get(new Point(entry.getKey().x + offset[0], entry.getKey().y + offset[1]));
+				if (other != null && conflict(diceNumber, other)) {
+					return false;
+				}
+			}
+		}
+		for (int resource = 0; resource < fields.length; resource++) {
+			if (pips[resource] < minPips(fields[resource], totalFields, totalPips)
+					|| pips[resource] > maxPips(fields[resource], totalFields, totalPips)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Checks whether two numbers may be placed on adjacent fields
+	 *
+	 * @return true if the rules forbid it
+	 */
+	boolean conflict(int diceNumber, int other) {
+		return separateRedNumbers && isRed(diceNumber) && isRed(other)
+				|| separateEqualNumbers && diceNumber == other;
+	}
+
+	static boolean isRed(int diceNumber) {
+		return diceNumber == 6 || diceNumber == 8;
+	}
+
+	/**
+	 * Checks whether two fields share a side
+	 *
+	 * @param field the center of a field
+	 * @param other the center of another field
+	 * @return true if the fields are adjacent
+	 */
+	static boolean areAdjacent(Point field, Point other) {
+		for (int[] offset : NEIGHBOUR_OFFSETS) {
+			if (other.x - field.x == offset[0] && other.y - field.y == offset[1]) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	int minPips(int resourceFields, int totalFields, int totalPips) {
+		return (int) Math.ceil(share(resourceFields, totalFields, totalPips) - pipTolerance);
+	}
+
+	int maxPips(int resourceFields, int totalFields, int totalPips) {
+		return (int) Math.floor(share(resourceFields, totalFields, totalPips) + pipTolerance);
+	}
+
+	private static double share(int resourceFields, int totalFields, int totalPips) {
+		return totalFields == 0 ? 0 : (double) totalPips * resourceFields / totalFields;
+	}
+}
@@ -0,0 +1,89 @@
+package ch.zhaw.opening;
+
+import java.awt.Point;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import ch.zhaw.catan.BoardIndex;
+
+/**
+ * The OpeningBook class holds the ranked founding choices for one board layout
+ * and number of players, as calculated by an {@link OpeningSolver}.
+ * <p>
+ * The choices are looked up by the initial settlements placed so far, in the
+ * order they were placed. The book covers every sequence of placements the
+ * solver considered up to its depth; other sequences return no choices.
+ * </p>
+ */
+public final class OpeningBook {
+	private static final int BITS_PER_PICK = 7;
+	private final long layoutHash;
+	private final int numberOfPlayers;
+	private final BoardIndex index;
+	private final Map<Long, OpeningChoice[]> entries;
+
+	OpeningBook(long layoutHash, int numberOfPlayers, BoardIndex index, Map<Long, OpeningChoice[]> entries) {
+		this.layoutHash = layoutHash;
+		this.numberOfPlayers = numberOfPlayers;
+		this.index = index;
+		this.entries = entries;
+	}
+
+	public long getLayoutHash() {
+		return layoutHash;
+	}
+
+	public int getNumberOfPlayers() {
+		return numberOfPlayers;
+	}
+
+	/**
+	 * Returns the number of placement sequences the book has choices for
+	 *
+	 * @return the number of entries
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Returns the choices for the next initial settlement, best first
+	 *
+	 * @param placed the initial settlements placed so far, in the order of
+	 *               placement
+	 * @return the ranked choices, empty if the sequence is not in the book
+	 */
+	public List<OpeningChoice> getChoices(List<Point> placed) {
+		int[] picks = new int[placed.size()];
+		for (int i = 0; i < picks.length; i++) {
+			picks[i] = index.getCornerId(placed.get(i));
+			if (picks[i] < 0) {
+				return Collections.emptyList();
+			}
+		}
+		OpeningChoice[] choices = entries.get(key(picks, picks.length));
+		return choices == null ? Collections.emptyList() : Collections.unmodifiableList(Arrays.asList(choices));
+	}
+
+	BoardIndex getIndex() {
+		return index;
+	}
+
+	Map<Long, OpeningChoice[]> getEntries() {
+		return entries;
+	}
+
+	/**
+	 * Packs a sequence of corner numbers into a key. Every corner takes seven
+	 * bits, so sequences of up to nine placements are unique.
+	 */
+	static long key(int[] picks, int count) {
+		long key = 0;
+		for (int i = 0; i < count; i++) {
+			key = key << BITS_PER_PICK | picks[i] + 1;
+		}
+		return key;
+	}
+}
@@ -0,0 +1,306 @@
+package ch.zhaw.opening;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import ch.zhaw.catan.BoardIndex;
+import ch.zhaw.catan.SiedlerBoard;
+
+/**
+ * The OpeningBookCache class stores opening books in a file, keyed by the
+ * layout hash of the board ({@link SiedlerBoard#getLayoutHash()}) and the
+ * number of players.
+ * <p>
+ * The file starts with a header (magic number, version) followed by the books,
+ * which are only ever appended. It is mapped into memory, so opening the cache
+ * only scans the record headers, and a book is decoded from the page cache the
+ * first time it is requested. The decoded books are kept in a least recently
+ * used map of limited capacity. If a book is stored twice, the later one wins.
+ * A record cut off by a crash is discarded when the cache is opened.
+ * </p>
+ * <p>
+ * A record holds the layout hash, the number of players and the entries of the
+ * book: the key of the placement sequence and the ranked choices, each as
+ * settlement corner, road end corner (-1 for none) and value. The corners are
+ * numbered by the {@link BoardIndex} of the board, which is the same for every
+ * board with the same layout. The file is only mapped again when a book
+ * appended since the last mapping has to be decoded. All methods may be called
+ * from several threads.
+ * </p>
+ */
+public class OpeningBookCache implements Closeable {
+	public static final int DEFAULT_CAPACITY = 64;
+	static final int MAGIC = 0x4354424b;
+	static final byte VERSION = 2;
+	static final int HEADER_SIZE = 5;
+	private static final int RECORD_HEADER_SIZE = Long.BYTES + 1 + Integer.BYTES;
+	private static final int ENTRY_HEADER_SIZE = Long.BYTES + Short.BYTES;
+	private static final int MAX_CHOICES = 0xffff;
+	private static final int CHOICE_SIZE = 2 * Short.BYTES + Double.BYTES;
+	private final FileChannel channel;
+	private final Map<Key, Integer> offsets = new HashMap<>();
+	private final Map<Key, OpeningBook> books;
+	private MappedByteBuffer data;
+	private long size;
+	private long hits;
+	private long misses;
+
+	private OpeningBookCache(FileChannel channel, int capacity) {
+		this.channel = channel;
+		this.books = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, OpeningBook> eldest) {
+				return size() > capacity;
+			}
+		};
+	}
+
+	/**
+	 * Opens a cache, creating the file if necessary
+	 *
+	 * @param file     the file of the cache
+	 * @param capacity the number of decoded books kept in memory
+	 * @return the cache
+	 * @throws IOException              if the file cannot be read or written or
+	 *                                  is not an opening book cache
+	 * @throws IllegalArgumentException if the capacity is not positive
+	 */
+	public static OpeningBookCache open(Path file, int capacity) throws IOException {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Capacity must be positive");
+		}
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+		OpeningBookCache cache = new OpeningBookCache(channel, capacity);
+		try {
+			cache.load();
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+		return cache;
+	}
+
+	private void load() throws IOException {
+		if (channel.size() == 0) {
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+			header.putInt(MAGIC).put(VERSION).flip();
+			while (header.hasRemaining()) {
+				channel.write(header, header.position());
+			}
+		}
+		remap();
+		if (data.capacity() < HEADER_SIZE || data.getInt(0) != MAGIC || data.get(4) != VERSION) {
+			throw new IOException("Not an opening book cache");
+		}
+		int position = HEADER_SIZE;
+		int length;
+		while ((length = recordLength(position)) > 0) {
+			offsets.put(new Key(data.getLong(position), data.get(position + Long.BYTES)), position);
+			position += length;
+		}
+		size = position;
+		if (channel.size() > size) {
+			channel.truncate(size);
+			remap();
+		}
+	}
+
+	private void remap() throws IOException {
+		data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+	}
+
+	/**
+	 * Returns the length of the complete record at a position
+	 *
+	 * @return the length, 0 if there is no complete record
+	 */
+	private int recordLength(int position) {
+		if (data.capacity() - position < RECORD_HEADER_SIZE) {
+			return 0;
+		}
+		int entries = data.getInt(position + Long.BYTES + 1);
+		if (entries < 0) {
+			return 0;
+		}
+		int end = position + RECORD_HEADER_SIZE;
+		for (int i = 0; i < entries; i++) {
+			if (data.capacity() - end < ENTRY_HEADER_SIZE) {
+				return 0;
+			}
+			end += ENTRY_HEADER_SIZE + (data.getShort(end + Long.BYTES) & MAX_CHOICES) * CHOICE_SIZE;
+			if (end > data.capacity()) {
+				return 0;
+			}
+		}
+		return end - position;
+	}
+
+	/**
+	 * Returns the book of a board
+	 *
+	 * @param board           the board
+	 * @param numberOfPlayers the number of players
+	 * @return the book or null if the cache has no book for the layout
+	 * @throws UncheckedIOException if the file cannot be mapped again
+	 */
+	public synchronized OpeningBook get(SiedlerBoard board, int numberOfPlayers) {
+		Key key = new Key(board.getLayoutHash(), numberOfPlayers);
+		OpeningBook book = books.get(key);
+		if (book == null) {
+			Integer offset = offsets.get(key);
+			if (offset != null) {
+				if (offset >= data.capacity()) {
+					try {
+						remap();
+					} catch (IOException e) {
+						throw new UncheckedIOException("Opening book cache could not be mapped", e);
+					}
+				}
+				book = decode(offset, board.getIndex());
+				books.put(key, book);
+			}
+		}
+		if (book == null) {
+			misses++;
+		} else {
+			hits++;
+		}
+		return book;
+	}
+
+	/**
+	 * Returns the book of a board, solving and storing it if the cache has none
+	 *
+	 * @param board           the board
+	 * @param numberOfPlayers the number of players
+	 * @param solver          the solver for a missing book
+	 * @return the book
+	 * @throws IOException if a new book cannot be stored
+	 */
+	public OpeningBook getOrSolve(SiedlerBoard board, int numberOfPlayers, OpeningSolver solver)
+			throws IOException {
+		OpeningBook book = get(board, numberOfPlayers);
+		if (book == null) {
+			book = solver.solve(board, numberOfPlayers);
+			put(book);
+		}
+		return book;
+	}
+
+	/**
+	 * Appends a book to the file and keeps it in memory
+	 *
+	 * @param book the book
+	 * @throws IOException              if the book cannot be written
+	 * @throws IllegalArgumentException if an entry of the book has more than
+	 *                                  65535 choices
+	 */
+	public synchronized void put(OpeningBook book) throws IOException {
+		ByteBuffer record = encode(book);
+		long position = size;
+		while (record.hasRemaining()) {
+			position += channel.write(record, position);
+		}
+		Key key = new Key(book.getLayoutHash(), book.getNumberOfPlayers());
+		offsets.put(key, (int) size);
+		size = position;
+		books.put(key, book);
+	}
+
+	private static ByteBuffer encode(OpeningBook book) {
+		Map<Long, OpeningChoice[]> entries = book.getEntries();
+		int length = RECORD_HEADER_SIZE;
+		for (OpeningChoice[] choices : entries.values()) {
+			if (choices.length > MAX_CHOICES) {
+				throw new IllegalArgumentException("Too many choices for one entry: " + choices.length);
+			}
+			length += ENTRY_HEADER_SIZE + choices.length * CHOICE_SIZE;
+		}
+		ByteBuffer record = ByteBuffer.allocate(length);
+		record.putLong(book.getLayoutHash()).put((byte) book.getNumberOfPlayers()).putInt(entries.size());
+		for (Map.Entry<Long, OpeningChoice[]> entry : entries.entrySet()) {
+			record.putLong(entry.getKey()).putShort((short) entry.getValue().length);
+			for (OpeningChoice choice : entry.getValue()) {
+				record.putShort((short) choice.getSettlementId()).putShort((short) choice.getRoadEndId())
+						.putDouble(choice.getValue());
+			}
+		}
+		return record.flip();
+	}
+
+	private OpeningBook decode(int offset, BoardIndex index) {
+		int entryCount = data.getInt(offset + Long.BYTES + 1);
+		Map<Long, OpeningChoice[]> entries = new HashMap<>(entryCount * 2);
+		int position = offset + RECORD_HEADER_SIZE;
+		for (int i = 0; i < entryCount; i++) {
+			long key = data.getLong(position);
+			OpeningChoice[] choices = new OpeningChoice[data.getShort(position + Long.BYTES) & MAX_CHOICES];
+			position += ENTRY_HEADER_SIZE;
+			for (int j = 0; j < choices.length; j++) {
+				choices[j] = new OpeningChoice(index, data.getShort(position), data.getShort(position + Short.BYTES),
+						data.getDouble(position + 2 * Short.BYTES));
+				position += CHOICE_SIZE;
+			}
+			entries.put(key, choices);
+		}
+		return new OpeningBook(data.getLong(offset), data.get(offset + Long.BYTES), index, entries);
+	}
+
+	/**
+	 * Returns the number of layouts stored in the file
+	 *
+	 * @return the number of books
+	 */
+	public synchronized int size() {
+		return offsets.size();
+	}
+
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		channel.close();
+	}
+
+	/**
+	 * The layout hash and the number of players a book is stored under
+	 */
+	private static final class Key {
+		private final long layoutHash;
+		private final int numberOfPlayers;
+
+		Key(long layoutHash, int numberOfPlayers) {
+			this.layoutHash = layoutHash;
+			this.numberOfPlayers = numberOfPlayers;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			return other instanceof Key && ((Key) other).layoutHash == layoutHash
+					&& ((Key) other).numberOfPlayers == numberOfPlayers;
+		}
+
+		@Override
+		public int hashCode() {
+			return Long.hashCode(layoutHash) * 31 + numberOfPlayers;
+		}
+	}
+}
@@ -0,0 +1,60 @@
+package ch.zhaw.opening;
+
+import java.awt.Point;
+
+import ch.zhaw.catan.BoardIndex;
+
+/**
+ * The OpeningChoice class is a ranked entry of an {@link OpeningBook}: a corner
+ * for an initial settlement, the end of the road placed next to it and the
+ * score the choosing player ends up with if every player continues with the
+ * best choice.
+ */
+public final class OpeningChoice {
+	private final BoardIndex index;
+	private final int settlement;
+	private final int roadEnd;
+	private final double value;
+
+	OpeningChoice(BoardIndex index, int settlement, int roadEnd, double value) {
+		this.index = index;
+		this.settlement = settlement;
+		this.roadEnd = roadEnd;
+		this.value = value;
+	}
+
+	public Point getSettlement() {
+		return new Point(index.getCorner(settlement));
+	}
+
+	/**
+	 * Returns the end of the road placed next to the settlement
+	 *
+	 * @return the corner or null if no road can be placed next to the settlement
+	 */
+	public Point getRoadEnd() {
+		return roadEnd < 0 ? null : new Point(index.getCorner(roadEnd));
+	}
+
+	public double getValue() {
+		return value;
+	}
+
+	int getSettlementId() {
+		return settlement;
+	}
+
+	int getRoadEndId() {
+		return roadEnd;
+	}
+
+	@Override
+	public String toString() {
+		Point position = index.getCorner(settlement);
+		if (roadEnd < 0) {
+			return position.x + "," + position.y + " no road (" + value + ")";
+		}
+		Point end = index.getCorner(roadEnd);
+		return position.x + "," + position.y + " road " + end.x + "," + end.y + " (" + value + ")";
+	}
+}
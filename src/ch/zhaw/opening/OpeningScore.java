@@ -0,0 +1,51 @@
+package ch.zhaw.opening;
+
+import ch.zhaw.catan.CornerValuation;
+import ch.zhaw.catan.Config.Resource;
+
+/**
+ * An OpeningScore rates the corners a player has chosen in the founding phase.
+ * <p>
+ * A score rates a set: the {@link OpeningSolver} shares the value of two
+ * settlements between both orders, so the order of the corners must not
+ * matter. The beam search of the solver prunes a corner if another available
+ * corner has at least as many pips of every resource; for it, a score must
+ * never decrease when a corner is replaced by one that produces at least as
+ * much of every resource.
+ * </p>
+ */
+@FunctionalInterface
+public interface OpeningScore {
+
+	/**
+	 * Rates the production of all settlements plus a bonus of two pips for every
+	 * resource the player receives at all
+	 */
+	OpeningScore PRODUCTION = new OpeningScore() {
+		private static final int DIVERSITY_BONUS = 2;
+
+		@Override
+		public double score(CornerValuation valuation, int[] corners, int count) {
+			double score = 0;
+			for (Resource resource : Resource.values()) {
+				int pips = 0;
+				for (int i = 0; i < count; i++) {
+					pips += valuation.getPips(corners[i], resource);
+				}
+				score += pips + (pips > 0 ? DIVERSITY_BONUS : 0);
+			}
+			return score;
+		}
+	};
+
+	/**
+	 * Rates a set of corners
+	 *
+	 * @param valuation the valuation of the board
+	 * @param corners   the numbers of the corners in the index of the valuation;
+	 *                  the array is reused by the caller and must not be kept
+	 * @param count     the number of corners in the array
+	 * @return the score, higher is better
+	 */
+	double score(CornerValuation valuation, int[] corners, int count);
+}
@@ -0,0 +1,530 @@
+package ch.zhaw.opening;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import ch.zhaw.catan.BoardIndex;
+import ch.zhaw.catan.Config.Resource;
+import ch.zhaw.catan.CornerValuation;
+import ch.zhaw.catan.SiedlerBoard;
+
+/**
+ * The OpeningSolver class searches the founding phase of a board: every player
+ * places two initial settlements in snake order (first to last, then last to
+ * first) and every player chooses the corner that maximises their own final
+ * {@link OpeningScore}, assuming the others do the same.
+ * <p>
+ * By default the search is exhaustive: every legal corner of every placement
+ * is valued and the book holds the exact values. Only cuts that cannot change
+ * a value are made:
+ * </p>
+ * <ul>
+ * <li>The second settlement of a player is its last one and the scores of the
+ * others do not affect its own, so its value is the score of its two corners
+ * whatever happens afterwards. Every available corner is valued that way,
+ * only the placements after the best one are searched. Equal values are
+ * decided by the score of the corner alone.</li>
+ * <li>The last player places both settlements in a row. If the placements
+ * after that pair are not recorded in the book, the rest of the tree is
+ * searched once per unordered pair and the value is shared by both orders, so
+ * both orders are recorded with the value of the pair.</li>
+ * </ul>
+ * <p>
+ * A beam search can be chosen instead, see
+ * {@link #OpeningSolver(OpeningScore, int, ForkJoinPool)}. It searches at most
+ * a given number of corners for the first settlements, the best ones by the
+ * score of the corner alone, and skips a corner if another available corner
+ * has at least as many pips of every resource (if both are equal, the one with
+ * the lower number is kept). Its values are the best replies within the beam
+ * and not proven optimal.
+ * </p>
+ * <p>
+ * The first placements are split into tasks of a {@link ForkJoinPool}. The
+ * ranked choices of every position searched within the depth of the book are
+ * collected in an {@link OpeningBook}.
+ * </p>
+ */
+public class OpeningSolver {
+	private static final int EXHAUSTIVE = Integer.MAX_VALUE;
+	private static final int FORK_DEPTH = 2;
+	private static final int SETTLEMENTS_PER_PLAYER = 2;
+	private final OpeningScore score;
+	private final int maxCandidates;
+	private final ForkJoinPool pool;
+
+	/**
+	 * Constructor for an exhaustive solver using {@link OpeningScore#PRODUCTION}
+	 * on the common {@link ForkJoinPool}
+	 */
+	public OpeningSolver() {
+		this(OpeningScore.PRODUCTION, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Constructor for an exhaustive solver
+	 *
+	 * @param score the score the players maximise
+	 * @param pool  the pool executing the search
+	 */
+	public OpeningSolver(OpeningScore score, ForkJoinPool pool) {
+		this.score = score;
+		this.maxCandidates = EXHAUSTIVE;
+		this.pool = pool;
+	}
+
+	/**
+	 * Constructor for a beam search, which only searches the best corners for
+	 * the first settlement of every player and skips dominated ones
+	 *
+	 * @param score         the score the players maximise
+	 * @param maxCandidates the number of corners searched per first settlement
+	 * @param pool          the pool executing the search
+	 * @throws IllegalArgumentException if maxCandidates is not positive
+	 */
+	public OpeningSolver(OpeningScore score, int maxCandidates, ForkJoinPool pool) {
+		if (maxCandidates <= 0) {
+			throw new IllegalArgumentException("At least one candidate must be searched");
+		}
+		this.score = score;
+		this.maxCandidates = maxCandidates;
+		this.pool = pool;
+	}
+
+	/**
+	 * Solves the founding phase and keeps the choices of the first round
+	 *
+	 * @param board           the board, settlements already on it are respected
+	 * @param numberOfPlayers the number of players
+	 * @return the opening book
+	 */
+	public OpeningBook solve(SiedlerBoard board, int numberOfPlayers) {
+		return solve(board, numberOfPlayers, numberOfPlayers);
+	}
+
+	/**
+	 * Solves the founding phase
+	 *
+	 * @param board           the board, settlements already on it are respected
+	 * @param numberOfPlayers the number of players
+	 * @param bookDepth       the number of placements after which no more
+	 *                        choices are recorded in the book
+	 * @return the opening book
+	 */
+	public OpeningBook solve(SiedlerBoard board, int numberOfPlayers, int bookDepth) {
+		Problem problem = new Problem(board, numberOfPlayers, bookDepth);
+		pool.invoke(new PlacementTask(problem, problem.initialState(board), 0));
+		return new OpeningBook(board.getLayoutHash(), numberOfPlayers, problem.index, problem.book);
+	}
+
+	/**
+	 * The immutable data of a search shared by all tasks
+	 */
+	private class Problem {
+		private final CornerValuation valuation;
+		private final BoardIndex index;
+		private final int numberOfPlayers;
+		private final int placements;
+		private final int bookDepth;
+		private final boolean[] eligible;
+		private final int[][] neighbours;
+		private final int[][] dominators;
+		private final double[] cornerScores;
+		private final double[][] pairScores;
+		private final int[] ranking;
+		private final int[][] replyOrders;
+		private final Map<Long, OpeningChoice[]> book = new ConcurrentHashMap<>();
+
+		Problem(SiedlerBoard board, int numberOfPlayers, int bookDepth) {
+			this.valuation = board.getCornerValuation();
+			this.index = valuation.getIndex();
+			this.numberOfPlayers = numberOfPlayers;
+			this.placements = numberOfPlayers * SETTLEMENTS_PER_PLAYER;
+			this.bookDepth = bookDepth;
+			int corners = index.getCornerCount();
+			eligible = new boolean[corners];
+			neighbours = new int[corners][];
+			cornerScores = new double[corners];
+			int[] single = new int[1];
+			for (int corner = 0; corner < corners; corner++) {
+				eligible[corner] = board.hasLandBorder(index.getCorner(corner));
+				int[] edges = index.getCornerEdges(corner);
+				neighbours[corner] = new int[edges.length];
+				for (int i = 0; i < edges.length; i++) {
+					int start = index.getEdgeStart(edges[i]);
+					neighbours[corner][i] = start == corner ? index.getEdgeEnd(edges[i]) : start;
+				}
+				single[0] = corner;
+				cornerScores[corner] = score.score(valuation, single, 1);
+			}
+			dominators = new int[corners][];
+			for (int corner = 0; corner < corners; corner++) {
+				List<Integer> list = new ArrayList<>();
+				for (int other = 0; other < corners; other++) {
+					if (other != corner && eligible[other] && dominates(other, corner)) {
+						list.add(other);
+					}
+				}
+				dominators[corner] = list.stream().mapToInt(Integer::intValue).toArray();
+			}
+			Integer[] order = new Integer[corners];
+			for (int corner = 0; corner < corners; corner++) {
+				order[corner] = corner;
+			}
+			Arrays.sort(order, Comparator.comparingDouble((Integer corner) -> -cornerScores[corner]));
+			ranking = Arrays.stream(order).mapToInt(Integer::intValue).toArray();
+			pairScores = new double[corners][corners];
+			replyOrders = new int[corners][];
+			int[] pair = new int[SETTLEMENTS_PER_PLAYER];
+			for (int first = 0; first < corners; first++) {
+				if (!eligible[first]) {
+					continue;
+				}
+				pair[0] = first;
+				List<Integer> replies = new ArrayList<>();
+				for (int corner : ranking) {
+					if (eligible[corner] && corner != first) {
+						pair[1] = corner;
+						pairScores[first][corner] = score.score(valuation, pair, SETTLEMENTS_PER_PLAYER);
+						replies.add(corner);
+					}
+				}
+				double[] firstScores = pairScores[first];
+				replies.sort(Comparator.comparingDouble((Integer corner) -> -firstScores[corner]));
+				replyOrders[first] = replies.stream().mapToInt(Integer::intValue).toArray();
+			}
+		}
+
+		private boolean dominates(int corner, int other) {
+			boolean equal = true;
+			for (Resource resource : Resource.values()) {
+				int pips = valuation.getPips(corner, resource);
+				int otherPips = valuation.getPips(other, resource);
+				if (pips < otherPips) {
+					return false;
+				}
+				equal &= pips == otherPips;
+			}
+			return !equal || corner < other;
+		}
+
+		State initialState(SiedlerBoard board) {
+			State state = new State(index.getCornerCount(), placements);
+			for (int corner = 0; corner < index.getCornerCount(); corner++) {
+				if (board.getCorner(index.getCorner(corner)) != null) {
+					block(state, corner, 1);
+				}
+			}
+			return state;
+		}
+
+		int player(int placement) {
+			return placement < numberOfPlayers ? placement : placements - 1 - placement;
+		}
+
+		void place(State state, int placement, int corner) {
+			state.picks[placement] = corner;
+			block(state, corner, 1);
+		}
+
+		void remove(State state, int corner) {
+			block(state, corner, -1);
+		}
+
+		private void block(State state, int corner, int delta) {
+			state.blocked[corner] += delta;
+			for (int neighbour : neighbours[corner]) {
+				state.blocked[neighbour] += delta;
+			}
+		}
+
+		private boolean isCandidate(State state, int corner) {
+			return eligible[corner] && state.blocked[corner] == 0;
+		}
+
+		/**
+		 * Returns the corners searched for a first settlement, best first by their
+		 * own score
+		 */
+		int[] candidates(State state, int placement) {
+			boolean beam = maxCandidates != EXHAUSTIVE;
+			int[] candidates = new int[Math.min(maxCandidates, ranking.length)];
+			int count = 0;
+			for (int i = 0; i < ranking.length && count < candidates.length; i++) {
+				int corner = ranking[i];
+				if (isCandidate(state, corner) && !(beam && isDominated(state, corner))) {
+					candidates[count++] = corner;
+				}
+			}
+			return Arrays.copyOf(candidates, count);
+		}
+
+		/**
+		 * Returns the available corners for the second settlement of a player,
+		 * best first by the score of both settlements
+		 */
+		private int[] replies(State state, int first) {
+			int[] order = first < 0 ? ranking : replyOrders[first];
+			int[] replies = new int[order.length];
+			int count = 0;
+			for (int corner : order) {
+				if (isCandidate(state, corner)) {
+					replies[count++] = corner;
+				}
+			}
+			return Arrays.copyOf(replies, count);
+		}
+
+		private int bestReply(State state, int first) {
+			for (int corner : first < 0 ? ranking : replyOrders[first]) {
+				if (isCandidate(state, corner)) {
+					return corner;
+				}
+			}
+			return -1;
+		}
+
+		private double replyValue(int first, int corner) {
+			return first < 0 ? cornerScores[corner] : pairScores[first][corner];
+		}
+
+		private boolean isDominated(State state, int corner) {
+			for (int dominator : dominators[corner]) {
+				if (isCandidate(state, dominator)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		double[] search(State state, int placement) {
+			if (placement == placements) {
+				return scores(state);
+			}
+			if (placement >= numberOfPlayers) {
+				return searchReply(state, placement);
+			}
+			int[] candidates = candidates(state, placement);
+			if (candidates.length == 0) {
+				return search(state, placement + 1);
+			}
+			sharePairs(state, placement);
+			double[][] values = new double[candidates.length][];
+			for (int i = 0; i < candidates.length; i++) {
+				place(state, placement, candidates[i]);
+				values[i] = search(state, placement + 1);
+				remove(state, candidates[i]);
+			}
+			return best(state, placement, candidates, values);
+		}
+
+		/**
+		 * Searches the second settlement of a player. Only the placements after
+		 * the best corner are searched, the value of the other corners for the
+		 * player is the score of both settlements.
+		 */
+		private double[] searchReply(State state, int placement) {
+			int first = state.picks[player(placement)];
+			int[] candidates = placement < bookDepth ? replies(state, first) : null;
+			int best = candidates == null ? bestReply(state, first) : candidates.length == 0 ? -1 : candidates[0];
+			if (best < 0) {
+				return search(state, placement + 1);
+			}
+			double[] values = pairValue(state, placement, best);
+			if (values == null) {
+				place(state, placement, best);
+				values = search(state, placement + 1);
+				remove(state, best);
+				storePair(state, placement, best, values);
+			}
+			if (candidates != null) {
+				double[] replyValues = new double[candidates.length];
+				for (int i = 0; i < candidates.length; i++) {
+					replyValues[i] = replyValue(first, candidates[i]);
+				}
+				record(state, placement, candidates, replyValues);
+			}
+			return values;
+		}
+
+		/**
+		 * Starts sharing the values of the pairs of the last player before its
+		 * first placement, if nothing after the pair is recorded in the book
+		 */
+		void sharePairs(State state, int placement) {
+			if (placement == numberOfPlayers - 1) {
+				state.pairValues = placement + 2 >= bookDepth ? new ConcurrentHashMap<>() : null;
+			}
+		}
+
+		private double[] pairValue(State state, int placement, int corner) {
+			if (placement != numberOfPlayers || state.pairValues == null || state.picks[placement - 1] < 0) {
+				return null;
+			}
+			return state.pairValues.get(pairKey(state.picks[placement - 1], corner));
+		}
+
+		private void storePair(State state, int placement, int corner, double[] values) {
+			if (placement == numberOfPlayers && state.pairValues != null && state.picks[placement - 1] >= 0) {
+				state.pairValues.put(pairKey(state.picks[placement - 1], corner), values);
+			}
+		}
+
+		private long pairKey(int corner, int other) {
+			return (long) Math.min(corner, other) << Integer.SIZE | Math.max(corner, other);
+		}
+
+		double[] best(State state, int placement, int[] candidates, double[][] values) {
+			int player = player(placement);
+			int best = 0;
+			for (int i = 1; i < values.length; i++) {
+				if (values[i][player] > values[best][player]) {
+					best = i;
+				}
+			}
+			if (placement < bookDepth) {
+				double[] playerValues = new double[values.length];
+				for (int i = 0; i < values.length; i++) {
+					playerValues[i] = values[i][player];
+				}
+				record(state, placement, candidates, playerValues);
+			}
+			return values[best];
+		}
+
+		private void record(State state, int placement, int[] candidates, double[] values) {
+			OpeningChoice[] choices = new OpeningChoice[candidates.length];
+			for (int i = 0; i < candidates.length; i++) {
+				place(state, placement, candidates[i]);
+				choices[i] = new OpeningChoice(index, candidates[i], roadEnd(state, candidates[i]), values[i]);
+				remove(state, candidates[i]);
+			}
+			Arrays.sort(choices, Comparator.comparingDouble(choice -> -choice.getValue()));
+			book.put(OpeningBook.key(state.picks, placement), choices);
+		}
+
+		/**
+		 * Leads the road towards the neighbour from which the best free corner can
+		 * be reached
+		 */
+		private int roadEnd(State state, int corner) {
+			int best = -1;
+			double bestScore = Double.NEGATIVE_INFINITY;
+			for (int end : neighbours[corner]) {
+				if (!eligible[end]) {
+					continue;
+				}
+				double endScore = -1;
+				for (int next : neighbours[end]) {
+					if (next != corner && eligible[next] && state.blocked[next] == 0) {
+						endScore = Math.max(endScore, cornerScores[next]);
+					}
+				}
+				if (best < 0 || endScore > bestScore) {
+					best = end;
+					bestScore = endScore;
+				}
+			}
+			return best;
+		}
+
+		private double[] scores(State state) {
+			double[] scores = new double[numberOfPlayers];
+			for (int player = 0; player < numberOfPlayers; player++) {
+				state.scratch[0] = state.picks[player];
+				state.scratch[1] = state.picks[placements - 1 - player];
+				int count = 0;
+				for (int corner : state.scratch) {
+					if (corner >= 0) {
+						state.scratch[count++] = corner;
+					}
+				}
+				scores[player] = score.score(valuation, state.scratch, count);
+			}
+			return scores;
+		}
+	}
+
+	/**
+	 * The placements of a path through the tree. Every task works on its own
+	 * state.
+	 */
+	private static final class State {
+		private final int[] blocked;
+		private final int[] picks;
+		private final int[] scratch = new int[SETTLEMENTS_PER_PLAYER];
+		private Map<Long, double[]> pairValues;
+
+		State(int corners, int placements) {
+			blocked = new int[corners];
+			picks = new int[placements];
+			Arrays.fill(picks, -1);
+		}
+
+		State(State other) {
+			blocked = other.blocked.clone();
+			picks = other.picks.clone();
+			pairValues = other.pairValues;
+		}
+	}
+
+	private class PlacementTask extends RecursiveTask<double[]> {
+		private static final long serialVersionUID = 1L;
+		private final transient Problem problem;
+		private final transient State state;
+		private final int placement;
+
+		PlacementTask(Problem problem, State state, int placement) {
+			this.problem = problem;
+			this.state = state;
+			this.placement = placement;
+		}
+
+		@Override
+		protected double[] compute() {
+			if (placement >= FORK_DEPTH || placement >= problem.numberOfPlayers) {
+				return problem.search(state, placement);
+			}
+			int[] candidates = problem.candidates(state, placement);
+			if (candidates.length == 0) {
+				return new PlacementTask(problem, state, placement + 1).compute();
+			}
+			problem.sharePairs(state, placement);
+			List<PlacementTask> tasks = new ArrayList<>(candidates.length);
+			for (int corner : candidates) {
+				State child = new State(state);
+				problem.place(child, placement, corner);
+				tasks.add(new PlacementTask(problem, child, placement + 1));
+			}
+			invokeAll(tasks);
+			double[][] values = new double[candidates.length][];
+			for (int i = 0; i < values.length; i++) {
+				values[i] = tasks.get(i).join();
+			}
+			return problem.best(state, placement, candidates, values);
+		}
+	}
+
+	/**
+	 * Returns the corners of the best line of a book: the settlement every player
+	 * places if all players follow the book, as far as the book reaches
+	 *
+	 * @param book the book
+	 * @return the settlements in the order of placement
+	 */
+	public static List<Point> principalLine(OpeningBook book) {
+		List<Point> line = new ArrayList<>();
+		List<OpeningChoice> choices = book.getChoices(line);
+		while (!choices.isEmpty()) {
+			line.add(choices.get(0).getSettlement());
+			choices = book.getChoices(line);
+		}
+		return line;
+	}
+}
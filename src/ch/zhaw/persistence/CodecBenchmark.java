@@ -0,0 +1,86 @@
+package ch.zhaw.persistence;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import ch.zhaw.catan.Config;
+import ch.zhaw.catan.GameEvent;
+import ch.zhaw.catan.GameSnapshot;
+import ch.zhaw.catan.RandomNumberGenerator;
+import ch.zhaw.catan.SiedlerGame;
+import ch.zhaw.simulation.HeadlessGame;
+import ch.zhaw.simulation.PlayerAgent;
+import ch.zhaw.simulation.RandomAgent;
+
+/**
+ * The CodecBenchmark class measures the size and the speed of the
+ * {@link GameStateCodec} on the snapshots taken at every change of player in
+ * games of random agents.
+ */
+public final class CodecBenchmark {
+	private static final int GAMES = 50;
+	private static final int ROUNDS = 20;
+
+	private CodecBenchmark() {
+	}
+
+	/**
+	 * Runs the benchmark and prints the results
+	 *
+	 * @param args the number of games, optional
+	 */
+	public static void main(String[] args) {
+		int games = args.length > 0 ? Integer.parseInt(args[0]) : GAMES;
+		List<GameSnapshot> snapshots = collectSnapshots(games);
+		GameStateCodec codec = GameStateCodec.standard();
+		ByteBuffer buffer = ByteBuffer.allocate(codec.getMaxEncodedSize(Config.MAX_NUMBER_OF_PLAYERS));
+		long totalSize = 0;
+		int maxSize = 0;
+		for (GameSnapshot snapshot : snapshots) {
+			buffer.clear();
+			codec.encode(snapshot, buffer);
+			totalSize += buffer.position();
+			maxSize = Math.max(maxSize, buffer.position());
+		}
+		long encodeTime = 0;
+		long decodeTime = 0;
+		long checksum = 0;
+		for (int round = 0; round < ROUNDS; round++) {
+			for (GameSnapshot snapshot : snapshots) {
+				long start = System.nanoTime();
+				buffer.clear();
+				codec.encode(snapshot, buffer);
+				long encoded = System.nanoTime();
+				buffer.flip();
+				checksum += codec.decode(buffer).getCornerCount();
+				decodeTime += System.nanoTime() - encoded;
+				encodeTime += encoded - start;
+			}
+		}
+		long operations = (long) ROUNDS * snapshots.size();
+		System.out.printf("%d snapshots, %.1f bytes average, %d bytes maximum%n", snapshots.size(),
+				(double) totalSize / snapshots.size(), maxSize);
+		System.out.printf("encode %d ns, decode %d ns per snapshot (checksum %d)%n", encodeTime / operations,
+				decodeTime / operations, checksum);
+	}
+
+	private static List<GameSnapshot> collectSnapshots(int games) {
+		List<GameSnapshot> snapshots = new ArrayList<>();
+		RandomNumberGenerator rng = new RandomNumberGenerator(0);
+		for (int i = 0; i < games; i++) {
+			SiedlerGame game = new SiedlerGame(Config.WIN_POINTS, Config.MAX_NUMBER_OF_PLAYERS, rng.nextLong());
+			List<PlayerAgent> agents = new ArrayList<>();
+			for (int player = 0; player < game.getNumberOfPlayers(); player++) {
+				agents.add(new RandomAgent(rng.split()));
+			}
+			game.addEventListener(event -> {
+				if (event.getType() == GameEvent.Type.NEXT_PLAYER) {
+					snapshots.add(game.snapshot());
+				}
+			});
+			new HeadlessGame(game, agents, HeadlessGame.DEFAULT_MAX_TURNS).play();
+		}
+		return snapshots;
+	}
+}
@@ -0,0 +1,221 @@
+package ch.zhaw.persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+
+import ch.zhaw.catan.GameEvent;
+import ch.zhaw.catan.GameEventListener;
+import ch.zhaw.catan.GameSnapshot;
+import ch.zhaw.catan.SiedlerGame;
+
+/**
+ * The GameJournal class keeps a game recoverable with a bounded amount of
+ * work. It records the events of the game in {@link GameLog} segments and
+ * periodically takes a {@link GameSnapshot}.
+ * <p>
+ * Taking a snapshot only copies the state on the game thread and starts a new
+ * log segment. Writing the snapshot and deleting the snapshots and segments it
+ * replaces is done on a background executor. The directory of a journal
+ * contains the files {@code snapshot-N} and {@code log-N}, where segment N holds
+ * the events after snapshot N. Segments are only deleted once a later snapshot
+ * has been written, so recovery always finds the newest snapshot together with
+ * all segments following it.
+ * </p>
+ */
+public class GameJournal implements GameEventListener, Closeable {
+	public static final int DEFAULT_SNAPSHOT_INTERVAL = 512;
+	private static final String SNAPSHOT_PREFIX = "snapshot-";
+	private static final String LOG_PREFIX = "log-";
+	private final Path directory;
+	private final SiedlerGame game;
+	private final int groupCommitSize;
+	private final int snapshotInterval;
+	private final Executor executor;
+	private GameLog log;
+	private int sequence;
+	private int eventsSinceSnapshot;
+	private boolean snapshotDue;
+	private CompletableFuture<Void> pendingSnapshots = CompletableFuture.completedFuture(null);
+
+	private GameJournal(Path directory, SiedlerGame game, GameLog log, int sequence, int groupCommitSize,
+			int snapshotInterval, Executor executor) {
+		this.directory = directory;
+		this.game = game;
+		this.log = log;
+		this.sequence = sequence;
+		this.groupCommitSize = groupCommitSize;
+		this.snapshotInterval = snapshotInterval;
+		this.executor = executor;
+		game.addEventListener(this);
+	}
+
+	/**
+	 * Creates a journal for a game that has not been played yet
+	 *
+	 * @param directory        the directory, must not contain another journal
+	 * @param game             the game
+	 * @param groupCommitSize  the number of events per forced write
+	 * @param snapshotInterval the number of events after which a snapshot is
+	 *                         taken at the next change of player
+	 * @param executor         the executor writing the snapshots
+	 * @return the journal
+	 * @throws IOException if the files cannot be written
+	 */
+	public static GameJournal create(Path directory, SiedlerGame game, int groupCommitSize, int snapshotInterval,
+			Executor executor) throws IOException {
+		Files.createDirectories(directory);
+		GameLog log = GameLog.createSegment(directory.resolve(LOG_PREFIX + 0), game, groupCommitSize);
+		return new GameJournal(directory, game, log, 0, groupCommitSize, snapshotInterval, executor);
+	}
+
+	/**
+	 * Restores the game of a journal from its newest snapshot and the log
+	 * segments following it and continues recording
+	 *
+	 * @param directory        the directory of the journal
+	 * @param groupCommitSize  the number of events per forced write
+	 * @param snapshotInterval the number of events after which a snapshot is
+	 *                         taken at the next change of player
+	 * @param executor         the executor writing the snapshots
+	 * @return the journal, see {@link #getGame()} for the restored game
+	 * @throws IOException if the files cannot be read or do not match
+	 */
+	public static GameJournal recover(Path directory, int groupCommitSize, int snapshotInterval, Executor executor)
+			throws IOException {
+		List<Integer> snapshots = listSequences(directory, SNAPSHOT_PREFIX);
+		List<Integer> logs = listSequences(directory, LOG_PREFIX);
+		int start = snapshots.isEmpty() ? 0 : snapshots.get(snapshots.size() - 1);
+		SiedlerGame game = snapshots.isEmpty() ? null
+				: SiedlerGame.restore(SnapshotFile.read(directory.resolve(SNAPSHOT_PREFIX + start)));
+		logs.removeIf(sequence -> sequence < start);
+		if (logs.isEmpty() || logs.get(0) != start) {
+			throw new IOException("Log segment " + start + " is missing");
+		}
+		for (int i = 0; i < logs.size() - 1; i++) {
+			game = GameLog.replay(directory.resolve(LOG_PREFIX + logs.get(i)), game);
+		}
+		int last = logs.get(logs.size() - 1);
+		Path lastFile = directory.resolve(LOG_PREFIX + last);
+		GameLog log = game == null ? GameLog.recover(lastFile, groupCommitSize)
+				: GameLog.recoverSegment(lastFile, game, groupCommitSize);
+		if (game == null) {
+			game = log.getGame();
+			game.removeEventListener(log);
+		}
+		deleteBefore(directory, start);
+		return new GameJournal(directory, game, log, last, groupCommitSize, snapshotInterval, executor);
+	}
+
+	private static List<Integer> listSequences(Path directory, String prefix) throws IOException {
+		List<Integer> sequences = new ArrayList<>();
+		try (Stream<Path> files = Files.list(directory)) {
+			files.map(file -> file.getFileName().toString())
+					.filter(name -> name.startsWith(prefix) && name.substring(prefix.length()).matches("\\d+"))
+					.forEach(name -> sequences.add(Integer.valueOf(name.substring(prefix.length()))));
+		}
+		sequences.sort(null);
+		return sequences;
+	}
+
+	private static void deleteBefore(Path directory, int sequence) throws IOException {
+		for (int older : listSequences(directory, SNAPSHOT_PREFIX)) {
+			if (older < sequence) {
+				Files.deleteIfExists(directory.resolve(SNAPSHOT_PREFIX + older));
+			}
+		}
+		for (int older : listSequences(directory, LOG_PREFIX)) {
+			if (older < sequence) {
+				Files.deleteIfExists(directory.resolve(LOG_PREFIX + older));
+			}
+		}
+	}
+
+	public SiedlerGame getGame() {
+		return game;
+	}
+
+	/**
+	 * Returns the number of the current log segment, which equals the number of
+	 * the latest snapshot
+	 *
+	 * @return the sequence number
+	 */
+	public int getSequence() {
+		return sequence;
+	}
+
+	@Override
+	public void onEvent(GameEvent event) {
+		log.onEvent(event);
+		if (++eventsSinceSnapshot >= snapshotInterval) {
+			snapshotDue = true;
+		}
+		if (snapshotDue && event.getType() == GameEvent.Type.NEXT_PLAYER) {
+			try {
+				snapshot();
+			} catch (IOException e) {
+				throw new UncheckedIOException("Snapshot could not be taken", e);
+			}
+		}
+	}
+
+	/**
+	 * Takes a snapshot of the game and starts a new log segment. The snapshot is
+	 * written in the background, afterwards the older files are deleted. Must be
+	 * called on the game thread between two actions.
+	 *
+	 * @return a future completing once the snapshot has been written
+	 * @throws IOException if the new log segment cannot be created
+	 */
+	public CompletableFuture<Void> snapshot() throws IOException {
+		GameSnapshot snapshot = game.snapshot();
+		log.close();
+		int snapshotSequence = ++sequence;
+		log = GameLog.createSegment(directory.resolve(LOG_PREFIX + snapshotSequence), game, groupCommitSize);
+		eventsSinceSnapshot = 0;
+		snapshotDue = false;
+		pendingSnapshots = pendingSnapshots.handle((previous, failure) -> previous).thenRunAsync(() -> {
+			try {
+				SnapshotFile.write(directory.resolve(SNAPSHOT_PREFIX + snapshotSequence), snapshot);
+				deleteBefore(directory, snapshotSequence);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}, executor);
+		return pendingSnapshots;
+	}
+
+	/**
+	 * Writes the buffered events of the current segment and forces them to disk
+	 *
+	 * @throws IOException if the events cannot be written
+	 */
+	public void commit() throws IOException {
+		log.commit();
+	}
+
+	/**
+	 * Stops recording, closes the current segment and waits for pending
+	 * snapshots. A failed snapshot leaves the older files in place, only the
+	 * failure of the last one is reported.
+	 */
+	@Override
+	public void close() throws IOException {
+		game.removeEventListener(this);
+		log.close();
+		try {
+			pendingSnapshots.join();
+		} catch (CompletionException e) {
+			throw new IOException("Snapshot could not be written", e.getCause());
+		}
+	}
+}
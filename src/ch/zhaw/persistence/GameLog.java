@@ -0,0 +1,320 @@
+package ch.zhaw.persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import ch.zhaw.catan.BoardLayout;
+import ch.zhaw.catan.GameEvent;
+import ch.zhaw.catan.GameEventListener;
+import ch.zhaw.catan.SiedlerGame;
+
+/**
+ * The GameLog class appends the {@link GameEvent}s of a single game to a binary
+ * file, from which the game can be restored by replaying the events.
+ * <p>
+ * The file starts with a header (magic number, version, seed, win points,
+ * number of players, layout of the board, see
+ * {@link BoardLayout#writeTo(ByteBuffer)}) followed by the encoded events. Events are collected in a
+ * buffer and written with a {@link FileChannel}. The channel is forced to disk
+ * once per group of {@link #getGroupCommitSize()} events and on
+ * {@link #commit()}, so a crash loses at most the last uncommitted group. A
+ * partially written event at the end of the file is ignored and cut off when
+ * the log is recovered.
+ * </p>
+ */
+public class GameLog implements GameEventListener, Closeable {
+	public static final int DEFAULT_GROUP_COMMIT_SIZE = 64;
+	static final int MAGIC = 0x43544c47;
+	static final byte VERSION = 2;
+	static final byte VERSION_WITHOUT_LAYOUT = 1;
+	static final int HEADER_SIZE = 15;
+	private static final int BUFFER_SIZE = 8192;
+	private final FileChannel channel;
+	private final SiedlerGame game;
+	private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+	private final int groupCommitSize;
+	private int uncommittedEvents;
+
+	private GameLog(FileChannel channel, SiedlerGame game, int groupCommitSize, boolean listening) {
+		this.channel = channel;
+		this.game = game;
+		this.groupCommitSize = groupCommitSize;
+		if (listening) {
+			game.addEventListener(this);
+		}
+	}
+
+	/**
+	 * Creates a new log for a game that has not been played yet and starts
+	 * recording its events
+	 *
+	 * @param file            the file, an existing file is overwritten
+	 * @param game            the game
+	 * @param groupCommitSize the number of events per forced write
+	 * @return the log
+	 * @throws IOException if the file cannot be written
+	 */
+	public static GameLog create(Path file, SiedlerGame game, int groupCommitSize) throws IOException {
+		return new GameLog(openNew(file, game), game, groupCommitSize, true);
+	}
+
+	/**
+	 * Creates a log that is fed by a {@link GameJournal} instead of listening to
+	 * the game itself
+	 */
+	static GameLog createSegment(Path file, SiedlerGame game, int groupCommitSize) throws IOException {
+		return new GameLog(openNew(file, game), game, groupCommitSize, false);
+	}
+
+	private static FileChannel openNew(Path file, SiedlerGame game) throws IOException {
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE + game.getLayout().encodedSize());
+		header.putInt(MAGIC).put(VERSION).putLong(game.getSeed()).put((byte) game.getWinPoints())
+				.put((byte) game.getNumberOfPlayers());
+		game.getLayout().writeTo(header);
+		header.flip();
+		while (header.hasRemaining()) {
+			channel.write(header);
+		}
+		channel.force(false);
+		return channel;
+	}
+
+	/**
+	 * Restores the game of a log by replaying its events and continues recording
+	 * at the end of the log
+	 *
+	 * @param file            the file of the log
+	 * @param groupCommitSize the number of events per forced write
+	 * @return the log, see {@link #getGame()} for the restored game
+	 * @throws IOException if the file cannot be read or does not match the game
+	 */
+	public static GameLog recover(Path file, int groupCommitSize) throws IOException {
+		return recover(file, null, groupCommitSize, true);
+	}
+
+	/**
+	 * Replays a log onto a game restored from a snapshot and continues recording
+	 * at the end of the log, fed by a {@link GameJournal}
+	 */
+	static GameLog recoverSegment(Path file, SiedlerGame game, int groupCommitSize) throws IOException {
+		return recover(file, game, groupCommitSize, false);
+	}
+
+	private static GameLog recover(Path file, SiedlerGame game, int groupCommitSize, boolean listening)
+			throws IOException {
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			ByteBuffer content = readFully(channel);
+			SiedlerGame recovered = readHeader(content, game);
+			List<GameEvent> events = new ArrayList<>();
+			long end = readEvents(content, events);
+			replay(recovered, events);
+			channel.truncate(end);
+			channel.position(end);
+			return new GameLog(channel, recovered, groupCommitSize, listening);
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Restores the game of a log without continuing the log
+	 *
+	 * @param file the file of the log
+	 * @return the restored game
+	 * @throws IOException if the file cannot be read or does not match the game
+	 */
+	public static SiedlerGame replay(Path file) throws IOException {
+		return replay(file, null);
+	}
+
+	/**
+	 * Replays a log onto a game, e.g. one restored from a snapshot
+	 *
+	 * @param file the file of the log
+	 * @param game the game the log was recorded for, null to create it from the
+	 *             header of the log
+	 * @return the game
+	 * @throws IOException if the file cannot be read or does not match the game
+	 */
+	public static SiedlerGame replay(Path file, SiedlerGame game) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			ByteBuffer content = readFully(channel);
+			SiedlerGame replayed = readHeader(content, game);
+			List<GameEvent> events = new ArrayList<>();
+			readEvents(content, events);
+			replay(replayed, events);
+			return replayed;
+		}
+	}
+
+	/**
+	 * Applies command events in order to a game. Payouts and discards are
+	 * skipped, the game reproduces them from the dice throws.
+	 *
+	 * @param game   the game
+	 * @param events the events
+	 * @throws IOException if an event cannot be applied to the game
+	 */
+	public static void replay(SiedlerGame game, List<GameEvent> events) throws IOException {
+		for (GameEvent event : events) {
+			if (!event.getType().isDerived() && !apply(game, event)) {
+				throw new IOException("Log does not match the game at " + event);
+			}
+		}
+	}
+
+	private static boolean apply(SiedlerGame game, GameEvent event) {
+		switch (event.getType()) {
+		case INITIAL_SETTLEMENT:
+			return game.placeInitialSettlement(event.getPosition(), event.getValue() == 1);
+		case INITIAL_ROAD:
+			return game.placeInitialRoad(event.getPosition(), event.getEnd());
+		case SETTLEMENT:
+			return game.buildSettlement(event.getPosition());
+		case CITY:
+			return game.buildCity(event.getPosition());
+		case ROAD:
+			return game.buildRoad(event.getPosition(), event.getEnd());
+		case ROLL:
+			return game.rollDice() == event.getValue();
+		case DICE_THROW:
+			game.throwDice(event.getValue());
+			return true;
+		case TRADE:
+			return game.tradeWithBankFourToOne(event.getResource(), event.getOtherResource());
+		case PLAYER_TRADE:
+			return game.tradeWithPlayer(event.getOtherFaction(), event.getCards(), event.getOtherCards());
+		case NEXT_PLAYER:
+			game.switchToNextPlayer();
+			return game.getCurrentPlayerFaction() == event.getFaction();
+		case PREVIOUS_PLAYER:
+			game.switchToPreviousPlayer();
+			return game.getCurrentPlayerFaction() == event.getFaction();
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * Decodes the events following the header
+	 *
+	 * @param content the content of a log, positioned after the header
+	 * @param events  the list the events are added to
+	 * @return the position after the last complete event
+	 */
+	static long readEvents(ByteBuffer content, List<GameEvent> events) {
+		while (content.hasRemaining()) {
+			int size = GameEvent.encodedSize(content.get(content.position()));
+			if (size < 0 || content.remaining() < size) {
+				break;
+			}
+			events.add(GameEvent.readFrom(content));
+		}
+		return content.position();
+	}
+
+	private static SiedlerGame readHeader(ByteBuffer content, SiedlerGame game) throws IOException {
+		if (content.remaining() < HEADER_SIZE || content.getInt() != MAGIC) {
+			throw new IOException("Not a game log");
+		}
+		byte version = content.get();
+		if (version != VERSION && version != VERSION_WITHOUT_LAYOUT) {
+			throw new IOException("Not a game log");
+		}
+		long seed = content.getLong();
+		int winPoints = content.get();
+		int numberOfPlayers = content.get();
+		BoardLayout layout = BoardLayout.standard();
+		if (version == VERSION) {
+			try {
+				layout = BoardLayout.readFrom(content);
+			} catch (IllegalArgumentException e) {
+				throw new IOException("Corrupt game log header", e);
+			}
+		}
+		if (game == null) {
+			return new SiedlerGame(winPoints, numberOfPlayers, seed, layout);
+		}
+		if (game.getSeed() != seed || game.getWinPoints() != winPoints
+				|| game.getNumberOfPlayers() != numberOfPlayers || !game.getLayout().equals(layout)) {
+			throw new IOException("Log belongs to another game");
+		}
+		return game;
+	}
+
+	static ByteBuffer readFully(FileChannel channel) throws IOException {
+		ByteBuffer content = ByteBuffer.allocate((int) channel.size());
+		channel.position(0);
+		while (content.hasRemaining() && channel.read(content) >= 0) {
+			// read until the buffer is full
+		}
+		content.flip();
+		return content;
+	}
+
+	public SiedlerGame getGame() {
+		return game;
+	}
+
+	public int getGroupCommitSize() {
+		return groupCommitSize;
+	}
+
+	@Override
+	public void onEvent(GameEvent event) {
+		try {
+			if (buffer.remaining() < event.encodedSize()) {
+				writeBuffer();
+			}
+			event.writeTo(buffer);
+			if (++uncommittedEvents >= groupCommitSize) {
+				commit();
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Game log could not be written", e);
+		}
+	}
+
+	/**
+	 * Writes all buffered events and forces them to disk
+	 *
+	 * @throws IOException if the events cannot be written
+	 */
+	public void commit() throws IOException {
+		writeBuffer();
+		channel.force(false);
+		uncommittedEvents = 0;
+	}
+
+	private void writeBuffer() throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+	/**
+	 * Commits the buffered events, stops recording and closes the file
+	 */
+	@Override
+	public void close() throws IOException {
+		game.removeEventListener(this);
+		try {
+			commit();
+		} finally {
+			channel.close();
+		}
+	}
+}
@@ -0,0 +1,320 @@
+package ch.zhaw.persistence;
+
+import java.awt.Point;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import ch.zhaw.catan.BoardIndex;
+import ch.zhaw.catan.BoardLayout;
+import ch.zhaw.catan.Config;
+import ch.zhaw.catan.Config.Faction;
+import ch.zhaw.catan.Config.Resource;
+import ch.zhaw.catan.GameSnapshot;
+
+/**
+ * The GameStateCodec class encodes {@link GameSnapshot}s into a compact,
+ * versioned binary format and decodes them again.
+ * <p>
+ * Numbers are written as unsigned varints (seven bits per byte), except for
+ * the seed, which is random and written as eight bytes. The occupancy of the
+ * board is written as one bitmap over the corners and one over the edges of
+ * the {@link BoardIndex}, followed by one nibble per occupied corner (owner and
+ * city flag) and one nibble per occupied edge (owner). Snapshots of games
+ * of four players take about 80 bytes. The layout of the board takes one byte
+ * for the standard layout, otherwise it follows that byte as written by
+ * {@link BoardLayout#writeTo(java.nio.ByteBuffer)}. Version 1, which had no
+ * layout, is still read as the standard layout.
+ * </p>
+ * <p>
+ * Instances keep scratch arrays and are not thread safe. Every thread should
+ * use its own codec.
+ * </p>
+ */
+public final class GameStateCodec {
+	public static final int VERSION = 2;
+	private static final int VERSION_WITHOUT_LAYOUT = 1;
+	private static final int STANDARD_LAYOUT = 0;
+	private static final int CUSTOM_LAYOUT = 1;
+	private static final int EMPTY = 0;
+	private static final Faction[] FACTIONS = Faction.values();
+	private static final Resource[] RESOURCES = Resource.values();
+	private final BoardIndex index;
+	private final byte[] cornerStates;
+	private final byte[] edgeStates;
+
+	/**
+	 * Creates a codec for the corners and edges of an index
+	 *
+	 * @param index the index
+	 */
+	public GameStateCodec(BoardIndex index) {
+		this.index = index;
+		this.cornerStates = new byte[index.getCornerCount()];
+		this.edgeStates = new byte[index.getEdgeCount()];
+	}
+
+	/**
+	 * Creates a codec for boards with the standard field positions
+	 *
+	 * @return the codec
+	 */
+	public static GameStateCodec standard() {
+		return new GameStateCodec(BoardIndex.standard());
+	}
+
+	/**
+	 * Returns an upper bound of the encoded size of a snapshot of a game on the
+	 * standard layout
+	 *
+	 * @param numberOfPlayers the number of players
+	 * @return the number of bytes
+	 */
+	public int getMaxEncodedSize(int numberOfPlayers) {
+		int varints = 2 + 3 * 10 + (numberOfPlayers + 1) * RESOURCES.length * 5;
+		return varints + 2 + Long.BYTES + bitmapSize(cornerStates.length) + (cornerStates.length + 1) / 2
+				+ bitmapSize(edgeStates.length) + (edgeStates.length + 1) / 2;
+	}
+
+	/**
+	 * Returns an upper bound of the encoded size of a snapshot
+	 *
+	 * @param snapshot the snapshot
+	 * @return the number of bytes
+	 */
+	public int getMaxEncodedSize(GameSnapshot snapshot) {
+		BoardLayout layout = snapshot.getLayout();
+		return getMaxEncodedSize(snapshot.getNumberOfPlayers()) + (layout.isStandard() ? 0 : layout.encodedSize());
+	}
+
+	/**
+	 * Writes a snapshot to a buffer
+	 *
+	 * @param snapshot the snapshot
+	 * @param buffer   the buffer, with at least
+	 *                 {@link #getMaxEncodedSize(GameSnapshot)} bytes remaining
+	 * @throws IllegalArgumentException if the snapshot does not fit the index
+	 */
+	public void encode(GameSnapshot snapshot, ByteBuffer buffer) {
+		putVarint(buffer, VERSION);
+		buffer.put((byte) (snapshot.getNumberOfPlayers() << 4 | snapshot.getCurrentPlayer()));
+		putVarint(buffer, snapshot.getWinPoints());
+		buffer.putLong(snapshot.getSeed());
+		for (long counter : snapshot.getRandomCounters()) {
+			putVarint(buffer, counter);
+		}
+		for (int player = 0; player < snapshot.getNumberOfPlayers(); player++) {
+			for (Resource resource : RESOURCES) {
+				putVarint(buffer, snapshot.getHand(player, resource));
+			}
+		}
+		for (Resource resource : RESOURCES) {
+			putVarint(buffer, snapshot.getBank(resource));
+		}
+		BoardLayout layout = snapshot.getLayout();
+		if (layout.isStandard()) {
+			buffer.put((byte) STANDARD_LAYOUT);
+		} else {
+			buffer.put((byte) CUSTOM_LAYOUT);
+			layout.writeTo(buffer);
+		}
+		try {
+			for (int i = 0; i < snapshot.getCornerCount(); i++) {
+				int id = index.getCornerId(snapshot.getCorner(i));
+				if (id < 0) {
+					throw new IllegalArgumentException("Corner is not part of the board");
+				}
+				cornerStates[id] = (byte) ((snapshot.getCornerOwner(i).ordinal() << 1 | (snapshot.isCity(i) ? 1 : 0)) + 1);
+			}
+			for (int i = 0; i < snapshot.getRoadCount(); i++) {
+				int id = index.getEdgeId(snapshot.getRoadStart(i), snapshot.getRoadEnd(i));
+				if (id < 0) {
+					throw new IllegalArgumentException("Road is not part of the board");
+				}
+				edgeStates[id] = (byte) (snapshot.getRoadOwner(i).ordinal() + 1);
+			}
+			putOccupancy(buffer, cornerStates);
+			putOccupancy(buffer, edgeStates);
+		} finally {
+			clearStates();
+		}
+	}
+
+	/**
+	 * Reads a snapshot from a buffer
+	 *
+	 * @param buffer the buffer
+	 * @return the snapshot
+	 * @throws IllegalArgumentException if the buffer does not contain a snapshot
+	 *                                  of a supported version
+	 */
+	public GameSnapshot decode(ByteBuffer buffer) {
+		try {
+			long version = getVarint(buffer);
+			if (version != VERSION && version != VERSION_WITHOUT_LAYOUT) {
+				throw new IllegalArgumentException("Unsupported version");
+			}
+			int players = buffer.get() & 0xff;
+			int numberOfPlayers = players >> 4;
+			int currentPlayer = players & 0xf;
+			if (numberOfPlayers < Config.MIN_NUMBER_OF_PLAYERS || numberOfPlayers > Config.MAX_NUMBER_OF_PLAYERS
+					|| currentPlayer >= numberOfPlayers) {
+				throw new IllegalArgumentException("Corrupt game state: " + numberOfPlayers + " players, current player "
+						+ currentPlayer);
+			}
+			int winPoints = (int) getVarint(buffer);
+			long seed = buffer.getLong();
+			long[] randomCounters = { getVarint(buffer), getVarint(buffer), getVarint(buffer) };
+			int[][] hands = new int[numberOfPlayers][RESOURCES.length];
+			for (int[] hand : hands) {
+				for (int i = 0; i < hand.length; i++) {
+					hand[i] = (int) getVarint(buffer);
+				}
+			}
+			int[] bank = new int[RESOURCES.length];
+			for (int i = 0; i < bank.length; i++) {
+				bank[i] = (int) getVarint(buffer);
+			}
+			BoardLayout layout = BoardLayout.standard();
+			if (version == VERSION && buffer.get() == CUSTOM_LAYOUT) {
+				layout = BoardLayout.readFrom(buffer);
+			}
+			int cornerCount = getOccupancy(buffer, cornerStates);
+			Point[] corners = new Point[cornerCount];
+			Faction[] cornerOwners = new Faction[cornerCount];
+			boolean[] cities = new boolean[cornerCount];
+			for (int id = 0, i = 0; id < cornerStates.length; id++) {
+				if (cornerStates[id] != EMPTY) {
+					int state = cornerStates[id] - 1;
+					corners[i] = index.getCorner(id);
+					cornerOwners[i] = FACTIONS[state >> 1];
+					cities[i++] = (state & 1) == 1;
+				}
+			}
+			int roadCount = getOccupancy(buffer, edgeStates);
+			Point[] roadStarts = new Point[roadCount];
+			Point[] roadEnds = new Point[roadCount];
+			Faction[] roadOwners = new Faction[roadCount];
+			for (int id = 0, i = 0; id < edgeStates.length; id++) {
+				if (edgeStates[id] != EMPTY) {
+					roadStarts[i] = index.getCorner(index.getEdgeStart(id));
+					roadEnds[i] = index.getCorner(index.getEdgeEnd(id));
+					roadOwners[i++] = FACTIONS[edgeStates[id] - 1];
+				}
+			}
+			return new GameSnapshot(seed, winPoints, numberOfPlayers, currentPlayer, randomCounters, hands, bank,
+					corners, cornerOwners, cities, roadStarts, roadEnds, roadOwners, layout);
+		} catch (BufferUnderflowException | ArrayIndexOutOfBoundsException e) {
+			throw new IllegalArgumentException("Corrupt game state", e);
+		} finally {
+			clearStates();
+		}
+	}
+
+	/**
+	 * Empties the scratch arrays, so that the next call starts from an empty
+	 * board whether the last one succeeded or not
+	 */
+	private void clearStates() {
+		Arrays.fill(cornerStates, (byte) EMPTY);
+		Arrays.fill(edgeStates, (byte) EMPTY);
+	}
+
+	private static int bitmapSize(int bits) {
+		return (bits + 7) / 8;
+	}
+
+	/**
+	 * Writes the bitmap of the non empty states followed by their nibbles
+	 */
+	private static void putOccupancy(ByteBuffer buffer, byte[] states) {
+		for (int offset = 0; offset < states.length; offset += 8) {
+			int bits = 0;
+			for (int i = offset; i < Math.min(offset + 8, states.length); i++) {
+				if (states[i] != EMPTY) {
+					bits |= 1 << (i - offset);
+				}
+			}
+			buffer.put((byte) bits);
+		}
+		int nibbles = 0;
+		int pending = 0;
+		for (int i = 0; i < states.length; i++) {
+			if (states[i] != EMPTY) {
+				nibbles |= (states[i] - 1) << (4 * pending);
+				if (++pending == 2) {
+					buffer.put((byte) nibbles);
+					nibbles = 0;
+					pending = 0;
+				}
+			}
+		}
+		if (pending > 0) {
+			buffer.put((byte) nibbles);
+		}
+	}
+
+	/**
+	 * Reads a bitmap and its nibbles into the states
+	 *
+	 * @return the number of non empty states
+	 */
+	private static int getOccupancy(ByteBuffer buffer, byte[] states) {
+		int count = 0;
+		for (int offset = 0; offset < states.length; offset += 8) {
+			int bits = buffer.get();
+			for (int i = offset; i < Math.min(offset + 8, states.length); i++) {
+				states[i] = (byte) ((bits >> (i - offset)) & 1);
+				count += states[i];
+			}
+		}
+		int nibbles = 0;
+		int pending = 0;
+		for (int i = 0; i < states.length; i++) {
+			if (states[i] != EMPTY) {
+				if (pending == 0) {
+					nibbles = buffer.get();
+				}
+				states[i] = (byte) (((nibbles >> (4 * pending)) & 0xf) + 1);
+				pending = (pending + 1) % 2;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Writes a non negative number with seven bits per byte, the highest bit
+	 * marks that more bytes follow
+	 *
+	 * @param buffer the buffer
+	 * @param value  the number
+	 */
+	static void putVarint(ByteBuffer buffer, long value) {
+		if (value < 0) {
+			throw new IllegalArgumentException("Value must not be negative");
+		}
+		while (value >= 0x80) {
+			buffer.put((byte) (value | 0x80));
+			value >>>= 7;
+		}
+		buffer.put((byte) value);
+	}
+
+	/**
+	 * Reads a number written by {@link #putVarint(ByteBuffer, long)}
+	 *
+	 * @param buffer the buffer
+	 * @return the number
+	 */
+	static long getVarint(ByteBuffer buffer) {
+		long value = 0;
+		for (int shift = 0; shift < Long.SIZE; shift += 7) {
+			byte next = buffer.get();
+			value |= (long) (next & 0x7f) << shift;
+			if (next >= 0) {
+				return value;
+			}
+		}
+		throw new IllegalArgumentException("Varint is too long");
+	}
+}
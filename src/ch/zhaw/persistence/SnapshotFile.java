@@ -0,0 +1,74 @@
+package ch.zhaw.persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import ch.zhaw.catan.GameSnapshot;
+
+/**
+ * The SnapshotFile class writes {@link GameSnapshot}s to files and reads them
+ * back, encoded with the {@link GameStateCodec}. A snapshot is first written
+ * to a temporary file and then moved into place, so a file with the final name
+ * is always complete.
+ */
+public final class SnapshotFile {
+	static final int MAGIC = 0x4354534e;
+
+	private SnapshotFile() {
+	}
+
+	/**
+	 * Writes a snapshot and forces it to disk
+	 *
+	 * @param file     the file
+	 * @param snapshot the snapshot
+	 * @throws IOException if the file cannot be written
+	 */
+	public static void write(Path file, GameSnapshot snapshot) throws IOException {
+		ByteBuffer buffer = encode(snapshot);
+		Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+		try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			channel.force(false);
+		}
+		Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * Reads a snapshot
+	 *
+	 * @param file the file
+	 * @return the snapshot
+	 * @throws IOException if the file cannot be read or is not a snapshot
+	 */
+	public static GameSnapshot read(Path file) throws IOException {
+		return decode(ByteBuffer.wrap(Files.readAllBytes(file)));
+	}
+
+	static ByteBuffer encode(GameSnapshot snapshot) {
+		GameStateCodec codec = GameStateCodec.standard();
+		ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + codec.getMaxEncodedSize(snapshot));
+		buffer.putInt(MAGIC);
+		codec.encode(snapshot, buffer);
+		return buffer.flip();
+	}
+
+	static GameSnapshot decode(ByteBuffer buffer) throws IOException {
+		try {
+			if (buffer.getInt() != MAGIC) {
+				throw new IOException("Not a game snapshot");
+			}
+			return GameStateCodec.standard().decode(buffer);
+		} catch (RuntimeException e) {
+			throw new IOException("Corrupt game snapshot", e);
+		}
+	}
+}
@@ -0,0 +1,117 @@
+package ch.zhaw.server;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import ch.zhaw.catan.Config;
+import ch.zhaw.catan.Config.Faction;
+
+/**
+ * The GameServer class hosts many matches at once. Players connect over TCP and
+ * are seated in the next match that is not yet full.
+ * <p>
+ * Every connection is served by its own thread, which blocks while reading the
+ * commands of the player. On Java 21 and newer these are virtual threads, which
+ * park cheaply on blocking reads, so a single server can keep thousands of
+ * sessions open. On older runtimes platform threads are used. The games
+ * themselves are executed on a shared pool, each match through its own
+ * {@link SerialExecutor}.
+ * </p>
+ */
+public class GameServer {
+	public static final int DEFAULT_PORT = 4004;
+	private final int port;
+	private final int playersPerMatch;
+	private final ThreadFactory sessionThreads;
+	private final ExecutorService gameExecutor;
+	private final ReentrantLock lobby = new ReentrantLock();
+	private Match openMatch;
+
+	/**
+	 * Constructor sets up the thread pools of the server
+	 *
+	 * @param port            the port to listen on
+	 * @param playersPerMatch the number of players per match
+	 * @throws IllegalArgumentException if the number of players is not supported
+	 */
+	public GameServer(int port, int playersPerMatch) {
+		if (playersPerMatch < Config.MIN_NUMBER_OF_PLAYERS || playersPerMatch > Config.MAX_NUMBER_OF_PLAYERS) {
+			throw new IllegalArgumentException("Parameters did not match expectations");
+		}
+		this.port = port;
+		this.playersPerMatch = playersPerMatch;
+		this.sessionThreads = sessionThreadFactory();
+		this.gameExecutor = Executors.newWorkStealingPool();
+	}
+
+	/**
+	 * Main method to start the server
+	 *
+	 * @param args port and players per match (optional)
+	 * @throws IOException if the server socket cannot be opened
+	 */
+	public static void main(String[] args) throws IOException {
+		int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+		int players = args.length > 1 ? Integer.parseInt(args[1]) : Config.MIN_NUMBER_OF_PLAYERS;
+		new GameServer(port, players).serve();
+	}
+
+	/**
+	 * Accepts connections until the server socket is closed
+	 *
+	 * @throws IOException if the server socket cannot be opened
+	 */
+	public void serve() throws IOException {
+		try (ServerSocket serverSocket = new ServerSocket(port)) {
+			while (!serverSocket.isClosed()) {
+				Socket socket = serverSocket.accept();
+				sessionThreads.newThread(() -> seat(socket)).start();
+			}
+		} finally {
+			gameExecutor.shutdown();
+		}
+	}
+
+	private void seat(Socket socket) {
+		Match match;
+		Faction faction;
+		lobby.lock();
+		try {
+			if (openMatch == null || !openMatch.isOpen()) {
+				openMatch = new Match(playersPerMatch, Config.WIN_POINTS, gameExecutor);
+			}
+			match = openMatch;
+			faction = match.join();
+		} finally {
+			lobby.unlock();
+		}
+		new PlayerSession(socket, match, faction).run();
+	}
+
+	/**
+	 * Returns a factory for virtual threads if the runtime supports them, or for
+	 * daemon platform threads otherwise. Virtual threads are looked up
+	 * reflectively, so the server still compiles and runs on Java 17.
+	 */
+	static ThreadFactory sessionThreadFactory() {
+		try {
+			Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+			Method factory = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+			return (ThreadFactory) factory.invoke(builder);
+		} catch (ReflectiveOperationException e) {
+			AtomicLong counter = new AtomicLong();
+			return runnable -> {
+				Thread thread = new Thread(runnable, "session-" + counter.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			};
+		}
+	}
+}
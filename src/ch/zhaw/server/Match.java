@@ -0,0 +1,218 @@
+package ch.zhaw.server;
+
+import java.awt.Point;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import ch.zhaw.catan.Config;
+import ch.zhaw.catan.Config.Faction;
+import ch.zhaw.catan.Config.Resource;
+import ch.zhaw.catan.SiedlerGame;
+import ch.zhaw.catan.TurnCycle;
+
+/**
+ * The Match class hosts a single {@link SiedlerGame} on the server.
+ * <p>
+ * {@link SiedlerGame} is not thread safe. All accesses to the game of a match
+ * are therefore submitted to a {@link SerialExecutor}, which makes the match
+ * the single owner of its game while the sessions of its players run on their
+ * own threads.
+ * </p>
+ */
+public class Match {
+	private final SiedlerGame game;
+	private final int numberOfPlayers;
+	private final SerialExecutor owner;
+	private volatile int joinedPlayers;
+	private final TurnCycle cycle;
+	private volatile boolean abandoned;
+
+	/**
+	 * Constructor creates the game of the match
+	 *
+	 * @param numberOfPlayers the number of players
+	 * @param winPoints       the number of points required to win
+	 * @param executor        the executor shared by the matches of the server
+	 */
+	public Match(int numberOfPlayers, int winPoints, Executor executor) {
+		this.game = new SiedlerGame(winPoints, numberOfPlayers);
+		this.cycle = new TurnCycle(game);
+		this.numberOfPlayers = numberOfPlayers;
+		this.owner = new SerialExecutor(executor);
+	}
+
+	/**
+	 * Adds a player to the match. Must only be called while the caller holds the
+	 * lobby of the server.
+	 *
+	 * @return the faction of the new player
+	 * @throws IllegalStateException if the match is full
+	 */
+	Faction join() {
+		if (isFull()) {
+			throw new IllegalStateException("Match is full");
+		}
+		return Faction.values()[joinedPlayers++];
+	}
+
+	boolean isFull() {
+		return joinedPlayers == numberOfPlayers;
+	}
+
+	boolean isAbandoned() {
+		return abandoned;
+	}
+
+	/**
+	 * Checks whether new players can join the match
+	 *
+	 * @return false if the match is full or abandoned
+	 */
+	boolean isOpen() {
+		return !isFull() && !isAbandoned();
+	}
+
+	/**
+	 * Executes a command of a player on the owner of the match
+	 *
+	 * @param faction the faction of the player
+	 * @param command the command line sent by the player
+	 * @return the response to the player
+	 */
+	public CompletableFuture<String> submit(Faction faction, String command) {
+		return CompletableFuture.supplyAsync(() -> handle(faction, command), owner);
+	}
+
+	/**
+	 * Marks the match as abandoned after a player has left. The lobby of the
+	 * server seats no further players into it.
+	 */
+	public void abandon() {
+		abandoned = true;
+	}
+
+	/**
+	 * Executes a command and turns every failure into an error response to the
+	 * sender, so that a faulty command neither fails the future nor ends the
+	 * session of the player
+	 */
+	private String handle(Faction faction, String command) {
+		try {
+			return execute(faction, command);
+		} catch (RuntimeException e) {
+			return Config.ErrorMessage.ACTION.toString();
+		}
+	}
+
+	private String execute(Faction faction, String command) {
+		String[] tokens = command.trim().toUpperCase(Locale.ROOT).split("\\s+");
+		if (abandoned || cycle.getPhase() == TurnCycle.Phase.FINISHED) {
+			return Config.ErrorMessage.GAME_OVER.toString();
+		}
+		if (!isFull() && !"STATUS".equals(tokens[0])) {
+			return Config.ErrorMessage.GAME_NOT_STARTED.toString();
+		}
+		switch (tokens[0]) {
+		case "STATUS":
+			return status(faction);
+		case "BOARD":
+			return String.format(Config.InfoMessage.GAME_STATE.toString(), game.getView().toString());
+		default:
+			break;
+		}
+		if (faction != game.getCurrentPlayerFaction()) {
+			return Config.ErrorMessage.NOT_YOUR_TURN.toString();
+		}
+		if (isFoundingPhase()) {
+			return handleFounding(tokens);
+		}
+		return handleTurn(tokens);
+	}
+
+	private String status(Faction faction) {
+		StringBuilder builder = new StringBuilder("You are " + faction);
+		if (isFull()) {
+			builder.append('\n').append(String.format(Config.InfoMessage.TURN_ANNOUNCEMENT.toString(),
+					game.getCurrentPlayerFaction()));
+			if (!isFoundingPhase()) {
+				builder.append('\n').append(String.format(Config.InfoMessage.DICE_THROW.toString(), cycle.getLastDiceThrow()));
+			}
+		}
+		return builder.toString();
+	}
+
+	private boolean isFoundingPhase() {
+		return cycle.getPhase() == TurnCycle.Phase.FOUNDING_SETTLEMENT
+				|| cycle.getPhase() == TurnCycle.Phase.FOUNDING_ROAD;
+	}
+
+	private String handleFounding(String[] tokens) {
+		if ("SETTLEMENT".equals(tokens[0]) && cycle.getPhase() == TurnCycle.Phase.FOUNDING_SETTLEMENT
+				&& tokens.length == 2) {
+			if (cycle.placeInitialSettlement(parsePoint(tokens[1]))) {
+				return String.format(Config.SuccessMessage.BUILD.toString(), "Settlement");
+			}
+			return String.format(Config.ErrorMessage.BUILDING.toString(), "settlement");
+		}
+		if ("ROAD".equals(tokens[0]) && cycle.getPhase() == TurnCycle.Phase.FOUNDING_ROAD && tokens.length == 2) {
+			if (cycle.placeInitialRoad(parsePoint(tokens[1]))) {
+				if (cycle.getPhase() == TurnCycle.Phase.DICE_THROW) {
+					cycle.throwDice();
+				}
+				return String.format(Config.SuccessMessage.BUILD.toString(), "Road");
+			}
+			return String.format(Config.ErrorMessage.BUILDING.toString(), "road");
+		}
+		return Config.ErrorMessage.ACTION.toString();
+	}
+
+	private String handleTurn(String[] tokens) {
+		switch (tokens[0]) {
+		case "SETTLEMENT":
+			return buildResponse(tokens.length == 2 && game.buildSettlement(parsePoint(tokens[1])), "Settlement");
+		case "CITY":
+			return buildResponse(tokens.length == 2 && game.buildCity(parsePoint(tokens[1])), "City");
+		case "ROAD":
+			return buildResponse(
+					tokens.length == 3 && game.buildRoad(parsePoint(tokens[1]), parsePoint(tokens[2])), "Road");
+		case "TRADE":
+			if (tokens.length == 3
+					&& game.tradeWithBankFourToOne(Resource.valueOf(tokens[1]), Resource.valueOf(tokens[2]))) {
+				return Config.SuccessMessage.TRADE_WITH_BANK.toString();
+			}
+			return Config.ErrorMessage.TRADE_WITH_BANK.toString();
+		case "INVENTORY":
+			return String.format(Config.InfoMessage.PLAYER_INVENTORY.toString(),
+					(Object[]) game.getCurrentPlayerInventory());
+		case "END":
+			return endTurn();
+		default:
+			return Config.ErrorMessage.ACTION.toString();
+		}
+	}
+
+	private String buildResponse(boolean built, String structure) {
+		if (built) {
+			return String.format(Config.SuccessMessage.BUILD.toString(), structure);
+		}
+		return String.format(Config.ErrorMessage.BUILDING.toString(), structure);
+	}
+
+	private String endTurn() {
+		Faction winner = cycle.endTurn();
+		if (winner != null) {
+			return String.format(Config.InfoMessage.WINNER.toString(), winner);
+		}
+		cycle.throwDice();
+		return String.format(Config.InfoMessage.TURN_ANNOUNCEMENT.toString(), game.getCurrentPlayerFaction());
+	}
+
+	private static Point parsePoint(String token) {
+		String[] coordinates = token.split(":");
+		if (coordinates.length != 2) {
+			throw new IllegalArgumentException(Config.ErrorMessage.INVALID_COORDINATES.toString());
+		}
+		return new Point(Integer.parseInt(coordinates[0]), Integer.parseInt(coordinates[1]));
+	}
+}
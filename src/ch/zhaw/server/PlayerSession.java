@@ -0,0 +1,86 @@
+package ch.zhaw.server;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.OutputStreamWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutionException;
+
+import ch.zhaw.catan.Config;
+import ch.zhaw.catan.Config.Faction;
+
+/**
+ * The PlayerSession class handles the connection of a single player. It reads
+ * one command per line, lets the {@link Match} execute it and writes the
+ * response followed by a line containing a single dot.
+ * <p>
+ * The session blocks on reading and on waiting for the match. It is meant to
+ * run on its own (virtual) thread, see {@link GameServer}.
+ * </p>
+ */
+public class PlayerSession implements Runnable {
+	static final String END_OF_RESPONSE = ".";
+	private final Socket socket;
+	private final Match match;
+	private final Faction faction;
+
+	/**
+	 * Constructor sets the connection and the seat of the player
+	 *
+	 * @param socket  the connection of the player
+	 * @param match   the match the player joined
+	 * @param faction the faction of the player
+	 */
+	public PlayerSession(Socket socket, Match match, Faction faction) {
+		this.socket = socket;
+		this.match = match;
+		this.faction = faction;
+	}
+
+	@Override
+	public void run() {
+		try (Socket connection = socket;
+				BufferedReader in = new BufferedReader(
+						new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8));
+				PrintWriter out = new PrintWriter(
+						new OutputStreamWriter(connection.getOutputStream(), StandardCharsets.UTF_8), true)) {
+			respond(out, execute("STATUS"));
+			String line;
+			while ((line = in.readLine()) != null) {
+				if (line.isBlank()) {
+					continue;
+				}
+				if ("QUIT".equalsIgnoreCase(line.trim())) {
+					break;
+				}
+				respond(out, execute(line));
+			}
+		} catch (IOException e) {
+			// the connection is lost, the match is abandoned below
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			match.abandon();
+		}
+	}
+
+	/**
+	 * Lets the match execute a command. A failed command is answered with an
+	 * error, only the loss of the connection ends the session.
+	 */
+	private String execute(String command) throws InterruptedException {
+		try {
+			return match.submit(faction, command).get();
+		} catch (ExecutionException e) {
+			return Config.ErrorMessage.ACTION.toString();
+		}
+	}
+
+	private void respond(PrintWriter out, String response) {
+		out.println(response);
+		out.println(END_OF_RESPONSE);
+	}
+}
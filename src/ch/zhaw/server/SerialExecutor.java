@@ -0,0 +1,52 @@
+package ch.zhaw.server;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The SerialExecutor class runs the submitted tasks one after another on a
+ * shared executor. At most one task of a SerialExecutor runs at any time and
+ * every task sees the effects of the previous ones, so state that is only
+ * accessed from its tasks is confined to a single logical owner without
+ * dedicating a thread to it.
+ */
+public class SerialExecutor implements Executor {
+	private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+	private final AtomicBoolean scheduled = new AtomicBoolean();
+	private final Executor executor;
+
+	/**
+	 * Constructor sets the executor the tasks are run on
+	 *
+	 * @param executor the shared executor
+	 */
+	public SerialExecutor(Executor executor) {
+		this.executor = executor;
+	}
+
+	@Override
+	public void execute(Runnable task) {
+		tasks.add(task);
+		schedule();
+	}
+
+	private void schedule() {
+		if (!tasks.isEmpty() && scheduled.compareAndSet(false, true)) {
+			executor.execute(this::drain);
+		}
+	}
+
+	private void drain() {
+		try {
+			Runnable task;
+			while ((task = tasks.poll()) != null) {
+				task.run();
+			}
+		} finally {
+			scheduled.set(false);
+			schedule();
+		}
+	}
+}
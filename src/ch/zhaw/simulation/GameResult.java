@@ -0,0 +1,58 @@
+package ch.zhaw.simulation;
+
+import ch.zhaw.catan.Config;
+import ch.zhaw.catan.Config.Faction;
+
+/**
+ * The GameResult class is a data class which represents the outcome of a
+ * simulated game
+ */
+public class GameResult {
+	private final long seed;
+	private final Faction winner;
+	private final int turns;
+	private final int[] payout;
+
+	/**
+	 * Constructor sets the outcome of a game
+	 *
+	 * @param seed   the seed of the game
+	 * @param winner the winner or null, if the game was stopped without winner
+	 * @param turns  the number of turns played after the founding phase
+	 * @param payout the number of resource cards paid out by dice throws, indexed
+	 *               by the ordinal of {@link Config.Resource}
+	 */
+	public GameResult(long seed, Faction winner, int turns, int[] payout) {
+		this.seed = seed;
+		this.winner = winner;
+		this.turns = turns;
+		this.payout = payout.clone();
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	public Faction getWinner() {
+		return winner;
+	}
+
+	public int getTurns() {
+		return turns;
+	}
+
+	/**
+	 * Returns how many cards of a resource were paid out by dice throws
+	 *
+	 * @param resource the resource
+	 * @return int amount of cards
+	 */
+	public int getPayout(Config.Resource resource) {
+		return payout[resource.ordinal()];
+	}
+
+	@Override
+	public String toString() {
+		return "GameResult [seed=" + seed + ", winner=" + winner + ", turns=" + turns + "]";
+	}
+}
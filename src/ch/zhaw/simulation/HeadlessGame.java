@@ -0,0 +1,101 @@
+package ch.zhaw.simulation;
+
+import java.awt.Point;
+import java.util.List;
+
+import ch.zhaw.catan.Config.Faction;
+import ch.zhaw.catan.Config.Resource;
+import ch.zhaw.catan.SiedlerGame;
+import ch.zhaw.catan.TurnCycle;
+
+/**
+ * The HeadlessGame class plays a complete game of Catan without terminal and
+ * without rendering. The decisions of the players are taken by
+ * {@link PlayerAgent}s, the dice are thrown with the dice stream of the
+ * {@link SiedlerGame}, so a game is fully defined by its seed and its agents.
+ */
+public class HeadlessGame {
+	public static final int DEFAULT_MAX_TURNS = 1000;
+	private final SiedlerGame game;
+	private final List<PlayerAgent> agents;
+	private final int maxTurns;
+	private final TurnCycle cycle;
+	private final int[] payout = new int[Resource.values().length];
+	private Faction winner;
+
+	/**
+	 * Constructor for a game with one agent per player
+	 *
+	 * @param game     the game, must not have been played yet
+	 * @param agents   the agents in the order of {@link SiedlerGame#getPlayerFactions()}
+	 * @param maxTurns the number of turns after which the game is stopped without
+	 *                 winner
+	 * @throws IllegalArgumentException if the number of agents does not match the
+	 *                                  number of players
+	 */
+	public HeadlessGame(SiedlerGame game, List<PlayerAgent> agents, int maxTurns) {
+		if (agents.size() != game.getNumberOfPlayers()) {
+			throw new IllegalArgumentException("There must be exactly one agent per player");
+		}
+		this.game = game;
+		this.cycle = new TurnCycle(game);
+		this.agents = List.copyOf(agents);
+		this.maxTurns = maxTurns;
+	}
+
+	/**
+	 * Plays the game until a player has won or the maximum number of turns is
+	 * reached
+	 *
+	 * @return the result of the game
+	 * @throws IllegalStateException if an agent selects an illegal position in
+	 *                               the founding phase
+	 */
+	public GameResult play() {
+		while (cycle.getPhase() != TurnCycle.Phase.FINISHED && cycle.getTurns() < maxTurns) {
+			step();
+		}
+		return new GameResult(game.getSeed(), winner, cycle.getTurns(), payout);
+	}
+
+	public SiedlerGame getGame() {
+		return game;
+	}
+
+	private void step() {
+		PlayerAgent agent = currentAgent();
+		switch (cycle.getPhase()) {
+		case FOUNDING_SETTLEMENT:
+			Point settlement = agent.selectInitialSettlement(game);
+			if (settlement == null || !cycle.placeInitialSettlement(settlement)) {
+				throw new IllegalStateException("Illegal initial settlement " + settlement + " of "
+						+ game.getCurrentPlayerFaction());
+			}
+			break;
+		case FOUNDING_ROAD:
+			Point roadEnd = agent.selectInitialRoadEnd(game, cycle.getInitialSettlement());
+			if (roadEnd == null || !cycle.placeInitialRoad(roadEnd)) {
+				throw new IllegalStateException("Illegal initial road " + cycle.getInitialSettlement() + " - "
+						+ roadEnd + " of " + game.getCurrentPlayerFaction());
+			}
+			break;
+		case DICE_THROW:
+			for (List<Resource> resources : cycle.throwDice().values()) {
+				for (Resource resource : resources) {
+					payout[resource.ordinal()]++;
+				}
+			}
+			break;
+		case ACTIONS:
+			agent.playTurn(game);
+			winner = cycle.endTurn();
+			break;
+		default:
+			throw new IllegalStateException("Unexpected phase " + cycle.getPhase());
+		}
+	}
+
+	private PlayerAgent currentAgent() {
+		return agents.get(game.getCurrentPlayerFaction().ordinal());
+	}
+}
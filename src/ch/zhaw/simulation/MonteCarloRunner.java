@@ -0,0 +1,299 @@
+package ch.zhaw.simulation;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import ch.zhaw.analytics.TurnRecorder;
+import ch.zhaw.analytics.TurnStatisticsWriter;
+import ch.zhaw.archive.GameArchiveWriter;
+import ch.zhaw.archive.MoveRecorder;
+import ch.zhaw.catan.Config;
+import ch.zhaw.catan.Config.Faction;
+import ch.zhaw.catan.Config.Resource;
+import ch.zhaw.catan.RandomNumberGenerator;
+import ch.zhaw.catan.SiedlerGame;
+
+/**
+ * The MonteCarloRunner class plays a batch of independent {@link HeadlessGame}s
+ * in parallel and aggregates their results.
+ * <p>
+ * Game number i of a batch is seeded with the i-th value of a generator seeded
+ * with the base seed. A batch is therefore reproducible independent of the
+ * number of threads and of the order in which the games are played. The
+ * results are collected in {@link LongAdder}s, so the worker threads never
+ * wait for each other.
+ * </p>
+ */
+public class MonteCarloRunner {
+	private static final int GAMES_PER_TASK = 16;
+	private static final int TASKS_PER_THREAD = 4;
+	private final int winPoints;
+	private final int numberOfPlayers;
+	private final int maxTurns;
+	private final Function<RandomNumberGenerator, PlayerAgent> agentFactory;
+	private GameArchiveWriter archive;
+	private TurnStatisticsWriter statistics;
+
+	/**
+	 * Constructor sets the parameters shared by all games of a batch
+	 *
+	 * @param winPoints       the number of points required to win a game
+	 * @param numberOfPlayers the number of players per game
+	 * @param maxTurns        the number of turns after which a game is stopped
+	 * @param agentFactory    creates an agent from the random stream it should use
+	 */
+	public MonteCarloRunner(int winPoints, int numberOfPlayers, int maxTurns,
+			Function<RandomNumberGenerator, PlayerAgent> agentFactory) {
+		this.winPoints = winPoints;
+		this.numberOfPlayers = numberOfPlayers;
+		this.maxTurns = maxTurns;
+		this.agentFactory = agentFactory;
+	}
+
+	/**
+	 * Sets an archive that receives every finished game with its moves
+	 *
+	 * @param archive the archive or null to stop archiving
+	 */
+	public void setArchive(GameArchiveWriter archive) {
+		this.archive = archive;
+	}
+
+	/**
+	 * Returns the seed of a game of a batch
+	 *
+	 * @param baseSeed  the seed of the batch
+	 * @param gameIndex the number of the game within the batch
+	 * @return the seed of the game
+	 */
+	public static long gameSeed(long baseSeed, long gameIndex) {
+		return new RandomNumberGenerator(baseSeed, gameIndex).nextLong();
+	}
+
+	/**
+	 * Sets a sink that receives the statistics of every turn
+	 *
+	 * @param statistics the sink or null to stop collecting statistics
+	 */
+	public void setTurnStatistics(TurnStatisticsWriter statistics) {
+		this.statistics = statistics;
+	}
+
+	/**
+	 * Plays a single game with the given seed
+	 *
+	 * @param seed the seed of the game
+	 * @return the result of the game
+	 */
+	public GameResult playGame(long seed) {
+		return playGame(seed, 0);
+	}
+
+	private GameResult playGame(long seed, int gameIndex) {
+		RandomNumberGenerator rng = new RandomNumberGenerator(seed);
+		SiedlerGame game = new SiedlerGame(winPoints, numberOfPlayers, rng.nextLong());
+		List<PlayerAgent> agents = new ArrayList<>(numberOfPlayers);
+		for (int i = 0; i < numberOfPlayers; i++) {
+			agents.add(agentFactory.apply(rng.split()));
+		}
+		MoveRecorder moves = null;
+		if (archive != null) {
+			moves = new MoveRecorder();
+			game.addEventListener(moves);
+		}
+		TurnRecorder turns = statistics == null ? null : new TurnRecorder(game, gameIndex);
+		GameResult result = new HeadlessGame(game, agents, maxTurns).play();
+		try {
+			if (moves != null) {
+				archive.append(game, result.getWinner(), result.getTurns(), moves);
+			}
+			if (turns != null) {
+				statistics.append(turns.finish());
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Game could not be recorded", e);
+		}
+		return result;
+	}
+
+	/**
+	 * Plays a batch of games on the common {@link ForkJoinPool}
+	 *
+	 * @param numberOfGames the number of games
+	 * @param baseSeed      the seed of the batch
+	 * @return the aggregated results
+	 */
+	public SimulationReport run(int numberOfGames, long baseSeed) {
+		return run(numberOfGames, baseSeed, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Plays a batch of games on the given fork/join pool. The batch is split
+	 * recursively until a task contains only a few games.
+	 *
+	 * @param numberOfGames the number of games
+	 * @param baseSeed      the seed of the batch
+	 * @param pool          the pool executing the games
+	 * @return the aggregated results
+	 */
+	public SimulationReport run(int numberOfGames, long baseSeed, ForkJoinPool pool) {
+		Accumulator accumulator = new Accumulator();
+		long start = System.nanoTime();
+		pool.invoke(new GameRangeTask(accumulator, baseSeed, 0, numberOfGames));
+		return accumulator.toReport(numberOfGames, System.nanoTime() - start);
+	}
+
+	/**
+	 * Plays a batch of games on the given executor. The batch is split into a
+	 * fixed number of chunks per thread of the executor.
+	 *
+	 * @param numberOfGames the number of games
+	 * @param baseSeed      the seed of the batch
+	 * @param executor      the executor playing the games
+	 * @param threads       the number of threads of the executor
+	 * @return the aggregated results
+	 * @throws IllegalStateException if a game fails or the run is interrupted
+	 */
+	public SimulationReport run(int numberOfGames, long baseSeed, ExecutorService executor, int threads) {
+		Accumulator accumulator = new Accumulator();
+		long start = System.nanoTime();
+		int chunks = Math.max(1, Math.min(numberOfGames, threads * TASKS_PER_THREAD));
+		List<Future<?>> futures = new ArrayList<>(chunks);
+		for (int i = 0; i < chunks; i++) {
+			int from = (int) ((long) numberOfGames * i / chunks);
+			int to = (int) ((long) numberOfGames * (i + 1) / chunks);
+			futures.add(executor.submit(() -> playRange(accumulator, baseSeed, from, to)));
+		}
+		try {
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Simulation was interrupted", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Simulated game failed", e.getCause());
+		}
+		return accumulator.toReport(numberOfGames, System.nanoTime() - start);
+	}
+
+	private void playRange(Accumulator accumulator, long baseSeed, int from, int to) {
+		for (int i = from; i < to; i++) {
+			accumulator.add(playGame(gameSeed(baseSeed, i), i));
+		}
+	}
+
+	private class GameRangeTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private final transient Accumulator accumulator;
+		private final long baseSeed;
+		private final int from;
+		private final int to;
+
+		GameRangeTask(Accumulator accumulator, long baseSeed, int from, int to) {
+			this.accumulator = accumulator;
+			this.baseSeed = baseSeed;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= GAMES_PER_TASK) {
+				playRange(accumulator, baseSeed, from, to);
+			} else {
+				int middle = (from + to) >>> 1;
+				invokeAll(new GameRangeTask(accumulator, baseSeed, from, middle),
+						new GameRangeTask(accumulator, baseSeed, middle, to));
+			}
+		}
+	}
+
+	private static class Accumulator {
+		private final LongAdder[] wins = newAdders(Faction.values().length);
+		private final LongAdder[] payout = newAdders(Resource.values().length);
+		private final LongAdder gamesWithoutWinner = new LongAdder();
+		private final LongAdder turns = new LongAdder();
+		private final LongAccumulator minTurns = new LongAccumulator(Math::min, Long.MAX_VALUE);
+		private final LongAccumulator maxTurns = new LongAccumulator(Math::max, 0);
+
+		void add(GameResult result) {
+			if (result.getWinner() == null) {
+				gamesWithoutWinner.increment();
+			} else {
+				wins[result.getWinner().ordinal()].increment();
+			}
+			for (Resource resource : Resource.values()) {
+				payout[resource.ordinal()].add(result.getPayout(resource));
+			}
+			turns.add(result.getTurns());
+			minTurns.accumulate(result.getTurns());
+			maxTurns.accumulate(result.getTurns());
+		}
+
+		SimulationReport toReport(int games, long elapsedNanos) {
+			return new SimulationReport(games, sum(wins), gamesWithoutWinner.sum(), turns.sum(),
+					games == 0 ? 0 : minTurns.get(), maxTurns.get(), sum(payout), elapsedNanos);
+		}
+
+		private static LongAdder[] newAdders(int size) {
+			LongAdder[] adders = new LongAdder[size];
+			for (int i = 0; i < size; i++) {
+				adders[i] = new LongAdder();
+			}
+			return adders;
+		}
+
+		private static long[] sum(LongAdder[] adders) {
+			long[] sums = new long[adders.length];
+			for (int i = 0; i < adders.length; i++) {
+				sums[i] = adders[i].sum();
+			}
+			return sums;
+		}
+	}
+
+	/**
+	 * Runs a batch of games with {@link RandomAgent}s and prints the report
+	 *
+	 * @param args number of games, number of players, base seed, archive
+	 *             directory and turn statistics file (optional)
+	 * @throws IOException if the archive cannot be written
+	 */
+	public static void main(String[] args) throws IOException {
+		int games = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+		int players = args.length > 1 ? Integer.parseInt(args[1]) : Config.MAX_NUMBER_OF_PLAYERS;
+		long seed = args.length > 2 ? Long.parseLong(args[2]) : 0;
+		MonteCarloRunner runner = new MonteCarloRunner(Config.WIN_POINTS, players, HeadlessGame.DEFAULT_MAX_TURNS,
+				RandomAgent::new);
+		GameArchiveWriter archive = args.length > 3
+				? GameArchiveWriter.open(Path.of(args[3]), GameArchiveWriter.DEFAULT_SEGMENT_SIZE)
+				: null;
+		TurnStatisticsWriter statistics = args.length > 4
+				? new TurnStatisticsWriter(Path.of(args[4]), TurnStatisticsWriter.DEFAULT_BLOCK_ROWS)
+				: null;
+		try {
+			runner.setArchive(archive);
+			runner.setTurnStatistics(statistics);
+			System.out.println(runner.run(games, seed));
+		} finally {
+			if (archive != null) {
+				archive.close();
+			}
+			if (statistics != null) {
+				statistics.close();
+			}
+		}
+	}
+}
@@ -0,0 +1,43 @@
+package ch.zhaw.simulation;
+
+import java.awt.Point;
+
+import ch.zhaw.catan.SiedlerGame;
+
+/**
+ * A PlayerAgent takes the decisions of a single player when a game is played
+ * without user interface, e.g. by a {@link HeadlessGame}.
+ * <p>
+ * The agent is only called while its player is the current player of the game.
+ * It acts by calling the build and trade methods of {@link SiedlerGame}
+ * directly.
+ * </p>
+ */
+public interface PlayerAgent {
+
+	/**
+	 * Selects the corner of a settlement in the founding phase
+	 *
+	 * @param game the game
+	 * @return the corner, must be a legal initial settlement position
+	 */
+	Point selectInitialSettlement(SiedlerGame game);
+
+	/**
+	 * Selects the end point of the road that is placed next to the initial
+	 * settlement in the founding phase
+	 *
+	 * @param game       the game
+	 * @param settlement the corner of the settlement that was just placed
+	 * @return the end point of the road, must be a legal initial road position
+	 */
+	Point selectInitialRoadEnd(SiedlerGame game, Point settlement);
+
+	/**
+	 * Performs the actions (building, trading) of a turn. The dice have already
+	 * been thrown and the resources have been paid out.
+	 *
+	 * @param game the game
+	 */
+	void playTurn(SiedlerGame game);
+}
@@ -0,0 +1,166 @@
+package ch.zhaw.simulation;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import ch.zhaw.catan.Config;
+import ch.zhaw.catan.Config.Resource;
+import ch.zhaw.catan.Player;
+import ch.zhaw.catan.RandomNumberGenerator;
+import ch.zhaw.catan.SiedlerBoard;
+import ch.zhaw.catan.SiedlerGame;
+
+/**
+ * The RandomAgent class is a simple {@link PlayerAgent} which picks a random
+ * legal position for every structure it can afford. It prefers cities over
+ * settlements and only builds roads if no settlement can be placed. Surplus
+ * resource cards are traded with the bank for the scarcest resource.
+ */
+public class RandomAgent implements PlayerAgent {
+	private final RandomNumberGenerator rng;
+
+	/**
+	 * Constructor sets the random stream of the agent
+	 *
+	 * @param rng the random stream used for all decisions of this agent
+	 */
+	public RandomAgent(RandomNumberGenerator rng) {
+		this.rng = rng;
+	}
+
+	@Override
+	public Point selectInitialSettlement(SiedlerGame game) {
+		SiedlerBoard board = game.getBoard();
+		List<Point> candidates = new ArrayList<>();
+		for (Point corner : board.getCornerPositions()) {
+			if (board.cornerAvailable(corner) && board.hasLandBorder(corner)) {
+				candidates.add(corner);
+			}
+		}
+		return pick(candidates);
+	}
+
+	@Override
+	public Point selectInitialRoadEnd(SiedlerGame game, Point settlement) {
+		SiedlerBoard board = game.getBoard();
+		List<Point> candidates = new ArrayList<>();
+		for (Point end : board.getNeighbourPositions(settlement)) {
+			if (board.getEdge(settlement, end) == null && board.hasLandBorder(end)) {
+				candidates.add(end);
+			}
+		}
+		return pick(candidates);
+	}
+
+	@Override
+	public void playTurn(SiedlerGame game) {
+		boolean acted = true;
+		while (acted) {
+			acted = buildCity(game) || buildSettlement(game) || buildRoad(game) || trade(game);
+		}
+	}
+
+	private boolean buildCity(SiedlerGame game) {
+		if (!canAfford(game, Config.CITY_COST)) {
+			return false;
+		}
+		Player player = game.getCurrentPlayer();
+		List<Point> candidates = new ArrayList<>();
+		for (Point corner : game.getBoard().getCornerPositions()) {
+			if (game.getBoard().isCityBuildPointLegal(corner, player)
+					&& game.getBoard().getCorner(corner).getResourceReward() == Config.SETTLEMENT_RESOURCE_REWARD) {
+				candidates.add(corner);
+			}
+		}
+		return !candidates.isEmpty() && game.buildCity(pick(candidates));
+	}
+
+	private boolean buildSettlement(SiedlerGame game) {
+		if (!canAfford(game, Config.SETTLEMENT_COST)) {
+			return false;
+		}
+		List<Point> candidates = settlementCandidates(game);
+		return !candidates.isEmpty() && game.buildSettlement(pick(candidates));
+	}
+
+	private List<Point> settlementCandidates(SiedlerGame game) {
+		Player player = game.getCurrentPlayer();
+		List<Point> candidates = new ArrayList<>();
+		for (Point corner : game.getBoard().getCornerPositions()) {
+			if (game.getBoard().isSettlementBuildPointLegal(corner, player)) {
+				candidates.add(corner);
+			}
+		}
+		return candidates;
+	}
+
+	private boolean hasSettlementCandidate(SiedlerGame game) {
+		Player player = game.getCurrentPlayer();
+		for (Point corner : game.getBoard().getCornerPositions()) {
+			if (game.getBoard().isSettlementBuildPointLegal(corner, player)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean buildRoad(SiedlerGame game) {
+		if (!canAfford(game, Config.ROAD_COST) || hasSettlementCandidate(game)) {
+			return false;
+		}
+		SiedlerBoard board = game.getBoard();
+		List<Point[]> candidates = new ArrayList<>();
+		for (Point start : board.getCornerPositions()) {
+			if (!board.isCornerOwner(start, game.getCurrentPlayer())
+					&& !board.isRoadAdjoining(start, game.getCurrentPlayer())) {
+				continue;
+			}
+			for (Point end : board.getNeighbourPositions(start)) {
+				if (board.isRoadBuildLegal(start, end, game.getCurrentPlayerFaction())) {
+					candidates.add(new Point[] { start, end });
+				}
+			}
+		}
+		if (candidates.isEmpty()) {
+			return false;
+		}
+		Point[] road = pick(candidates);
+		return game.buildRoad(road[0], road[1]);
+	}
+
+	private boolean trade(SiedlerGame game) {
+		Resource surplus = null;
+		Resource scarce = null;
+		for (Resource resource : Resource.values()) {
+			int stock = game.getCurrentPlayerResourceStock(resource);
+			if (surplus == null || stock > game.getCurrentPlayerResourceStock(surplus)) {
+				surplus = resource;
+			}
+			if (scarce == null || stock < game.getCurrentPlayerResourceStock(scarce)) {
+				scarce = resource;
+			}
+		}
+		if (game.getCurrentPlayerResourceStock(surplus) <= Config.MAX_CARDS_IN_HAND_NO_DROP / 2 + 1) {
+			return false;
+		}
+		return game.tradeWithBankFourToOne(surplus, scarce);
+	}
+
+	private boolean canAfford(SiedlerGame game, Map<Resource, Integer> cost) {
+		for (Map.Entry<Resource, Integer> entry : cost.entrySet()) {
+			if (game.getCurrentPlayerResourceStock(entry.getKey()) < entry.getValue()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private <T> T pick(List<T> candidates) {
+		if (candidates.isEmpty()) {
+			return null;
+		}
+		return candidates.get(rng.nextInt(candidates.size()));
+	}
+}
@@ -0,0 +1,118 @@
+package ch.zhaw.simulation;
+
+import ch.zhaw.catan.Config.Faction;
+import ch.zhaw.catan.Config.Resource;
+
+/**
+ * The SimulationReport class is a data class which represents the aggregated
+ * results of a batch of simulated games
+ */
+public class SimulationReport {
+	private final int games;
+	private final long[] wins;
+	private final long gamesWithoutWinner;
+	private final long totalTurns;
+	private final long minTurns;
+	private final long maxTurns;
+	private final long[] payout;
+	private final long elapsedNanos;
+
+	/**
+	 * Constructor sets the aggregated results
+	 *
+	 * @param games              the number of games played
+	 * @param wins               the wins indexed by the ordinal of {@link Faction}
+	 * @param gamesWithoutWinner the number of games stopped without winner
+	 * @param totalTurns         the sum of the turns of all games
+	 * @param minTurns           the turns of the shortest game
+	 * @param maxTurns           the turns of the longest game
+	 * @param payout             the paid out cards indexed by the ordinal of
+	 *                           {@link Resource}
+	 * @param elapsedNanos       the wall clock time of the batch
+	 */
+	public SimulationReport(int games, long[] wins, long gamesWithoutWinner, long totalTurns, long minTurns,
+			long maxTurns, long[] payout, long elapsedNanos) {
+		this.games = games;
+		this.wins = wins.clone();
+		this.gamesWithoutWinner = gamesWithoutWinner;
+		this.totalTurns = totalTurns;
+		this.minTurns = minTurns;
+		this.maxTurns = maxTurns;
+		this.payout = payout.clone();
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	public int getGames() {
+		return games;
+	}
+
+	public long getWins(Faction faction) {
+		return wins[faction.ordinal()];
+	}
+
+	/**
+	 * Returns the share of games won by a faction
+	 *
+	 * @param faction the faction
+	 * @return value between 0 and 1
+	 */
+	public double getWinRate(Faction faction) {
+		return games == 0 ? 0 : (double) getWins(faction) / games;
+	}
+
+	public long getGamesWithoutWinner() {
+		return gamesWithoutWinner;
+	}
+
+	public double getAverageTurns() {
+		return games == 0 ? 0 : (double) totalTurns / games;
+	}
+
+	public long getMinTurns() {
+		return minTurns;
+	}
+
+	public long getMaxTurns() {
+		return maxTurns;
+	}
+
+	/**
+	 * Returns how many cards of a resource were paid out by dice throws in all
+	 * games
+	 *
+	 * @param resource the resource
+	 * @return long amount of cards
+	 */
+	public long getPayout(Resource resource) {
+		return payout[resource.ordinal()];
+	}
+
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	/**
+	 * Returns the throughput of the batch
+	 *
+	 * @return games per second
+	 */
+	public double getGamesPerSecond() {
+		return elapsedNanos == 0 ? 0 : games * 1e9 / elapsedNanos;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append(String.format("%d games in %.2f s (%.1f games/s)%n", games, elapsedNanos / 1e9,
+				getGamesPerSecond()));
+		for (Faction faction : Faction.values()) {
+			builder.append(String.format("%s won %.1f%%%n", faction, getWinRate(faction) * 100));
+		}
+		builder.append(String.format("without winner: %d%n", gamesWithoutWinner));
+		builder.append(String.format("turns: avg %.1f, min %d, max %d%n", getAverageTurns(), minTurns, maxTurns));
+		for (Resource resource : Resource.values()) {
+			builder.append(String.format("%s paid out: %d%n", resource, getPayout(resource)));
+		}
+		return builder.toString();
+	}
+}
@@ -0,0 +1,97 @@
+package ch.zhaw.ai;
+
+import org.junit.jupiter.api.Test;
+
+import ch.zhaw.catan.Config;
+import ch.zhaw.catan.Config.Faction;
+import ch.zhaw.catan.GameSnapshot;
+import ch.zhaw.catan.RandomNumberGenerator;
+import ch.zhaw.catan.SiedlerGame;
+import ch.zhaw.simulation.GameResult;
+import ch.zhaw.simulation.HeadlessGame;
+import ch.zhaw.simulation.PlayerAgent;
+import ch.zhaw.simulation.RandomAgent;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The ExpectimaxAgentTest class contains JUnit tests for testing the ExpectimaxAgent class.
+ */
+class ExpectimaxAgentTest {
+	private final static int GENEROUS_BUDGET_MILLIS = 60_000;
+	private final static int TABLE_CAPACITY = 1 << 12;
+	private final static Point FIRST_CORNER = new Point(5, 7);
+	private final static Point SECOND_CORNER = new Point(9, 15);
+
+	/**
+	 * description: the agent builds the city that wins the game
+	 * equivalence class: 1
+	 * initial condition: 3 win points, the current player has two settlements and the cards for a city
+	 * type: positive test
+	 * input: chooseMove, then the same position without cards
+	 * output: a city on one of the settlements, END without cards
+	 */
+	@Test
+	void testChoosesWinningCity() {
+		ExpectimaxAgent agent = newAgent();
+		Move move = agent.chooseMove(position(2, 3));
+		assertEquals(Move.Type.CITY, move.getType());
+		assertTrue(move.getPosition().equals(FIRST_CORNER) || move.getPosition().equals(SECOND_CORNER));
+		assertEquals(Move.END, agent.chooseMove(position(0, 0)));
+	}
+
+	/**
+	 * description: the agent plays complete games against random agents and wins them
+	 * equivalence class: 2
+	 * initial condition: games of one expectimax agent and two random agents with seeds 0 to 2, the agent
+	 * searches to a fixed depth on a single thread with a budget it never uses up
+	 * type: positive test
+	 * input: the games are played to the end
+	 * output: the expectimax agent wins every game
+	 */
+	@Test
+	void testPlaysAgainstRandomAgents() {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			for (int seed = 0; seed < 3; seed++) {
+				SiedlerGame game = new SiedlerGame(Config.WIN_POINTS, 3, seed);
+				RandomNumberGenerator rng = new RandomNumberGenerator(seed);
+				List<PlayerAgent> agents = new ArrayList<>();
+				for (int i = 0; i < game.getNumberOfPlayers(); i++) {
+					agents.add(i == seed ? new ExpectimaxAgent(GENEROUS_BUDGET_MILLIS, 0,
+							new TranspositionTable(TABLE_CAPACITY), executor) : new RandomAgent(rng.split()));
+				}
+				GameResult result = new HeadlessGame(game, agents, HeadlessGame.DEFAULT_MAX_TURNS).play();
+				assertEquals(game.getPlayerFactions().get(seed), result.getWinner());
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	private static ExpectimaxAgent newAgent() {
+		return new ExpectimaxAgent(GENEROUS_BUDGET_MILLIS, 1, new TranspositionTable(TABLE_CAPACITY),
+				ForkJoinPool.commonPool());
+	}
+
+	private static SiedlerGame position(int grain, int ore) {
+		int[] hand = new int[Config.Resource.values().length];
+		hand[Config.Resource.GRAIN.ordinal()] = grain;
+		hand[Config.Resource.ORE.ordinal()] = ore;
+		int[] bank = new int[hand.length];
+		for (int i = 0; i < bank.length; i++) {
+			bank[i] = Config.INITIAL_RESOURCE_CARDS_BANK.get(Config.Resource.values()[i]) - hand[i];
+		}
+		Faction owner = Faction.values()[0];
+		return SiedlerGame.restore(new GameSnapshot(1, 3, 2, 0, new long[3], new int[][] { hand, new int[hand.length] },
+				bank, new Point[] { FIRST_CORNER, SECOND_CORNER }, new Faction[] { owner, owner }, new boolean[2],
+				new Point[0], new Point[0], new Faction[0]));
+	}
+}
@@ -0,0 +1,87 @@
+package ch.zhaw.ai;
+
+import org.junit.jupiter.api.Test;
+
+import ch.zhaw.catan.Config;
+import ch.zhaw.catan.Config.Faction;
+import ch.zhaw.catan.GameSnapshot;
+import ch.zhaw.catan.RandomNumberGenerator;
+import ch.zhaw.catan.SiedlerGame;
+import ch.zhaw.simulation.GameResult;
+import ch.zhaw.simulation.HeadlessGame;
+import ch.zhaw.simulation.PlayerAgent;
+import ch.zhaw.simulation.RandomAgent;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The MctsAgentTest class contains JUnit tests for testing the MctsAgent class.
+ */
+class MctsAgentTest {
+	private final static int THINK_TIME_MILLIS = 2;
+	private final static int THREADS = 2;
+	private final static int WINNING_MOVE_THINK_TIME_MILLIS = 20;
+	private final static Point FIRST_CORNER = new Point(5, 7);
+	private final static Point SECOND_CORNER = new Point(9, 15);
+
+	/**
+	 * description: the agent builds the city that wins the game
+	 * equivalence class: 1
+	 * initial condition: 3 win points, the current player has two settlements and the cards for a city
+	 * type: positive test
+	 * input: chooseMove with two threads
+	 * output: a city on one of the settlements, rollouts have been counted
+	 */
+	@Test
+	void testChoosesWinningCity() {
+		MctsAgent agent = new MctsAgent(WINNING_MOVE_THINK_TIME_MILLIS, new RandomNumberGenerator(1), THREADS, ForkJoinPool.commonPool());
+		assertEquals(0, agent.getRolloutsPerSecond(), 0.0);
+		Move move = agent.chooseMove(position());
+		assertEquals(Move.Type.CITY, move.getType());
+		assertTrue(move.getPosition().equals(FIRST_CORNER) || move.getPosition().equals(SECOND_CORNER));
+		assertTrue(agent.getTotalRollouts() > 0);
+		assertTrue(agent.getRolloutsPerSecond() > 0);
+	}
+
+	/**
+	 * description: the agent plays complete games against random agents within its think time
+	 * equivalence class: 2
+	 * initial condition: games of one MCTS agent with two threads and two random agents with seeds 0 to 2
+	 * type: positive test
+	 * input: the games are played to the end
+	 * output: every game has a winner
+	 */
+	@Test
+	void testPlaysAgainstRandomAgents() {
+		for (int seed = 0; seed < 3; seed++) {
+			SiedlerGame game = new SiedlerGame(Config.WIN_POINTS, 3, seed);
+			RandomNumberGenerator rng = new RandomNumberGenerator(seed);
+			List<PlayerAgent> agents = new ArrayList<>();
+			for (int i = 0; i < game.getNumberOfPlayers(); i++) {
+				agents.add(i == seed ? new MctsAgent(THINK_TIME_MILLIS, rng.split(), THREADS, ForkJoinPool.commonPool())
+						: new RandomAgent(rng.split()));
+			}
+			GameResult result = new HeadlessGame(game, agents, HeadlessGame.DEFAULT_MAX_TURNS).play();
+			assertNotNull(result.getWinner());
+		}
+	}
+
+	private static SiedlerGame position() {
+		int[] hand = new int[Config.Resource.values().length];
+		hand[Config.Resource.GRAIN.ordinal()] = 2;
+		hand[Config.Resource.ORE.ordinal()] = 3;
+		int[] bank = new int[hand.length];
+		for (int i = 0; i < bank.length; i++) {
+			bank[i] = Config.INITIAL_RESOURCE_CARDS_BANK.get(Config.Resource.values()[i]) - hand[i];
+		}
+		Faction owner = Faction.values()[0];
+		return SiedlerGame.restore(new GameSnapshot(1, 3, 2, 0, new long[3], new int[][] { hand, new int[hand.length] },
+				bank, new Point[] { FIRST_CORNER, SECOND_CORNER }, new Faction[] { owner, owner }, new boolean[2],
+				new Point[0], new Point[0], new Faction[0]));
+	}
+}
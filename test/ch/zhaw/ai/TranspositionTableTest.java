@@ -0,0 +1,57 @@
+package ch.zhaw.ai;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The TranspositionTableTest class contains JUnit tests for testing the TranspositionTable class.
+ */
+class TranspositionTableTest {
+	private final static int CAPACITY = 16;
+	private final static long KEY = 0x1234_5678_9abc_def0L;
+
+	/**
+	 * description: a stored entry is found with its value and depth
+	 * equivalence class: 1
+	 * initial condition: empty table of 16 entries
+	 * type: positive test
+	 * input: store value 2.5 at depth 3
+	 * output: the entry is found under its key, other keys miss, nothing is found after clear
+	 */
+	@Test
+	void testStoreAndProbe() {
+		TranspositionTable table = new TranspositionTable(CAPACITY);
+		assertEquals(0, table.probe(KEY));
+		table.store(KEY, 2.5, 3);
+		long entry = table.probe(KEY);
+		assertEquals(2.5, TranspositionTable.getValue(entry), 0.0);
+		assertEquals(3, TranspositionTable.getDepth(entry));
+		assertEquals(0, table.probe(KEY + 1));
+		table.clear();
+		assertEquals(0, table.probe(KEY));
+	}
+
+	/**
+	 * description: the deeper entry of a bucket survives shallower entries of the same search
+	 * equivalence class: 2
+	 * initial condition: table of 2 entries (a single bucket)
+	 * type: positive test
+	 * input: store three keys at depths 5, 1 and 2, then a new search stores a fourth key at depth 0
+	 * output: the deep key and the latest shallow key are found, in the new search the deep key is replaced
+	 */
+	@Test
+	void testReplacement() {
+		TranspositionTable table = new TranspositionTable(2);
+		table.store(KEY, 1, 5);
+		table.store(KEY + 1, 2, 1);
+		table.store(KEY + 2, 3, 2);
+		assertEquals(5, TranspositionTable.getDepth(table.probe(KEY)));
+		assertEquals(0, table.probe(KEY + 1));
+		assertEquals(2, TranspositionTable.getDepth(table.probe(KEY + 2)));
+		table.newSearch();
+		table.store(KEY + 3, 4, 0);
+		assertEquals(0, table.probe(KEY));
+		assertEquals(4, TranspositionTable.getValue(table.probe(KEY + 3)), 0.0);
+	}
+}
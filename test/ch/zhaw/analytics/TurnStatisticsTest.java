@@ -0,0 +1,100 @@
+package ch.zhaw.analytics;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ch.zhaw.catan.Config;
+import ch.zhaw.catan.Config.Faction;
+import ch.zhaw.catan.Config.Resource;
+import ch.zhaw.catan.SiedlerGame;
+import ch.zhaw.catan.games.RandomGames;
+import ch.zhaw.simulation.GameResult;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The TurnStatisticsTest class contains JUnit tests for testing the TurnRecorder, TurnStatisticsWriter and
+ * TurnStatisticsReader classes.
+ */
+class TurnStatisticsTest {
+	private final static int DEFAULT_NUMBER_OF_PLAYERS = 3;
+	private final static int SMALL_BLOCK_ROWS = 100;
+
+	/**
+	 * description: the recorder adds one row per turn with the payout of the dice throws
+	 * equivalence class: 1
+	 * initial condition: a game of random agents with seed 4
+	 * type: positive test
+	 * input: rows of the recorder
+	 * output: as many rows as turns, payouts summing up to the payout of the result, winner with enough points
+	 */
+	@Test
+	void testRecorderRows() {
+		SiedlerGame game = new SiedlerGame(Config.WIN_POINTS, DEFAULT_NUMBER_OF_PLAYERS, 4);
+		TurnRecorder recorder = new TurnRecorder(game, 4);
+		GameResult result = RandomGames.play(game, 4);
+		TurnColumns rows = recorder.finish();
+		assertEquals(result.getTurns(), rows.size());
+		long payout = 0;
+		for (Faction faction : game.getPlayerFactions()) {
+			for (int row = 0; row < rows.size(); row++) {
+				payout += rows.getColumn(TurnColumns.PAYOUT + faction.ordinal())[row];
+			}
+		}
+		long expectedPayout = 0;
+		for (Resource resource : Resource.values()) {
+			expectedPayout += result.getPayout(resource);
+		}
+		assertEquals(expectedPayout, payout);
+		int last = rows.size() - 1;
+		assertEquals(4, rows.getGames()[last]);
+		assertTrue(rows.getColumn(TurnColumns.POINTS + result.getWinner().ordinal())[last] >= Config.WIN_POINTS);
+	}
+
+	/**
+	 * description: rows written in compressed blocks are read back unchanged
+	 * equivalence class: 2
+	 * initial condition: five games with blocks of 100 rows
+	 * type: positive test
+	 * input: scan of the written file
+	 * output: same number of rows and same dice and payout averages as computed from the rows
+	 */
+	@Test
+	void testWriteAndScan(@TempDir Path directory) throws IOException {
+		Path file = directory.resolve("turns.bin");
+		TurnColumns expected = new TurnColumns(SMALL_BLOCK_ROWS);
+		try (TurnStatisticsWriter writer = new TurnStatisticsWriter(file, SMALL_BLOCK_ROWS)) {
+			for (int seed = 0; seed < 5; seed++) {
+				SiedlerGame game = new SiedlerGame(Config.WIN_POINTS, DEFAULT_NUMBER_OF_PLAYERS, seed);
+				TurnRecorder recorder = new TurnRecorder(game, seed);
+				RandomGames.play(game, seed);
+				TurnColumns rows = recorder.finish();
+				expected.addAll(rows);
+				writer.append(rows);
+			}
+		}
+		TurnStatisticsReader reader = new TurnStatisticsReader(file);
+		List<Integer> blockSizes = new ArrayList<>();
+		int[] offset = new int[1];
+		reader.scan(columns -> {
+			blockSizes.add(columns.size());
+			for (int row = 0; row < columns.size(); row++) {
+				assertEquals(expected.getGames()[offset[0] + row], columns.getGames()[row]);
+				assertEquals(expected.getColumn(TurnColumns.DICE)[offset[0] + row], columns.getColumn(TurnColumns.DICE)[row]);
+				assertEquals(expected.getColumn(TurnColumns.ROADS)[offset[0] + row], columns.getColumn(TurnColumns.ROADS)[row]);
+			}
+			offset[0] += columns.size();
+		});
+		assertTrue(blockSizes.size() > 1);
+		assertEquals(expected.size(), reader.countTurns());
+		double[][] averages = reader.averagePayoutPerDiceValue();
+		for (int faction = 0; faction < Faction.values().length; faction++) {
+			assertEquals(0.0, averages[7][faction]);
+		}
+	}
+}
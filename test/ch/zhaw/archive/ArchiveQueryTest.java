@@ -0,0 +1,109 @@
+package ch.zhaw.archive;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ch.zhaw.catan.Config;
+import ch.zhaw.catan.Config.Faction;
+import ch.zhaw.catan.SiedlerGame;
+import ch.zhaw.catan.games.RandomGames;
+import ch.zhaw.simulation.GameResult;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The ArchiveQueryTest class contains JUnit tests for testing the ArchiveQuery class.
+ */
+class ArchiveQueryTest {
+	private final static int DEFAULT_NUMBER_OF_PLAYERS = 3;
+	private final static int SMALL_SEGMENT_SIZE = 4096;
+	private final static int NUMBER_OF_GAMES = 20;
+	@TempDir
+	Path directory;
+	private List<GameResult> results;
+	private long layoutHash;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		results = new ArrayList<>();
+		try (GameArchiveWriter writer = GameArchiveWriter.open(directory, SMALL_SEGMENT_SIZE)) {
+			for (long seed = 0; seed < NUMBER_OF_GAMES; seed++) {
+				SiedlerGame game = new SiedlerGame(Config.WIN_POINTS, DEFAULT_NUMBER_OF_PLAYERS, seed);
+				MoveRecorder moves = new MoveRecorder();
+				game.addEventListener(moves);
+				GameResult result = RandomGames.play(game, seed);
+				writer.append(game, result.getWinner(), result.getTurns(), moves);
+				results.add(result);
+				layoutHash = game.getBoard().getLayoutHash();
+			}
+		}
+	}
+
+	/**
+	 * description: filters on winner and layout match the games and skip segments
+	 * equivalence class: 1
+	 * initial condition: 20 archived games of the standard layout in segments of 4 KB
+	 * type: positive test
+	 * input: counts per winner, count of another layout and of games without winner
+	 * output: counts per winner as in the results, no segment read for the impossible filters
+	 */
+	@Test
+	void testPushdown() throws IOException {
+		GameArchive archive = GameArchive.open(directory);
+		assertTrue(archive.getSegments().size() > 1);
+		for (Faction faction : Faction.values()) {
+			long expected = results.stream().filter(result -> result.getWinner() == faction).count();
+			assertEquals(expected, ArchiveQuery.on(archive).winner(faction).count());
+		}
+		assertEquals(NUMBER_OF_GAMES, ArchiveQuery.on(archive).layout(layoutHash).count());
+		assertTrue(ArchiveQuery.on(archive).layout(layoutHash + 1).selectSegments().isEmpty());
+		assertTrue(ArchiveQuery.on(archive).winner(null).selectSegments().isEmpty());
+	}
+
+	/**
+	 * description: aggregations over all games match the results of the games
+	 * equivalence class: 2
+	 * initial condition: 20 archived games with a winner each
+	 * type: positive test
+	 * input: median turns and win rates by first settlement
+	 * output: median of the result turns, one first settlement per player and one win per game
+	 */
+	@Test
+	void testAggregations() throws IOException {
+		GameArchive archive = GameArchive.open(directory);
+		List<Integer> turns = new ArrayList<>();
+		results.forEach(result -> turns.add(result.getTurns()));
+		Collections.sort(turns);
+		double expectedMedian = (turns.get(NUMBER_OF_GAMES / 2 - 1) + turns.get(NUMBER_OF_GAMES / 2)) / 2.0;
+		assertEquals(expectedMedian, ArchiveQuery.on(archive).finished().medianTurns());
+		long games = 0;
+		long wins = 0;
+		for (WinRate rate : ArchiveQuery.on(archive).winRateByFirstSettlement().values()) {
+			games += rate.getGames();
+			wins += rate.getWins();
+		}
+		assertEquals(NUMBER_OF_GAMES * DEFAULT_NUMBER_OF_PLAYERS, games);
+		assertEquals(NUMBER_OF_GAMES, wins);
+	}
+
+	/**
+	 * description: the median of a histogram with an even number of values is the mean of the middle values
+	 * equivalence class: 3
+	 * initial condition: the values 1, 2, 3 and 4
+	 * type: positive test
+	 * input: histogram of the values
+	 * output: 2.5
+	 */
+	@Test
+	void testMedianOfEvenCount() {
+		assertEquals(2.5, ArchiveQuery.median(new long[] { 0, 1, 1, 1, 1 }));
+		assertEquals(0.0, ArchiveQuery.median(new long[0]));
+	}
+}
@@ -0,0 +1,97 @@
+package ch.zhaw.archive;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ch.zhaw.catan.Config;
+import ch.zhaw.catan.GameEvent;
+import ch.zhaw.catan.GameSnapshot;
+import ch.zhaw.catan.SiedlerGame;
+import ch.zhaw.catan.games.RandomGames;
+import ch.zhaw.persistence.GameLog;
+import ch.zhaw.simulation.GameResult;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The GameArchiveTest class contains JUnit tests for testing the GameArchive and GameArchiveWriter classes.
+ */
+class GameArchiveTest {
+	private final static int DEFAULT_NUMBER_OF_PLAYERS = 3;
+	private final static int SMALL_SEGMENT_SIZE = 8192;
+	private final static int NUMBER_OF_GAMES = 30;
+
+	private static SiedlerGame archiveRandomGame(GameArchiveWriter writer, long seed) throws IOException {
+		SiedlerGame game = new SiedlerGame(Config.WIN_POINTS, DEFAULT_NUMBER_OF_PLAYERS, seed);
+		MoveRecorder moves = new MoveRecorder();
+		game.addEventListener(moves);
+		GameResult result = RandomGames.play(game, seed);
+		writer.append(game, result.getWinner(), result.getTurns(), moves);
+		return game;
+	}
+
+	/**
+	 * description: archived games are found by id and can be replayed from their moves
+	 * equivalence class: 1
+	 * initial condition: 30 games of random agents in segments of 8 KB
+	 * type: positive test
+	 * input: the records of all games
+	 * output: several segments, matching headers and replayed games equal to the originals
+	 */
+	@Test
+	void testRandomAccessAndReplay(@TempDir Path directory) throws IOException {
+		List<GameSnapshot> snapshots = new ArrayList<>();
+		try (GameArchiveWriter writer = GameArchiveWriter.open(directory, SMALL_SEGMENT_SIZE)) {
+			for (long seed = 0; seed < NUMBER_OF_GAMES; seed++) {
+				snapshots.add(archiveRandomGame(writer, seed).snapshot());
+			}
+		}
+		GameArchive archive = GameArchive.open(directory);
+		assertEquals(NUMBER_OF_GAMES, archive.size());
+		assertTrue(archive.getSegments().size() > 1);
+		for (int id = NUMBER_OF_GAMES - 1; id >= 0; id--) {
+			GameRecord record = archive.get(id);
+			assertEquals(id, record.getGameId());
+			assertEquals(id, record.getSeed());
+			SiedlerGame replayed = new SiedlerGame(record.getWinPoints(), record.getNumberOfPlayers(), record.getSeed());
+			List<GameEvent> moves = new ArrayList<>();
+			record.forEachMove(moves::add);
+			assertEquals(record.getMoveCount(), moves.size());
+			GameLog.replay(replayed, moves);
+			assertEquals(snapshots.get(id), replayed.snapshot());
+			assertEquals(replayed.getWinner(), record.getWinner());
+			assertEquals(replayed.getBoard().getLayoutHash(), record.getLayoutHash());
+		}
+	}
+
+	/**
+	 * description: a reopened archive continues the ids after the complete segments
+	 * equivalence class: 2
+	 * initial condition: an archive with 3 games, reopened for 2 more games
+	 * type: positive test
+	 * input: sequential scan of the archive
+	 * output: the ids 0 to 4 in order
+	 */
+	@Test
+	void testReopenContinuesIds(@TempDir Path directory) throws IOException {
+		try (GameArchiveWriter writer = GameArchiveWriter.open(directory, GameArchiveWriter.DEFAULT_SEGMENT_SIZE)) {
+			for (long seed = 0; seed < 3; seed++) {
+				archiveRandomGame(writer, seed);
+			}
+		}
+		try (GameArchiveWriter writer = GameArchiveWriter.open(directory, GameArchiveWriter.DEFAULT_SEGMENT_SIZE)) {
+			for (long seed = 3; seed < 5; seed++) {
+				assertEquals(seed, archiveRandomGame(writer, seed).getSeed());
+			}
+		}
+		List<Long> ids = new ArrayList<>();
+		GameArchive.open(directory).scan(record -> ids.add(record.getGameId()));
+		assertEquals(List.of(0L, 1L, 2L, 3L, 4L), ids);
+		assertThrows(IllegalArgumentException.class, () -> GameArchive.open(directory).get(5));
+	}
+}
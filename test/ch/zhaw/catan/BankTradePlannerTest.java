@@ -0,0 +1,97 @@
+package ch.zhaw.catan;
+
+import org.junit.jupiter.api.Test;
+
+import ch.zhaw.catan.Config.Resource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Point;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The BankTradePlannerTest class contains JUnit tests for testing the BankTradePlanner class.
+ */
+class BankTradePlannerTest {
+	private final static int DEFAULT_NUMBER_OF_PLAYERS = 2;
+	private final static Map<Resource, Integer> FULL_BANK = Config.INITIAL_RESOURCE_CARDS_BANK;
+
+	/**
+	 * description: the planned trades can be executed and make the cost affordable
+	 * equivalence class: 1
+	 * initial condition: current player with 2 grain, 1 ore, 9 wool and 4 lumber
+	 * type: positive test
+	 * input: plan for a city, executed with tradeWithBankFourToOne
+	 * output: two trades of wool for ore, afterwards the city is affordable
+	 */
+	@Test
+	void testPlanAffordsCity() {
+		SiedlerGame game = withHand(Map.of(Resource.GRAIN, 2, Resource.ORE, 1, Resource.WOOL, 9, Resource.LUMBER, 4));
+		List<BankTrade> trades = game.planBankTrades(Config.CITY_COST);
+		assertEquals(2, trades.size());
+		for (BankTrade trade : trades) {
+			assertEquals(Resource.WOOL, trade.getOffer());
+			assertEquals(Resource.ORE, trade.getWant());
+			assertEquals(BankTradePlanner.DEFAULT_RATE, trade.getAmount());
+			assertTrue(game.tradeWithBankFourToOne(trade.getOffer(), trade.getWant()));
+		}
+		assertTrue(game.planBankTrades(Config.CITY_COST).isEmpty());
+	}
+
+	/**
+	 * description: costs that cannot be reached by trades are reported
+	 * equivalence class: 2
+	 * initial condition: hands with too few surplus cards, a bank without ore
+	 * type: negative test
+	 * input: plans for a city
+	 * output: null
+	 */
+	@Test
+	void testImpossiblePlans() {
+		BankTradePlanner planner = new BankTradePlanner();
+		assertNull(planner.plan(Map.of(Resource.WOOL, 7), FULL_BANK, Config.CITY_COST));
+		assertNull(planner.plan(Map.of(Resource.WOOL, 3, Resource.LUMBER, 3, Resource.BRICK, 3, Resource.GRAIN, 2,
+				Resource.ORE, 2), FULL_BANK, Config.CITY_COST));
+		assertNull(planner.plan(Map.of(Resource.WOOL, 20, Resource.GRAIN, 2), Map.of(Resource.ORE, 2),
+				Config.CITY_COST));
+		assertEquals(5, planner.plan(Map.of(Resource.WOOL, 20), FULL_BANK, Config.CITY_COST).size());
+	}
+
+	/**
+	 * description: resources with a lower rate are offered first
+	 * equivalence class: 3
+	 * initial condition: planner trading wool two to one, all other resources four to one
+	 * type: positive test
+	 * input: plan for a road with 8 lumber and 4 wool, rates of the wrong length
+	 * output: two trades of wool for brick, IllegalArgumentException
+	 */
+	@Test
+	void testLowerRateFirst() {
+		int[] rates = BankTradePlanner.uniformRates(BankTradePlanner.DEFAULT_RATE);
+		rates[Resource.WOOL.ordinal()] = 2;
+		BankTradePlanner planner = new BankTradePlanner(rates);
+		List<BankTrade> trades = planner.plan(Map.of(Resource.LUMBER, 8, Resource.WOOL, 4), FULL_BANK,
+				Config.ROAD_COST);
+		assertEquals(1, trades.size());
+		assertEquals(Resource.WOOL, trades.get(0).getOffer());
+		assertEquals(2, trades.get(0).getAmount());
+		assertThrows(IllegalArgumentException.class, () -> new BankTradePlanner(new int[] { 4 }));
+	}
+
+	/**
+	 * Creates a game whose current player holds the given cards, taken from the
+	 * bank
+	 */
+	private static SiedlerGame withHand(Map<Resource, Integer> cards) {
+		int[][] hands = new int[DEFAULT_NUMBER_OF_PLAYERS][Resource.values().length];
+		int[] bank = new int[Resource.values().length];
+		for (Resource resource : Resource.values()) {
+			hands[0][resource.ordinal()] = cards.getOrDefault(resource, 0);
+			bank[resource.ordinal()] = FULL_BANK.get(resource) - hands[0][resource.ordinal()];
+		}
+		return SiedlerGame.restore(new GameSnapshot(1, Config.WIN_POINTS, DEFAULT_NUMBER_OF_PLAYERS, 0, new long[3],
+				hands, bank, new Point[0], new Config.Faction[0], new boolean[0], new Point[0],
+				new Point[0], new Config.Faction[0]));
+	}
+}
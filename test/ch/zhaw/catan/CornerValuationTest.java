@@ -0,0 +1,117 @@
+package ch.zhaw.catan;
+
+import org.junit.jupiter.api.Test;
+
+import ch.zhaw.catan.Config.Land;
+import ch.zhaw.catan.Config.Resource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Point;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The CornerValuationTest class contains JUnit tests for testing the CornerValuation class.
+ */
+class CornerValuationTest {
+	private final static int DEFAULT_NUMBER_OF_PLAYERS = 3;
+	private final static int CORNERS_PER_FIELD = 6;
+	private final static Point DESERT_CORNER = new Point(7, 9);
+
+	/**
+	 * description: the pips of the corners add up to the pips of the fields
+	 * equivalence class: 1
+	 * initial condition: standard board
+	 * type: positive test
+	 * input: pips of all corners per resource, pips and diversity of a corner next to the desert
+	 * output: every field counted at its six corners, the desert counts nothing
+	 */
+	@Test
+	void testStandardBoard() {
+		SiedlerBoard board = new SiedlerGame(Config.WIN_POINTS, DEFAULT_NUMBER_OF_PLAYERS, 1).getBoard();
+		CornerValuation valuation = board.getCornerValuation();
+		int[] fieldPips = new int[Resource.values().length];
+		board.getDiceNumberPlacement().forEach((field, diceNumber) -> {
+			Resource resource = board.getField(field).getResource();
+			if (resource != null) {
+				fieldPips[resource.ordinal()] += CornerValuation.combinations(diceNumber);
+			}
+		});
+		for (Resource resource : Resource.values()) {
+			int cornerPips = 0;
+			for (Point corner : board.getCornerPositions()) {
+				cornerPips += valuation.getPips(corner, resource);
+			}
+			assertEquals(CORNERS_PER_FIELD * fieldPips[resource.ordinal()], cornerPips);
+		}
+		int pips = 0;
+		Set<Resource> resources = EnumSet.noneOf(Resource.class);
+		for (Point field : board.getFieldPositions(DESERT_CORNER)) {
+			if (board.getField(field) != Land.DESERT) {
+				pips += CornerValuation.combinations(board.getDiceNumberPlacement().get(field));
+				resources.add(board.getField(field).getResource());
+			}
+		}
+		assertEquals(pips, valuation.getPips(DESERT_CORNER));
+		assertEquals(resources.size(), valuation.getDiversity(DESERT_CORNER));
+		assertEquals(pips / 36.0, valuation.getExpectedProduction(DESERT_CORNER), 1e-12);
+	}
+
+	/**
+	 * description: the valuation is kept while the layout is unchanged and recalculated afterwards
+	 * equivalence class: 2
+	 * initial condition: standard board
+	 * type: positive test
+	 * input: valuation before and after placing a settlement, in a copy of the game, after new dice numbers
+	 * output: the same valuation until the dice numbers change, then the new pips
+	 */
+	@Test
+	void testRecalculatedOnLayoutChange() {
+		SiedlerGame game = new SiedlerGame(Config.WIN_POINTS, DEFAULT_NUMBER_OF_PLAYERS, 1);
+		SiedlerBoard board = game.getBoard();
+		CornerValuation valuation = board.getCornerValuation();
+		assertTrue(game.placeInitialSettlement(DESERT_CORNER, false));
+		assertSame(valuation, board.getCornerValuation());
+		assertSame(valuation, game.copy().getBoard().getCornerValuation());
+		Map<Point, Integer> diceNumbers = new HashMap<>();
+		board.getDiceNumberPlacement().forEach((field, diceNumber) -> diceNumbers.put(field, 6));
+		board.setDiceNumberPlacement(diceNumbers);
+		assertNotSame(valuation, board.getCornerValuation());
+		int landFields = 0;
+		for (Point field : board.getFieldPositions(DESERT_CORNER)) {
+			if (board.getField(field).getResource() != null) {
+				landFields++;
+			}
+		}
+		assertEquals(landFields * CornerValuation.combinations(6), board.getCornerValuation().getPips(DESERT_CORNER));
+	}
+
+	/**
+	 * description: games on the same layout share the index and the valuation, but not the structures
+	 * equivalence class: 3
+	 * initial condition: two games on the standard layout
+	 * type: positive test
+	 * input: a settlement in the first game, new dice numbers on the board of the second game
+	 * output: the same index and valuation, no settlement in the second game, unchanged valuation of the first game
+	 */
+	@Test
+	void testSharedBetweenGamesOfLayout() {
+		SiedlerGame game = new SiedlerGame(Config.WIN_POINTS, DEFAULT_NUMBER_OF_PLAYERS, 1);
+		SiedlerGame other = new SiedlerGame(Config.WIN_POINTS, DEFAULT_NUMBER_OF_PLAYERS, 2);
+		assertSame(game.getBoard().getIndex(), other.getBoard().getIndex());
+		CornerValuation valuation = game.getBoard().getCornerValuation();
+		assertSame(valuation, other.getBoard().getCornerValuation());
+		assertTrue(game.placeInitialSettlement(DESERT_CORNER, false));
+		assertNull(other.getBoard().getCorner(DESERT_CORNER));
+		Map<Point, Integer> diceNumbers = new HashMap<>();
+		other.getBoard().getDiceNumberPlacement().forEach((field, diceNumber) -> diceNumbers.put(field, 6));
+		other.getBoard().setDiceNumberPlacement(diceNumbers);
+		assertNotSame(valuation, other.getBoard().getCornerValuation());
+		assertSame(valuation, game.getBoard().getCornerValuation());
+		assertSame(valuation, new SiedlerGame(Config.WIN_POINTS, DEFAULT_NUMBER_OF_PLAYERS, 3).getBoard()
+				.getCornerValuation());
+	}
+}
@@ -0,0 +1,102 @@
+package ch.zhaw.catan;
+
+import org.junit.jupiter.api.Test;
+
+import ch.zhaw.catan.Config.Harbour;
+import ch.zhaw.catan.Config.Resource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Point;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The HarbourTest class contains JUnit tests for testing the harbours of the SiedlerBoard and SiedlerGame classes.
+ */
+class HarbourTest {
+	private final static int DEFAULT_NUMBER_OF_PLAYERS = 2;
+	private final static Point WOOL_HARBOUR = new Point(9, 3);
+	private final static Point GENERIC_HARBOUR = new Point(6, 4);
+	private final static int WOOL_DICE_NUMBER = 8;
+
+	/**
+	 * description: a settlement on a harbour lowers the rate of the accepted resource for its owner
+	 * equivalence class: 1
+	 * initial condition: standard board with the standard harbours
+	 * type: positive test
+	 * input: initial settlement on the wool harbour with payout, a dice throw of 8, a trade of wool for ore
+	 * output: rate 2 for wool and 4 otherwise, a plan and a trade with two wool
+	 */
+	@Test
+	void testResourceHarbourTrade() {
+		SiedlerGame game = createGame();
+		assertEquals(Harbour.WOOL, game.getBoard().getHarbour(WOOL_HARBOUR));
+		assertEquals(List.of(Harbour.WOOL.toString()), game.getBoard().getFieldAnnotationsForCorner(WOOL_HARBOUR));
+		assertTrue(game.placeInitialSettlement(WOOL_HARBOUR, true));
+		game.throwDice(WOOL_DICE_NUMBER);
+		assertEquals(2, game.getCurrentPlayerResourceStock(Resource.WOOL));
+		assertEquals(2, game.getCurrentPlayerTradeRate(Resource.WOOL));
+		assertEquals(SiedlerGame.FOUR_TO_ONE_TRADE_OFFER, game.getCurrentPlayerTradeRate(Resource.ORE));
+		List<BankTrade> trades = game.planBankTrades(Map.of(Resource.ORE, 1));
+		assertEquals(1, trades.size());
+		assertEquals(2, trades.get(0).getAmount());
+		assertTrue(game.tradeWithBankFourToOne(Resource.WOOL, Resource.ORE));
+		assertEquals(0, game.getCurrentPlayerResourceStock(Resource.WOOL));
+		assertEquals(1, game.getCurrentPlayerResourceStock(Resource.ORE));
+		game.switchToNextPlayer();
+		assertEquals(SiedlerGame.FOUR_TO_ONE_TRADE_OFFER, game.getCurrentPlayerTradeRate(Resource.WOOL));
+	}
+
+	/**
+	 * description: the rates follow the settlements on harbour corners
+	 * equivalence class: 2
+	 * initial condition: standard board with the standard harbours
+	 * type: positive test
+	 * input: settlements on the generic and the wool harbour, a copy of the game, removal of both settlements
+	 * output: rate 3 for all resources but wool, rates kept by the copy, rate 4 after the removal
+	 */
+	@Test
+	void testRatesFollowSettlements() {
+		SiedlerGame game = createGame();
+		assertTrue(game.placeInitialSettlement(GENERIC_HARBOUR, false));
+		assertTrue(game.placeInitialSettlement(WOOL_HARBOUR, false));
+		SiedlerGame copy = game.copy();
+		for (SiedlerGame tested : List.of(game, copy)) {
+			for (Resource resource : Resource.values()) {
+				assertEquals(resource == Resource.WOOL ? 2 : 3, tested.getCurrentPlayerTradeRate(resource));
+			}
+		}
+		game.getBoard().setCorner(GENERIC_HARBOUR, null);
+		assertEquals(SiedlerGame.FOUR_TO_ONE_TRADE_OFFER, game.getCurrentPlayerTradeRate(Resource.ORE));
+		assertEquals(2, game.getCurrentPlayerTradeRate(Resource.WOOL));
+		game.getBoard().setCorner(WOOL_HARBOUR, null);
+		assertEquals(SiedlerGame.FOUR_TO_ONE_TRADE_OFFER, game.getCurrentPlayerTradeRate(Resource.WOOL));
+		assertEquals(3, copy.getCurrentPlayerTradeRate(Resource.ORE));
+	}
+
+	/**
+	 * description: harbours must lie on the coast and only harbour annotations are harbours
+	 * equivalence class: 3
+	 * initial condition: standard layout
+	 * type: negative test
+	 * input: harbour on an inland corner, annotations that are no harbours, standard layout without harbours
+	 * output: IllegalArgumentException, null, no harbour corners and rate 4
+	 */
+	@Test
+	void testInvalidHarbours() {
+		assertThrows(IllegalArgumentException.class,
+				() -> BoardLayout.standard().withHarbours(Map.of(new Point(7, 7), Harbour.GENERIC)));
+		assertNull(Harbour.fromAnnotation("XX"));
+		assertEquals(Harbour.GENERIC, Harbour.fromAnnotation("3:1"));
+		SiedlerGame game = new SiedlerGame(Config.WIN_POINTS, DEFAULT_NUMBER_OF_PLAYERS, 1);
+		assertTrue(game.getBoard().getHarbourCorners().isEmpty());
+		assertTrue(game.placeInitialSettlement(WOOL_HARBOUR, false));
+		assertEquals(SiedlerGame.FOUR_TO_ONE_TRADE_OFFER, game.getCurrentPlayerTradeRate(Resource.WOOL));
+	}
+
+	private static SiedlerGame createGame() {
+		return new SiedlerGame(Config.WIN_POINTS, DEFAULT_NUMBER_OF_PLAYERS, 1,
+				BoardLayout.standard().withHarbours(Config.getStandardHarbourPlacement()));
+	}
+}
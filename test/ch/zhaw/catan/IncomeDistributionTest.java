@@ -0,0 +1,122 @@
+package ch.zhaw.catan;
+
+import org.junit.jupiter.api.Test;
+
+import ch.zhaw.catan.Config.Faction;
+import ch.zhaw.catan.Config.Resource;
+import ch.zhaw.structures.City;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Point;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The IncomeDistributionTest class contains JUnit tests for testing the IncomeDistribution class.
+ */
+class IncomeDistributionTest {
+	private final static int DEFAULT_NUMBER_OF_PLAYERS = 2;
+	private final static Point SETTLEMENT = new Point(7, 7);
+	private final static Point OTHER_SETTLEMENT = new Point(9, 13);
+	private final static Point CITY = new Point(4, 10);
+
+	/**
+	 * description: the income follows every placement and matches the payout of the dice
+	 * equivalence class: 1
+	 * initial condition: standard board, distribution of the game created before the first settlement
+	 * type: positive test
+	 * input: two settlements of the first player, one of them upgraded to a city, one settlement of the second
+	 * output: for every sum the cards paid out by throwDice, equal to the distribution of a copy created afterwards,
+	 *         the game keeps its distribution
+	 */
+	@Test
+	void testIncomeMatchesPayout() {
+		SiedlerGame game = new SiedlerGame(Config.WIN_POINTS, DEFAULT_NUMBER_OF_PLAYERS, 1);
+		IncomeDistribution distribution = game.getIncomeDistribution();
+		assertTrue(game.placeInitialSettlement(SETTLEMENT, false));
+		assertTrue(game.placeInitialSettlement(CITY, false));
+		Player owner = game.getCurrentPlayer();
+		game.getBoard().setCorner(CITY, new City(owner, CITY));
+		game.switchToNextPlayer();
+		assertTrue(game.placeInitialSettlement(OTHER_SETTLEMENT, false));
+		IncomeDistribution recalculated = game.copy().getIncomeDistribution();
+		assertSame(distribution, game.getIncomeDistribution());
+		assertNotSame(distribution, recalculated);
+		for (int sum = 2; sum <= 12; sum++) {
+			Map<Faction, List<Resource>> payout = game.copy().throwDice(sum);
+			for (Faction faction : game.getPlayerFactions()) {
+				for (Resource resource : Resource.values()) {
+					int cards = sum == 7 ? 0 : Collections.frequency(payout.get(faction), resource);
+					assertEquals(cards, distribution.getIncome(faction, sum, resource));
+					assertEquals(cards, recalculated.getIncome(faction, sum, resource));
+				}
+			}
+		}
+		int cityPips = game.getBoard().getCornerValuation().getPips(CITY);
+		int settlementPips = game.getBoard().getCornerValuation().getPips(SETTLEMENT);
+		double expected = 0;
+		for (Resource resource : Resource.values()) {
+			expected += distribution.getExpectedIncome(owner.getFaction(), resource);
+		}
+		assertEquals((2.0 * cityPips + settlementPips) / CornerValuation.DICE_COMBINATIONS, expected, 1e-12);
+	}
+
+	/**
+	 * description: the distributions over several turns are consistent with the income per roll
+	 * equivalence class: 2
+	 * initial condition: standard board with a settlement and a city of the first player
+	 * type: positive test
+	 * input: distributions of grain over 0 to 5 turns, probability to afford a city
+	 * output: probabilities add up to 1 with mean turns times the expected income,
+	 *         the probability to afford grows with the turns and is 1 with enough cards
+	 */
+	@Test
+	void testMultiTurnDistributions() {
+		SiedlerGame game = new SiedlerGame(Config.WIN_POINTS, DEFAULT_NUMBER_OF_PLAYERS, 1);
+		assertTrue(game.placeInitialSettlement(SETTLEMENT, false));
+		game.getBoard().setCorner(CITY, new City(game.getCurrentPlayer(), CITY));
+		Faction faction = game.getCurrentPlayerFaction();
+		IncomeDistribution distribution = game.getIncomeDistribution();
+		for (int turns = 0; turns <= 5; turns++) {
+			double[] probabilities = distribution.getDistribution(faction, Resource.GRAIN, turns);
+			double total = 0;
+			double mean = 0;
+			for (int cards = 0; cards < probabilities.length; cards++) {
+				total += probabilities[cards];
+				mean += cards * probabilities[cards];
+			}
+			assertEquals(1, total, 1e-12);
+			assertEquals(turns * distribution.getExpectedIncome(faction, Resource.GRAIN), mean, 1e-12);
+		}
+		Map<Resource, Integer> empty = Map.of();
+		double previous = distribution.getProbabilityToAfford(faction, Config.CITY_COST, empty, 0);
+		assertEquals(0, previous, 0.0);
+		for (int turns = 1; turns <= 20; turns++) {
+			double probability = distribution.getProbabilityToAfford(faction, Config.CITY_COST, empty, turns);
+			assertTrue(probability >= previous);
+			previous = probability;
+		}
+		assertTrue(previous > 0);
+		assertEquals(1, distribution.getProbabilityToAfford(faction, Config.CITY_COST, Config.CITY_COST, 0), 0.0);
+	}
+
+	/**
+	 * description: a negative number of turns is rejected
+	 * equivalence class: 3
+	 * initial condition: standard board without settlements
+	 * type: negative test
+	 * input: -1 turns
+	 * output: IllegalArgumentException
+	 */
+	@Test
+	void testNegativeTurns() {
+		SiedlerGame game = new SiedlerGame(Config.WIN_POINTS, DEFAULT_NUMBER_OF_PLAYERS, 1);
+		IncomeDistribution distribution = game.getIncomeDistribution();
+		assertThrows(IllegalArgumentException.class,
+				() -> distribution.getDistribution(Faction.values()[0], Resource.ORE, -1));
+		assertThrows(IllegalArgumentException.class,
+				() -> distribution.getProbabilityToAfford(Faction.values()[0], Config.CITY_COST, Map.of(), -1));
+	}
+}
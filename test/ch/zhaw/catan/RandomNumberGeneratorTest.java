@@ -47,4 +47,75 @@ class RandomNumberGeneratorTest {
 			assertTrue(isOfEnumType);
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * description: two generators with the same seed produce the same dice throws
+	 * equivalence class: 2
+	 * initial condition: two generators with seed 42
+	 * type: positive test
+	 * input: 1_000 dice throws of each generator
+	 * output: equal throws
+	 */
+	@Test
+	void testSameSeedSameSequence() {
+		RandomNumberGenerator first = new RandomNumberGenerator(42);
+		RandomNumberGenerator second = new RandomNumberGenerator(42);
+		for (int i = 0; i < 1000; i++) {
+			assertEquals(first.throwTwoDice(), second.throwTwoDice());
+		}
+	}
+
+	/**
+	 * description: a generator restored from seed and counter continues the sequence
+	 * equivalence class: 3
+	 * initial condition: generator with seed 7 after 100 values
+	 * type: positive test
+	 * input: next value of the original and of the restored generator
+	 * output: equal values
+	 */
+	@Test
+	void testRestoreFromCounter() {
+		RandomNumberGenerator original = new RandomNumberGenerator(7);
+		for (int i = 0; i < 100; i++) {
+			original.nextLong();
+		}
+		RandomNumberGenerator restored = new RandomNumberGenerator(original.getSeed(), original.getCounter());
+		assertEquals(original.nextLong(), restored.nextLong());
+	}
+
+	/**
+	 * description: splits are reproducible but differ from their parent
+	 * equivalence class: 4
+	 * initial condition: two generators with seed 42
+	 * type: positive test
+	 * input: first values of the splits and of the parent
+	 * output: splits are equal, parent differs
+	 */
+	@Test
+	void testSplitIsReproducible() {
+		RandomNumberGenerator first = new RandomNumberGenerator(42);
+		RandomNumberGenerator second = new RandomNumberGenerator(42);
+		RandomNumberGenerator firstSplit = first.split();
+		RandomNumberGenerator secondSplit = second.split();
+		long splitValue = firstSplit.nextLong();
+		assertEquals(splitValue, secondSplit.nextLong());
+		assertNotEquals(splitValue, first.nextLong());
+	}
+
+	/**
+	 * description: two games with the same seed roll the same dice
+	 * equivalence class: 5
+	 * initial condition: two games with seed 1234
+	 * type: positive test
+	 * input: 100 dice rolls of each game
+	 * output: equal rolls
+	 */
+	@Test
+	void testGamesWithSameSeedRollSameDice() {
+		SiedlerGame first = new SiedlerGame(Config.WIN_POINTS, 3, 1234);
+		SiedlerGame second = new SiedlerGame(Config.WIN_POINTS, 3, 1234);
+		for (int i = 0; i < 100; i++) {
+			assertEquals(first.rollDice(), second.rollDice());
+		}
+	}
+}
@@ -0,0 +1,98 @@
+package ch.zhaw.catan;
+
+import org.junit.jupiter.api.Test;
+
+import ch.zhaw.catan.Config.Faction;
+import ch.zhaw.catan.games.RandomGames;
+import ch.zhaw.structures.Road;
+import ch.zhaw.structures.Settlement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Point;
+
+/**
+ * The RoadNetworkTest class contains JUnit tests for testing the road networks of the SiedlerBoard class.
+ */
+class RoadNetworkTest {
+	private final static int DEFAULT_NUMBER_OF_PLAYERS = 2;
+	private final static Point SETTLEMENT = new Point(7, 7);
+	private final static Point OTHER_SETTLEMENT = new Point(9, 13);
+
+	/**
+	 * description: roads merge networks and a settlement of another faction splits them
+	 * equivalence class: 1
+	 * initial condition: standard board, two settlements of the first player
+	 * type: positive test
+	 * input: a chain of two roads, a settlement of the second player in the middle of the chain, its removal
+	 * output: connectivity and the number of networks after every change
+	 */
+	@Test
+	void testMergeAndSplit() {
+		SiedlerGame game = new SiedlerGame(Config.WIN_POINTS, DEFAULT_NUMBER_OF_PLAYERS, 1);
+		SiedlerBoard board = game.getBoard();
+		Player player = game.getCurrentPlayer();
+		Faction faction = player.getFaction();
+		assertEquals(0, board.getRoadNetworkCount(faction));
+		assertTrue(game.placeInitialSettlement(SETTLEMENT, false));
+		assertTrue(game.placeInitialSettlement(OTHER_SETTLEMENT, false));
+		assertEquals(2, board.getRoadNetworkCount(faction));
+		Point middle = landNeighbour(board, SETTLEMENT, null);
+		Point end = landNeighbour(board, middle, SETTLEMENT);
+		assertFalse(board.isInRoadNetwork(end, faction));
+		board.setEdge(SETTLEMENT, middle, new Road(player, SETTLEMENT, middle));
+		board.setEdge(middle, end, new Road(player, middle, end));
+		assertTrue(board.isInRoadNetwork(end, faction));
+		assertTrue(board.isConnectedByRoads(SETTLEMENT, end, faction));
+		assertFalse(board.isConnectedByRoads(SETTLEMENT, OTHER_SETTLEMENT, faction));
+		assertEquals(2, board.getRoadNetworkCount(faction));
+		game.switchToNextPlayer();
+		board.setCorner(middle, new Settlement(game.getCurrentPlayer(), middle));
+		assertFalse(board.isConnectedByRoads(SETTLEMENT, end, faction));
+		assertFalse(board.isInRoadNetwork(middle, faction));
+		assertTrue(board.isInRoadNetwork(end, faction));
+		assertEquals(3, board.getRoadNetworkCount(faction));
+		assertEquals(1, board.getRoadNetworkCount(game.getCurrentPlayerFaction()));
+		board.setCorner(middle, null);
+		assertTrue(board.isConnectedByRoads(SETTLEMENT, end, faction));
+		assertEquals(2, board.getRoadNetworkCount(faction));
+		assertEquals(0, board.getRoadNetworkCount(game.getCurrentPlayerFaction()));
+	}
+
+	/**
+	 * description: the updated networks equal networks built from scratch after a whole game
+	 * equivalence class: 2
+	 * initial condition: networks created before the game
+	 * type: positive test
+	 * input: games of random agents with seeds 0 to 2
+	 * output: same networks and corners as in a copy of the board, whose networks are built from scratch
+	 */
+	@Test
+	void testUpdatesMatchRebuild() {
+		for (long seed = 0; seed < 3; seed++) {
+			SiedlerGame game = new SiedlerGame(Config.WIN_POINTS, DEFAULT_NUMBER_OF_PLAYERS, seed);
+			SiedlerBoard board = game.getBoard();
+			board.getRoadNetworkCount(game.getCurrentPlayerFaction());
+			RandomGames.play(game, seed);
+			SiedlerBoard rebuilt = game.copy().getBoard();
+			for (Faction faction : game.getPlayerFactions()) {
+				assertEquals(rebuilt.getRoadNetworkCount(faction), board.getRoadNetworkCount(faction));
+				for (Point corner : board.getCornerPositions()) {
+					assertEquals(rebuilt.isInRoadNetwork(corner, faction), board.isInRoadNetwork(corner, faction));
+					assertEquals(rebuilt.isConnectedByRoads(SETTLEMENT, corner, faction),
+							board.isConnectedByRoads(SETTLEMENT, corner, faction));
+				}
+			}
+		}
+	}
+
+	private static Point landNeighbour(SiedlerBoard board, Point corner, Point excluded) {
+		for (Point neighbour : board.getNeighbourPositions(corner)) {
+			if (!neighbour.equals(excluded) && board.hasLandBorder(neighbour)
+					&& (excluded == null || !board.getNeighbourPositions(neighbour).contains(excluded))) {
+				return neighbour;
+			}
+		}
+		throw new IllegalStateException("No neighbour on land");
+	}
+}
@@ -0,0 +1,113 @@
+package ch.zhaw.catan;
+
+import org.junit.jupiter.api.Test;
+
+import ch.zhaw.catan.Config.Faction;
+import ch.zhaw.structures.Road;
+import ch.zhaw.structures.Settlement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Point;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The RoadPlanTest class contains JUnit tests for testing the road planning of the SiedlerBoard class.
+ */
+class RoadPlanTest {
+	private final static int DEFAULT_NUMBER_OF_PLAYERS = 2;
+	private final static Point SETTLEMENT = new Point(7, 7);
+
+	/**
+	 * description: every path of the plan can be built road by road
+	 * equivalence class: 1
+	 * initial condition: standard board with one settlement of the first player
+	 * type: positive test
+	 * input: the path to every reachable corner
+	 * output: each road of a path is legal when built in order, its length is the distance
+	 */
+	@Test
+	void testPathsCanBeBuilt() {
+		SiedlerGame game = new SiedlerGame(Config.WIN_POINTS, DEFAULT_NUMBER_OF_PLAYERS, 1);
+		assertTrue(game.placeInitialSettlement(SETTLEMENT, false));
+		Faction faction = game.getCurrentPlayerFaction();
+		RoadPlan plan = game.getBoard().planRoads(faction);
+		assertEquals(0, plan.getDistance(SETTLEMENT));
+		int reachable = 0;
+		for (Point target : game.getBoard().getCornerPositions()) {
+			List<Point> path = plan.getPath(target);
+			if (!plan.isReachable(target)) {
+				assertTrue(path.isEmpty());
+				continue;
+			}
+			reachable++;
+			assertEquals(plan.getDistance(target) + 1, path.size());
+			SiedlerBoard board = game.copy().getBoard();
+			for (int i = 1; i < path.size(); i++) {
+				assertTrue(board.isRoadBuildLegal(path.get(i - 1), path.get(i), faction));
+				board.setEdge(path.get(i - 1), path.get(i),
+						new Road(board.getCorner(SETTLEMENT).getOwner(), path.get(i - 1), path.get(i)));
+			}
+			assertEquals(0, board.planRoads(faction).getDistance(target));
+		}
+		assertTrue(reachable > 1);
+		assertEquals(-1, plan.getDistance(new Point(0, 0)));
+	}
+
+	/**
+	 * description: a settlement of another faction ends the paths through its corner
+	 * equivalence class: 2
+	 * initial condition: a settlement of the first player, a settlement of the second player two roads away
+	 * type: positive test
+	 * input: plans before and after the second settlement, plan limited to one target
+	 * output: the corner of the enemy settlement is still reachable, but no path leads through it
+	 */
+	@Test
+	void testEnemySettlementBlocks() {
+		SiedlerGame game = new SiedlerGame(Config.WIN_POINTS, DEFAULT_NUMBER_OF_PLAYERS, 1);
+		assertTrue(game.placeInitialSettlement(SETTLEMENT, false));
+		Faction faction = game.getCurrentPlayerFaction();
+		SiedlerBoard board = game.getBoard();
+		RoadPlan before = board.planRoads(faction);
+		Point blocked = null;
+		for (Point corner : board.getCornerPositions()) {
+			if (before.getDistance(corner) == 2 && board.hasLandBorder(corner)) {
+				blocked = corner;
+				break;
+			}
+		}
+		assertNotNull(blocked);
+		game.switchToNextPlayer();
+		board.setCorner(blocked, new Settlement(game.getCurrentPlayer(), blocked));
+		RoadPlan after = board.planRoads(faction);
+		assertEquals(2, after.getDistance(blocked));
+		for (Point corner : board.getCornerPositions()) {
+			List<Point> path = after.getPath(corner);
+			assertFalse(path.indexOf(blocked) >= 0 && path.indexOf(blocked) < path.size() - 1);
+			if (after.isReachable(corner)) {
+				assertTrue(after.getDistance(corner) >= before.getDistance(corner));
+			}
+		}
+		RoadPlan limited = board.planRoads(faction, Set.of(blocked));
+		assertEquals(after.getPath(blocked).size(), limited.getPath(blocked).size());
+	}
+
+	/**
+	 * description: a faction without structures reaches nothing
+	 * equivalence class: 3
+	 * initial condition: standard board without structures
+	 * type: negative test
+	 * input: plan of the first faction
+	 * output: every corner unreachable with an empty path
+	 */
+	@Test
+	void testNoNetwork() {
+		SiedlerGame game = new SiedlerGame(Config.WIN_POINTS, DEFAULT_NUMBER_OF_PLAYERS, 1);
+		RoadPlan plan = game.getBoard().planRoads(game.getCurrentPlayerFaction());
+		for (Point corner : game.getBoard().getCornerPositions()) {
+			assertFalse(plan.isReachable(corner));
+			assertTrue(plan.getPath(corner).isEmpty());
+		}
+	}
+}
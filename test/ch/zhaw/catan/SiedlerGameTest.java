@@ -3,6 +3,7 @@ package ch.zhaw.catan;
 import org.junit.jupiter.api.Test;
 
 import ch.zhaw.catan.games.ThreePlayerStandard;
+import ch.zhaw.structures.Road;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -880,4 +881,48 @@ class SiedlerGameTest {
 		);
 		assertEquals(expectedResourcesPayout, model.throwDice(12));
 	}
-}
\ No newline at end of file
+
+	/**
+	 * description: a closed ring of roads counts as longest road and does not recurse endlessly
+	 * equivalence class: 1
+	 * initial condition: SiedlerGame is initialised and the first player owns six roads around the desert
+	 * type: positive test
+	 * input: win points of the first player
+	 * output: points for the longest road
+	 */
+	@Test
+	void calculateWinPointsWithRoadRing() {
+		SiedlerGame model = new SiedlerGame(DEFAULT_WINPOINTS, DEFAULT_NUMBER_OF_PLAYERS);
+		Point[] ring = { new Point(7, 9), new Point(8, 10), new Point(8, 12), new Point(7, 13), new Point(6, 12),
+				new Point(6, 10) };
+		for (int i = 0; i < ring.length; i++) {
+			Point start = ring[i];
+			Point end = ring[(i + 1) % ring.length];
+			model.getBoard().setEdge(start, end, new Road(model.getCurrentPlayer(), start, end));
+		}
+		assertEquals(6, model.getBoard().getLongestRoads(model.getPlayerFactions()).get(WINNER_PLAYER_FACTION));
+		assertEquals(Config.VICTORY_POINTS_LONGEST_ROAD, model.calculateWinPoints().get(WINNER_PLAYER_FACTION));
+	}
+
+	/**
+	 * description: a copy has the same state as the original and changes independently of it
+	 * equivalence class: 1
+	 * initial condition: After the set-up phase with an almost empty bank of the three player standard situation
+	 * type: positive test
+	 * input: copy the game, then build a road and throw the dice in the copy
+	 * output: equal snapshots and hashes after copying, original unchanged afterwards
+	 */
+	@Test
+	void copyIsIndependent() {
+		SiedlerGame model = ThreePlayerStandard.getAfterSetupPhaseAlmostEmptyBank(DEFAULT_WINPOINTS);
+		GameSnapshot before = model.snapshot();
+		SiedlerGame copy = model.copy();
+		assertEquals(before, copy.snapshot());
+		assertEquals(model.getStateHash(), copy.getStateHash());
+		assertTrue(copy.buildRoad(new Point(6, 6), new Point(6, 4)));
+		copy.throwDice(copy.rollDice());
+		assertEquals(before, model.snapshot());
+		assertNotEquals(model.getStateHash(), copy.getStateHash());
+		assertEquals(SiedlerGame.restore(copy.snapshot()).getStateHash(), copy.getStateHash());
+	}
+}
@@ -0,0 +1,118 @@
+package ch.zhaw.catan;
+
+import org.junit.jupiter.api.Test;
+
+import ch.zhaw.catan.Config.Faction;
+import ch.zhaw.catan.Config.Resource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Point;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The TradeOrderBookTest class contains JUnit tests for testing the trades between players of the SiedlerGame class.
+ */
+class TradeOrderBookTest {
+	private final static int DEFAULT_NUMBER_OF_PLAYERS = 2;
+
+	/**
+	 * description: a matching offer is executed between the hands of both players
+	 * equivalence class: 1
+	 * initial condition: first player with 4 wool, second player with 3 ore
+	 * type: positive test
+	 * input: offer of 2 wool for 1 ore, counter offer of 2 ore for 2 wool
+	 * output: first offer waits in the book, counter offer is executed at once, cards and hash are updated
+	 */
+	@Test
+	void testMatchExecutes() {
+		SiedlerGame game = withHands(Map.of(Resource.WOOL, 4), Map.of(Resource.ORE, 3));
+		TradeOffer offer = game.postTradeOffer(Map.of(Resource.WOOL, 2), Map.of(Resource.ORE, 1));
+		assertTrue(offer.isOpen());
+		assertEquals(1, game.getTradeOrderBook().size());
+		game.switchToNextPlayer();
+		TradeOffer counterOffer = game.postTradeOffer(Map.of(Resource.ORE, 2), Map.of(Resource.WOOL, 2));
+		assertFalse(counterOffer.isOpen());
+		assertFalse(offer.isOpen());
+		assertEquals(0, game.getTradeOrderBook().size());
+		assertEquals(2, game.getCurrentPlayer().getAmountOfResource(Resource.WOOL));
+		assertEquals(1, game.getCurrentPlayer().getAmountOfResource(Resource.ORE));
+		game.switchToPreviousPlayer();
+		assertEquals(2, game.getCurrentPlayer().getAmountOfResource(Resource.WOOL));
+		assertEquals(2, game.getCurrentPlayer().getAmountOfResource(Resource.ORE));
+		assertEquals(SiedlerGame.restore(game.snapshot()).getStateHash(), game.getStateHash());
+	}
+
+	/**
+	 * description: the oldest matching offer is executed and offers that can no longer be paid are dropped
+	 * equivalence class: 2
+	 * initial condition: first player with 2 wool, second player with 2 ore
+	 * type: positive test
+	 * input: two offers of 2 wool for 1 ore, two counter offers of 1 ore for 2 wool
+	 * output: the first counter offer executes the older offer, the younger offer is dropped, the second counter offer waits
+	 */
+	@Test
+	void testOldestMatchAndStaleOffers() {
+		SiedlerGame game = withHands(Map.of(Resource.WOOL, 2), Map.of(Resource.ORE, 2));
+		TradeOffer older = game.postTradeOffer(Map.of(Resource.WOOL, 2), Map.of(Resource.ORE, 1));
+		TradeOffer younger = game.postTradeOffer(Map.of(Resource.WOOL, 2), Map.of(Resource.ORE, 1));
+		assertTrue(older.getId() < younger.getId());
+		game.switchToNextPlayer();
+		assertFalse(game.postTradeOffer(Map.of(Resource.ORE, 1), Map.of(Resource.WOOL, 2)).isOpen());
+		assertFalse(older.isOpen());
+		assertTrue(younger.isOpen());
+		TradeOffer waiting = game.postTradeOffer(Map.of(Resource.ORE, 1), Map.of(Resource.WOOL, 2));
+		assertTrue(waiting.isOpen());
+		assertFalse(younger.isOpen());
+		assertEquals(List.of(waiting), game.getTradeOrderBook().getOffers(Faction.values()[1]));
+		assertTrue(game.getTradeOrderBook().getOffers(Faction.values()[0]).isEmpty());
+	}
+
+	/**
+	 * description: invalid offers are rejected and offers of the same player or with too few cards do not match
+	 * equivalence class: 3
+	 * initial condition: first player with 4 wool and 1 ore, second player with 1 grain
+	 * type: negative test
+	 * input: empty, negative and overlapping offers, unpaid offers, an own counter offer, an offer wanting more than given, cancel
+	 * output: IllegalArgumentException, null, offers that stay open, true and then false for cancel
+	 */
+	@Test
+	void testInvalidAndUnmatchedOffers() {
+		SiedlerGame game = withHands(Map.of(Resource.WOOL, 4, Resource.ORE, 1), Map.of(Resource.GRAIN, 1));
+		assertThrows(IllegalArgumentException.class, () -> game.postTradeOffer(Map.of(), Map.of(Resource.ORE, 1)));
+		assertThrows(IllegalArgumentException.class,
+				() -> game.postTradeOffer(Map.of(Resource.WOOL, -1), Map.of(Resource.ORE, 1)));
+		assertThrows(IllegalArgumentException.class,
+				() -> game.postTradeOffer(Map.of(Resource.WOOL, 1), Map.of(Resource.WOOL, 1)));
+		assertNull(game.postTradeOffer(Map.of(Resource.WOOL, 5), Map.of(Resource.ORE, 1)));
+		TradeOffer offer = game.postTradeOffer(Map.of(Resource.WOOL, 2), Map.of(Resource.GRAIN, 2));
+		assertTrue(game.postTradeOffer(Map.of(Resource.GRAIN, 0, Resource.ORE, 1), Map.of(Resource.WOOL, 2)).isOpen());
+		game.switchToNextPlayer();
+		assertNull(game.postTradeOffer(Map.of(Resource.GRAIN, 2), Map.of(Resource.WOOL, 2)));
+		assertTrue(game.postTradeOffer(Map.of(Resource.GRAIN, 1), Map.of(Resource.WOOL, 1)).isOpen());
+		assertTrue(offer.isOpen());
+		assertEquals(3, game.getTradeOrderBook().size());
+		assertTrue(game.cancelTradeOffer(offer));
+		assertFalse(game.cancelTradeOffer(offer));
+		assertFalse(offer.isOpen());
+		assertEquals(2, game.getTradeOrderBook().size());
+	}
+
+	/**
+	 * Creates a game whose first two players hold the given cards, taken from the
+	 * bank
+	 */
+	private static SiedlerGame withHands(Map<Resource, Integer> first, Map<Resource, Integer> second) {
+		int[][] hands = new int[DEFAULT_NUMBER_OF_PLAYERS][Resource.values().length];
+		int[] bank = new int[Resource.values().length];
+		for (Resource resource : Resource.values()) {
+			hands[0][resource.ordinal()] = first.getOrDefault(resource, 0);
+			hands[1][resource.ordinal()] = second.getOrDefault(resource, 0);
+			bank[resource.ordinal()] = Config.INITIAL_RESOURCE_CARDS_BANK.get(resource) - hands[0][resource.ordinal()]
+					- hands[1][resource.ordinal()];
+		}
+		return SiedlerGame.restore(new GameSnapshot(1, Config.WIN_POINTS, DEFAULT_NUMBER_OF_PLAYERS, 0, new long[3],
+				hands, bank, new Point[0], new Faction[0], new boolean[0], new Point[0], new Point[0], new Faction[0]));
+	}
+}
@@ -0,0 +1,73 @@
+package ch.zhaw.catan;
+
+import org.junit.jupiter.api.Test;
+
+import ch.zhaw.catan.games.ThreePlayerStandard;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Point;
+
+/**
+ * The TurnCycleTest class contains JUnit tests for testing the TurnCycle class.
+ */
+class TurnCycleTest {
+	private final static int DEFAULT_WINPOINTS = 7;
+	private final static int DEFAULT_NUMBER_OF_PLAYERS = 3;
+
+	/**
+	 * description: the founding phase is played in snake order and the first player starts
+	 * equivalence class: 1
+	 * initial condition: new game with three players
+	 * type: positive test
+	 * input: the standard founding positions
+	 * output: factions in snake order, dice throw phase with the first player
+	 */
+	@Test
+	void testFoundingPhaseSnakeOrder() {
+		SiedlerGame game = new SiedlerGame(DEFAULT_WINPOINTS, DEFAULT_NUMBER_OF_PLAYERS);
+		TurnCycle cycle = new TurnCycle(game);
+		Config.Faction[] expectedOrder = { Config.Faction.RED, Config.Faction.BLUE, Config.Faction.GREEN,
+				Config.Faction.GREEN, Config.Faction.BLUE, Config.Faction.RED };
+		for (int step = 0; step < expectedOrder.length; step++) {
+			Config.Faction faction = game.getCurrentPlayerFaction();
+			assertEquals(expectedOrder[step], faction);
+			assertEquals(step >= DEFAULT_NUMBER_OF_PLAYERS, cycle.isPayoutRound());
+			Tuple<Point, Point> settlements = ThreePlayerStandard.INITIAL_SETTLEMENT_POSITIONS.get(faction);
+			Tuple<Point, Point> roads = ThreePlayerStandard.INITIAL_ROAD_ENDPOINTS.get(faction);
+			assertTrue(cycle.placeInitialSettlement(cycle.isPayoutRound() ? settlements.second : settlements.first));
+			assertTrue(cycle.placeInitialRoad(cycle.isPayoutRound() ? roads.second : roads.first));
+		}
+		assertEquals(TurnCycle.Phase.DICE_THROW, cycle.getPhase());
+		assertEquals(Config.Faction.RED, game.getCurrentPlayerFaction());
+	}
+
+	/**
+	 * description: a failed placement keeps the phase so that it can be retried
+	 * equivalence class: 2
+	 * initial condition: new game with three players
+	 * type: negative test
+	 * input: settlement on a water corner
+	 * output: false and unchanged phase
+	 */
+	@Test
+	void testFailedPlacementKeepsPhase() {
+		TurnCycle cycle = new TurnCycle(new SiedlerGame(DEFAULT_WINPOINTS, DEFAULT_NUMBER_OF_PLAYERS));
+		assertFalse(cycle.placeInitialSettlement(new Point(4, 0)));
+		assertEquals(TurnCycle.Phase.FOUNDING_SETTLEMENT, cycle.getPhase());
+	}
+
+	/**
+	 * description: actions of a different phase are rejected
+	 * equivalence class: 3
+	 * initial condition: new game with three players
+	 * type: negative test
+	 * input: dice throw in the founding phase
+	 * output: IllegalStateException
+	 */
+	@Test
+	void testWrongPhase() {
+		TurnCycle cycle = new TurnCycle(new SiedlerGame(DEFAULT_WINPOINTS, DEFAULT_NUMBER_OF_PLAYERS));
+		assertThrows(IllegalStateException.class, cycle::throwDice);
+	}
+}
@@ -0,0 +1,94 @@
+package ch.zhaw.catan;
+
+import org.junit.jupiter.api.Test;
+
+import ch.zhaw.catan.games.RandomGames;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The ZobristHashTest class contains JUnit tests for testing the incrementally maintained state hash of the
+ * SiedlerGame class.
+ */
+class ZobristHashTest {
+	private final static int DEFAULT_NUMBER_OF_PLAYERS = 3;
+	private final static Point FIRST_CORNER = new Point(5, 7);
+	private final static Point SECOND_CORNER = new Point(9, 15);
+
+	/**
+	 * description: the incrementally updated hash equals the hash calculated from scratch
+	 * equivalence class: 1
+	 * initial condition: a game of random agents with seed 8
+	 * type: positive test
+	 * input: hash at every change of player
+	 * output: the hash of the game equals the hash of a game restored from its snapshot
+	 */
+	@Test
+	void testIncrementalEqualsRecomputed() {
+		SiedlerGame game = new SiedlerGame(Config.WIN_POINTS, DEFAULT_NUMBER_OF_PLAYERS, 8);
+		List<Long> mismatches = new ArrayList<>();
+		int[] checks = new int[1];
+		game.addEventListener(event -> {
+			if (event.getType() == GameEvent.Type.NEXT_PLAYER) {
+				checks[0]++;
+				if (game.getStateHash() != SiedlerGame.restore(game.snapshot()).getStateHash()) {
+					mismatches.add(game.getStateHash());
+				}
+			}
+		});
+		RandomGames.play(game, 8);
+		assertTrue(checks[0] > 0);
+		assertTrue(mismatches.isEmpty());
+	}
+
+	/**
+	 * description: the same position reached in a different order has the same hash
+	 * equivalence class: 2
+	 * initial condition: two games placing the same two settlements in opposite order
+	 * type: positive test
+	 * input: hashes of the games
+	 * output: equal hashes, different from the initial hash, initial hash again after removing both settlements
+	 */
+	@Test
+	void testTransposition() {
+		SiedlerGame first = new SiedlerGame(Config.WIN_POINTS, DEFAULT_NUMBER_OF_PLAYERS, 1);
+		SiedlerGame second = new SiedlerGame(Config.WIN_POINTS, DEFAULT_NUMBER_OF_PLAYERS, 2);
+		long initialHash = first.getStateHash();
+		assertEquals(initialHash, second.getStateHash());
+		assertTrue(first.placeInitialSettlement(FIRST_CORNER, false));
+		assertTrue(first.placeInitialSettlement(SECOND_CORNER, false));
+		assertTrue(second.placeInitialSettlement(SECOND_CORNER, false));
+		assertNotEquals(initialHash, second.getStateHash());
+		assertTrue(second.placeInitialSettlement(FIRST_CORNER, false));
+		assertEquals(first.getStateHash(), second.getStateHash());
+		first.getBoard().setCorner(FIRST_CORNER, null);
+		first.getBoard().setCorner(SECOND_CORNER, null);
+		assertEquals(initialHash, first.getStateHash());
+	}
+
+	/**
+	 * description: the current player and the cards are part of the hash
+	 * equivalence class: 3
+	 * initial condition: a new game
+	 * type: positive test
+	 * input: hash after switching the player, after an initial settlement with payout
+	 * output: different hashes, the initial hash after switching back
+	 */
+	@Test
+	void testPlayerAndCards() {
+		SiedlerGame game = new SiedlerGame(Config.WIN_POINTS, DEFAULT_NUMBER_OF_PLAYERS, 1);
+		long initialHash = game.getStateHash();
+		game.switchToNextPlayer();
+		assertNotEquals(initialHash, game.getStateHash());
+		game.switchToPreviousPlayer();
+		assertEquals(initialHash, game.getStateHash());
+		SiedlerGame withoutPayout = new SiedlerGame(Config.WIN_POINTS, DEFAULT_NUMBER_OF_PLAYERS, 1);
+		assertTrue(withoutPayout.placeInitialSettlement(FIRST_CORNER, false));
+		assertTrue(game.placeInitialSettlement(FIRST_CORNER, true));
+		assertNotEquals(withoutPayout.getStateHash(), game.getStateHash());
+	}
+}
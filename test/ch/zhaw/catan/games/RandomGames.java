@@ -0,0 +1,48 @@
+package ch.zhaw.catan.games;
+
+import ch.zhaw.catan.RandomNumberGenerator;
+import ch.zhaw.catan.SiedlerGame;
+import ch.zhaw.simulation.GameResult;
+import ch.zhaw.simulation.HeadlessGame;
+import ch.zhaw.simulation.PlayerAgent;
+import ch.zhaw.simulation.RandomAgent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class plays complete games in which every player is a {@link RandomAgent}.
+ * It can be used by tests that need the states, events or results of realistic games.
+ * The games are reproducible: the random numbers of the agents are split from a seed.
+ */
+public class RandomGames {
+
+	private RandomGames() {
+	}
+
+	/**
+	 * Plays a game to the end.
+	 *
+	 * @param game the game to play
+	 * @param seed the seed of the random numbers of the agents
+	 * @return the result of the game
+	 */
+	public static GameResult play(SiedlerGame game, long seed) {
+		return play(game, new RandomNumberGenerator(seed));
+	}
+
+	/**
+	 * Plays a game to the end. Every agent gets its own generator, split from the given one.
+	 *
+	 * @param game the game to play
+	 * @param rng  the generator of the random numbers of the agents
+	 * @return the result of the game
+	 */
+	public static GameResult play(SiedlerGame game, RandomNumberGenerator rng) {
+		List<PlayerAgent> agents = new ArrayList<>();
+		for (int i = 0; i < game.getNumberOfPlayers(); i++) {
+			agents.add(new RandomAgent(rng.split()));
+		}
+		return new HeadlessGame(game, agents, HeadlessGame.DEFAULT_MAX_TURNS).play();
+	}
+}
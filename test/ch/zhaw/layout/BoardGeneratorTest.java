@@ -0,0 +1,116 @@
+package ch.zhaw.layout;
+
+import org.junit.jupiter.api.Test;
+
+import ch.zhaw.catan.BoardLayout;
+import ch.zhaw.catan.Config;
+import ch.zhaw.catan.Config.Land;
+import ch.zhaw.catan.RandomNumberGenerator;
+import ch.zhaw.catan.SiedlerGame;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Point;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The BoardGeneratorTest class contains JUnit tests for testing the BoardGenerator class.
+ */
+class BoardGeneratorTest {
+	private final static int DEFAULT_NUMBER_OF_PLAYERS = 3;
+	private final static int BATCH_SIZE = 200;
+
+	/**
+	 * description: generated layouts satisfy the rules and use the standard pieces
+	 * equivalence class: 1
+	 * initial condition: generator with the standard rules
+	 * type: positive test
+	 * input: batch of layouts with seed 42
+	 * output: every layout is fair, has the standard fields and no number on the desert
+	 */
+	@Test
+	void testLayoutsAreFair() {
+		BoardGenerator generator = new BoardGenerator();
+		List<BoardLayout> layouts = generator.generate(BATCH_SIZE, 42);
+		assertEquals(BATCH_SIZE, layouts.size());
+		Map<Point, Land> standard = Config.getStandardLandPlacement();
+		for (BoardLayout layout : layouts) {
+			assertTrue(LayoutRules.STANDARD.isFair(layout));
+			assertEquals(standard.keySet(), layout.getLands().keySet());
+			layout.getLands().forEach((field, land) -> {
+				assertEquals(standard.get(field) == Land.WATER, land == Land.WATER);
+				if (land == Land.DESERT) {
+					assertFalse(layout.getDiceNumbers().containsKey(field));
+				}
+			});
+		}
+		assertFalse(LayoutRules.STANDARD.isFair(BoardLayout.standard()));
+		assertTrue(generator.getBoardsPerSecond() > 0);
+	}
+
+	/**
+	 * description: a batch only depends on its seed
+	 * equivalence class: 2
+	 * initial condition: generators on pools with one and with several threads
+	 * type: positive test
+	 * input: batches with the same seed
+	 * output: equal layouts, a game on a layout uses its lands and numbers
+	 */
+	@Test
+	void testBatchIsReproducible() {
+		ForkJoinPool single = new ForkJoinPool(1);
+		List<BoardLayout> first = new BoardGenerator(LayoutRules.STANDARD, single).generate(BATCH_SIZE, 7);
+		List<BoardLayout> second = new BoardGenerator().generate(BATCH_SIZE, 7);
+		single.shutdown();
+		for (int i = 0; i < BATCH_SIZE; i++) {
+			assertEquals(first.get(i).getLands(), second.get(i).getLands());
+			assertEquals(first.get(i).getDiceNumbers(), second.get(i).getDiceNumbers());
+		}
+		BoardLayout layout = first.get(0);
+		SiedlerGame game = new SiedlerGame(Config.WIN_POINTS, DEFAULT_NUMBER_OF_PLAYERS, 1, layout);
+		layout.getLands().forEach((field, land) -> assertEquals(land, game.getBoard().getField(field)));
+		assertEquals(layout.getDiceNumbers(), game.getBoard().getDiceNumberPlacement());
+		assertNotEquals(new SiedlerGame(Config.WIN_POINTS, DEFAULT_NUMBER_OF_PLAYERS, 1).getBoard().getLayoutHash(),
+				game.getBoard().getLayoutHash());
+	}
+
+	/**
+	 * description: the rules detect numbers on the desert, adjacent red numbers and unbalanced pips
+	 * equivalence class: 3
+	 * initial condition: standard lands
+	 * type: negative test
+	 * input: standard numbers, without the 7 of the desert, with 8 next to 6, with no pip tolerance
+	 * output: only the layout without the 7 is fair, the 8 next to 6 only without separation
+	 */
+	@Test
+	void testRulesRejectUnfairLayouts() {
+		Map<Point, Integer> diceNumbers = new HashMap<>(Config.getStandardDiceNumberPlacement());
+		diceNumbers.remove(Config.INITIAL_THIEF_POSITION);
+		BoardLayout layout = new BoardLayout(Config.getStandardLandPlacement(), diceNumbers);
+		assertTrue(LayoutRules.STANDARD.isFair(layout));
+		assertFalse(new LayoutRules(true, true, 0).isFair(layout));
+		diceNumbers.put(new Point(7, 5), 8);
+		diceNumbers.put(new Point(9, 5), 3);
+		layout = new BoardLayout(Config.getStandardLandPlacement(), diceNumbers);
+		assertFalse(LayoutRules.STANDARD.isFair(layout));
+		assertTrue(new LayoutRules(false, false, LayoutRules.STANDARD.getPipTolerance()).isFair(layout));
+	}
+
+	/**
+	 * description: rules that no layout satisfies are reported
+	 * equivalence class: 4
+	 * initial condition: rules without pip tolerance, which the standard pieces cannot meet
+	 * type: negative test
+	 * input: generation of a layout, rules with a negative tolerance
+	 * output: IllegalStateException, IllegalArgumentException
+	 */
+	@Test
+	void testInvalidRules() {
+		assertThrows(IllegalArgumentException.class, () -> new LayoutRules(true, true, -1));
+		BoardGenerator generator = new BoardGenerator(new LayoutRules(true, true, 0), ForkJoinPool.commonPool());
+		assertThrows(IllegalStateException.class, () -> generator.generate(new RandomNumberGenerator(3)));
+	}
+}
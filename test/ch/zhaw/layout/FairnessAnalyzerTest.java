@@ -0,0 +1,91 @@
+package ch.zhaw.layout;
+
+import org.junit.jupiter.api.Test;
+
+import ch.zhaw.catan.BoardLayout;
+import ch.zhaw.catan.Config.Resource;
+import ch.zhaw.catan.CornerValuation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The FairnessAnalyzerTest class contains JUnit tests for testing the FairnessAnalyzer class.
+ */
+class FairnessAnalyzerTest {
+	private final static int DEFAULT_NUMBER_OF_PLAYERS = 3;
+	private final static int STANDARD_PIPS = 58;
+	private final static int LAYOUTS = 10;
+
+	/**
+	 * description: every layout of a sequence is reported once with plausible metrics
+	 * equivalence class: 1
+	 * initial condition: ten generated layouts, a window of two layouts
+	 * type: positive test
+	 * input: analysis of the sequence with two simulations per layout
+	 * output: ten reports with distinct indices, the production adds up to the pips of the numbers
+	 */
+	@Test
+	void testStreamsAllReports() {
+		List<BoardLayout> layouts = new BoardGenerator().generate(LAYOUTS, 1);
+		FairnessAnalyzer analyzer = new FairnessAnalyzer(DEFAULT_NUMBER_OF_PLAYERS, 2, 100,
+				ForkJoinPool.commonPool(), 2);
+		List<FairnessReport> reports = new ArrayList<>();
+		assertEquals(LAYOUTS, analyzer.analyze(layouts.iterator(), 5, reports::add));
+		assertEquals(LAYOUTS, reports.size());
+		Set<Long> indices = new HashSet<>();
+		for (FairnessReport report : reports) {
+			indices.add(report.getIndex());
+			double production = 0;
+			for (Resource resource : Resource.values()) {
+				production += report.getExpectedProduction(resource);
+			}
+			assertEquals((double) STANDARD_PIPS / CornerValuation.DICE_COMBINATIONS, production, 1e-9);
+			assertTrue(report.getBestCornerSpread() >= 0);
+			assertTrue(report.getFirstPlayerAdvantage() >= -1.0 / DEFAULT_NUMBER_OF_PLAYERS);
+			assertTrue(report.getFirstPlayerAdvantage() <= 1 - 1.0 / DEFAULT_NUMBER_OF_PLAYERS);
+		}
+		assertEquals(LAYOUTS, indices.size());
+	}
+
+	/**
+	 * description: the report of a layout only depends on its seed
+	 * equivalence class: 2
+	 * initial condition: the standard layout
+	 * type: positive test
+	 * input: two analyses with the same seed, one without simulations
+	 * output: equal reports, no advantage without simulations
+	 */
+	@Test
+	void testReportIsReproducible() {
+		FairnessAnalyzer analyzer = new FairnessAnalyzer(DEFAULT_NUMBER_OF_PLAYERS, 2, 100,
+				ForkJoinPool.commonPool(), 1);
+		FairnessReport first = analyzer.analyze(BoardLayout.standard(), 0, 9);
+		FairnessReport second = analyzer.analyze(BoardLayout.standard(), 0, 9);
+		assertEquals(first.toString(), second.toString());
+		FairnessReport unsimulated = new FairnessAnalyzer(DEFAULT_NUMBER_OF_PLAYERS, 0, 100,
+				ForkJoinPool.commonPool(), 1).analyze(BoardLayout.standard(), 0, 9);
+		assertEquals(0, unsimulated.getFirstPlayerAdvantage(), 0.0);
+		assertEquals(first.getBestCornerSpread(), unsimulated.getBestCornerSpread());
+	}
+
+	/**
+	 * description: invalid parameters are rejected
+	 * equivalence class: 3
+	 * initial condition: none
+	 * type: negative test
+	 * input: one player, an empty window
+	 * output: IllegalArgumentException
+	 */
+	@Test
+	void testInvalidParameters() {
+		assertThrows(IllegalArgumentException.class, () -> new FairnessAnalyzer(1));
+		assertThrows(IllegalArgumentException.class,
+				() -> new FairnessAnalyzer(DEFAULT_NUMBER_OF_PLAYERS, 1, 100, ForkJoinPool.commonPool(), 0));
+	}
+}
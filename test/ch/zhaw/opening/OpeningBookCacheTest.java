@@ -0,0 +1,148 @@
+package ch.zhaw.opening;
+
+import org.junit.jupiter.api.Test;
+
+import ch.zhaw.catan.BoardIndex;
+import ch.zhaw.catan.Config;
+import ch.zhaw.catan.SiedlerBoard;
+import ch.zhaw.catan.SiedlerGame;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Point;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The OpeningBookCacheTest class contains JUnit tests for testing the OpeningBookCache class.
+ */
+class OpeningBookCacheTest {
+	private final static int DEFAULT_NUMBER_OF_PLAYERS = 3;
+
+	/**
+	 * description: a stored book is read back after reopening the cache
+	 * equivalence class: 1
+	 * initial condition: empty cache file
+	 * type: positive test
+	 * input: book of the standard board, lookups for 3 and 4 players after reopening
+	 * output: the same ranked choices for 3 players, no book for 4 players
+	 */
+	@Test
+	void testBookSurvivesReopening() throws IOException {
+		Path file = Files.createTempFile("openings", ".book");
+		SiedlerBoard board = new SiedlerGame(Config.WIN_POINTS, DEFAULT_NUMBER_OF_PLAYERS, 1).getBoard();
+		OpeningBook book;
+		try (OpeningBookCache cache = OpeningBookCache.open(file, OpeningBookCache.DEFAULT_CAPACITY)) {
+			assertNull(cache.get(board, DEFAULT_NUMBER_OF_PLAYERS));
+			book = cache.getOrSolve(board, DEFAULT_NUMBER_OF_PLAYERS, new OpeningSolver());
+			assertSame(book, cache.get(board, DEFAULT_NUMBER_OF_PLAYERS));
+		}
+		try (OpeningBookCache cache = OpeningBookCache.open(file, 1)) {
+			assertEquals(1, cache.size());
+			OpeningBook read = cache.get(board, DEFAULT_NUMBER_OF_PLAYERS);
+			assertEquals(book.size(), read.size());
+			assertEquals(book.getLayoutHash(), read.getLayoutHash());
+			assertEquals(describe(book.getChoices(List.of())), describe(read.getChoices(List.of())));
+			List<Point> placed = List.of(book.getChoices(List.of()).get(0).getSettlement());
+			assertEquals(describe(book.getChoices(placed)), describe(read.getChoices(placed)));
+			assertNull(cache.get(board, DEFAULT_NUMBER_OF_PLAYERS + 1));
+			assertEquals(1, cache.getHits());
+			assertEquals(1, cache.getMisses());
+		}
+		Files.delete(file);
+	}
+
+	/**
+	 * description: a partially written book is discarded on opening
+	 * equivalence class: 2
+	 * initial condition: a cache with one book followed by part of a second record
+	 * type: negative test
+	 * input: opening the cache
+	 * output: the complete book is found, the partial record is removed
+	 */
+	@Test
+	void testPartialRecordIsDiscarded() throws IOException {
+		Path file = Files.createTempFile("openings", ".book");
+		SiedlerBoard board = new SiedlerGame(Config.WIN_POINTS, DEFAULT_NUMBER_OF_PLAYERS, 1).getBoard();
+		try (OpeningBookCache cache = OpeningBookCache.open(file, OpeningBookCache.DEFAULT_CAPACITY)) {
+			cache.put(new OpeningSolver().solve(board, DEFAULT_NUMBER_OF_PLAYERS, 1));
+		}
+		long size = Files.size(file);
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.APPEND)) {
+			channel.write(ByteBuffer.wrap(Files.readAllBytes(file), OpeningBookCache.HEADER_SIZE, 20));
+		}
+		try (OpeningBookCache cache = OpeningBookCache.open(file, OpeningBookCache.DEFAULT_CAPACITY)) {
+			assertEquals(size, Files.size(file));
+			assertNotNull(cache.get(board, DEFAULT_NUMBER_OF_PLAYERS));
+		}
+		Files.delete(file);
+	}
+
+	/**
+	 * description: a file of another format is rejected
+	 * equivalence class: 3
+	 * initial condition: a file with arbitrary content
+	 * type: negative test
+	 * input: opening the file as cache
+	 * output: IOException
+	 */
+	@Test
+	void testRejectsOtherFile() throws IOException {
+		Path file = Files.createTempFile("openings", ".book");
+		Files.write(file, new byte[] { 1, 2, 3, 4, 5, 6 });
+		assertThrows(IOException.class, () -> OpeningBookCache.open(file, OpeningBookCache.DEFAULT_CAPACITY));
+		Files.delete(file);
+	}
+
+	/**
+	 * description: books whose layout hash and number of players would give the same combined key are kept apart,
+	 * entries with many choices and choices without road are stored
+	 * equivalence class: 4
+	 * initial condition: empty cache file with room for one decoded book
+	 * type: positive test
+	 * input: a book of the standard board with 300 choices, one without road, and a book of another hash for 34
+	 * players, both looked up again after the first book left the memory
+	 * output: both books with all choices, the choice without road has no road end
+	 */
+	@Test
+	void testDistinctKeysAndLargeEntries() throws IOException {
+		Path file = Files.createTempFile("openings", ".book");
+		SiedlerBoard board = new SiedlerGame(Config.WIN_POINTS, DEFAULT_NUMBER_OF_PLAYERS, 1).getBoard();
+		BoardIndex index = board.getIndex();
+		OpeningChoice[] choices = new OpeningChoice[300];
+		for (int i = 0; i < choices.length; i++) {
+			choices[i] = new OpeningChoice(index, i % index.getCornerCount(), i == 0 ? -1 : 0, i);
+		}
+		long layoutHash = board.getLayoutHash();
+		OpeningBook book = new OpeningBook(layoutHash, DEFAULT_NUMBER_OF_PLAYERS, index, Map.of(0L, choices));
+		OpeningBook other = new OpeningBook(layoutHash - 1, DEFAULT_NUMBER_OF_PLAYERS + 31, index, Map.of());
+		try (OpeningBookCache cache = OpeningBookCache.open(file, 1)) {
+			cache.put(book);
+			cache.put(other);
+			assertEquals(2, cache.size());
+			OpeningBook read = cache.get(board, DEFAULT_NUMBER_OF_PLAYERS);
+			assertNotSame(book, read);
+			List<OpeningChoice> readChoices = read.getChoices(List.of());
+			assertEquals(choices.length, readChoices.size());
+			assertNull(readChoices.get(0).getRoadEnd());
+			assertEquals(index.getCorner(0), readChoices.get(1).getRoadEnd());
+			assertEquals(describe(Arrays.asList(choices)), describe(readChoices));
+		}
+		try (OpeningBookCache cache = OpeningBookCache.open(file, 1)) {
+			assertEquals(2, cache.size());
+			assertNotNull(cache.get(board, DEFAULT_NUMBER_OF_PLAYERS));
+		}
+		Files.delete(file);
+	}
+
+	private static String describe(List<OpeningChoice> choices) {
+		return choices.toString();
+	}
+}
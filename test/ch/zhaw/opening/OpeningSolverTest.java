@@ -0,0 +1,149 @@
+package ch.zhaw.opening;
+
+import org.junit.jupiter.api.Test;
+
+import ch.zhaw.catan.Config;
+import ch.zhaw.catan.SiedlerBoard;
+import ch.zhaw.catan.SiedlerGame;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The OpeningSolverTest class contains JUnit tests for testing the OpeningSolver class.
+ */
+class OpeningSolverTest {
+	private final static int DEFAULT_NUMBER_OF_PLAYERS = 3;
+
+	/**
+	 * description: the line of the book can be played in a game
+	 * equivalence class: 1
+	 * initial condition: standard board without settlements
+	 * type: positive test
+	 * input: the best settlement and road of every position of the first round
+	 * output: every placement is legal, the book belongs to the layout
+	 */
+	@Test
+	void testBookIsPlayable() {
+		SiedlerGame game = new SiedlerGame(Config.WIN_POINTS, DEFAULT_NUMBER_OF_PLAYERS, 1);
+		OpeningBook book = new OpeningSolver().solve(game.getBoard(), DEFAULT_NUMBER_OF_PLAYERS);
+		assertEquals(game.getBoard().getLayoutHash(), book.getLayoutHash());
+		assertEquals(DEFAULT_NUMBER_OF_PLAYERS, book.getNumberOfPlayers());
+		List<Point> placed = new ArrayList<>();
+		for (int i = 0; i < DEFAULT_NUMBER_OF_PLAYERS; i++) {
+			List<OpeningChoice> choices = book.getChoices(placed);
+			assertFalse(choices.isEmpty());
+			OpeningChoice best = choices.get(0);
+			assertTrue(game.placeInitialSettlement(best.getSettlement(), false));
+			assertTrue(game.placeInitialRoad(best.getSettlement(), best.getRoadEnd()));
+			placed.add(best.getSettlement());
+			game.switchToNextPlayer();
+		}
+		assertEquals(placed, OpeningSolver.principalLine(book));
+	}
+
+	/**
+	 * description: the choices of a position are ranked and unknown positions are empty
+	 * equivalence class: 2
+	 * initial condition: standard board without settlements
+	 * type: positive test
+	 * input: choices of the first position, choices after the neighbour of a settlement, choices after a point that is no corner
+	 * output: values in descending order, no choices for the unknown sequences
+	 */
+	@Test
+	void testRankingAndUnknownSequence() {
+		SiedlerGame game = new SiedlerGame(Config.WIN_POINTS, DEFAULT_NUMBER_OF_PLAYERS, 1);
+		OpeningBook book = new OpeningSolver().solve(game.getBoard(), DEFAULT_NUMBER_OF_PLAYERS);
+		List<OpeningChoice> choices = book.getChoices(List.of());
+		for (int i = 1; i < choices.size(); i++) {
+			assertTrue(choices.get(i - 1).getValue() >= choices.get(i).getValue());
+		}
+		OpeningChoice best = choices.get(0);
+		assertTrue(book.getChoices(List.of(best.getSettlement(), best.getRoadEnd())).isEmpty());
+		assertTrue(book.getChoices(List.of(new Point(0, 0))).isEmpty());
+	}
+
+	/**
+	 * description: invalid search parameters are rejected
+	 * equivalence class: 3
+	 * initial condition: none
+	 * type: negative test
+	 * input: no candidates per placement
+	 * output: IllegalArgumentException
+	 */
+	@Test
+	void testInvalidCandidates() {
+		assertThrows(IllegalArgumentException.class,
+				() -> new OpeningSolver(OpeningScore.PRODUCTION, 0, null));
+	}
+
+	/**
+	 * description: both orders of the two settlements of the last player are recorded with the value of the pair
+	 * equivalence class: 4
+	 * initial condition: standard board, two players, book depths 3 (pairs shared) and 4 (full search)
+	 * type: positive test
+	 * input: every first settlement of the last player after the best first settlement
+	 * output: its value equals the best second settlement and is not lower than any pair it is part of, swapped pairs have the same value
+	 */
+	@Test
+	void testLastPlayerPairsInBothOrders() {
+		SiedlerGame game = new SiedlerGame(Config.WIN_POINTS, 2, 1);
+		for (int bookDepth = 3; bookDepth <= 4; bookDepth++) {
+			OpeningBook book = new OpeningSolver().solve(game.getBoard(), 2, bookDepth);
+			Point first = book.getChoices(List.of()).get(0).getSettlement();
+			List<OpeningChoice> pairStarts = book.getChoices(List.of(first));
+			assertTrue(pairStarts.size() > 1);
+			for (OpeningChoice start : pairStarts) {
+				List<OpeningChoice> seconds = book.getChoices(List.of(first, start.getSettlement()));
+				assertEquals(start.getValue(), seconds.get(0).getValue(), 0.0);
+				for (OpeningChoice second : seconds) {
+					for (OpeningChoice other : pairStarts) {
+						if (other.getSettlement().equals(second.getSettlement())) {
+							assertTrue(other.getValue() >= second.getValue());
+						}
+					}
+					for (OpeningChoice swapped : book.getChoices(List.of(first, second.getSettlement()))) {
+						if (swapped.getSettlement().equals(start.getSettlement())) {
+							assertEquals(second.getValue(), swapped.getValue(), 0.0);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * description: the default search values every legal corner, the beam search only the best ones
+	 * equivalence class: 5
+	 * initial condition: standard board, two players, book depth 3
+	 * type: positive test
+	 * input: choices of the first position and after the best settlement, exhaustive and with a beam of 6 corners
+	 * output: one choice per corner that borders land and is not blocked, between 1 and 6 choices with the beam
+	 */
+	@Test
+	void testExhaustiveUnlessBeam() {
+		SiedlerGame game = new SiedlerGame(Config.WIN_POINTS, 2, 1);
+		SiedlerBoard board = game.getBoard();
+		OpeningBook book = new OpeningSolver().solve(board, 2, 3);
+		Point first = book.getChoices(List.of()).get(0).getSettlement();
+		int free = 0;
+		int afterFirst = 0;
+		for (Point corner : board.getCornerPositions()) {
+			if (board.hasLandBorder(corner)) {
+				free++;
+				if (!corner.equals(first) && !board.getNeighbourPositions(first).contains(corner)) {
+					afterFirst++;
+				}
+			}
+		}
+		assertEquals(free, book.getChoices(List.of()).size());
+		assertEquals(afterFirst, book.getChoices(List.of(first)).size());
+		OpeningBook beam = new OpeningSolver(OpeningScore.PRODUCTION, 6, ForkJoinPool.commonPool()).solve(board, 2, 3);
+		assertFalse(beam.getChoices(List.of()).isEmpty());
+		assertTrue(beam.getChoices(List.of()).size() <= 6);
+	}
+}
@@ -0,0 +1,78 @@
+package ch.zhaw.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ch.zhaw.catan.Config;
+import ch.zhaw.catan.SiedlerGame;
+import ch.zhaw.catan.games.RandomGames;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * The GameJournalTest class contains JUnit tests for testing the GameJournal class.
+ */
+class GameJournalTest {
+	private final static int DEFAULT_NUMBER_OF_PLAYERS = 3;
+	private final static int SNAPSHOT_INTERVAL = 50;
+
+	private static long countFiles(Path directory) throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.count();
+		}
+	}
+
+	/**
+	 * description: a journal compacts its log and restores the game from the latest snapshot
+	 * equivalence class: 1
+	 * initial condition: a complete game of random agents with a snapshot every 50 events
+	 * type: positive test
+	 * input: recovery of the journal
+	 * output: one snapshot and one log segment remain, the restored game equals the original
+	 */
+	@Test
+	void testRecoverFromSnapshot(@TempDir Path directory) throws IOException {
+		SiedlerGame game = new SiedlerGame(Config.WIN_POINTS, DEFAULT_NUMBER_OF_PLAYERS, 5);
+		try (GameJournal journal = GameJournal.create(directory, game, GameLog.DEFAULT_GROUP_COMMIT_SIZE,
+				SNAPSHOT_INTERVAL, Runnable::run)) {
+			RandomGames.play(game, 5);
+			assertTrue(journal.getSequence() > 1);
+		}
+		assertEquals(2, countFiles(directory));
+		try (GameJournal recovered = GameJournal.recover(directory, GameLog.DEFAULT_GROUP_COMMIT_SIZE,
+				SNAPSHOT_INTERVAL, Runnable::run)) {
+			assertEquals(game.snapshot(), recovered.getGame().snapshot());
+		}
+	}
+
+	/**
+	 * description: snapshots that have not been written yet do not prevent recovery
+	 * equivalence class: 2
+	 * initial condition: a game whose snapshots are never written in the background
+	 * type: negative test
+	 * input: recovery of the journal
+	 * output: all log segments are replayed and the restored game equals the original
+	 */
+	@Test
+	void testRecoverWithoutSnapshot(@TempDir Path directory) throws IOException {
+		List<Runnable> pendingTasks = new ArrayList<>();
+		SiedlerGame game = new SiedlerGame(Config.WIN_POINTS, DEFAULT_NUMBER_OF_PLAYERS, 6);
+		GameJournal journal = GameJournal.create(directory, game, 1, SNAPSHOT_INTERVAL, pendingTasks::add);
+		RandomGames.play(game, 6);
+		journal.commit();
+		try (GameJournal recovered = GameJournal.recover(directory, 1, SNAPSHOT_INTERVAL, Runnable::run)) {
+			assertEquals(game.snapshot(), recovered.getGame().snapshot());
+		}
+		for (int i = 0; i < pendingTasks.size(); i++) {
+			pendingTasks.get(i).run();
+		}
+		journal.close();
+	}
+}
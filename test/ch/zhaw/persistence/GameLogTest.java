@@ -0,0 +1,159 @@
+package ch.zhaw.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ch.zhaw.catan.Config;
+import ch.zhaw.catan.Config.Faction;
+import ch.zhaw.catan.Config.Resource;
+import ch.zhaw.catan.GameEvent;
+import ch.zhaw.catan.SiedlerGame;
+import ch.zhaw.catan.games.RandomGames;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Point;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The GameLogTest class contains JUnit tests for testing the GameLog class.
+ */
+class GameLogTest {
+	private final static int DEFAULT_NUMBER_OF_PLAYERS = 3;
+
+	private static String describe(SiedlerGame game) {
+		StringBuilder description = new StringBuilder(game.getView().toString());
+		description.append(game.calculateWinPoints());
+		for (int i = 0; i < game.getNumberOfPlayers(); i++) {
+			description.append(game.getCurrentPlayerFaction()).append(Arrays.toString(game.getCurrentPlayerInventory()));
+			game.switchToNextPlayer();
+		}
+		return description.toString();
+	}
+
+	/**
+	 * description: a logged game is restored by replaying its log
+	 * equivalence class: 1
+	 * initial condition: complete games of random agents with seeds 0 to 4
+	 * type: positive test
+	 * input: the log of each game
+	 * output: the replayed game has the same board, win points and inventories
+	 */
+	@Test
+	void testReplayRestoresGame(@TempDir Path directory) throws IOException {
+		for (long seed = 0; seed < 5; seed++) {
+			Path file = directory.resolve("game" + seed + ".log");
+			SiedlerGame game = new SiedlerGame(Config.WIN_POINTS, DEFAULT_NUMBER_OF_PLAYERS, seed);
+			GameLog log = GameLog.create(file, game, GameLog.DEFAULT_GROUP_COMMIT_SIZE);
+			try {
+				RandomGames.play(game, seed);
+			} finally {
+				log.close();
+			}
+			SiedlerGame replayed = GameLog.replay(file);
+			assertEquals(game.getCurrentPlayerFaction(), replayed.getCurrentPlayerFaction());
+			assertEquals(describe(game), describe(replayed));
+		}
+	}
+
+	/**
+	 * description: a partially written event at the end of a log is cut off on recovery
+	 * equivalence class: 2
+	 * initial condition: a logged game followed by the first byte of an event
+	 * type: negative test
+	 * input: recovery of the log
+	 * output: the restored game equals the original, the partial event is removed
+	 */
+	@Test
+	void testRecoverCutsPartialEvent(@TempDir Path directory) throws IOException {
+		Path file = directory.resolve("game.log");
+		SiedlerGame game = new SiedlerGame(Config.WIN_POINTS, DEFAULT_NUMBER_OF_PLAYERS, 7);
+		GameLog created = GameLog.create(file, game, 1);
+		try {
+			RandomGames.play(game, 7);
+		} finally {
+			created.close();
+		}
+		long size = Files.size(file);
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.APPEND)) {
+			channel.write(ByteBuffer.wrap(Files.readAllBytes(file),
+					GameLog.HEADER_SIZE + game.getLayout().encodedSize(), 1));
+		}
+		try (GameLog log = GameLog.recover(file, 1)) {
+			assertEquals(size, Files.size(file));
+			assertEquals(describe(game), describe(log.getGame()));
+		}
+	}
+
+	/**
+	 * description: a truncated or damaged event is rejected as corrupt
+	 * equivalence class: 3
+	 * initial condition: the encoded initial settlement event of a game
+	 * type: negative test
+	 * input: the event without its last byte, the event with an invalid faction header
+	 * output: IllegalArgumentException
+	 */
+	@Test
+	void testCorruptEvent() {
+		SiedlerGame game = new SiedlerGame(Config.WIN_POINTS, DEFAULT_NUMBER_OF_PLAYERS, 1);
+		List<GameEvent> events = new ArrayList<>();
+		game.addEventListener(events::add);
+		assertTrue(game.placeInitialSettlement(new Point(5, 7), false));
+		ByteBuffer buffer = ByteBuffer.allocate(events.get(0).encodedSize());
+		events.get(0).writeTo(buffer);
+		assertThrows(IllegalArgumentException.class,
+				() -> GameEvent.readFrom(ByteBuffer.wrap(buffer.array(), 0, buffer.capacity() - 1)));
+		buffer.put(0, (byte) 0xff);
+		assertThrows(IllegalArgumentException.class, () -> GameEvent.readFrom(ByteBuffer.wrap(buffer.array())));
+	}
+
+	/**
+	 * description: a trade between players is logged and replayed before the build it pays for
+	 * equivalence class: 4
+	 * initial condition: two players with an initial settlement and road each, the first without brick
+	 * type: positive test
+	 * input: offer of 1 brick for 1 grain by the second player, counter offer of the first player, road of the first
+	 * player paid with the traded brick, replay of the log
+	 * output: one trade event with both factions and hands, the replayed game equals the original
+	 */
+	@Test
+	void testReplayPlayerTrade(@TempDir Path directory) throws IOException {
+		Path file = directory.resolve("game.log");
+		SiedlerGame game = new SiedlerGame(Config.WIN_POINTS, DEFAULT_NUMBER_OF_PLAYERS, 1);
+		List<GameEvent> events = new ArrayList<>();
+		game.addEventListener(events::add);
+		GameLog log = GameLog.create(file, game, GameLog.DEFAULT_GROUP_COMMIT_SIZE);
+		try {
+			assertTrue(game.placeInitialSettlement(new Point(5, 7), true));
+			assertTrue(game.placeInitialRoad(new Point(5, 7), new Point(6, 6)));
+			game.switchToNextPlayer();
+			assertTrue(game.placeInitialSettlement(new Point(9, 15), true));
+			assertTrue(game.placeInitialRoad(new Point(9, 15), new Point(9, 13)));
+			assertTrue(game.postTradeOffer(Map.of(Resource.BRICK, 1), Map.of(Resource.GRAIN, 1)).isOpen());
+			game.switchToPreviousPlayer();
+			assertFalse(game.postTradeOffer(Map.of(Resource.GRAIN, 1), Map.of(Resource.BRICK, 1)).isOpen());
+			assertTrue(game.buildRoad(new Point(6, 6), new Point(6, 4)));
+		} finally {
+			log.close();
+		}
+		GameEvent trade = events.stream().filter(event -> event.getType() == GameEvent.Type.PLAYER_TRADE)
+				.findFirst().orElseThrow();
+		assertEquals(Faction.values()[0], trade.getFaction());
+		assertEquals(Faction.values()[1], trade.getOtherFaction());
+		assertEquals(Map.of(Resource.GRAIN, 1), trade.getCards());
+		assertEquals(Map.of(Resource.BRICK, 1), trade.getOtherCards());
+		SiedlerGame replayed = GameLog.replay(file);
+		assertEquals(game.getCurrentPlayerFaction(), replayed.getCurrentPlayerFaction());
+		assertEquals(game.getStateHash(), replayed.getStateHash());
+		assertEquals(describe(game), describe(replayed));
+	}
+}
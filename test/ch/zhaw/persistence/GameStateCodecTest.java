@@ -0,0 +1,139 @@
+package ch.zhaw.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import ch.zhaw.catan.Config;
+import ch.zhaw.catan.GameEvent;
+import ch.zhaw.catan.GameSnapshot;
+import ch.zhaw.catan.SiedlerGame;
+import ch.zhaw.catan.games.RandomGames;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The GameStateCodecTest class contains JUnit tests for testing the GameStateCodec class.
+ */
+class GameStateCodecTest {
+	private final static int MAX_SNAPSHOT_SIZE = 200;
+
+	/**
+	 * description: snapshots taken during a game are decoded to equal snapshots
+	 * equivalence class: 1
+	 * initial condition: a game of four random agents with seed 3, snapshot at every change of player
+	 * type: positive test
+	 * input: encoded snapshots
+	 * output: decoded snapshots equal the originals and take less than 200 bytes
+	 */
+	@Test
+	void testRoundTrip() {
+		SiedlerGame game = new SiedlerGame(Config.WIN_POINTS, Config.MAX_NUMBER_OF_PLAYERS, 3);
+		List<GameSnapshot> snapshots = new ArrayList<>();
+		game.addEventListener(event -> {
+			if (event.getType() == GameEvent.Type.NEXT_PLAYER) {
+				snapshots.add(game.snapshot());
+			}
+		});
+		RandomGames.play(game, 3);
+		GameStateCodec codec = GameStateCodec.standard();
+		ByteBuffer buffer = ByteBuffer.allocate(codec.getMaxEncodedSize(game.getNumberOfPlayers()));
+		for (GameSnapshot snapshot : snapshots) {
+			buffer.clear();
+			codec.encode(snapshot, buffer);
+			assertTrue(buffer.position() < MAX_SNAPSHOT_SIZE);
+			buffer.flip();
+			assertEquals(snapshot, codec.decode(buffer));
+			assertFalse(buffer.hasRemaining());
+		}
+	}
+
+	/**
+	 * description: varints are written with seven bits per byte
+	 * equivalence class: 2
+	 * initial condition: the values 0, 127, 128, 300 and Long.MAX_VALUE
+	 * type: positive test
+	 * input: encoded values
+	 * output: 1, 1, 2, 2 and 9 bytes, decoded to the same values
+	 */
+	@Test
+	void testVarint() {
+		long[] values = { 0, 127, 128, 300, Long.MAX_VALUE };
+		int[] sizes = { 1, 1, 2, 2, 9 };
+		ByteBuffer buffer = ByteBuffer.allocate(10);
+		for (int i = 0; i < values.length; i++) {
+			buffer.clear();
+			GameStateCodec.putVarint(buffer, values[i]);
+			assertEquals(sizes[i], buffer.position());
+			buffer.flip();
+			assertEquals(values[i], GameStateCodec.getVarint(buffer));
+		}
+	}
+
+	/**
+	 * description: data of another version is rejected
+	 * equivalence class: 3
+	 * initial condition: a buffer starting with version 3
+	 * type: negative test
+	 * input: decoding of the buffer
+	 * output: IllegalArgumentException
+	 */
+	@Test
+	void testUnsupportedVersion() {
+		ByteBuffer buffer = ByteBuffer.wrap(new byte[] { 3, 0, 0 });
+		assertThrows(IllegalArgumentException.class, () -> GameStateCodec.standard().decode(buffer));
+	}
+
+	/**
+	 * description: a header with an impossible number of players or current player is rejected
+	 * equivalence class: 5
+	 * initial condition: the encoded snapshot of a new game of three players
+	 * type: negative test
+	 * input: the byte after the version replaced by 15 players, by 1 player and by 3 players with player 3 at turn
+	 * output: IllegalArgumentException
+	 */
+	@Test
+	void testCorruptPlayers() {
+		GameStateCodec codec = GameStateCodec.standard();
+		GameSnapshot snapshot = new SiedlerGame(Config.WIN_POINTS, 3, 1).snapshot();
+		ByteBuffer buffer = ByteBuffer.allocate(codec.getMaxEncodedSize(snapshot));
+		codec.encode(snapshot, buffer);
+		byte[] encoded = Arrays.copyOf(buffer.array(), buffer.position());
+		for (int players : new int[] { 0xf0, 0x10, 0x33 }) {
+			encoded[1] = (byte) players;
+			assertThrows(IllegalArgumentException.class, () -> codec.decode(ByteBuffer.wrap(encoded)));
+		}
+		encoded[1] = 0x32;
+		assertEquals(2, codec.decode(ByteBuffer.wrap(encoded)).getCurrentPlayer());
+	}
+
+	/**
+	 * description: a codec that decoded a large snapshot encodes a smaller one without leftovers
+	 * equivalence class: 4
+	 * initial condition: one codec, the last snapshot of a game of random agents with seed 5
+	 * type: positive test
+	 * input: decoding of the large snapshot, then encoding and decoding of the snapshot of a new game
+	 * output: the snapshot of the new game without corners and roads
+	 */
+	@Test
+	void testReuseAfterLargerSnapshot() {
+		SiedlerGame game = new SiedlerGame(Config.WIN_POINTS, Config.MAX_NUMBER_OF_PLAYERS, 5);
+		RandomGames.play(game, 5);
+		GameStateCodec codec = GameStateCodec.standard();
+		ByteBuffer buffer = ByteBuffer.allocate(codec.getMaxEncodedSize(game.getNumberOfPlayers()));
+		codec.encode(game.snapshot(), buffer);
+		buffer.flip();
+		assertTrue(codec.decode(buffer).getCornerCount() > 0);
+		GameSnapshot empty = new SiedlerGame(Config.WIN_POINTS, Config.MAX_NUMBER_OF_PLAYERS, 5).snapshot();
+		buffer.clear();
+		codec.encode(empty, buffer);
+		buffer.flip();
+		GameSnapshot decoded = codec.decode(buffer);
+		assertEquals(0, decoded.getCornerCount());
+		assertEquals(0, decoded.getRoadCount());
+		assertEquals(empty, decoded);
+	}
+}
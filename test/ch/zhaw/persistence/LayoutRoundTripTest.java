@@ -0,0 +1,81 @@
+package ch.zhaw.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ch.zhaw.catan.BoardLayout;
+import ch.zhaw.catan.Config;
+import ch.zhaw.catan.Config.Resource;
+import ch.zhaw.catan.GameSnapshot;
+import ch.zhaw.catan.RandomNumberGenerator;
+import ch.zhaw.catan.SiedlerGame;
+import ch.zhaw.catan.games.RandomGames;
+import ch.zhaw.layout.BoardGenerator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * The LayoutRoundTripTest class contains JUnit tests for keeping the board layout in snapshots and logs.
+ */
+class LayoutRoundTripTest {
+	private final static int DEFAULT_NUMBER_OF_PLAYERS = 3;
+	private final static long SEED = 12;
+
+	/**
+	 * description: a game on a generated layout with harbours keeps its layout through every persistence path
+	 * equivalence class: 1
+	 * initial condition: a generated layout with the standard harbours, a complete game of random agents
+	 * type: positive test
+	 * input: restore of a snapshot, encoding with the codec, the log of the game
+	 * output: a player uses a harbour, the copies have the same layout, layout hash, state hash and trade rates
+	 */
+	@Test
+	void testGeneratedLayoutWithHarbours(@TempDir Path directory) throws IOException {
+		BoardLayout layout = new BoardGenerator().generate(new RandomNumberGenerator(SEED))
+				.withHarbours(Config.getStandardHarbourPlacement());
+		assertFalse(layout.isStandard());
+		SiedlerGame game = new SiedlerGame(Config.WIN_POINTS, DEFAULT_NUMBER_OF_PLAYERS, SEED, layout);
+		Path file = directory.resolve("game.log");
+		GameLog log = GameLog.create(file, game, GameLog.DEFAULT_GROUP_COMMIT_SIZE);
+		try {
+			RandomGames.play(game, SEED);
+		} finally {
+			log.close();
+		}
+		GameSnapshot snapshot = game.snapshot();
+		GameStateCodec codec = GameStateCodec.standard();
+		ByteBuffer buffer = ByteBuffer.allocate(codec.getMaxEncodedSize(snapshot));
+		codec.encode(snapshot, buffer);
+		buffer.flip();
+		GameSnapshot decoded = codec.decode(buffer);
+		assertEquals(snapshot, decoded);
+		boolean harbourUsed = false;
+		for (int i = 0; i < DEFAULT_NUMBER_OF_PLAYERS; i++) {
+			for (Resource resource : Resource.values()) {
+				harbourUsed |= game.getCurrentPlayerTradeRate(resource) < 4;
+			}
+			game.switchToNextPlayer();
+		}
+		assertTrue(harbourUsed);
+		List<SiedlerGame> copies = List.of(SiedlerGame.restore(snapshot), SiedlerGame.restore(decoded),
+				GameLog.replay(file));
+		for (SiedlerGame copy : copies) {
+			assertEquals(layout, copy.getLayout());
+			assertEquals(game.getBoard().getLayoutHash(), copy.getBoard().getLayoutHash());
+			assertEquals(game.getStateHash(), copy.getStateHash());
+			assertEquals(game.getBoard().getHarbourCorners(), copy.getBoard().getHarbourCorners());
+			for (int i = 0; i < DEFAULT_NUMBER_OF_PLAYERS; i++) {
+				for (Resource resource : Resource.values()) {
+					assertEquals(game.getCurrentPlayerTradeRate(resource), copy.getCurrentPlayerTradeRate(resource));
+				}
+				game.switchToNextPlayer();
+				copy.switchToNextPlayer();
+			}
+		}
+	}
+}
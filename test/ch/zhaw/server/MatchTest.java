@@ -0,0 +1,116 @@
+package ch.zhaw.server;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ch.zhaw.catan.Config;
+import ch.zhaw.catan.Config.Faction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The MatchTest class contains JUnit tests for testing the Match class.
+ */
+class MatchTest {
+	private Match match;
+
+	@BeforeEach
+	void setUp() {
+		match = new Match(2, Config.WIN_POINTS, ForkJoinPool.commonPool());
+	}
+
+	private String send(Faction faction, String command) throws InterruptedException, ExecutionException {
+		return match.submit(faction, command).get();
+	}
+
+	/**
+	 * description: commands are rejected until every seat is taken
+	 * equivalence class: 1
+	 * initial condition: match with one of two players
+	 * type: negative test
+	 * input: settlement command of the first player
+	 * output: game not started message
+	 */
+	@Test
+	void testCommandsBeforeMatchIsFull() throws Exception {
+		Faction first = match.join();
+		assertEquals(Config.ErrorMessage.GAME_NOT_STARTED.toString(), send(first, "SETTLEMENT 5:7"));
+	}
+
+	/**
+	 * description: the founding phase follows the snake order and the first player starts the game
+	 * equivalence class: 2
+	 * initial condition: full match with two players
+	 * type: positive test
+	 * input: founding commands of both players, one of them out of turn
+	 * output: out of turn command is rejected, first player has the first turn
+	 */
+	@Test
+	void testFoundingPhaseOrder() throws Exception {
+		Faction first = match.join();
+		Faction second = match.join();
+		assertEquals(Config.ErrorMessage.NOT_YOUR_TURN.toString(), send(second, "SETTLEMENT 11:13"));
+		send(first, "SETTLEMENT 5:7");
+		send(first, "ROAD 6:6");
+		send(second, "SETTLEMENT 11:13");
+		send(second, "ROAD 12:12");
+		send(second, "SETTLEMENT 8:4");
+		send(second, "ROAD 8:6");
+		send(first, "SETTLEMENT 10:16");
+		send(first, "ROAD 9:15");
+		assertEquals(Config.ErrorMessage.NOT_YOUR_TURN.toString(), send(second, "END"));
+		assertEquals(String.format(Config.InfoMessage.TURN_ANNOUNCEMENT.toString(), second), send(first, "END"));
+	}
+
+	/**
+	 * description: a command that fails with an unexpected exception is answered with an error and the match goes on
+	 * equivalence class: 3
+	 * initial condition: full match with two players
+	 * type: negative test
+	 * input: missing command of the first player, then a settlement command
+	 * output: action error message instead of a failed future, then the settlement is built
+	 */
+	@Test
+	void testFailingCommandKeepsMatch() throws Exception {
+		Faction first = match.join();
+		match.join();
+		assertEquals(Config.ErrorMessage.ACTION.toString(), send(first, null));
+		assertEquals(String.format(Config.SuccessMessage.BUILD.toString(), "Settlement"), send(first, "SETTLEMENT 5:7"));
+	}
+
+	/**
+	 * description: a match cannot take more players than it has seats
+	 * equivalence class: 4
+	 * initial condition: full match with two players
+	 * type: negative test
+	 * input: third join
+	 * output: IllegalStateException
+	 */
+	@Test
+	void testJoinFullMatch() {
+		match.join();
+		match.join();
+		assertThrows(IllegalStateException.class, () -> match.join());
+	}
+
+	/**
+	 * description: an abandoned match takes no new players and ends the game for the seated ones
+	 * equivalence class: 5
+	 * initial condition: match with one of two players
+	 * type: negative test
+	 * input: abandon, status command of the first player
+	 * output: the match is neither full nor open, game over message
+	 */
+	@Test
+	void testAbandonedMatchIsClosed() throws Exception {
+		Faction first = match.join();
+		assertTrue(match.isOpen());
+		match.abandon();
+		assertFalse(match.isFull());
+		assertFalse(match.isOpen());
+		assertEquals(Config.ErrorMessage.GAME_OVER.toString(), send(first, "STATUS"));
+	}
+}
@@ -0,0 +1,80 @@
+package ch.zhaw.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import ch.zhaw.catan.Config;
+import ch.zhaw.catan.RandomNumberGenerator;
+import ch.zhaw.catan.SiedlerGame;
+import ch.zhaw.catan.games.RandomGames;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+/**
+ * The HeadlessGameTest class contains JUnit tests for testing the HeadlessGame class.
+ */
+class HeadlessGameTest {
+	private final static int DEFAULT_NUMBER_OF_PLAYERS = 3;
+
+	private static GameResult playRandomGame(long seed, int numberOfPlayers) {
+		RandomNumberGenerator rng = new RandomNumberGenerator(seed);
+		SiedlerGame game = new SiedlerGame(Config.WIN_POINTS, numberOfPlayers, rng.nextLong());
+		return RandomGames.play(game, rng);
+	}
+
+	/**
+	 * description: a game of random agents is played until a player has won
+	 * equivalence class: 1
+	 * initial condition: games with two to four random agents
+	 * type: positive test
+	 * input: result of the games
+	 * output: every game has a winner
+	 */
+	@Test
+	void testGamesHaveWinner() {
+		for (int numberOfPlayers = Config.MIN_NUMBER_OF_PLAYERS; numberOfPlayers <= Config.MAX_NUMBER_OF_PLAYERS; numberOfPlayers++) {
+			for (long seed = 0; seed < 10; seed++) {
+				GameResult result = playRandomGame(seed, numberOfPlayers);
+				assertNotNull(result.getWinner());
+				assertTrue(result.getTurns() > 0);
+			}
+		}
+	}
+
+	/**
+	 * description: two games with the same seed and agents end the same way
+	 * equivalence class: 2
+	 * initial condition: two games with seed 99
+	 * type: positive test
+	 * input: results of the games
+	 * output: same winner, turns and payout
+	 */
+	@Test
+	void testSameSeedSameResult() {
+		GameResult first = playRandomGame(99, DEFAULT_NUMBER_OF_PLAYERS);
+		GameResult second = playRandomGame(99, DEFAULT_NUMBER_OF_PLAYERS);
+		assertEquals(first.getWinner(), second.getWinner());
+		assertEquals(first.getTurns(), second.getTurns());
+		for (Config.Resource resource : Config.Resource.values()) {
+			assertEquals(first.getPayout(resource), second.getPayout(resource));
+		}
+	}
+
+	/**
+	 * description: the number of agents must match the number of players
+	 * equivalence class: 3
+	 * initial condition: game with three players
+	 * type: negative test
+	 * input: two agents
+	 * output: IllegalArgumentException
+	 */
+	@Test
+	void testWrongNumberOfAgents() {
+		SiedlerGame game = new SiedlerGame(Config.WIN_POINTS, DEFAULT_NUMBER_OF_PLAYERS, 1);
+		List<PlayerAgent> agents = List.of(new RandomAgent(new RandomNumberGenerator(1)),
+				new RandomAgent(new RandomNumberGenerator(2)));
+		assertThrows(IllegalArgumentException.class,
+				() -> new HeadlessGame(game, agents, HeadlessGame.DEFAULT_MAX_TURNS));
+	}
+}
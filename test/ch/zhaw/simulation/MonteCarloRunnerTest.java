@@ -0,0 +1,85 @@
+package ch.zhaw.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import ch.zhaw.catan.Config;
+import ch.zhaw.catan.Config.Faction;
+import ch.zhaw.catan.Config.Resource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The MonteCarloRunnerTest class contains JUnit tests for testing the MonteCarloRunner class.
+ */
+class MonteCarloRunnerTest {
+	private final static int DEFAULT_NUMBER_OF_GAMES = 40;
+	private final static int DEFAULT_NUMBER_OF_PLAYERS = 3;
+	private final static long DEFAULT_SEED = 2022;
+
+	private final MonteCarloRunner runner = new MonteCarloRunner(Config.WIN_POINTS, DEFAULT_NUMBER_OF_PLAYERS,
+			HeadlessGame.DEFAULT_MAX_TURNS, RandomAgent::new);
+
+	/**
+	 * description: every game of a batch is counted exactly once
+	 * equivalence class: 1
+	 * initial condition: batch of 40 games on a pool with two threads
+	 * type: positive test
+	 * input: wins and games without winner of the report
+	 * output: sum equals the number of games
+	 */
+	@Test
+	void testEveryGameIsCounted() {
+		ForkJoinPool pool = new ForkJoinPool(2);
+		SimulationReport report;
+		try {
+			report = runner.run(DEFAULT_NUMBER_OF_GAMES, DEFAULT_SEED, pool);
+		} finally {
+			pool.shutdown();
+		}
+		long counted = report.getGamesWithoutWinner();
+		for (Faction faction : Faction.values()) {
+			counted += report.getWins(faction);
+		}
+		assertEquals(DEFAULT_NUMBER_OF_GAMES, counted);
+		assertEquals(0, report.getWins(Faction.YELLOW));
+	}
+
+	/**
+	 * description: a batch gives the same results on fork/join and on a plain executor
+	 * equivalence class: 2
+	 * initial condition: same batch on a fork/join pool and on a fixed thread pool
+	 * type: positive test
+	 * input: wins, turns and payout of both reports
+	 * output: equal values
+	 */
+	@Test
+	void testBatchIsReproducibleAcrossExecutors() {
+		ForkJoinPool pool = new ForkJoinPool(3);
+		SimulationReport forkJoin;
+		try {
+			forkJoin = runner.run(DEFAULT_NUMBER_OF_GAMES, DEFAULT_SEED, pool);
+		} finally {
+			pool.shutdown();
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		SimulationReport fixed;
+		try {
+			fixed = runner.run(DEFAULT_NUMBER_OF_GAMES, DEFAULT_SEED, executor, 2);
+		} finally {
+			executor.shutdown();
+		}
+		for (Faction faction : Faction.values()) {
+			assertEquals(forkJoin.getWins(faction), fixed.getWins(faction));
+		}
+		assertEquals(forkJoin.getAverageTurns(), fixed.getAverageTurns(), 0);
+		assertEquals(forkJoin.getMinTurns(), fixed.getMinTurns());
+		assertEquals(forkJoin.getMaxTurns(), fixed.getMaxTurns());
+		for (Resource resource : Resource.values()) {
+			assertEquals(forkJoin.getPayout(resource), fixed.getPayout(resource));
+		}
+	}
+}